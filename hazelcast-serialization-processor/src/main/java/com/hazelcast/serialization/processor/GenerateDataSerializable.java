@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@code IdentifiedDataSerializable} class whose serialization
+ * code is generated by the {@link SerializerProcessor}.
+ * <p>
+ * For an annotated class {@code Foo}, the processor generates:
+ * <ul>
+ * <li>a {@code FooSerializer} class in the same package, with the
+ * {@code FACTORY_ID} and {@code CLASS_ID} constants and the static {@code
+ * writeData} and {@code readData} methods the class delegates to,</li>
+ * <li>a {@code DataSerializerHook} creating the instances of all the
+ * annotated classes of the factory, registered in {@code
+ * META-INF/services/com.hazelcast.DataSerializerHook}, so the factory does
+ * not have to be configured.</li>
+ * </ul>
+ * The non-static, non-transient fields are written in declaration order,
+ * they must not be private nor final. The class must have a non-private
+ * no-arg constructor.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateDataSerializable {
+
+    /**
+     * The factory ID of the class.
+     */
+    int factoryId();
+
+    /**
+     * The class ID of the class, unique within the factory.
+     */
+    int classId();
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+/**
+ * A field of a {@link SerializableType}.
+ */
+final class SerializableField {
+
+    private final String name;
+    private final String methodSuffix;
+    private final int[] nullPortableIds;
+
+    /**
+     * @param name            the name of the field
+     * @param methodSuffix    the suffix of the read and write methods of the
+     *                        field, e.g. {@code Int} or {@code UTFArray}
+     * @param nullPortableIds the factory and class IDs written for a {@code
+     *                        null} portable field, {@code null} if not known
+     */
+    SerializableField(String name, String methodSuffix, int[] nullPortableIds) {
+        this.name = name;
+        this.methodSuffix = methodSuffix;
+        this.nullPortableIds = nullPortableIds;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getMethodSuffix() {
+        return methodSuffix;
+    }
+
+    int[] getNullPortableIds() {
+        return nullPortableIds;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+/**
+ * A class annotated with {@link GenerateDataSerializable} or {@link
+ * GeneratePortable}, along with its serialized fields.
+ */
+final class SerializableType {
+
+    static final String DATA_SERIALIZABLE = "com.hazelcast.nio.serialization.IdentifiedDataSerializable";
+    static final String PORTABLE = "com.hazelcast.nio.serialization.Portable";
+
+    private static final String STRING = "java.lang.String";
+
+    private final TypeElement element;
+    private final String packageName;
+    private final String serializerName;
+    private final int factoryId;
+    private final int classId;
+    private final boolean portable;
+    private final List<SerializableField> fields;
+
+    private SerializableType(TypeElement element, String packageName, String serializerName,
+                             int factoryId, int classId, boolean portable, List<SerializableField> fields) {
+        this.element = element;
+        this.packageName = packageName;
+        this.serializerName = serializerName;
+        this.factoryId = factoryId;
+        this.classId = classId;
+        this.portable = portable;
+        this.fields = fields;
+    }
+
+    /**
+     * Inspects the given annotated class.
+     *
+     * @return the inspected class or {@code null} if the class can't be
+     * serialized by generated code, the errors are reported to the messager
+     * of the processing environment
+     */
+    static SerializableType of(ProcessingEnvironment env, TypeElement element, int factoryId, int classId,
+                               boolean portable) {
+        if (!checkClass(env, element, portable)) {
+            return null;
+        }
+
+        List<SerializableField> fields = new ArrayList<>();
+        boolean valid = true;
+        for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            SerializableField serializableField = inspectField(env, field, portable);
+            if (serializableField == null) {
+                valid = false;
+            } else {
+                fields.add(serializableField);
+            }
+        }
+        if (!valid) {
+            return null;
+        }
+
+        Elements elements = env.getElementUtils();
+        String packageName = elements.getPackageOf(element).getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(element).toString();
+        String simpleBinaryName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return new SerializableType(element, packageName, simpleBinaryName.replace('$', '_') + "Serializer",
+                factoryId, classId, portable, Collections.unmodifiableList(fields));
+    }
+
+    private static boolean checkClass(ProcessingEnvironment env, TypeElement element, boolean portable) {
+        Messager messager = env.getMessager();
+        String expectedInterface = portable ? PORTABLE : DATA_SERIALIZABLE;
+        TypeElement interfaceElement = env.getElementUtils().getTypeElement(expectedInterface);
+        if (interfaceElement == null) {
+            messager.printMessage(ERROR, expectedInterface + " is not on the classpath", element);
+            return false;
+        }
+
+        Set<Modifier> modifiers = element.getModifiers();
+        if (element.getKind() != ElementKind.CLASS || modifiers.contains(Modifier.ABSTRACT)
+                || modifiers.contains(Modifier.PRIVATE)) {
+            messager.printMessage(ERROR, "Only non-private concrete classes can be annotated", element);
+            return false;
+        }
+        if (element.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+            messager.printMessage(ERROR, "Nested classes must be static", element);
+            return false;
+        }
+        if (!env.getTypeUtils().isAssignable(element.asType(), env.getTypeUtils().erasure(interfaceElement.asType()))) {
+            messager.printMessage(ERROR, "The class must implement " + expectedInterface, element);
+            return false;
+        }
+        if (!hasNoArgConstructor(element)) {
+            messager.printMessage(ERROR, "The class must have a non-private no-arg constructor", element);
+            return false;
+        }
+        return true;
+    }
+
+    private static SerializableField inspectField(ProcessingEnvironment env, VariableElement field, boolean portable) {
+        Messager messager = env.getMessager();
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+            messager.printMessage(ERROR, "Serialized fields must not be private nor final", field);
+            return null;
+        }
+        String methodSuffix = methodSuffix(env, field.asType(), portable);
+        if (methodSuffix == null) {
+            messager.printMessage(ERROR, "Unsupported type of a portable field: " + field.asType(), field);
+            return null;
+        }
+        int[] nullPortableIds = "Portable".equals(methodSuffix) ? nullPortableIds(env, field.asType()) : null;
+        return new SerializableField(field.getSimpleName().toString(), methodSuffix, nullPortableIds);
+    }
+
+    private static boolean hasNoArgConstructor(TypeElement element) {
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty()) {
+                return !constructor.getModifiers().contains(Modifier.PRIVATE);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the suffix of the methods reading and writing the values of
+     * the given type, {@code null} if the type is not supported.
+     */
+    private static String methodSuffix(ProcessingEnvironment env, TypeMirror type, boolean portable) {
+        if (type.getKind().isPrimitive()) {
+            return primitiveSuffix(type.getKind());
+        }
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror componentType = ((ArrayType) type).getComponentType();
+            if (componentType.getKind().isPrimitive()) {
+                return primitiveSuffix(componentType.getKind()) + "Array";
+            }
+            if (isType(env, componentType, STRING)) {
+                return "UTFArray";
+            }
+            return portable ? null : "Object";
+        }
+        if (isType(env, type, STRING)) {
+            return "UTF";
+        }
+        if (!portable) {
+            return "Object";
+        }
+        TypeMirror portableType = env.getElementUtils().getTypeElement(PORTABLE).asType();
+        return env.getTypeUtils().isAssignable(type, portableType) ? "Portable" : null;
+    }
+
+    private static String primitiveSuffix(TypeKind kind) {
+        String name = kind.name();
+        return name.charAt(0) + name.substring(1).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static boolean isType(ProcessingEnvironment env, TypeMirror type, String qualifiedName) {
+        Element element = env.getTypeUtils().asElement(type);
+        return element instanceof TypeElement
+                && ((TypeElement) element).getQualifiedName().contentEquals(qualifiedName);
+    }
+
+    /**
+     * Returns the IDs of the given portable type if it is also generated,
+     * {@code null} otherwise.
+     */
+    private static int[] nullPortableIds(ProcessingEnvironment env, TypeMirror type) {
+        Types types = env.getTypeUtils();
+        Element element = types.asElement(type);
+        GeneratePortable annotation = element == null ? null : element.getAnnotation(GeneratePortable.class);
+        return annotation == null ? null : new int[]{annotation.factoryId(), annotation.classId()};
+    }
+
+    TypeElement getElement() {
+        return element;
+    }
+
+    String getQualifiedName() {
+        return element.getQualifiedName().toString();
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    String getSerializerName() {
+        return serializerName;
+    }
+
+    String getQualifiedSerializerName() {
+        return packageName.isEmpty() ? serializerName : packageName + "." + serializerName;
+    }
+
+    int getFactoryId() {
+        return factoryId;
+    }
+
+    int getClassId() {
+        return classId;
+    }
+
+    boolean isPortable() {
+        return portable;
+    }
+
+    List<SerializableField> getFields() {
+        return fields;
+    }
+}
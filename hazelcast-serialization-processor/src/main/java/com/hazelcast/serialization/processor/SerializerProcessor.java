@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static javax.tools.Diagnostic.Kind.ERROR;
+
+/**
+ * Generates the serialization code of the classes annotated with {@link
+ * GenerateDataSerializable} and {@link GeneratePortable}.
+ * <p>
+ * The generated code reads and writes the fields directly, in the same
+ * format as the equivalent hand-written {@code writeData}/{@code readData}
+ * and {@code writePortable}/{@code readPortable} methods. The generated
+ * factories create the instances with a {@code switch} over the class
+ * IDs and are registered through service files, so they are found by the
+ * serialization service without any configuration.
+ */
+@SupportedAnnotationTypes({
+        "com.hazelcast.serialization.processor.GenerateDataSerializable",
+        "com.hazelcast.serialization.processor.GeneratePortable"
+})
+public class SerializerProcessor extends AbstractProcessor {
+
+    static final String DATA_SERIALIZER_HOOK_SERVICE = "META-INF/services/com.hazelcast.DataSerializerHook";
+    static final String PORTABLE_HOOK_SERVICE = "META-INF/services/com.hazelcast.PortableHook";
+
+    private final Set<Integer> dataSerializableFactoryIds = new HashSet<>();
+    private final Set<Integer> portableFactoryIds = new HashSet<>();
+    private final Set<String> dataSerializerHooks = new TreeSet<>();
+    private final Set<String> portableHooks = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        SortedMap<Integer, List<SerializableType>> dataSerializableTypes = new TreeMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(GenerateDataSerializable.class)) {
+            GenerateDataSerializable annotation = element.getAnnotation(GenerateDataSerializable.class);
+            addType(dataSerializableTypes, element, annotation.factoryId(), annotation.classId(), false);
+        }
+        SortedMap<Integer, List<SerializableType>> portableTypes = new TreeMap<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(GeneratePortable.class)) {
+            GeneratePortable annotation = element.getAnnotation(GeneratePortable.class);
+            addType(portableTypes, element, annotation.factoryId(), annotation.classId(), true);
+        }
+
+        generateHooks(dataSerializableTypes, dataSerializableFactoryIds, dataSerializerHooks, false);
+        generateHooks(portableTypes, portableFactoryIds, portableHooks, true);
+
+        if (roundEnv.processingOver()) {
+            writeServiceFile(DATA_SERIALIZER_HOOK_SERVICE, dataSerializerHooks);
+            writeServiceFile(PORTABLE_HOOK_SERVICE, portableHooks);
+        }
+        return true;
+    }
+
+    private void addType(Map<Integer, List<SerializableType>> types, Element element, int factoryId, int classId,
+                         boolean portable) {
+        SerializableType type = SerializableType.of(processingEnv, (TypeElement) element, factoryId, classId, portable);
+        if (type == null) {
+            return;
+        }
+        List<SerializableType> factoryTypes = types.computeIfAbsent(factoryId, id -> new ArrayList<>());
+        for (SerializableType other : factoryTypes) {
+            if (other.getClassId() == classId) {
+                error("Class ID " + classId + " of factory " + factoryId + " is already used by "
+                        + other.getQualifiedName(), element);
+                return;
+            }
+        }
+        factoryTypes.add(type);
+        writeSource(type.getQualifiedSerializerName(), SourceGenerator.serializerSource(type), element);
+    }
+
+    private void generateHooks(SortedMap<Integer, List<SerializableType>> types, Set<Integer> generatedFactoryIds,
+                               Set<String> hooks, boolean portable) {
+        for (Map.Entry<Integer, List<SerializableType>> entry : types.entrySet()) {
+            int factoryId = entry.getKey();
+            List<SerializableType> factoryTypes = entry.getValue();
+            factoryTypes.sort(Comparator.comparing(SerializableType::getQualifiedName));
+            if (!generatedFactoryIds.add(factoryId)) {
+                error("The classes of factory " + factoryId + " must be compiled together", factoryTypes.get(0).getElement());
+                continue;
+            }
+
+            // the hook is generated next to the first class of the factory
+            String packageName = factoryTypes.get(0).getPackageName();
+            String hookName = (portable ? "GeneratedPortableHook" : "GeneratedDataSerializerHook")
+                    + (factoryId < 0 ? "M" + -factoryId : String.valueOf(factoryId));
+            String qualifiedHookName = packageName.isEmpty() ? hookName : packageName + "." + hookName;
+            Element[] originatingElements = new Element[factoryTypes.size()];
+            for (int i = 0; i < originatingElements.length; i++) {
+                originatingElements[i] = factoryTypes.get(i).getElement();
+            }
+            writeSource(qualifiedHookName,
+                    SourceGenerator.hookSource(packageName, hookName, factoryId, factoryTypes, portable),
+                    originatingElements);
+            hooks.add(qualifiedHookName);
+        }
+    }
+
+    private void writeSource(String qualifiedName, String source, Element... originatingElements) {
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, originatingElements).openWriter()) {
+            writer.write(source);
+        } catch (IOException e) {
+            error("Could not write " + qualifiedName + ": " + e, originatingElements[0]);
+        }
+    }
+
+    private void writeServiceFile(String name, Set<String> hooks) {
+        if (hooks.isEmpty()) {
+            return;
+        }
+        Filer filer = processingEnv.getFiler();
+        try {
+            FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", name);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), UTF_8)) {
+                for (String hook : hooks) {
+                    writer.write(hook);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            error("Could not write " + name + ": " + e, null);
+        }
+    }
+
+    private void error(String message, Element element) {
+        processingEnv.getMessager().printMessage(ERROR, message, element);
+    }
+}
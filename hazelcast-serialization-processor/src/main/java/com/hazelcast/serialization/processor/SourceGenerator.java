@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import java.util.List;
+
+/**
+ * Generates the sources of the serializers and of the hooks registering
+ * the factories of the {@link SerializableType}s.
+ */
+final class SourceGenerator {
+
+    private static final String INDENT = "    ";
+
+    private SourceGenerator() {
+    }
+
+    /**
+     * Generates the serializer of the given type, the class holding its
+     * IDs and the static methods reading and writing its fields.
+     */
+    static String serializerSource(SerializableType type) {
+        boolean portable = type.isPortable();
+        String qualifiedName = type.getQualifiedName();
+        String interfaceName = portable ? SerializableType.PORTABLE : SerializableType.DATA_SERIALIZABLE;
+        String writerType = portable ? "com.hazelcast.nio.serialization.PortableWriter" : "com.hazelcast.nio.ObjectDataOutput";
+        String readerType = portable ? "com.hazelcast.nio.serialization.PortableReader" : "com.hazelcast.nio.ObjectDataInput";
+        String suffix = portable ? "Portable" : "Data";
+
+        StringBuilder source = new StringBuilder();
+        appendHeader(source, type.getPackageName());
+        source.append("/**\n")
+              .append(" * Serialization code of {@link ").append(qualifiedName).append("}.\n")
+              .append(" */\n")
+              .append("public final class ").append(type.getSerializerName()).append(" {\n\n")
+              .append(INDENT).append("public static final int FACTORY_ID = ").append(type.getFactoryId()).append(";\n")
+              .append(INDENT).append("public static final int CLASS_ID = ").append(type.getClassId()).append(";\n\n")
+              .append(INDENT).append("private ").append(type.getSerializerName()).append("() {\n")
+              .append(INDENT).append("}\n\n");
+
+        source.append(INDENT).append("public static ").append(interfaceName).append(" newInstance() {\n")
+              .append(INDENT).append(INDENT).append("return new ").append(qualifiedName).append("();\n")
+              .append(INDENT).append("}\n\n");
+
+        source.append(INDENT).append("public static void write").append(suffix).append('(').append(qualifiedName)
+              .append(" object, ").append(writerType).append(" out) throws java.io.IOException {\n");
+        for (SerializableField field : type.getFields()) {
+            appendWrite(source, field, portable);
+        }
+        source.append(INDENT).append("}\n\n");
+
+        source.append(INDENT).append("public static void read").append(suffix).append('(').append(qualifiedName)
+              .append(" object, ").append(readerType).append(" in) throws java.io.IOException {\n");
+        for (SerializableField field : type.getFields()) {
+            source.append(INDENT).append(INDENT).append("object.").append(field.getName())
+                  .append(" = in.read").append(field.getMethodSuffix()).append('(')
+                  .append(portable ? quote(field.getName()) : "").append(");\n");
+        }
+        source.append(INDENT).append("}\n")
+              .append("}\n");
+        return source.toString();
+    }
+
+    private static void appendWrite(StringBuilder source, SerializableField field, boolean portable) {
+        String value = "object." + field.getName();
+        source.append(INDENT).append(INDENT);
+        if (!portable) {
+            source.append("out.write").append(field.getMethodSuffix()).append('(').append(value).append(");\n");
+            return;
+        }
+
+        String name = quote(field.getName());
+        int[] nullPortableIds = field.getNullPortableIds();
+        if (nullPortableIds != null) {
+            source.append("if (").append(value).append(" == null) {\n")
+                  .append(INDENT).append(INDENT).append(INDENT).append("out.writeNullPortable(").append(name)
+                  .append(", ").append(nullPortableIds[0]).append(", ").append(nullPortableIds[1]).append(");\n")
+                  .append(INDENT).append(INDENT).append("} else {\n")
+                  .append(INDENT).append(INDENT).append(INDENT).append("out.writePortable(").append(name)
+                  .append(", ").append(value).append(");\n")
+                  .append(INDENT).append(INDENT).append("}\n");
+            return;
+        }
+        source.append("out.write").append(field.getMethodSuffix()).append('(').append(name)
+              .append(", ").append(value).append(");\n");
+    }
+
+    /**
+     * Generates a hook registering a factory which creates the instances of
+     * the given types, all having the same factory ID.
+     */
+    static String hookSource(String packageName, String hookName, int factoryId, List<SerializableType> types,
+                             boolean portable) {
+        String hookType = portable
+                ? "com.hazelcast.internal.serialization.impl.portable.PortableHook"
+                : "com.hazelcast.internal.serialization.DataSerializerHook";
+        String factoryType = portable
+                ? "com.hazelcast.nio.serialization.PortableFactory"
+                : "com.hazelcast.nio.serialization.DataSerializableFactory";
+
+        StringBuilder source = new StringBuilder();
+        appendHeader(source, packageName);
+        source.append("/**\n")
+              .append(" * Registers the generated factory ").append(factoryId).append(".\n")
+              .append(" */\n")
+              .append("public final class ").append(hookName).append(" implements ").append(hookType).append(" {\n\n")
+              .append(INDENT).append("@Override\n")
+              .append(INDENT).append("public int getFactoryId() {\n")
+              .append(INDENT).append(INDENT).append("return ").append(factoryId).append(";\n")
+              .append(INDENT).append("}\n\n")
+              .append(INDENT).append("@Override\n")
+              .append(INDENT).append("public ").append(factoryType).append(" createFactory() {\n")
+              .append(INDENT).append(INDENT).append("return classId -> {\n")
+              .append(INDENT).append(INDENT).append(INDENT).append("switch (classId) {\n");
+        for (SerializableType type : types) {
+            source.append(INDENT).append(INDENT).append(INDENT).append(INDENT)
+                  .append("case ").append(type.getClassId()).append(":\n")
+                  .append(INDENT).append(INDENT).append(INDENT).append(INDENT).append(INDENT)
+                  .append("return ").append(type.getQualifiedSerializerName()).append(".newInstance();\n");
+        }
+        source.append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("default:\n")
+              .append(INDENT).append(INDENT).append(INDENT).append(INDENT).append(INDENT).append("return null;\n")
+              .append(INDENT).append(INDENT).append(INDENT).append("}\n")
+              .append(INDENT).append(INDENT).append("};\n")
+              .append(INDENT).append("}\n");
+        if (portable) {
+            source.append('\n')
+                  .append(INDENT).append("@Override\n")
+                  .append(INDENT).append("public java.util.Collection<com.hazelcast.nio.serialization.ClassDefinition>")
+                  .append(" getBuiltinDefinitions() {\n")
+                  .append(INDENT).append(INDENT).append("return null;\n")
+                  .append(INDENT).append("}\n");
+        }
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static void appendHeader(StringBuilder source, String packageName) {
+        source.append("// Generated by ").append(SerializerProcessor.class.getName()).append(", do not edit\n");
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n");
+        }
+        source.append('\n');
+    }
+
+    private static String quote(String name) {
+        return '"' + name + '"';
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.serialization.processor;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SerializerProcessorTest {
+
+    private static final String PERSON = "package sample;\n"
+            + "import com.hazelcast.nio.ObjectDataInput;\n"
+            + "import com.hazelcast.nio.ObjectDataOutput;\n"
+            + "import com.hazelcast.nio.serialization.IdentifiedDataSerializable;\n"
+            + "import com.hazelcast.serialization.processor.GenerateDataSerializable;\n"
+            + "import java.io.IOException;\n"
+            + "@GenerateDataSerializable(factoryId = 1000, classId = 1)\n"
+            + "public class Person implements IdentifiedDataSerializable {\n"
+            + "    static int ignoredStatic;\n"
+            + "    transient int ignoredTransient;\n"
+            + "    boolean active;\n"
+            + "    char initial;\n"
+            + "    int age;\n"
+            + "    double height;\n"
+            + "    String name;\n"
+            + "    long[] scores;\n"
+            + "    String[] aliases;\n"
+            + "    java.util.ArrayList<String> tags;\n"
+            + "    public int getFactoryId() { return PersonSerializer.FACTORY_ID; }\n"
+            + "    public int getClassId() { return PersonSerializer.CLASS_ID; }\n"
+            + "    public void writeData(ObjectDataOutput out) throws IOException { PersonSerializer.writeData(this, out); }\n"
+            + "    public void readData(ObjectDataInput in) throws IOException { PersonSerializer.readData(this, in); }\n"
+            + "}\n";
+
+    private static final String ADDRESS = "package sample;\n"
+            + "import com.hazelcast.nio.serialization.*;\n"
+            + "import com.hazelcast.serialization.processor.GeneratePortable;\n"
+            + "import java.io.IOException;\n"
+            + "@GeneratePortable(factoryId = 1001, classId = 1)\n"
+            + "public class Address implements Portable {\n"
+            + "    String city;\n"
+            + "    short number;\n"
+            + "    public int getFactoryId() { return AddressSerializer.FACTORY_ID; }\n"
+            + "    public int getClassId() { return AddressSerializer.CLASS_ID; }\n"
+            + "    public void writePortable(PortableWriter w) throws IOException { AddressSerializer.writePortable(this, w); }\n"
+            + "    public void readPortable(PortableReader r) throws IOException { AddressSerializer.readPortable(this, r); }\n"
+            + "}\n";
+
+    private static final String CUSTOMER = "package sample;\n"
+            + "import com.hazelcast.nio.serialization.*;\n"
+            + "import com.hazelcast.serialization.processor.GeneratePortable;\n"
+            + "import java.io.IOException;\n"
+            + "@GeneratePortable(factoryId = 1001, classId = 2)\n"
+            + "public class Customer implements Portable {\n"
+            + "    long id;\n"
+            + "    int[] orders;\n"
+            + "    Address home;\n"
+            + "    Address work;\n"
+            + "    public int getFactoryId() { return CustomerSerializer.FACTORY_ID; }\n"
+            + "    public int getClassId() { return CustomerSerializer.CLASS_ID; }\n"
+            + "    public void writePortable(PortableWriter w) throws IOException { CustomerSerializer.writePortable(this, w); }\n"
+            + "    public void readPortable(PortableReader r) throws IOException { CustomerSerializer.readPortable(this, r); }\n"
+            + "}\n";
+
+    private static final Pattern CLASS_NAME = Pattern.compile("public class (\\w+)");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private URLClassLoader classLoader;
+
+    @After
+    public void tearDown() throws IOException {
+        if (classLoader != null) {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void testDataSerializable() throws Exception {
+        assertTrue(compile(singletonList(PERSON)).isEmpty());
+        InternalSerializationService ss = serializationService();
+
+        Object person = newInstance("sample.Person");
+        set(person, "active", true);
+        set(person, "initial", 'J');
+        set(person, "age", 42);
+        set(person, "height", 1.8);
+        set(person, "name", "John");
+        set(person, "scores", new long[]{1, 2, 3});
+        set(person, "aliases", new String[]{"Johnny", null});
+        set(person, "tags", new ArrayList<>(Arrays.asList("a", "b")));
+        set(person, "ignoredTransient", 1);
+
+        Object copy = ss.toObject(ss.toData(person));
+        assertNotSame(person, copy);
+        for (String field : Arrays.asList("active", "initial", "age", "height", "name", "tags")) {
+            assertEquals(field, get(person, field), get(copy, field));
+        }
+        assertArrayEquals((long[]) get(person, "scores"), (long[]) get(copy, "scores"));
+        assertArrayEquals((String[]) get(person, "aliases"), (String[]) get(copy, "aliases"));
+        assertEquals(0, get(copy, "ignoredTransient"));
+    }
+
+    @Test
+    public void testPortable() throws Exception {
+        assertTrue(compile(Arrays.asList(ADDRESS, CUSTOMER)).isEmpty());
+        InternalSerializationService ss = serializationService();
+
+        Object address = newInstance("sample.Address");
+        set(address, "city", "Istanbul");
+        set(address, "number", (short) 7);
+        Object customer = newInstance("sample.Customer");
+        set(customer, "id", 5L);
+        set(customer, "orders", new int[]{10, 20});
+        set(customer, "home", address);
+
+        Data data = ss.toData(customer);
+        assertEquals(5L, ss.createPortableReader(data).readLong("id"));
+        assertEquals("Istanbul", ss.createPortableReader(data).readUTF("home.city"));
+
+        Object copy = ss.toObject(data);
+        assertEquals(5L, get(copy, "id"));
+        assertArrayEquals(new int[]{10, 20}, (int[]) get(copy, "orders"));
+        assertEquals("Istanbul", get(get(copy, "home"), "city"));
+        assertEquals((short) 7, get(get(copy, "home"), "number"));
+        assertNull(get(copy, "work"));
+    }
+
+    @Test
+    public void testServiceFiles() throws Exception {
+        assertTrue(compile(Arrays.asList(PERSON, ADDRESS, CUSTOMER)).isEmpty());
+
+        File classes = new File(folder.getRoot(), "classes");
+        assertEquals(singletonList("sample.GeneratedDataSerializerHook1000"),
+                Files.readAllLines(new File(classes, SerializerProcessor.DATA_SERIALIZER_HOOK_SERVICE).toPath(), UTF_8));
+        assertEquals(singletonList("sample.GeneratedPortableHook1001"),
+                Files.readAllLines(new File(classes, SerializerProcessor.PORTABLE_HOOK_SERVICE).toPath(), UTF_8));
+    }
+
+    @Test
+    public void testPrivateField_rejected() throws Exception {
+        List<String> errors = compile(singletonList(PERSON.replace("    int age;", "    private int age;")));
+        assertTrue(errors.toString(), errors.contains("Serialized fields must not be private nor final"));
+    }
+
+    @Test
+    public void testUnsupportedPortableField_rejected() throws Exception {
+        List<String> errors = compile(singletonList(ADDRESS.replace("    short number;", "    Object number;")));
+        assertTrue(errors.toString(), errors.contains("Unsupported type of a portable field: java.lang.Object"));
+    }
+
+    @Test
+    public void testMissingInterface_rejected() throws Exception {
+        List<String> errors = compile(singletonList(ADDRESS.replace("implements Portable", "")));
+        assertTrue(errors.toString(), errors.contains("The class must implement com.hazelcast.nio.serialization.Portable"));
+    }
+
+    @Test
+    public void testDuplicateClassId_rejected() throws Exception {
+        List<String> errors = compile(Arrays.asList(ADDRESS, CUSTOMER.replace("classId = 2", "classId = 1")));
+        assertTrue(errors.toString(), errors.contains("Class ID 1 of factory 1001 is already used by sample.Address"));
+    }
+
+    /**
+     * Compiles the given sources with the processor.
+     *
+     * @return the reported error messages
+     */
+    private List<String> compile(List<String> sources) throws IOException {
+        File sourceDir = folder.newFolder("sources", "sample");
+        File classes = folder.newFolder("classes");
+        List<File> files = new ArrayList<>();
+        for (String source : sources) {
+            Matcher matcher = CLASS_NAME.matcher(source);
+            assertTrue(matcher.find());
+            File file = new File(sourceDir, matcher.group(1) + ".java");
+            Files.write(file.toPath(), source.getBytes(UTF_8));
+            files.add(file);
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, UTF_8)) {
+            List<String> options = Arrays.asList("-classpath", System.getProperty("java.class.path"),
+                    "-d", classes.getPath());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, options, null,
+                    fileManager.getJavaFileObjectsFromFiles(files));
+            task.setProcessors(singletonList(new SerializerProcessor()));
+            task.call();
+        }
+
+        List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(null));
+            }
+        }
+        classLoader = new URLClassLoader(new URL[]{classes.toURI().toURL()}, getClass().getClassLoader());
+        return errors;
+    }
+
+    private InternalSerializationService serializationService() {
+        return new DefaultSerializationServiceBuilder().setClassLoader(classLoader).build();
+    }
+
+    private Object newInstance(String className) throws Exception {
+        return classLoader.loadClass(className).getDeclaredConstructor().newInstance();
+    }
+
+    private static void set(Object object, String fieldName, Object value) throws Exception {
+        Field field = object.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(object, value);
+    }
+
+    private static Object get(Object object, String fieldName) throws Exception {
+        Field field = object.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        return field.get(object);
+    }
+}
@@ -19,12 +19,20 @@ package com.hazelcast.aggregation.impl;
 import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.internal.json.NonTerminalJsonValue;
 import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.TypeConverters;
 import com.hazelcast.query.impl.getters.MultiResult;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
+
 /**
  * Abstract class providing convenience for concrete implementations of an {@link Aggregator}
  * It provides built-in extraction capabilities that may be used in the accumulation phase.
@@ -95,6 +103,29 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
         throw new IllegalArgumentException("Can't extract " + attributePath + " from the given input");
     }
 
+    /**
+     * Selects the entries having the lowest or the highest value of the
+     * attribute of this aggregator using an ordered index on the attribute.
+     * <p>
+     * Enum attributes are not supported since their indexed values are
+     * ordered by name.
+     *
+     * @return the selected entries or {@code null} if there is no suitable
+     * index.
+     */
+    protected Collection<QueryableEntry> selectBoundaryEntries(Indexes indexes, int ownedPartitionCount,
+                                                               boolean highest) {
+        if (attributePath == null) {
+            return null;
+        }
+        InternalIndex index = indexes.matchIndex(canonicalizeAttribute(attributePath),
+                QueryContext.IndexMatchHint.PREFER_ORDERED, ownedPartitionCount);
+        if (index == null || !index.isOrdered() || index.getConverter() == TypeConverters.ENUM_CONVERTER) {
+            return null;
+        }
+        return index.getBoundaryRecords(highest);
+    }
+
     /**
      * Accumulates a single extracted value.
      * This method may be called multiple times per accumulated entry if the attributePath contains [any] operator.
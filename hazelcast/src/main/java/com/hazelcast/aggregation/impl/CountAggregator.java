@@ -20,11 +20,15 @@ import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Objects;
 
-public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long> implements IdentifiedDataSerializable {
+public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long>
+        implements IdentifiedDataSerializable, IndexAwareAggregator {
     private long count;
 
     public CountAggregator() {
@@ -51,6 +55,21 @@ public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long
         return count;
     }
 
+    @Override
+    public boolean accumulateAll(Collection<QueryableEntry> entries) {
+        if (attributePath != null) {
+            // the attribute may have multiple values per entry
+            return false;
+        }
+        count += entries.size();
+        return true;
+    }
+
+    @Override
+    public Collection<QueryableEntry> selectIndexedEntries(Indexes indexes, int ownedPartitionCount) {
+        return null;
+    }
+
     @Override
     public int getFactoryId() {
         return AggregatorDataSerializerHook.F_ID;
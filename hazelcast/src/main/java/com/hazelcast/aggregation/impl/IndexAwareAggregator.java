@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation.impl;
+
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
+
+import java.util.Collection;
+
+/**
+ * Aggregator which can be accumulated using the results or the indexes of
+ * a query without accumulating every matching entry one by one.
+ */
+public interface IndexAwareAggregator {
+
+    /**
+     * Accumulates all the given entries at once if the result of this
+     * aggregator doesn't depend on their contents.
+     *
+     * @param entries the entries matching a query.
+     * @return {@code true} if the entries were accumulated, {@code false} if
+     * they have to be accumulated one by one.
+     */
+    boolean accumulateAll(Collection<QueryableEntry> entries);
+
+    /**
+     * Selects the entries which are enough to accumulate to aggregate all
+     * the entries indexed by the given indexes.
+     *
+     * @param indexes             the indexes of the queried map.
+     * @param ownedPartitionCount a count of owned partitions a query runs on.
+     * @return the selected entries or {@code null} if the indexes can't tell.
+     */
+    Collection<QueryableEntry> selectIndexedEntries(Indexes indexes, int ownedPartitionCount);
+}
@@ -21,12 +21,15 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Objects;
 
 public final class MaxAggregator<I, R extends Comparable> extends AbstractAggregator<I, R, R>
-        implements IdentifiedDataSerializable {
+        implements IdentifiedDataSerializable, IndexAwareAggregator {
 
     private R max;
 
@@ -67,6 +70,16 @@ public final class MaxAggregator<I, R extends Comparable> extends AbstractAggreg
         return max;
     }
 
+    @Override
+    public boolean accumulateAll(Collection<QueryableEntry> entries) {
+        return false;
+    }
+
+    @Override
+    public Collection<QueryableEntry> selectIndexedEntries(Indexes indexes, int ownedPartitionCount) {
+        return selectBoundaryEntries(indexes, ownedPartitionCount, true);
+    }
+
     @Override
     public int getFactoryId() {
         return AggregatorDataSerializerHook.F_ID;
@@ -21,11 +21,15 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.QueryableEntry;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Objects;
 
-public final class MaxByAggregator<I> extends AbstractAggregator<I, Comparable, I> implements IdentifiedDataSerializable {
+public final class MaxByAggregator<I> extends AbstractAggregator<I, Comparable, I>
+        implements IdentifiedDataSerializable, IndexAwareAggregator {
 
     private Comparable maxValue;
     private I maxEntry;
@@ -69,6 +73,16 @@ public final class MaxByAggregator<I> extends AbstractAggregator<I, Comparable,
         return maxEntry;
     }
 
+    @Override
+    public boolean accumulateAll(Collection<QueryableEntry> entries) {
+        return false;
+    }
+
+    @Override
+    public Collection<QueryableEntry> selectIndexedEntries(Indexes indexes, int ownedPartitionCount) {
+        return selectBoundaryEntries(indexes, ownedPartitionCount, true);
+    }
+
     @Override
     public int getFactoryId() {
         return AggregatorDataSerializerHook.F_ID;
@@ -22,11 +22,9 @@ import com.hazelcast.client.impl.protocol.codec.MapFetchWithQueryCodec;
 import com.hazelcast.client.impl.proxy.ClientMapProxy;
 import com.hazelcast.client.impl.spi.ClientContext;
 import com.hazelcast.client.impl.spi.impl.ClientInvocation;
-import com.hazelcast.client.impl.spi.impl.ClientInvocationFuture;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
-import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.map.impl.iterator.AbstractMapQueryPartitionIterator;
 import com.hazelcast.projection.Projection;
 import com.hazelcast.query.Predicate;
@@ -34,6 +32,7 @@ import com.hazelcast.query.Predicate;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 import static com.hazelcast.internal.iteration.IterationPointer.decodePointers;
 import static com.hazelcast.internal.iteration.IterationPointer.encodePointers;
@@ -63,13 +62,26 @@ public class ClientMapQueryPartitionIterator<K, V, R> extends AbstractMapQueryPa
                                            int partitionId,
                                            Predicate<K, V> predicate,
                                            Projection<? super Entry<K, V>, R> projection) {
-        super(mapProxy, fetchSize, partitionId, predicate, projection);
+        this(mapProxy, context, fetchSize, partitionId, predicate, projection, false);
+    }
+
+    public ClientMapQueryPartitionIterator(ClientMapProxy<K, V> mapProxy,
+                                           ClientContext context,
+                                           int fetchSize,
+                                           int partitionId,
+                                           Predicate<K, V> predicate,
+                                           Projection<? super Entry<K, V>, R> projection,
+                                           boolean prefetch) {
+        super(mapProxy, fetchSize, partitionId, predicate, projection, prefetch);
         this.mapProxy = mapProxy;
         this.context = context;
+        if (prefetch) {
+            prefetch();
+        }
     }
 
     @Override
-    protected List<Data> fetch() {
+    protected CompletableFuture<List<Data>> fetchAsync() {
         HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
         ClientMessage request = MapFetchWithQueryCodec.encodeRequest(
                 mapProxy.getName(),
@@ -78,16 +90,13 @@ public class ClientMapQueryPartitionIterator<K, V, R> extends AbstractMapQueryPa
                 getSerializationService().toData(query.getProjection()),
                 getSerializationService().toData(query.getPredicate()));
         ClientInvocation clientInvocation = new ClientInvocation(client, request, mapProxy.getName(), partitionId);
-        try {
-            ClientInvocationFuture f = clientInvocation.invoke();
-            MapFetchWithQueryCodec.ResponseParameters responseParameters = MapFetchWithQueryCodec.decodeResponse(f.get());
+        return clientInvocation.invoke().thenApply(response -> {
+            MapFetchWithQueryCodec.ResponseParameters responseParameters = MapFetchWithQueryCodec.decodeResponse(response);
             List<Data> results = responseParameters.results;
             IterationPointer[] pointers = decodePointers(responseParameters.iterationPointers);
             setLastTableIndex(results, pointers);
             return results;
-        } catch (Exception e) {
-            throw ExceptionUtil.rethrow(e);
-        }
+        });
     }
 
     @Override
@@ -27,7 +27,13 @@ public enum IndexType {
     HASH(1),
 
     /** Bitmap index. Can be used with equality predicates. */
-    BITMAP(2);
+    BITMAP(2),
+
+    /**
+     * N-gram index. Indexes the trigrams of string attribute values, can be
+     * used with {@code LIKE}, {@code ILIKE} and regex predicates.
+     */
+    NGRAM(3);
 
     private final int id;
 
@@ -72,6 +72,7 @@ import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
+import com.hazelcast.internal.partition.impl.PartitionTableStore;
 import com.hazelcast.internal.server.tcp.ChannelInitializerFunction;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.tcp.PacketDecoder;
@@ -205,6 +206,11 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public void beforeJoin() {
+        MapService mapService = node.nodeEngine.getServiceOrNull(MapService.SERVICE_NAME);
+        PartitionTableStore partitionTableStore = node.partitionService.getPartitionTableStore();
+        if (mapService != null && partitionTableStore != null) {
+            mapService.getMapServiceContext().loadLocalPersistence(partitionTableStore);
+        }
     }
 
     @Override
@@ -390,6 +396,7 @@ public class DefaultNodeExtension implements NodeExtension {
         if (service != null) {
             service.onPartitionStateChange();
         }
+        node.partitionService.storePartitionTable();
     }
 
     @Override
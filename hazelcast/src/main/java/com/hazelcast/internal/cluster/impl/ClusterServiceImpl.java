@@ -194,13 +194,14 @@ public class ClusterServiceImpl implements ClusterService, ConnectionListener, M
                 return;
             }
 
-            Connection conn = node.getServer().getConnectionManager(MEMBER).get(address);
-            if (conn != null && conn.isAlive()) {
-                if (logger.isFineEnabled()) {
-                    logger.fine("Cannot suspect " + member + ", since there's a live connection -> " + conn);
-                }
+            for (Connection conn : node.getServer().getConnectionManager(MEMBER).getConnections(address)) {
+                if (conn.isAlive()) {
+                    if (logger.isFineEnabled()) {
+                        logger.fine("Cannot suspect " + member + ", since there's a live connection -> " + conn);
+                    }
 
-                return;
+                    return;
+                }
             }
             suspectMember(member, "No connection", false);
         } finally {
@@ -43,17 +43,28 @@ import static com.hazelcast.internal.util.UUIDSerializationUtil.writeUUID;
  * established yet. The {@code MemberHandshake} itself includes a
  * schema version so it can be extended in future versions without having
  * to use another packet type.
+ * <p>
+ * Since schema version 2, it also carries the number of connections
+ * opened between each pair of members and the index of the connection
+ * it is sent over.
  *
  * @since 3.12
  */
 public class MemberHandshake
         implements IdentifiedDataSerializable {
 
+    /**
+     * The first schema version carrying the plane count and index.
+     */
+    public static final byte PLANES_SCHEMA_VERSION = 2;
+
     private byte schemaVersion;
     private Map<ProtocolType, Collection<Address>> localAddresses;
     private Address targetAddress;
     private boolean reply;
     private UUID uuid;
+    private int planeCount = 1;
+    private int planeIndex;
 
     public MemberHandshake() {
     }
@@ -67,6 +78,13 @@ public class MemberHandshake
         this.uuid = uuid;
     }
 
+    public MemberHandshake(Map<ProtocolType, Collection<Address>> localAddresses, Address targetAddress,
+                           boolean reply, UUID uuid, int planeCount, int planeIndex) {
+        this(PLANES_SCHEMA_VERSION, localAddresses, targetAddress, reply, uuid);
+        this.planeCount = planeCount;
+        this.planeIndex = planeIndex;
+    }
+
     byte getSchemaVersion() {
         return schemaVersion;
     }
@@ -87,6 +105,21 @@ public class MemberHandshake
         return uuid;
     }
 
+    /**
+     * @return the number of connections the sender opens to each member,
+     * {@code 1} if the sender uses an older schema version
+     */
+    public int getPlaneCount() {
+        return planeCount;
+    }
+
+    /**
+     * @return the index of the connection this handshake is sent over
+     */
+    public int getPlaneIndex() {
+        return planeIndex;
+    }
+
     @Override
     public int getFactoryId() {
         return ClusterDataSerializerHook.F_ID;
@@ -105,12 +138,16 @@ public class MemberHandshake
         writeUUID(out, uuid);
         int size = (localAddresses == null) ? 0 : localAddresses.size();
         out.writeInt(size);
-        if (size == 0) {
-            return;
+        if (size > 0) {
+            for (Map.Entry<ProtocolType, Collection<Address>> addressEntry : localAddresses.entrySet()) {
+                out.writeInt(addressEntry.getKey().ordinal());
+                writeCollection(addressEntry.getValue(), out);
+            }
         }
-        for (Map.Entry<ProtocolType, Collection<Address>> addressEntry : localAddresses.entrySet()) {
-            out.writeInt(addressEntry.getKey().ordinal());
-            writeCollection(addressEntry.getValue(), out);
+        // appended so that the members using the older schema versions can still read the message
+        if (schemaVersion >= PLANES_SCHEMA_VERSION) {
+            out.writeInt(planeCount);
+            out.writeInt(planeIndex);
         }
     }
 
@@ -123,20 +160,25 @@ public class MemberHandshake
         int size = in.readInt();
         if (size == 0) {
             localAddresses = Collections.emptyMap();
-            return;
+        } else {
+            Map<ProtocolType, Collection<Address>> addressesPerProtocolType = new EnumMap<>(ProtocolType.class);
+            for (int i = 0; i < size; i++) {
+                ProtocolType protocolType = ProtocolType.valueOf(in.readInt());
+                Collection<Address> addresses = readCollection(in);
+                addressesPerProtocolType.put(protocolType, addresses);
+            }
+            this.localAddresses = addressesPerProtocolType;
         }
-        Map<ProtocolType, Collection<Address>> addressesPerProtocolType = new EnumMap<>(ProtocolType.class);
-        for (int i = 0; i < size; i++) {
-            ProtocolType protocolType = ProtocolType.valueOf(in.readInt());
-            Collection<Address> addresses = readCollection(in);
-            addressesPerProtocolType.put(protocolType, addresses);
+        if (schemaVersion >= PLANES_SCHEMA_VERSION) {
+            planeCount = in.readInt();
+            planeIndex = in.readInt();
         }
-        this.localAddresses = addressesPerProtocolType;
     }
 
     @Override
     public String toString() {
         return "MemberHandshake{" + "schemaVersion=" + schemaVersion + ", localAddresses=" + localAddresses
-                + ", targetAddress=" + targetAddress + ", reply=" + reply + ", uuid=" + uuid + '}';
+                + ", targetAddress=" + targetAddress + ", reply=" + reply + ", uuid=" + uuid
+                + ", planeCount=" + planeCount + ", planeIndex=" + planeIndex + '}';
     }
 }
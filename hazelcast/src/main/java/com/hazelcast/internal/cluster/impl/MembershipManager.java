@@ -26,7 +26,6 @@ import com.hazelcast.internal.cluster.MemberInfo;
 import com.hazelcast.internal.cluster.impl.operations.FetchMembersViewOp;
 import com.hazelcast.internal.cluster.impl.operations.MembersUpdateOp;
 import com.hazelcast.internal.hotrestart.InternalHotRestartService;
-import com.hazelcast.internal.nio.Connection;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.services.MembershipAwareService;
 import com.hazelcast.internal.services.MembershipServiceEvent;
@@ -726,10 +725,7 @@ public class MembershipManager {
     }
 
     private void closeConnection(Address address, String reason) {
-        Connection conn = node.getServer().getConnectionManager(MEMBER).get(address);
-        if (conn != null) {
-            conn.close(reason, null);
-        }
+        node.getServer().getConnectionManager(MEMBER).closeConnections(address, reason);
     }
 
     private void handleMemberRemove(MemberMap newMembers, MemberImpl removedMember) {
@@ -199,6 +199,9 @@ public final class MetricDescriptorConstants {
     public static final String MAP_PREFIX = "map";
     public static final String MAP_PREFIX_INDEX = "map.index";
     public static final String MAP_PREFIX_NEARCACHE = "map.nearcache";
+    public static final String MAP_PREFIX_LOADER = "map.loader";
+    public static final String MAP_PREFIX_WRITE_BEHIND = "map.writebehind";
+    public static final String MAP_PREFIX_INDEX_POPULATION = "map.indexpopulation";
     public static final String MAP_DISCRIMINATOR_NAME = "name";
     public static final String MAP_TAG_INDEX = "index";
     public static final String MAP_METRIC_LAST_ACCESS_TIME = "lastAccessTime";
@@ -222,6 +225,8 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_BACKUP_COUNT = "backupCount";
     public static final String MAP_METRIC_QUERY_COUNT = "queryCount";
     public static final String MAP_METRIC_INDEXED_QUERY_COUNT = "indexedQueryCount";
+    public static final String MAP_METRIC_DESERIALIZED_VALUE_CACHE_HITS = "deserializedValueCacheHits";
+    public static final String MAP_METRIC_DESERIALIZED_VALUE_CACHE_MISSES = "deserializedValueCacheMisses";
     public static final String MAP_METRIC_TOTAL_PUT_LATENCY = "totalPutLatency";
     public static final String MAP_METRIC_TOTAL_SET_LATENCY = "totalSetLatency";
     public static final String MAP_METRIC_TOTAL_GET_LATENCY = "totalGetLatency";
@@ -242,6 +247,15 @@ public final class MetricDescriptorConstants {
     public static final String MAP_METRIC_INDEX_REMOVE_COUNT = "removeCount";
     public static final String MAP_METRIC_INDEX_TOTAL_REMOVE_LATENCY = "totalRemoveLatency";
     public static final String MAP_METRIC_INDEX_MEMORY_COST = "memoryCost";
+    public static final String MAP_METRIC_LOADER_KEYS_DISPATCHED = "keysDispatched";
+    public static final String MAP_METRIC_LOADER_SEGMENTS_LOADED = "segmentsLoaded";
+    public static final String MAP_METRIC_LOADER_ENTRIES_LOADED = "entriesLoaded";
+    public static final String MAP_METRIC_WRITE_BEHIND_FLUSH_LAG = "flushLag";
+    public static final String MAP_METRIC_WRITE_BEHIND_BATCH_SIZE = "writeBatchSize";
+    public static final String MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT = "storedEntryCount";
+    public static final String MAP_METRIC_INDEX_POPULATION_PENDING_PARTITIONS = "pendingPartitions";
+    public static final String MAP_METRIC_INDEX_POPULATION_POPULATED_PARTITIONS = "populatedPartitions";
+    public static final String MAP_METRIC_INDEX_POPULATION_POPULATED_ENTRIES = "populatedEntries";
     // ===[/MAP]========================================================
 
     // ===[MEMORY]======================================================
@@ -497,6 +511,15 @@ public final class MetricDescriptorConstants {
     public static final String RUNTIME_FULL_METRIC_UPTIME = "runtime.uptime";
     // ===[/RUNTIME]====================================================
 
+    // ===[SERIALIZATION]===============================================
+    public static final String SERIALIZATION_PREFIX_BUFFER_POOL = "serialization.bufferPool";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_CAPACITY = "capacity";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_POOLED_BYTES = "pooledBytes";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_HITS = "hits";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_MISSES = "misses";
+    public static final String SERIALIZATION_METRIC_BUFFER_POOL_DISCARDED = "discarded";
+    // ===[/SERIALIZATION]==============================================
+
     // ===[SET]=======================================================
     public static final String SET_PREFIX = "set";
     public static final String SET_METRIC_LAST_ACCESS_TIME = "lastAccessTime";
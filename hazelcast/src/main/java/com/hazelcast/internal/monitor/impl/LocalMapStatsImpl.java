@@ -32,6 +32,8 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_BACKUP_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_BACKUP_ENTRY_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_CREATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_DESERIALIZED_VALUE_CACHE_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_DESERIALIZED_VALUE_CACHE_MISSES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_DIRTY_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_GET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HEAP_COST;
@@ -166,6 +168,10 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long queryCount;
     @Probe(name = MAP_METRIC_INDEXED_QUERY_COUNT)
     private volatile long indexedQueryCount;
+    @Probe(name = MAP_METRIC_DESERIALIZED_VALUE_CACHE_HITS)
+    private volatile long deserializedValueCacheHits;
+    @Probe(name = MAP_METRIC_DESERIALIZED_VALUE_CACHE_MISSES)
+    private volatile long deserializedValueCacheMisses;
 
     public LocalMapStatsImpl() {
         creationTime = Clock.currentTimeMillis();
@@ -405,6 +411,32 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.indexedQueryCount = indexedQueryCount;
     }
 
+    /**
+     * Returns the number of values served from the deserialized value
+     * caches of the owned partitions.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_DESERIALIZED_VALUE_CACHE_SIZE
+     */
+    public long getDeserializedValueCacheHits() {
+        return deserializedValueCacheHits;
+    }
+
+    public void setDeserializedValueCacheHits(long deserializedValueCacheHits) {
+        this.deserializedValueCacheHits = deserializedValueCacheHits;
+    }
+
+    /**
+     * Returns the number of values deserialized and put into the
+     * deserialized value caches of the owned partitions.
+     */
+    public long getDeserializedValueCacheMisses() {
+        return deserializedValueCacheMisses;
+    }
+
+    public void setDeserializedValueCacheMisses(long deserializedValueCacheMisses) {
+        this.deserializedValueCacheMisses = deserializedValueCacheMisses;
+    }
+
     @Override
     public Map<String, LocalIndexStats> getIndexStats() {
         return indexStats;
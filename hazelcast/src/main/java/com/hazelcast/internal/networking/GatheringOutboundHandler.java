@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implemented by an {@link OutboundHandler} which can hand over its output as
+ * a sequence of buffers, written to the socket with a single gathering write.
+ * This way large frames don't need to be copied into the dst buffer first.
+ * <p>
+ * The gathering is enabled by the {@link OutboundPipeline} only for its last
+ * handler. When it is disabled, the handler writes all its output to its dst
+ * buffer.
+ */
+public interface GatheringOutboundHandler {
+
+    /**
+     * Enables or disables the gathering. Called by the pipeline whenever its
+     * handlers change.
+     *
+     * @param enabled {@code true} if the handler is the last one of the
+     *                pipeline and the pipeline does gathering writes
+     */
+    void setGatheringEnabled(boolean enabled);
+
+    /**
+     * Returns the buffers to write, in reading mode. Only the first {@link
+     * #bufferCount()} buffers are to be written.
+     * <p>
+     * Called only when the gathering is enabled.
+     *
+     * @return the buffers to write
+     */
+    ByteBuffer[] buffers();
+
+    /**
+     * @return the number of buffers to write
+     */
+    int bufferCount();
+}
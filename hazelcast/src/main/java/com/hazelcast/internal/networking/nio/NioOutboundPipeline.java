@@ -19,6 +19,7 @@ package com.hazelcast.internal.networking.nio;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.ChannelHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.networking.OutboundFrame;
 import com.hazelcast.internal.networking.OutboundHandler;
@@ -112,6 +113,8 @@ public final class NioOutboundPipeline
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    // the last handler if it hands over its output as several buffers, null otherwise
+    private GatheringOutboundHandler gatheringHandler;
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES)
@@ -130,6 +133,7 @@ public final class NioOutboundPipeline
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
     private final boolean selectionKeyWakeupEnabled;
+    private final boolean gatheringWriteEnabled;
 
     NioOutboundPipeline(NioChannel channel,
                         NioThread owner,
@@ -138,11 +142,13 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        boolean gatheringWriteEnabled) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.gatheringWriteEnabled = gatheringWriteEnabled;
     }
 
     @Override
@@ -316,7 +322,7 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (hasRemaining()) {
             pipelineStatus = DIRTY;
         }
 
@@ -422,11 +428,28 @@ public final class NioOutboundPipeline
 
     private void flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        GatheringOutboundHandler gatheringHandler = this.gatheringHandler;
+        long written = gatheringHandler == null
+                ? socketChannel.write(sendBuffer)
+                : socketChannel.write(gatheringHandler.buffers(), 0, gatheringHandler.bufferCount());
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
     }
 
+    private boolean hasRemaining() {
+        GatheringOutboundHandler gatheringHandler = this.gatheringHandler;
+        if (gatheringHandler == null) {
+            return sendBuffer.remaining() > 0;
+        }
+        ByteBuffer[] buffers = gatheringHandler.buffers();
+        for (int i = gatheringHandler.bufferCount() - 1; i >= 0; i--) {
+            if (buffers[i].hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     void drainWriteQueues() {
         writeQueue.clear();
         priorityWriteQueue.clear();
@@ -499,9 +522,18 @@ public final class NioOutboundPipeline
     private void updatePipeline(OutboundHandler[] newHandlers) {
         this.handlers = newHandlers;
         this.sendBuffer = newHandlers.length == 0 ? null : (ByteBuffer) newHandlers[newHandlers.length - 1].dst();
+        this.gatheringHandler = null;
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
+            if (handler instanceof GatheringOutboundHandler) {
+                // the output of the other handlers is the input of the next handler, it must stay in their dst
+                boolean gathering = gatheringWriteEnabled && handler == newHandlers[newHandlers.length - 1];
+                ((GatheringOutboundHandler) handler).setGatheringEnabled(gathering);
+                if (gathering) {
+                    gatheringHandler = (GatheringOutboundHandler) handler;
+                }
+            }
             if (prev == null) {
                 handler.src(this);
             } else {
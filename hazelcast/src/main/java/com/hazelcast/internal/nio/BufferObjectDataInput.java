@@ -17,6 +17,7 @@
 package com.hazelcast.internal.nio;
 
 import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.spi.impl.SerializationServiceSupport;
 
 import java.io.Closeable;
@@ -65,6 +66,26 @@ public interface BufferObjectDataInput extends ObjectDataInput, Closeable, DataR
 
     short readShort(int position, ByteOrder byteOrder) throws IOException;
 
+    /**
+     * Reads a long array written by {@link BufferObjectDataOutput#writeDeltaEncodedLongArray}.
+     *
+     * @return the long array read
+     * @throws IOException if it reaches end of file before finish reading
+     *                     or the array is malformed
+     */
+    long[] readDeltaEncodedLongArray() throws IOException;
+
+    /**
+     * Reads a {@link Data} sharing the buffer of this input instead of
+     * copying its bytes. The buffer must not be modified as long as the
+     * returned data is used.
+     *
+     * @return the data read
+     * @throws IOException if it reaches end of file before finish reading
+     * @see com.hazelcast.internal.serialization.impl.HeapDataView
+     */
+    Data readDataView() throws IOException;
+
     int position();
 
     void position(int newPos);
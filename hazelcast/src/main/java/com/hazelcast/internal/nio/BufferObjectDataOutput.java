@@ -66,6 +66,17 @@ public interface BufferObjectDataOutput extends ObjectDataOutput, Closeable,
 
     void writeShort(int position, int v, ByteOrder byteOrder) throws IOException;
 
+    /**
+     * Writes a long array as the variable-length encoded differences of its
+     * consecutive elements. Takes far less space than {@link #writeLongArray}
+     * for the sorted arrays of close values, like timestamps or sequences.
+     *
+     * @param longs the long array to be written
+     * @throws IOException in case of any exceptional case
+     * @see BufferObjectDataInput#readDeltaEncodedLongArray()
+     */
+    void writeDeltaEncodedLongArray(long[] longs) throws IOException;
+
     int position();
 
     void position(int newPos);
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+import static com.hazelcast.internal.util.JavaVersion.JAVA_9;
+import static com.hazelcast.internal.util.JavaVersion.isAtLeast;
+
+/**
+ * Releases the memory of direct and memory-mapped byte buffers without
+ * waiting for the buffers to be garbage collected, which also unmaps the
+ * file of a memory-mapped buffer.
+ * <p>
+ * A cleaned buffer must not be accessed anymore, the JVM may crash otherwise.
+ */
+public final class DirectBufferCleaner {
+
+    private static final ILogger LOGGER = Logger.getLogger(DirectBufferCleaner.class);
+    private static final Cleaner CLEANER = createCleaner();
+
+    private DirectBufferCleaner() {
+    }
+
+    /**
+     * Releases the memory of the given buffer. If the buffer is not direct
+     * or the JVM doesn't support cleaning, its memory is released when it
+     * is garbage collected.
+     *
+     * @param buffer the buffer to clean, must not be a slice or a duplicate
+     */
+    public static void clean(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || CLEANER == null) {
+            return;
+        }
+        try {
+            CLEANER.clean(buffer);
+        } catch (Exception e) {
+            LOGGER.finest("Could not clean a direct buffer", e);
+        }
+    }
+
+    private static Cleaner createCleaner() {
+        try {
+            if (isAtLeast(JAVA_9)) {
+                if (!UNSAFE_AVAILABLE) {
+                    return null;
+                }
+                Method invokeCleaner = UNSAFE.getClass().getMethod("invokeCleaner", ByteBuffer.class);
+                return buffer -> invokeCleaner.invoke(UNSAFE, buffer);
+            }
+            Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                Object cleaner = cleanerMethod.invoke(buffer);
+                if (cleaner != null) {
+                    cleanMethod.invoke(cleaner);
+                }
+            };
+        } catch (Exception e) {
+            LOGGER.finest("Direct buffers are released only when they are garbage collected", e);
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Cleaner {
+        void clean(ByteBuffer buffer) throws Exception;
+    }
+}
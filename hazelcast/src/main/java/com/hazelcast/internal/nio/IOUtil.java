@@ -151,6 +151,19 @@ public final class IOUtil {
         return ((DataReader) in).readData();
     }
 
+    /**
+     * Reads a {@link Data} sharing the buffer of the given input if it is a
+     * {@link BufferObjectDataInput}, a copy otherwise.
+     *
+     * @see BufferObjectDataInput#readDataView()
+     */
+    public static Data readDataView(ObjectDataInput in) throws IOException {
+        if (in instanceof BufferObjectDataInput) {
+            return ((BufferObjectDataInput) in).readDataView();
+        }
+        return readData(in);
+    }
+
     public static <T> T readDataAsObject(ObjectDataInput in) throws IOException {
         assert in instanceof DataReader : "in must be an instance of DataReader";
         return ((DataReader) in).readDataAsObject();
@@ -136,6 +136,8 @@ public class InternalPartitionServiceImpl implements InternalPartitionService,
     private final PartitionReplicaManager replicaManager;
     private final PartitionReplicaStateChecker partitionReplicaStateChecker;
     private final PartitionEventManager partitionEventManager;
+    /** Persists the partition table, {@code null} when the local persistence is not enabled. */
+    private final PartitionTableStore partitionTableStore;
 
     /** Determines if a {@link AssignPartitions} is being sent to the master, used to limit partition assignment requests. */
     private final AtomicBoolean masterTriggered = new AtomicBoolean(false);
@@ -161,6 +163,7 @@ public class InternalPartitionServiceImpl implements InternalPartitionService,
 
         partitionReplicaStateChecker = new PartitionReplicaStateChecker(node, this);
         partitionEventManager = new PartitionEventManager(node);
+        partitionTableStore = PartitionTableStore.create(node, partitionCount);
 
         masterTrigger = new CoalescingDelayedTrigger(nodeEngine.getExecutionService(), TRIGGER_MASTER_DELAY_MILLIS,
                 2 * TRIGGER_MASTER_DELAY_MILLIS, this::resetMasterTriggeredFlag);
@@ -241,9 +244,13 @@ public class InternalPartitionServiceImpl implements InternalPartitionService,
         lock.lock();
         try {
             if (!partitionStateManager.isInitialized()) {
-                Set<Member> excludedMembers = migrationManager.getShutdownRequestedMembers();
-                if (partitionStateManager.initializePartitionAssignments(excludedMembers)) {
-                    publishPartitionRuntimeState();
+                if (partitionTableStore != null && partitionTableStore.isRestorePending()) {
+                    restorePartitionAssignments();
+                } else {
+                    Set<Member> excludedMembers = migrationManager.getShutdownRequestedMembers();
+                    if (partitionStateManager.initializePartitionAssignments(excludedMembers)) {
+                        publishPartitionRuntimeState();
+                    }
                 }
             }
 
@@ -253,6 +260,44 @@ public class InternalPartitionServiceImpl implements InternalPartitionService,
         }
     }
 
+    /**
+     * Assigns the partitions as in the partition table persisted before
+     * the restart, once all its members have rejoined or the restore
+     * timed out. The members which did not rejoin are removed by the
+     * repair of the partition table, which promotes their backups.
+     */
+    private void restorePartitionAssignments() {
+        Collection<Member> members = node.getClusterService().getMembers(DATA_MEMBER_SELECTOR);
+        if (!partitionTableStore.isRestorable(members)) {
+            logger.fine("Waiting for the members of the persisted partition table to join");
+            return;
+        }
+        if (partitionStateManager.restorePartitionAssignments(partitionTableStore.getRestoredReplicas(members))) {
+            partitionTableStore.onRestored();
+            publishPartitionRuntimeState();
+            migrationManager.triggerControlTask();
+        }
+    }
+
+    /**
+     * Writes the current partition table to local disk if the local
+     * persistence is enabled and the partitions are assigned.
+     */
+    public void storePartitionTable() {
+        if (partitionTableStore == null || !partitionStateManager.isInitialized()) {
+            return;
+        }
+        partitionTableStore.store(createPartitionTableView());
+    }
+
+    /**
+     * @return the store of the partition table or {@code null}
+     * if the local persistence is not enabled
+     */
+    public PartitionTableStore getPartitionTableStore() {
+        return partitionTableStore;
+    }
+
     /** Sends a {@link AssignPartitions} to the master to assign partitions. */
     private void triggerMasterToAssignPartitions() {
         if (!shouldTriggerMasterToAssignPartitions()) {
@@ -348,6 +393,9 @@ public class InternalPartitionServiceImpl implements InternalPartitionService,
             if (isLocalMemberMaster()) {
                 if (partitionStateManager.isInitialized()) {
                     migrationManager.triggerControlTask();
+                } else if (partitionTableStore != null && partitionTableStore.isRestorePending()) {
+                    // the joined member may be the last one the restore waits for
+                    nodeEngine.getExecutionService().execute(ExecutionService.ASYNC_EXECUTOR, this::firstArrangement);
                 }
             }
         } finally {
@@ -299,6 +299,7 @@ public class PartitionReplicaManager implements PartitionReplicaVersionManager {
     }
 
     // called in operation threads
+    @Override
     public boolean isPartitionReplicaVersionDirty(int partitionId, ServiceNamespace namespace) {
         return replicaVersions[partitionId].isDirty(namespace);
     }
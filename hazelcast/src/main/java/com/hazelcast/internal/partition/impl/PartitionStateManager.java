@@ -154,7 +154,28 @@ public class PartitionStateManager {
             throw new HazelcastException("Invalid partition count! "
                     + "Expected: " + partitionCount + ", Actual: " + newState.length);
         }
+        return setInitialAssignments(newState);
+    }
+
+    /**
+     * Assigns the partitions to the given replicas, e.g. to the replicas of
+     * the partition table persisted before the cluster was restarted, if
+     * the assignment is allowed as in {@link #initializePartitionAssignments(Set)}.
+     * The replicas may contain members which are not in the cluster, they are
+     * removed by the repair of the partition table.
+     *
+     * @param replicas the replicas of each partition
+     * @return if the partitions were assigned
+     */
+    boolean restorePartitionAssignments(PartitionReplica[][] replicas) {
+        if (!isPartitionAssignmentAllowed()) {
+            return false;
+        }
+        logger.info("Restoring the persisted cluster partition table...");
+        return setInitialAssignments(replicas);
+    }
 
+    private boolean setInitialAssignments(PartitionReplica[][] newState) {
         // increment state version to make fail cluster state transaction
         // if it's started and not locked the state yet.
         stateVersion.incrementAndGet();
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.partition.InternalPartition;
+import com.hazelcast.internal.partition.PartitionReplica;
+import com.hazelcast.internal.partition.PartitionTableView;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.toFileName;
+import static com.hazelcast.internal.util.StringUtil.isNullOrEmptyAfterTrim;
+import static com.hazelcast.internal.util.UuidUtil.newUnsecureUUID;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_DIR;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_RESTORE_TIMEOUT;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Persists the partition table on local disk when the IMap local persistence
+ * is enabled, see {@link com.hazelcast.spi.properties.ClusterProperty#MAP_PERSISTENCE_DIR},
+ * so that a restarted cluster assigns the partitions to the members which
+ * persisted their records.
+ * <p>
+ * The replicas are stored by address since the member uuids change on
+ * every start. On restart, the master waits until all members of the
+ * persisted partition table have joined, or until the restore timeout
+ * passes, before it assigns the partitions as they were persisted. The
+ * members which did not rejoin are then removed from the partition table
+ * as any other departed member, their partitions are repaired by the
+ * migration system.
+ */
+public final class PartitionTableStore {
+
+    private static final String FILE_NAME = "partition-table";
+
+    private final File file;
+    private final Address thisAddress;
+    private final int partitionCount;
+    private final long restoreDeadline;
+    private final ILogger logger;
+    private final Address[][] persistedReplicas;
+
+    private volatile boolean restorePending;
+    private int storedVersion = -1;
+
+    PartitionTableStore(File directory, Address thisAddress, int partitionCount,
+                        long restoreTimeoutMillis, ILogger logger) {
+        this.file = new File(directory, FILE_NAME);
+        this.thisAddress = thisAddress;
+        this.partitionCount = partitionCount;
+        this.restoreDeadline = Clock.currentTimeMillis() + restoreTimeoutMillis;
+        this.logger = logger;
+        this.persistedReplicas = read();
+        this.restorePending = persistedReplicas != null;
+    }
+
+    /**
+     * @return the partition table store of the given node or {@code null}
+     * if the local persistence is not enabled
+     */
+    static PartitionTableStore create(Node node, int partitionCount) {
+        HazelcastProperties properties = node.getProperties();
+        File directory = getMemberDirectory(properties, node.getThisAddress());
+        if (directory == null) {
+            return null;
+        }
+        return new PartitionTableStore(directory, node.getThisAddress(), partitionCount,
+                properties.getMillis(MAP_PERSISTENCE_RESTORE_TIMEOUT), node.getLogger(PartitionTableStore.class));
+    }
+
+    /**
+     * Returns the directory under which the member with the given address
+     * persists its data. The directory is named after the address, which,
+     * unlike the member uuid, is kept when the member is restarted.
+     *
+     * @return the directory or {@code null} if the local persistence is not enabled
+     */
+    public static File getMemberDirectory(HazelcastProperties properties, Address address) {
+        String baseDir = properties.getString(MAP_PERSISTENCE_DIR);
+        if (isNullOrEmptyAfterTrim(baseDir)) {
+            return null;
+        }
+        return new File(baseDir, toFileName(address.getHost() + "-" + address.getPort()));
+    }
+
+    /**
+     * Returns the replica index of this member in the given partition,
+     * as persisted before this member was restarted.
+     *
+     * @return the replica index, {@code -1} if this member held no replica
+     * of the partition or {@link InternalPartition#MAX_REPLICA_COUNT} if no
+     * partition table was persisted
+     */
+    public int getPersistedReplicaIndex(int partitionId) {
+        if (persistedReplicas == null) {
+            return InternalPartition.MAX_REPLICA_COUNT;
+        }
+        Address[] replicas = persistedReplicas[partitionId];
+        for (int index = 0; index < replicas.length; index++) {
+            if (thisAddress.equals(replicas[index])) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    boolean isRestorePending() {
+        return restorePending;
+    }
+
+    /**
+     * Returns {@code true} if the persisted partition table can be
+     * restored, i.e. all its members have joined or the restore timed out.
+     */
+    boolean isRestorable(Collection<Member> members) {
+        if (Clock.currentTimeMillis() >= restoreDeadline) {
+            return true;
+        }
+        Map<Address, Member> membersByAddress = toMembersByAddress(members);
+        for (Address[] replicas : persistedReplicas) {
+            for (Address address : replicas) {
+                if (address != null && !membersByAddress.containsKey(address)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps the persisted replicas to the given members. The replicas of
+     * the members which did not rejoin get a random uuid, so that they are
+     * removed from the partition table as departed members.
+     */
+    PartitionReplica[][] getRestoredReplicas(Collection<Member> members) {
+        Map<Address, Member> membersByAddress = toMembersByAddress(members);
+        PartitionReplica[][] replicas = new PartitionReplica[partitionCount][InternalPartition.MAX_REPLICA_COUNT];
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            for (int index = 0; index < InternalPartition.MAX_REPLICA_COUNT; index++) {
+                Address address = persistedReplicas[partitionId][index];
+                if (address != null) {
+                    Member member = membersByAddress.get(address);
+                    replicas[partitionId][index] = member != null
+                            ? PartitionReplica.from(member)
+                            : new PartitionReplica(address, newUnsecureUUID());
+                }
+            }
+        }
+        return replicas;
+    }
+
+    void onRestored() {
+        restorePending = false;
+    }
+
+    /**
+     * Writes the given partition table to disk
+     * if it differs from the last written one.
+     */
+    synchronized void store(PartitionTableView table) {
+        if (table.getVersion() == storedVersion) {
+            return;
+        }
+        File tmpFile = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        try {
+            if (!file.getParentFile().exists() && !file.getParentFile().mkdirs()) {
+                throw new IOException("Could not create directory " + file.getParentFile().getAbsolutePath());
+            }
+            FileOutputStream out = new FileOutputStream(tmpFile);
+            try {
+                write(new DataOutputStream(out), table);
+                out.getFD().sync();
+            } finally {
+                closeResource(out);
+            }
+            move(tmpFile.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+            storedVersion = table.getVersion();
+        } catch (IOException e) {
+            logger.warning("Could not persist the partition table to " + file, e);
+        }
+    }
+
+    private void write(DataOutputStream out, PartitionTableView table) throws IOException {
+        out.writeInt(table.getLength());
+        for (int partitionId = 0; partitionId < table.getLength(); partitionId++) {
+            for (int index = 0; index < InternalPartition.MAX_REPLICA_COUNT; index++) {
+                PartitionReplica replica = table.getReplica(partitionId, index);
+                out.writeBoolean(replica != null);
+                if (replica != null) {
+                    out.writeUTF(replica.address().getHost());
+                    out.writeInt(replica.address().getPort());
+                }
+            }
+        }
+        out.flush();
+    }
+
+    private Address[][] read() {
+        if (!file.exists()) {
+            return null;
+        }
+        FileInputStream fileIn = null;
+        try {
+            fileIn = new FileInputStream(file);
+            DataInputStream in = new DataInputStream(fileIn);
+            int length = in.readInt();
+            if (length != partitionCount) {
+                logger.warning("Ignoring the persisted partition table in " + file + ", it has " + length
+                        + " partitions instead of " + partitionCount);
+                return null;
+            }
+            Address[][] replicas = new Address[partitionCount][InternalPartition.MAX_REPLICA_COUNT];
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                for (int index = 0; index < InternalPartition.MAX_REPLICA_COUNT; index++) {
+                    if (in.readBoolean()) {
+                        replicas[partitionId][index] = new Address(in.readUTF(), in.readInt());
+                    }
+                }
+            }
+            return replicas;
+        } catch (IOException e) {
+            throw new HazelcastException("Could not read the persisted partition table from " + file, e);
+        } finally {
+            closeResource(fileIn);
+        }
+    }
+
+    private static Map<Address, Member> toMembersByAddress(Collection<Member> members) {
+        Map<Address, Member> membersByAddress = new HashMap<>();
+        for (Member member : members) {
+            membersByAddress.put(member.getAddress(), member);
+        }
+        return membersByAddress;
+    }
+}
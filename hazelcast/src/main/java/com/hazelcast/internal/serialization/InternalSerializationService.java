@@ -20,6 +20,7 @@ import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.nio.Disposable;
+import com.hazelcast.internal.serialization.impl.compact.CompactReader;
 import com.hazelcast.internal.serialization.impl.portable.PortableContext;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -91,6 +92,8 @@ public interface InternalSerializationService extends SerializationService, Disp
 
     PortableReader createPortableReader(Data data) throws IOException;
 
+    CompactReader createCompactReader(Data data) throws IOException;
+
     PortableContext getPortableContext();
 
     ClassLoader getClassLoader();
@@ -19,6 +19,7 @@ package com.hazelcast.internal.serialization;
 import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.ManagedContext;
+import com.hazelcast.internal.serialization.impl.compact.CompactSerializer;
 import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.DataSerializableFactory;
@@ -43,6 +44,8 @@ public interface SerializationServiceBuilder {
 
     SerializationServiceBuilder addClassDefinition(ClassDefinition cd);
 
+    SerializationServiceBuilder addCompactSerializer(CompactSerializer<?> serializer);
+
     SerializationServiceBuilder setCheckClassDefErrors(boolean checkClassDefErrors);
 
     SerializationServiceBuilder setManagedContext(ManagedContext managedContext);
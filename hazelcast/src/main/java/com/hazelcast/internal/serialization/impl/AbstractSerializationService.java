@@ -26,6 +26,7 @@ import com.hazelcast.internal.serialization.impl.bufferpool.BufferPool;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactory;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactoryImpl;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolThreadLocal;
+import com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ConstantSerializers;
 import com.hazelcast.internal.usercodedeployment.impl.ClassLocator;
 import com.hazelcast.logging.ILogger;
@@ -67,6 +68,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
     protected final PartitioningStrategy globalPartitioningStrategy;
     protected final Supplier<RuntimeException> notActiveExceptionSupplier;
     protected final BufferPoolThreadLocal bufferPoolThreadLocal;
+    protected final ByteArrayPool byteArrayPool;
 
     protected SerializerAdapter dataSerializerAdapter;
     protected SerializerAdapter portableSerializerAdapter;
@@ -100,6 +102,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         this.notActiveExceptionSupplier = builder.notActiveExceptionSupplier;
         this.bufferPoolThreadLocal = new BufferPoolThreadLocal(this, builder.bufferPoolFactory,
                 builder.notActiveExceptionSupplier);
+        this.byteArrayPool = new ByteArrayPool(builder.byteArrayPoolCapacity);
         this.nullSerializerAdapter = createSerializerAdapter(new ConstantSerializers.NullSerializer());
     }
 
@@ -114,6 +117,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         this.notActiveExceptionSupplier = prototype.notActiveExceptionSupplier;
         this.bufferPoolThreadLocal = new BufferPoolThreadLocal(this, new BufferPoolFactoryImpl(),
                 prototype.notActiveExceptionSupplier);
+        this.byteArrayPool = prototype.byteArrayPool;
         this.nullSerializerAdapter = prototype.nullSerializerAdapter;
     }
 
@@ -334,12 +338,26 @@ public abstract class AbstractSerializationService implements InternalSerializat
 
     @Override
     public final BufferObjectDataOutput createObjectDataOutput(int size) {
-        return inputOutputFactory.createOutput(size, this);
+        return attachByteArrayPool(inputOutputFactory.createOutput(size, this));
     }
 
     @Override
     public BufferObjectDataOutput createObjectDataOutput() {
-        return inputOutputFactory.createOutput(outputBufferSize, this);
+        return attachByteArrayPool(inputOutputFactory.createOutput(outputBufferSize, this));
+    }
+
+    private BufferObjectDataOutput attachByteArrayPool(BufferObjectDataOutput out) {
+        if (out instanceof ByteArrayObjectDataOutput) {
+            ((ByteArrayObjectDataOutput) out).byteArrayPool = byteArrayPool;
+        }
+        return out;
+    }
+
+    /**
+     * @return the pool of the large byte arrays backing the outputs
+     */
+    public final ByteArrayPool getByteArrayPool() {
+        return byteArrayPool;
     }
 
     public final ClassLoader getClassLoader() {
@@ -373,6 +391,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         global.set(null);
         constantTypesMap.clear();
         bufferPoolThreadLocal.clear();
+        byteArrayPool.clear();
     }
     //endregion Serialization Service
 
@@ -590,6 +609,7 @@ public abstract class AbstractSerializationService implements InternalSerializat
         private PartitioningStrategy globalPartitionStrategy;
         private int initialOutputBufferSize;
         private BufferPoolFactory bufferPoolFactory;
+        private long byteArrayPoolCapacity = ByteArrayPool.DEFAULT_CAPACITY;
         private Supplier<RuntimeException> notActiveExceptionSupplier;
 
         protected Builder() {
@@ -636,6 +656,11 @@ public abstract class AbstractSerializationService implements InternalSerializat
             return self();
         }
 
+        public final T withByteArrayPoolCapacity(long byteArrayPoolCapacity) {
+            this.byteArrayPoolCapacity = byteArrayPoolCapacity;
+            return self();
+        }
+
         public final T withNotActiveExceptionSupplier(Supplier<RuntimeException> notActiveExceptionSupplier) {
             this.notActiveExceptionSupplier = notActiveExceptionSupplier;
             return self();
@@ -25,7 +25,6 @@ import com.hazelcast.internal.util.collection.ArrayUtils;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteOrder;
-import java.nio.charset.StandardCharsets;
 
 import static com.hazelcast.internal.nio.Bits.CHAR_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
@@ -66,6 +65,16 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
         this.pos = offset;
     }
 
+    /**
+     * Initializes this input to read the given buffer up to the given size,
+     * which is the position of the end of the readable bytes.
+     */
+    final void init(byte[] data, int offset, int size) {
+        this.data = data;
+        this.size = size;
+        this.pos = offset;
+    }
+
     @Override
     public void clear() {
         data = null;
@@ -404,10 +413,10 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
             return null;
         }
         if (len > 0) {
+            int byteLength = checkArrayAvailable(len, CHAR_SIZE_IN_BYTES);
             char[] values = new char[len];
-            for (int i = 0; i < len; i++) {
-                values[i] = readChar();
-            }
+            PrimitiveArrayEncoderDecoder.readChars(data, pos, values, bigEndian);
+            pos += byteLength;
             return values;
         }
         return new char[0];
@@ -420,10 +429,10 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
             return null;
         }
         if (len > 0) {
+            int byteLength = checkArrayAvailable(len, INT_SIZE_IN_BYTES);
             int[] values = new int[len];
-            for (int i = 0; i < len; i++) {
-                values[i] = readInt();
-            }
+            PrimitiveArrayEncoderDecoder.readInts(data, pos, values, bigEndian);
+            pos += byteLength;
             return values;
         }
         return new int[0];
@@ -436,10 +445,10 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
             return null;
         }
         if (len > 0) {
+            int byteLength = checkArrayAvailable(len, LONG_SIZE_IN_BYTES);
             long[] values = new long[len];
-            for (int i = 0; i < len; i++) {
-                values[i] = readLong();
-            }
+            PrimitiveArrayEncoderDecoder.readLongs(data, pos, values, bigEndian);
+            pos += byteLength;
             return values;
         }
         return new long[0];
@@ -452,10 +461,10 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
             return null;
         }
         if (len > 0) {
+            int byteLength = checkArrayAvailable(len, LONG_SIZE_IN_BYTES);
             double[] values = new double[len];
-            for (int i = 0; i < len; i++) {
-                values[i] = readDouble();
-            }
+            PrimitiveArrayEncoderDecoder.readDoubles(data, pos, values, bigEndian);
+            pos += byteLength;
             return values;
         }
         return new double[0];
@@ -468,10 +477,10 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
             return null;
         }
         if (len > 0) {
+            int byteLength = checkArrayAvailable(len, INT_SIZE_IN_BYTES);
             float[] values = new float[len];
-            for (int i = 0; i < len; i++) {
-                values[i] = readFloat();
-            }
+            PrimitiveArrayEncoderDecoder.readFloats(data, pos, values, bigEndian);
+            pos += byteLength;
             return values;
         }
         return new float[0];
@@ -484,10 +493,10 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
             return null;
         }
         if (len > 0) {
+            int byteLength = checkArrayAvailable(len, SHORT_SIZE_IN_BYTES);
             short[] values = new short[len];
-            for (int i = 0; i < len; i++) {
-                values[i] = readShort();
-            }
+            PrimitiveArrayEncoderDecoder.readShorts(data, pos, values, bigEndian);
+            pos += byteLength;
             return values;
         }
         return new short[0];
@@ -509,6 +518,22 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
         return new String[0];
     }
 
+    @Override
+    public long[] readDeltaEncodedLongArray() throws IOException {
+        int len = readInt();
+        if (len == NULL_ARRAY_LENGTH) {
+            return null;
+        }
+        if (len > 0) {
+            // every value takes at least one byte
+            checkArrayAvailable(len, 1);
+            long[] values = new long[len];
+            pos = PrimitiveArrayEncoderDecoder.readDeltaLongs(data, pos, size, values);
+            return values;
+        }
+        return new long[0];
+    }
+
     /**
      * See the general contract of the {@code readUnsignedByte} method of {@code DataInput}.
      * <p>
@@ -557,7 +582,8 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
             return null;
         }
 
-        String result = new String(data, pos, numberOfBytes, StandardCharsets.UTF_8);
+        checkAvailable(pos, numberOfBytes);
+        String result = UTFEncoderDecoder.readUTF8(data, pos, numberOfBytes);
         pos += numberOfBytes;
         return result;
     }
@@ -575,8 +601,8 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
 
     @Override
     public <T> T readDataAsObject() throws IOException {
-        // a future optimization would be to skip the construction of the Data object
-        Data data = readData();
+        // the data doesn't outlive this call, it doesn't need a copy of its bytes
+        Data data = readDataView();
         return data == null ? null : (T) service.toObject(data);
     }
 
@@ -586,6 +612,21 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
         return bytes == null ? null : new HeapData(bytes);
     }
 
+    @Override
+    public final Data readDataView() throws IOException {
+        int len = readInt();
+        if (len == NULL_ARRAY_LENGTH) {
+            return null;
+        }
+        if (len > 0) {
+            checkAvailable(pos, len);
+            Data view = new HeapDataView(data, pos, len);
+            pos += len;
+            return view;
+        }
+        return new HeapData(EMPTY_BYTE_ARRAY);
+    }
+
     @Override
     public final long skip(long n) {
         if (n <= 0 || n >= Integer.MAX_VALUE) {
@@ -627,6 +668,20 @@ class ByteArrayObjectDataInput extends VersionedObjectDataInput implements Buffe
         }
     }
 
+    /**
+     * Checks that an array of the given length and element size can be read
+     * from the current position without allocating the array first.
+     *
+     * @return the length of the array in bytes
+     */
+    final int checkArrayAvailable(int len, int elementSize) throws EOFException {
+        long byteLength = (long) len * elementSize;
+        if (size - pos < byteLength) {
+            throw new EOFException("Cannot read " + byteLength + " bytes!");
+        }
+        return (int) byteLength;
+    }
+
     final void checkAvailable(int pos, int k) throws EOFException {
         if (pos < 0) {
             throw new IllegalArgumentException("Negative pos! -> " + pos);
@@ -20,12 +20,12 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.nio.Bits;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool;
 import com.hazelcast.internal.util.collection.ArrayUtils;
 import com.hazelcast.internal.serialization.Data;
 
 import java.io.IOException;
 import java.nio.ByteOrder;
-import java.nio.charset.StandardCharsets;
 
 import static com.hazelcast.internal.nio.Bits.CHAR_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
@@ -44,6 +44,9 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
 
     final InternalSerializationService service;
 
+    // recycles the large buffers, null if there is no pool
+    ByteArrayPool byteArrayPool;
+
     private final boolean isBigEndian;
 
     ByteArrayObjectDataOutput(int size, InternalSerializationService service, ByteOrder byteOrder) {
@@ -257,10 +260,10 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
             return;
         }
 
-        byte[] utf8Bytes = str.getBytes(StandardCharsets.UTF_8);
-        writeInt(utf8Bytes.length);
-        ensureAvailable(utf8Bytes.length);
-        write(utf8Bytes);
+        int utf8Length = UTFEncoderDecoder.utf8Length(str);
+        writeInt(utf8Length);
+        ensureAvailable(utf8Length);
+        pos = UTFEncoderDecoder.writeUTF8(buffer, pos, str);
     }
 
     @Override
@@ -288,9 +291,10 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         int len = chars != null ? chars.length : NULL_ARRAY_LENGTH;
         writeInt(len);
         if (len > 0) {
-            for (char c : chars) {
-                writeChar(c);
-            }
+            int byteLength = len * CHAR_SIZE_IN_BYTES;
+            ensureAvailable(byteLength);
+            PrimitiveArrayEncoderDecoder.writeChars(buffer, pos, chars, isBigEndian);
+            pos += byteLength;
         }
     }
 
@@ -299,9 +303,10 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         int len = ints != null ? ints.length : NULL_ARRAY_LENGTH;
         writeInt(len);
         if (len > 0) {
-            for (int i : ints) {
-                writeInt(i);
-            }
+            int byteLength = len * INT_SIZE_IN_BYTES;
+            ensureAvailable(byteLength);
+            PrimitiveArrayEncoderDecoder.writeInts(buffer, pos, ints, isBigEndian);
+            pos += byteLength;
         }
     }
 
@@ -310,9 +315,10 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         int len = longs != null ? longs.length : NULL_ARRAY_LENGTH;
         writeInt(len);
         if (len > 0) {
-            for (long l : longs) {
-                writeLong(l);
-            }
+            int byteLength = len * LONG_SIZE_IN_BYTES;
+            ensureAvailable(byteLength);
+            PrimitiveArrayEncoderDecoder.writeLongs(buffer, pos, longs, isBigEndian);
+            pos += byteLength;
         }
     }
 
@@ -321,9 +327,10 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         int len = doubles != null ? doubles.length : NULL_ARRAY_LENGTH;
         writeInt(len);
         if (len > 0) {
-            for (double d : doubles) {
-                writeDouble(d);
-            }
+            int byteLength = len * LONG_SIZE_IN_BYTES;
+            ensureAvailable(byteLength);
+            PrimitiveArrayEncoderDecoder.writeDoubles(buffer, pos, doubles, isBigEndian);
+            pos += byteLength;
         }
     }
 
@@ -332,9 +339,10 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         int len = floats != null ? floats.length : NULL_ARRAY_LENGTH;
         writeInt(len);
         if (len > 0) {
-            for (float f : floats) {
-                writeFloat(f);
-            }
+            int byteLength = len * INT_SIZE_IN_BYTES;
+            ensureAvailable(byteLength);
+            PrimitiveArrayEncoderDecoder.writeFloats(buffer, pos, floats, isBigEndian);
+            pos += byteLength;
         }
     }
 
@@ -343,9 +351,10 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         int len = shorts != null ? shorts.length : NULL_ARRAY_LENGTH;
         writeInt(len);
         if (len > 0) {
-            for (short s : shorts) {
-                writeShort(s);
-            }
+            int byteLength = len * SHORT_SIZE_IN_BYTES;
+            ensureAvailable(byteLength);
+            PrimitiveArrayEncoderDecoder.writeShorts(buffer, pos, shorts, isBigEndian);
+            pos += byteLength;
         }
     }
 
@@ -360,15 +369,26 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
         }
     }
 
+    @Override
+    public void writeDeltaEncodedLongArray(long[] longs) throws IOException {
+        int len = longs != null ? longs.length : NULL_ARRAY_LENGTH;
+        writeInt(len);
+        if (len > 0) {
+            ensureAvailable(len * PrimitiveArrayEncoderDecoder.MAX_VAR_LONG_LENGTH);
+            pos = PrimitiveArrayEncoderDecoder.writeDeltaLongs(buffer, pos, longs);
+        }
+    }
+
     final void ensureAvailable(int len) {
         if (available() < len) {
             if (buffer != null) {
                 int newCap = Math.max(buffer.length << 1, buffer.length + len);
-                byte[] newBuffer = new byte[newCap];
+                byte[] newBuffer = allocate(newCap);
                 System.arraycopy(buffer, 0, newBuffer, 0, pos);
+                release(buffer);
                 buffer = newBuffer;
             } else {
-                buffer = new byte[len > initialSize / 2 ? len * 2 : initialSize];
+                buffer = allocate(len > initialSize / 2 ? len * 2 : initialSize);
             }
         }
     }
@@ -429,8 +449,14 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
     @Override
     public void clear() {
         pos = 0;
-        if (buffer != null && buffer.length > initialSize * 8) {
-            buffer = new byte[initialSize * 8];
+        int trimmedSize = initialSize * 8;
+        if (byteArrayPool != null) {
+            // the pool rounds the lengths up, so does the trimming
+            trimmedSize = ByteArrayPool.sizeClassLength(trimmedSize);
+        }
+        if (buffer != null && buffer.length > trimmedSize) {
+            release(buffer);
+            buffer = allocate(trimmedSize);
         }
         version = UNKNOWN;
         wanProtocolVersion = UNKNOWN;
@@ -439,9 +465,23 @@ public class ByteArrayObjectDataOutput extends VersionedObjectDataOutput impleme
     @Override
     public void close() {
         pos = 0;
+        if (buffer != null) {
+            release(buffer);
+        }
         buffer = null;
     }
 
+    private byte[] allocate(int length) {
+        // the small buffers are cheaper to allocate than to pool
+        return byteArrayPool == null || length <= initialSize ? new byte[length] : byteArrayPool.take(length);
+    }
+
+    private void release(byte[] array) {
+        if (byteArrayPool != null) {
+            byteArrayPool.release(array);
+        }
+    }
+
     @Override
     public ByteOrder getByteOrder() {
         return isBigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
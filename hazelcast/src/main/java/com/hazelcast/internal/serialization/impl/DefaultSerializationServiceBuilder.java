@@ -30,6 +30,7 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationClassNameFilter;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.bufferpool.BufferPoolFactoryImpl;
+import com.hazelcast.internal.serialization.impl.compact.CompactSerializer;
 import com.hazelcast.internal.util.StringUtil;
 import com.hazelcast.nio.serialization.ClassDefinition;
 import com.hazelcast.nio.serialization.ClassNameFilter;
@@ -42,8 +43,10 @@ import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.spi.properties.ClusterProperty;
 
 import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -52,6 +55,7 @@ import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.nio.ByteOrder.nativeOrder;
 
+@SuppressWarnings("checkstyle:methodcount")
 public class DefaultSerializationServiceBuilder implements SerializationServiceBuilder {
 
     static final ByteOrder DEFAULT_BYTE_ORDER = BIG_ENDIAN;
@@ -66,6 +70,8 @@ public class DefaultSerializationServiceBuilder implements SerializationServiceB
 
     protected final Set<ClassDefinition> classDefinitions = new HashSet<>();
 
+    protected final List<CompactSerializer<?>> compactSerializers = new ArrayList<>();
+
     protected ClassLoader classLoader;
     protected SerializationConfig config;
 
@@ -154,6 +160,12 @@ public class DefaultSerializationServiceBuilder implements SerializationServiceB
         return this;
     }
 
+    @Override
+    public SerializationServiceBuilder addCompactSerializer(CompactSerializer<?> serializer) {
+        compactSerializers.add(serializer);
+        return this;
+    }
+
     @Override
     public SerializationServiceBuilder setCheckClassDefErrors(boolean checkClassDefErrors) {
         this.checkClassDefErrors = checkClassDefErrors;
@@ -288,6 +300,7 @@ public class DefaultSerializationServiceBuilder implements SerializationServiceB
                     .withClassLoader(classLoader)
                     .withDataSerializableFactories(dataSerializableFactories)
                     .withPortableFactories(portableFactories)
+                    .withCompactSerializers(compactSerializers)
                     .withManagedContext(managedContext)
                     .withGlobalPartitionStrategy(partitioningStrategy)
                     .withInitialOutputBufferSize(initialOutputBufferSize)
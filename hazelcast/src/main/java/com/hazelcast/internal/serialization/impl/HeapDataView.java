@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.HashUtil;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
+import static com.hazelcast.internal.serialization.impl.HeapData.PARTITION_HASH_OFFSET;
+import static com.hazelcast.internal.serialization.impl.HeapData.TYPE_OFFSET;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A read-only {@link Data} implementation sharing a slice of the buffer it
+ * was read from, like the payload of a received packet, instead of copying
+ * it. Equal to the {@link HeapData} with the same content.
+ * <p>
+ * The view keeps the whole buffer reachable and copies the slice on every
+ * {@link #toByteArray()} call, so it is meant to live only as long as the
+ * operation which read it. Data which is retained beyond that, for instance
+ * stored in a record store, must be converted with
+ * {@link com.hazelcast.internal.util.ToHeapDataConverter#toHeapData}.
+ */
+public final class HeapDataView implements Data {
+
+    // array (12: array header, 4: length)
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private final byte[] buffer;
+    private final int offset;
+    private final int length;
+
+    HeapDataView(byte[] buffer, int offset, int length) {
+        if (length > 0 && length < HEAP_DATA_OVERHEAD) {
+            throw new IllegalArgumentException(
+                    "Data should be either empty or should contain more than " + HEAP_DATA_OVERHEAD + " bytes! -> "
+                            + length);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Initializes the given input to read the content of this view without
+     * copying it.
+     */
+    public void initInput(BufferObjectDataInput in) {
+        if (in instanceof ByteArrayObjectDataInput) {
+            ((ByteArrayObjectDataInput) in).init(buffer, offset + DATA_OFFSET, offset + length);
+        } else {
+            in.init(toByteArray(), DATA_OFFSET);
+        }
+    }
+
+    @Override
+    public int dataSize() {
+        return Math.max(length - HEAP_DATA_OVERHEAD, 0);
+    }
+
+    @Override
+    public int totalSize() {
+        return length;
+    }
+
+    @Override
+    public void copyTo(byte[] dest, int destPos) {
+        System.arraycopy(buffer, offset, dest, destPos, length);
+    }
+
+    @Override
+    public int getPartitionHash() {
+        if (hasPartitionHash()) {
+            return Bits.readIntB(buffer, offset + PARTITION_HASH_OFFSET);
+        }
+        return hashCode();
+    }
+
+    @Override
+    public boolean hasPartitionHash() {
+        return length >= HEAP_DATA_OVERHEAD && Bits.readIntB(buffer, offset + PARTITION_HASH_OFFSET) != 0;
+    }
+
+    /**
+     * Returns a copy of the content of this view.
+     */
+    @Override
+    public byte[] toByteArray() {
+        return Arrays.copyOfRange(buffer, offset, offset + length);
+    }
+
+    @Override
+    public int getType() {
+        if (length == 0) {
+            return SerializationConstants.CONSTANT_TYPE_NULL;
+        }
+        return Bits.readIntB(buffer, offset + TYPE_OFFSET);
+    }
+
+    /**
+     * Returns the cost of the whole buffer, which is kept reachable by this
+     * view.
+     */
+    @Override
+    public int getHeapCost() {
+        return REFERENCE_COST_IN_BYTES + ARRAY_HEADER_SIZE_IN_BYTES + buffer.length;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Data)) {
+            return false;
+        }
+
+        Data data = (Data) o;
+        if (getType() != data.getType()) {
+            return false;
+        }
+
+        int dataSize = dataSize();
+        if (dataSize != data.dataSize()) {
+            return false;
+        }
+        if (dataSize == 0) {
+            return true;
+        }
+
+        if (data instanceof HeapDataView) {
+            HeapDataView view = (HeapDataView) data;
+            return equals(buffer, offset, view.buffer, view.offset, length);
+        }
+        return equals(buffer, offset, data.toByteArray(), 0, length);
+    }
+
+    // same as HeapData.equals(byte[], byte[]), the content is compared from the end
+    private static boolean equals(byte[] data1, int offset1, byte[] data2, int offset2, int length) {
+        for (int i = length - 1; i >= DATA_OFFSET; i--) {
+            if (data1[offset1 + i] != data2[offset2 + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return HashUtil.MurmurHash3_x86_32(buffer, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public long hash64() {
+        return HashUtil.MurmurHash3_x64_64(buffer, offset + DATA_OFFSET, dataSize());
+    }
+
+    @Override
+    public boolean isPortable() {
+        return SerializationConstants.CONSTANT_TYPE_PORTABLE == getType();
+    }
+
+    @Override
+    public boolean isJson() {
+        return SerializationConstants.JAVASCRIPT_JSON_SERIALIZATION_TYPE == getType();
+    }
+
+    @Override
+    public boolean isCompact() {
+        return SerializationConstants.CONSTANT_TYPE_COMPACT == getType();
+    }
+
+    @Override
+    public String toString() {
+        return "HeapDataView{"
+                + "type=" + getType()
+                + ", hashCode=" + hashCode()
+                + ", partitionHash=" + getPartitionHash()
+                + ", totalSize=" + totalSize()
+                + ", dataSize=" + dataSize()
+                + ", heapCost=" + getHeapCost()
+                + '}';
+    }
+}
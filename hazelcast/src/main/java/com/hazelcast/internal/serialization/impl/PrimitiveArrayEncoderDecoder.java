@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.nio.Bits;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessor.MEM_COPY_THRESHOLD;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_BYTE_BASE_OFFSET;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_CHAR_BASE_OFFSET;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_DOUBLE_BASE_OFFSET;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_FLOAT_BASE_OFFSET;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_INT_BASE_OFFSET;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_LONG_BASE_OFFSET;
+import static com.hazelcast.internal.memory.HeapMemoryAccessor.ARRAY_SHORT_BASE_OFFSET;
+import static com.hazelcast.internal.nio.Bits.CHAR_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.SHORT_SIZE_IN_BYTES;
+
+/**
+ * Encodes and decodes the primitive arrays directly into and out of the
+ * buffers of the byte array backed object data inputs and outputs.
+ * <p>
+ * When the byte order of the buffer is the native one, the arrays are
+ * copied with bulk memory copies. Otherwise every element is written with
+ * a single memory access after its bytes are reversed, which the JIT
+ * compiles to a byte swap instruction. Without the memory accessor, the
+ * elements are written byte by byte.
+ * <p>
+ * The long arrays can also be written as delta-encoded variable-length
+ * integers: the differences of the consecutive elements are zig-zag
+ * encoded and written in groups of 7 bits, so the sorted timestamps or
+ * identifiers take only one or two bytes per element.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+final class PrimitiveArrayEncoderDecoder {
+
+    /**
+     * The maximum number of bytes of a variable-length long.
+     */
+    static final int MAX_VAR_LONG_LENGTH = 10;
+
+    private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN;
+
+    private PrimitiveArrayEncoderDecoder() {
+    }
+
+    static void writeShorts(byte[] buffer, int pos, short[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                Bits.writeShort(buffer, pos + i * SHORT_SIZE_IN_BYTES, values[i], bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(values, ARRAY_SHORT_BASE_OFFSET, buffer, ARRAY_BYTE_BASE_OFFSET + pos, values.length * SHORT_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (short value : values) {
+                MEM.putShort(buffer, offset, Short.reverseBytes(value));
+                offset += SHORT_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void readShorts(byte[] buffer, int pos, short[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Bits.readShort(buffer, pos + i * SHORT_SIZE_IN_BYTES, bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(buffer, ARRAY_BYTE_BASE_OFFSET + pos, values, ARRAY_SHORT_BASE_OFFSET, values.length * SHORT_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Short.reverseBytes(MEM.getShort(buffer, offset));
+                offset += SHORT_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void writeChars(byte[] buffer, int pos, char[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                Bits.writeChar(buffer, pos + i * CHAR_SIZE_IN_BYTES, values[i], bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(values, ARRAY_CHAR_BASE_OFFSET, buffer, ARRAY_BYTE_BASE_OFFSET + pos, values.length * CHAR_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (char value : values) {
+                MEM.putChar(buffer, offset, Character.reverseBytes(value));
+                offset += CHAR_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void readChars(byte[] buffer, int pos, char[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Bits.readChar(buffer, pos + i * CHAR_SIZE_IN_BYTES, bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(buffer, ARRAY_BYTE_BASE_OFFSET + pos, values, ARRAY_CHAR_BASE_OFFSET, values.length * CHAR_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Character.reverseBytes(MEM.getChar(buffer, offset));
+                offset += CHAR_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void writeInts(byte[] buffer, int pos, int[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                Bits.writeInt(buffer, pos + i * INT_SIZE_IN_BYTES, values[i], bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(values, ARRAY_INT_BASE_OFFSET, buffer, ARRAY_BYTE_BASE_OFFSET + pos, values.length * INT_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (int value : values) {
+                MEM.putInt(buffer, offset, Integer.reverseBytes(value));
+                offset += INT_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void readInts(byte[] buffer, int pos, int[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Bits.readInt(buffer, pos + i * INT_SIZE_IN_BYTES, bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(buffer, ARRAY_BYTE_BASE_OFFSET + pos, values, ARRAY_INT_BASE_OFFSET, values.length * INT_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Integer.reverseBytes(MEM.getInt(buffer, offset));
+                offset += INT_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void writeFloats(byte[] buffer, int pos, float[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                Bits.writeInt(buffer, pos + i * INT_SIZE_IN_BYTES, Float.floatToIntBits(values[i]), bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(values, ARRAY_FLOAT_BASE_OFFSET, buffer, ARRAY_BYTE_BASE_OFFSET + pos, values.length * INT_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (float value : values) {
+                MEM.putInt(buffer, offset, Integer.reverseBytes(Float.floatToIntBits(value)));
+                offset += INT_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void readFloats(byte[] buffer, int pos, float[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Float.intBitsToFloat(Bits.readInt(buffer, pos + i * INT_SIZE_IN_BYTES, bigEndian));
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(buffer, ARRAY_BYTE_BASE_OFFSET + pos, values, ARRAY_FLOAT_BASE_OFFSET, values.length * INT_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Float.intBitsToFloat(Integer.reverseBytes(MEM.getInt(buffer, offset)));
+                offset += INT_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void writeLongs(byte[] buffer, int pos, long[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                Bits.writeLong(buffer, pos + i * LONG_SIZE_IN_BYTES, values[i], bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(values, ARRAY_LONG_BASE_OFFSET, buffer, ARRAY_BYTE_BASE_OFFSET + pos, values.length * LONG_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (long value : values) {
+                MEM.putLong(buffer, offset, Long.reverseBytes(value));
+                offset += LONG_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void readLongs(byte[] buffer, int pos, long[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Bits.readLong(buffer, pos + i * LONG_SIZE_IN_BYTES, bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(buffer, ARRAY_BYTE_BASE_OFFSET + pos, values, ARRAY_LONG_BASE_OFFSET, values.length * LONG_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Long.reverseBytes(MEM.getLong(buffer, offset));
+                offset += LONG_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void writeDoubles(byte[] buffer, int pos, double[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                Bits.writeLong(buffer, pos + i * LONG_SIZE_IN_BYTES, Double.doubleToLongBits(values[i]), bigEndian);
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(values, ARRAY_DOUBLE_BASE_OFFSET, buffer, ARRAY_BYTE_BASE_OFFSET + pos, values.length * LONG_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (double value : values) {
+                MEM.putLong(buffer, offset, Long.reverseBytes(Double.doubleToLongBits(value)));
+                offset += LONG_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    static void readDoubles(byte[] buffer, int pos, double[] values, boolean bigEndian) {
+        if (!MEM_AVAILABLE) {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Double.longBitsToDouble(Bits.readLong(buffer, pos + i * LONG_SIZE_IN_BYTES, bigEndian));
+            }
+        } else if (bigEndian == NATIVE_BIG_ENDIAN) {
+            copy(buffer, ARRAY_BYTE_BASE_OFFSET + pos, values, ARRAY_DOUBLE_BASE_OFFSET, values.length * LONG_SIZE_IN_BYTES);
+        } else {
+            long offset = ARRAY_BYTE_BASE_OFFSET + pos;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Double.longBitsToDouble(Long.reverseBytes(MEM.getLong(buffer, offset)));
+                offset += LONG_SIZE_IN_BYTES;
+            }
+        }
+    }
+
+    /**
+     * Writes the given values as delta-encoded variable-length longs. The
+     * buffer must have room for {@link #MAX_VAR_LONG_LENGTH} bytes per value.
+     *
+     * @return the position after the written values
+     */
+    static int writeDeltaLongs(byte[] buffer, int pos, long[] values) {
+        long previous = 0;
+        for (long value : values) {
+            long delta = value - previous;
+            previous = value;
+            long zigZag = (delta << 1) ^ (delta >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                buffer[pos++] = (byte) ((zigZag & 0x7F) | 0x80);
+                zigZag >>>= 7;
+            }
+            buffer[pos++] = (byte) zigZag;
+        }
+        return pos;
+    }
+
+    /**
+     * Reads the delta-encoded variable-length longs written by {@link
+     * #writeDeltaLongs} into the given array.
+     *
+     * @param limit the position of the end of the readable bytes
+     * @return the position after the read values
+     * @throws EOFException if the values end after the limit
+     * @throws IOException  if a value is malformed
+     */
+    static int readDeltaLongs(byte[] buffer, int pos, int limit, long[] values) throws IOException {
+        long previous = 0;
+        for (int i = 0; i < values.length; i++) {
+            long zigZag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (pos >= limit) {
+                    throw new EOFException("Cannot read a variable-length long!");
+                }
+                if (shift > 63) {
+                    throw new IOException("Malformed variable-length long!");
+                }
+                b = buffer[pos++];
+                zigZag |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            previous += (zigZag >>> 1) ^ -(zigZag & 1);
+            values[i] = previous;
+        }
+        return pos;
+    }
+
+    private static void copy(Object src, long srcOffset, Object dest, long destOffset, int length) {
+        int remaining = length;
+        while (remaining > 0) {
+            int chunk = Math.min(remaining, MEM_COPY_THRESHOLD);
+            MEM.copyMemory(src, srcOffset, dest, destOffset, chunk);
+            srcOffset += chunk;
+            destOffset += chunk;
+            remaining -= chunk;
+        }
+    }
+}
@@ -132,6 +132,11 @@ public final class SerializationConstants {
 
     public static final int JAVA_DEFAULT_TYPE_ENUM = -50;
 
+    // ------------------------------------------------------------
+    // COMPACT SERIALIZATION
+
+    public static final int CONSTANT_TYPE_COMPACT = -55;
+
     // ------------------------------------------------------------
     // JAVA SERIALIZATION
 
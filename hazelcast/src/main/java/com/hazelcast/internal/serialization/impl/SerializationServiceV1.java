@@ -20,6 +20,9 @@ import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.DataType;
+import com.hazelcast.internal.serialization.impl.compact.CompactReader;
+import com.hazelcast.internal.serialization.impl.compact.CompactSerializer;
+import com.hazelcast.internal.serialization.impl.compact.CompactStreamSerializer;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ArrayBlockingQueueStreamSerializer;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ArrayDequeStreamSerializer;
 import com.hazelcast.internal.serialization.impl.defaultserializers.ArrayListStreamSerializer;
@@ -134,6 +137,7 @@ public class SerializationServiceV1 extends AbstractSerializationService {
 
     private final PortableContextImpl portableContext;
     private final PortableSerializer portableSerializer;
+    private final CompactStreamSerializer compactSerializer;
 
     SerializationServiceV1(AbstractBuilder<?> builder) {
         super(builder);
@@ -151,8 +155,10 @@ public class SerializationServiceV1 extends AbstractSerializationService {
                 new JavaSerializer(builder.enableSharedObject, builder.enableCompression, builder.classNameFilter));
         javaExternalizableAdapter = createSerializerAdapter(
                 new JavaDefaultSerializers.ExternalizableSerializer(builder.enableCompression, builder.classNameFilter));
+        compactSerializer = new CompactStreamSerializer(builder.compactSerializers, builder.getClassLoader());
         registerConstantSerializers();
         registerJavaTypeSerializers();
+        registerCompactSerializers();
     }
 
     @Override
@@ -187,6 +193,14 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         return portableSerializer.createReader(in);
     }
 
+    public CompactReader createCompactReader(Data data) throws IOException {
+        if (!data.isCompact()) {
+            throw new IllegalArgumentException("Given data is not Compact! -> " + data.getType());
+        }
+        BufferObjectDataInput in = createObjectDataInput(data);
+        return compactSerializer.createReader(in);
+    }
+
     public PortableContext getPortableContext() {
         return portableContext;
     }
@@ -258,6 +272,13 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         safeRegister(HazelcastJsonValue.class, new HazelcastJsonValueSerializer());
     }
 
+    private void registerCompactSerializers() {
+        SerializerAdapter compactSerializerAdapter = createSerializerAdapter(compactSerializer);
+        for (Class<?> compactClass : compactSerializer.getCompactClasses()) {
+            safeRegister(compactClass, compactSerializerAdapter);
+        }
+    }
+
     public void registerClassDefinitions(Collection<ClassDefinition> classDefinitions, boolean checkClassDefErrors) {
         Map<Integer, Map<Integer, ClassDefinition>> factoryMap = createHashMap(classDefinitions.size());
         for (ClassDefinition cd : classDefinitions) {
@@ -306,6 +327,10 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         return portableSerializer;
     }
 
+    public final CompactStreamSerializer getCompactSerializer() {
+        return compactSerializer;
+    }
+
     /**
      * Init the ObjectDataInput for the given Data skipping the serialization header-bytes and navigating to the position
      * from where the readData() starts reading the object fields.
@@ -344,6 +369,7 @@ public class SerializationServiceV1 extends AbstractSerializationService {
         private int portableVersion;
         private Map<Integer, ? extends DataSerializableFactory> dataSerializableFactories = Collections.emptyMap();
         private Map<Integer, ? extends PortableFactory> portableFactories = Collections.emptyMap();
+        private Collection<? extends CompactSerializer<?>> compactSerializers = Collections.emptyList();
         private boolean enableCompression;
         private boolean enableSharedObject;
         private ClassNameFilter classNameFilter;
@@ -371,6 +397,11 @@ public class SerializationServiceV1 extends AbstractSerializationService {
             return self();
         }
 
+        public final T withCompactSerializers(Collection<? extends CompactSerializer<?>> compactSerializers) {
+            this.compactSerializers = compactSerializers;
+            return self();
+        }
+
         public final T withEnableCompression(boolean enableCompression) {
             this.enableCompression = enableCompression;
             return self();
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Encodes and decodes the UTF-8 strings directly into and out of the
+ * buffers of the byte array backed object data inputs and outputs.
+ * <p>
+ * The produced bytes are the same as the ones produced by {@link
+ * String#getBytes(java.nio.charset.Charset)}, including the replacement of
+ * the unpaired surrogates, but no intermediate byte array is allocated.
+ * The strings consisting of ASCII characters only, the most common ones,
+ * take a fast path on both sides. Short ASCII strings are additionally
+ * looked up in a small shared cache while being decoded, so the repeated
+ * values like enum names and status codes are not allocated again.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+final class UTFEncoderDecoder {
+
+    static final int MAX_CACHED_LENGTH = 32;
+
+    private static final int CACHE_SIZE = 1024;
+    private static final int CACHE_MASK = CACHE_SIZE - 1;
+    private static final int ASCII_MAX = 0x7F;
+    private static final int TWO_BYTES_MAX = 0x7FF;
+    private static final int SUPPLEMENTARY_LENGTH = 4;
+    private static final byte REPLACEMENT = '?';
+
+    /**
+     * The cache of the recently decoded short strings. The races are benign:
+     * the strings are immutable and every hit is verified against the bytes
+     * being decoded.
+     */
+    private static final String[] CACHE = new String[CACHE_SIZE];
+
+    private UTFEncoderDecoder() {
+    }
+
+    /**
+     * @return the number of bytes in the UTF-8 encoding of the given string
+     */
+    static int utf8Length(String str) {
+        int length = str.length();
+        int i = 0;
+        while (i < length && str.charAt(i) <= ASCII_MAX) {
+            ++i;
+        }
+        if (i == length) {
+            return length;
+        }
+
+        int utf8Length = i;
+        while (i < length) {
+            char c = str.charAt(i);
+            if (c <= ASCII_MAX) {
+                utf8Length += 1;
+            } else if (c <= TWO_BYTES_MAX) {
+                utf8Length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                utf8Length += SUPPLEMENTARY_LENGTH;
+                ++i;
+            } else if (Character.isSurrogate(c)) {
+                // replaced
+                utf8Length += 1;
+            } else {
+                utf8Length += 3;
+            }
+            ++i;
+        }
+        return utf8Length;
+    }
+
+    /**
+     * Writes the UTF-8 encoding of the given string to the given buffer which
+     * must have enough room for {@link #utf8Length(String)} bytes.
+     *
+     * @return the position right after the written bytes
+     */
+    static int writeUTF8(byte[] buffer, int pos, String str) {
+        int length = str.length();
+        int i = 0;
+        while (i < length && str.charAt(i) <= ASCII_MAX) {
+            buffer[pos++] = (byte) str.charAt(i++);
+        }
+
+        for (; i < length; ++i) {
+            char c = str.charAt(i);
+            if (c <= ASCII_MAX) {
+                buffer[pos++] = (byte) c;
+            } else if (c <= TWO_BYTES_MAX) {
+                buffer[pos++] = (byte) (0xC0 | c >> 6);
+                buffer[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                buffer[pos++] = (byte) (0xF0 | codePoint >> 18);
+                buffer[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                buffer[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                buffer[pos++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                buffer[pos++] = REPLACEMENT;
+            } else {
+                buffer[pos++] = (byte) (0xE0 | c >> 12);
+                buffer[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Decodes the string from the given UTF-8 bytes.
+     */
+    static String readUTF8(byte[] buffer, int pos, int utf8Length) {
+        int hash = 0;
+        int end = pos + utf8Length;
+        for (int i = pos; i < end; ++i) {
+            byte b = buffer[i];
+            if (b < 0) {
+                // not ASCII
+                return new String(buffer, pos, utf8Length, UTF_8);
+            }
+            hash = 31 * hash + b;
+        }
+
+        if (utf8Length > MAX_CACHED_LENGTH) {
+            // the ASCII bytes are the same in Latin-1, no decoding is needed
+            return new String(buffer, pos, utf8Length, ISO_8859_1);
+        }
+
+        int index = (hash ^ hash >>> 16) & CACHE_MASK;
+        String cached = CACHE[index];
+        if (cached != null && matches(cached, buffer, pos, utf8Length)) {
+            return cached;
+        }
+        String str = new String(buffer, pos, utf8Length, ISO_8859_1);
+        CACHE[index] = str;
+        return str;
+    }
+
+    private static boolean matches(String str, byte[] buffer, int pos, int length) {
+        if (str.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; ++i) {
+            if (str.charAt(i) != buffer[pos + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
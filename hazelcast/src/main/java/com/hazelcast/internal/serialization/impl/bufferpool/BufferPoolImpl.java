@@ -18,6 +18,7 @@ package com.hazelcast.internal.serialization.impl.bufferpool;
 
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.HeapDataView;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
 import com.hazelcast.internal.serialization.Data;
@@ -72,7 +73,11 @@ public class BufferPoolImpl implements BufferPool {
         if (in == null) {
             in = serializationService.createObjectDataInput((byte[]) null);
         }
-        in.init(data.toByteArray(), HeapData.DATA_OFFSET);
+        if (data instanceof HeapDataView) {
+            ((HeapDataView) data).initInput(in);
+        } else {
+            in.init(data.toByteArray(), HeapData.DATA_OFFSET);
+        }
         return in;
     }
 
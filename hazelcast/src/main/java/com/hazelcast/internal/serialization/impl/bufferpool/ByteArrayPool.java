@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_CAPACITY;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_DISCARDED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_MISSES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.SERIALIZATION_METRIC_BUFFER_POOL_POOLED_BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * A pool of byte arrays shared by all threads of a serialization service.
+ * <p>
+ * While the {@link BufferPool} keeps a few output and input instances per
+ * thread, this pool recycles the large byte arrays backing the outputs, so
+ * the outputs can grow for large values and be trimmed back afterwards
+ * without allocating new arrays each time.
+ * <p>
+ * The arrays are grouped into size classes of powers of two between
+ * {@link #MIN_POOLED_LENGTH} and {@link #MAX_POOLED_LENGTH}, every class has
+ * a fixed number of lock-free slots. The total length of the pooled arrays
+ * is bounded by the capacity of the pool, the arrays not fitting into the
+ * pool are left to the garbage collector.
+ */
+@SuppressWarnings("checkstyle:magicnumber")
+public final class ByteArrayPool {
+
+    /**
+     * The default bound of the total length of the pooled arrays.
+     */
+    public static final long DEFAULT_CAPACITY = 32L << 20;
+
+    static final int MIN_POOLED_LENGTH = 1 << 12;
+    static final int MAX_POOLED_LENGTH = 1 << 26;
+    static final int SLOTS_PER_CLASS = 8;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_LENGTH);
+    private static final int CLASS_COUNT = Integer.numberOfTrailingZeros(MAX_POOLED_LENGTH) - MIN_SHIFT + 1;
+
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_CAPACITY, unit = BYTES)
+    private final long capacity;
+    private final AtomicReferenceArray<byte[]> slots = new AtomicReferenceArray<>(CLASS_COUNT * SLOTS_PER_CLASS);
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_POOLED_BYTES, unit = BYTES)
+    private final AtomicLong pooledBytes = new AtomicLong();
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_HITS)
+    private final MwCounter hits = newMwCounter();
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_MISSES)
+    private final MwCounter misses = newMwCounter();
+    @Probe(name = SERIALIZATION_METRIC_BUFFER_POOL_DISCARDED)
+    private final MwCounter discarded = newMwCounter();
+
+    /**
+     * @param capacity the bound of the total length of the pooled arrays,
+     *                 0 disables the pooling
+     */
+    public ByteArrayPool(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity can't be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the length of the arrays returned by {@link #take(int)} for
+     * the given minimal length.
+     */
+    public static int sizeClassLength(int minLength) {
+        if (minLength <= MIN_POOLED_LENGTH) {
+            return MIN_POOLED_LENGTH;
+        }
+        if (minLength > MAX_POOLED_LENGTH) {
+            return minLength;
+        }
+        return Integer.highestOneBit(minLength - 1) << 1;
+    }
+
+    /**
+     * Takes an array having at least the given length out of the pool or
+     * allocates a new one if there is no pooled array of that size class.
+     */
+    public byte[] take(int minLength) {
+        int length = sizeClassLength(minLength);
+        if (length <= MAX_POOLED_LENGTH) {
+            int begin = sizeClass(length) * SLOTS_PER_CLASS;
+            int start = slotStart();
+            for (int i = 0; i < SLOTS_PER_CLASS; ++i) {
+                int slot = begin + (start + i) % SLOTS_PER_CLASS;
+                if (slots.get(slot) != null) {
+                    byte[] array = slots.getAndSet(slot, null);
+                    if (array != null) {
+                        pooledBytes.addAndGet(-array.length);
+                        hits.inc();
+                        return array;
+                    }
+                }
+            }
+        }
+        misses.inc();
+        return new byte[length];
+    }
+
+    /**
+     * Returns the given array to the pool. The array is discarded if it has
+     * not been taken from the pool or if the pool is full. The array must
+     * not be used by the caller anymore.
+     */
+    public void release(byte[] array) {
+        int length = array.length;
+        if (length < MIN_POOLED_LENGTH || length > MAX_POOLED_LENGTH || Integer.bitCount(length) != 1) {
+            return;
+        }
+
+        if (pooledBytes.addAndGet(length) <= capacity) {
+            int begin = sizeClass(length) * SLOTS_PER_CLASS;
+            int start = slotStart();
+            for (int i = 0; i < SLOTS_PER_CLASS; ++i) {
+                int slot = begin + (start + i) % SLOTS_PER_CLASS;
+                if (slots.get(slot) == null && slots.compareAndSet(slot, null, array)) {
+                    return;
+                }
+            }
+        }
+        pooledBytes.addAndGet(-length);
+        discarded.inc();
+    }
+
+    /**
+     * Drops all pooled arrays.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); ++i) {
+            byte[] array = slots.getAndSet(i, null);
+            if (array != null) {
+                pooledBytes.addAndGet(-array.length);
+            }
+        }
+    }
+
+    long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getMisses() {
+        return misses.get();
+    }
+
+    long getDiscarded() {
+        return discarded.get();
+    }
+
+    private static int sizeClass(int length) {
+        return Integer.numberOfTrailingZeros(length) - MIN_SHIFT;
+    }
+
+    private static int slotStart() {
+        // spreads the threads over the slots of a class
+        return (int) (Thread.currentThread().getId() % SLOTS_PER_CLASS);
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import java.io.IOException;
+
+/**
+ * Reads the fields of an object serialized in the compact format, each
+ * field is read directly at its location, in any order.
+ */
+public interface CompactReader {
+
+    /**
+     * @return the schema of the object being read
+     */
+    Schema getSchema();
+
+    boolean readBoolean(String fieldName) throws IOException;
+
+    byte readByte(String fieldName) throws IOException;
+
+    char readChar(String fieldName) throws IOException;
+
+    short readShort(String fieldName) throws IOException;
+
+    int readInt(String fieldName) throws IOException;
+
+    float readFloat(String fieldName) throws IOException;
+
+    long readLong(String fieldName) throws IOException;
+
+    double readDouble(String fieldName) throws IOException;
+
+    String readString(String fieldName) throws IOException;
+
+    byte[] readByteArray(String fieldName) throws IOException;
+
+    int[] readIntArray(String fieldName) throws IOException;
+
+    long[] readLongArray(String fieldName) throws IOException;
+
+    double[] readDoubleArray(String fieldName) throws IOException;
+
+    /**
+     * Reads a nested object, its class must have a compact serializer.
+     */
+    <T> T readCompact(String fieldName) throws IOException;
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import java.io.IOException;
+
+/**
+ * Serializes the objects of a class in the compact format.
+ * <p>
+ * The schema is declared up front, so all the members registering the same
+ * serializer know the schema of the serialized objects and can read them,
+ * or query their fields, without exchanging any class definitions.
+ *
+ * @param <T> the type of the serialized objects.
+ * @see CompactSerializerHook
+ */
+public interface CompactSerializer<T> {
+
+    /**
+     * @return the class of the serialized objects, subclasses are not
+     * serialized by this serializer
+     */
+    Class<T> getCompactClass();
+
+    /**
+     * @return the schema of the serialized objects
+     */
+    Schema getSchema();
+
+    /**
+     * Writes the fields of the given object. The fields left unwritten are
+     * read as zeroes, {@code false} or {@code null}.
+     */
+    void write(CompactWriter writer, T object) throws IOException;
+
+    /**
+     * Reads an object from its fields.
+     */
+    T read(CompactReader reader) throws IOException;
+
+}
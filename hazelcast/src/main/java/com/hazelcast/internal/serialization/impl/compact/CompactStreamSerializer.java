@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.impl.SerializationConstants;
+import com.hazelcast.internal.util.ExceptionUtil;
+import com.hazelcast.internal.util.ServiceLoader;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serializes the objects having a {@link CompactSerializer} registered in
+ * the compact format.
+ * <p>
+ * The serializers are registered on construction, both from the given
+ * collection and from the {@link CompactSerializerHook hooks} found on the
+ * classpath. The schemas are identified by their fingerprints, so the
+ * members registering the same serializers read the objects written by
+ * each other.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class CompactStreamSerializer implements StreamSerializer<Object> {
+
+    private static final String FACTORY_ID = "com.hazelcast.CompactSerializerHook";
+
+    private final Map<Class<?>, CompactSerializer> serializersByClass = new HashMap<>();
+    private final Map<Long, CompactSerializer> serializersBySchemaId = new HashMap<>();
+
+    public CompactStreamSerializer(Collection<? extends CompactSerializer<?>> serializers, ClassLoader classLoader) {
+        try {
+            Iterator<CompactSerializerHook> hooks = ServiceLoader.iterator(CompactSerializerHook.class, FACTORY_ID,
+                    classLoader);
+            while (hooks.hasNext()) {
+                for (CompactSerializer<?> serializer : hooks.next().createSerializers()) {
+                    register(serializer);
+                }
+            }
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+        for (CompactSerializer<?> serializer : serializers) {
+            register(serializer);
+        }
+    }
+
+    private void register(CompactSerializer<?> serializer) {
+        Schema schema = serializer.getSchema();
+        CompactSerializer current = serializersBySchemaId.putIfAbsent(schema.getSchemaId(), serializer);
+        if (current != null && !current.getSchema().equals(schema)) {
+            throw new IllegalArgumentException("Schema identifier collision between " + current.getSchema() + " and " + schema);
+        }
+        current = serializersByClass.putIfAbsent(serializer.getCompactClass(), serializer);
+        if (current != null && current != serializer) {
+            throw new IllegalArgumentException("Compact serializer for " + serializer.getCompactClass()
+                    + " is already registered: " + current);
+        }
+    }
+
+    /**
+     * @return the classes serialized in the compact format
+     */
+    public Set<Class<?>> getCompactClasses() {
+        return serializersByClass.keySet();
+    }
+
+    @Override
+    public int getTypeId() {
+        return SerializationConstants.CONSTANT_TYPE_COMPACT;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Object object) throws IOException {
+        if (!(out instanceof BufferObjectDataOutput)) {
+            throw new IllegalArgumentException("ObjectDataOutput must be instance of BufferObjectDataOutput!");
+        }
+        writeObject((BufferObjectDataOutput) out, object);
+    }
+
+    @Override
+    public Object read(ObjectDataInput in) throws IOException {
+        if (!(in instanceof BufferObjectDataInput)) {
+            throw new IllegalArgumentException("ObjectDataInput must be instance of BufferObjectDataInput!");
+        }
+        return readObject((BufferObjectDataInput) in);
+    }
+
+    void writeObject(BufferObjectDataOutput out, Object object) throws IOException {
+        CompactSerializer serializer = serializersByClass.get(object.getClass());
+        if (serializer == null) {
+            throw new HazelcastSerializationException("There is no compact serializer for " + object.getClass());
+        }
+        DefaultCompactWriter writer = new DefaultCompactWriter(this, out, serializer.getSchema());
+        serializer.write(writer, object);
+        writer.end();
+    }
+
+    Object readObject(BufferObjectDataInput in) throws IOException {
+        CompactSerializer serializer = lookupSerializer(in.readLong(in.position()));
+        DefaultCompactReader reader = new DefaultCompactReader(this, in, serializer.getSchema(), in.position());
+        Object object = serializer.read(reader);
+        reader.end();
+        return object;
+    }
+
+    /**
+     * Creates a reader of the compact object located at the current position
+     * of the given input.
+     */
+    public DefaultCompactReader createReader(BufferObjectDataInput in) throws IOException {
+        CompactSerializer serializer = lookupSerializer(in.readLong(in.position()));
+        return new DefaultCompactReader(this, in, serializer.getSchema(), in.position());
+    }
+
+    private CompactSerializer lookupSerializer(long schemaId) {
+        CompactSerializer serializer = serializersBySchemaId.get(schemaId);
+        if (serializer == null) {
+            throw new HazelcastSerializationException("There is no compact serializer for schema id " + schemaId);
+        }
+        return serializer;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import java.io.IOException;
+
+/**
+ * Writes the fields of an object in the compact format, the fields are
+ * looked up in the schema of the object by name and can be written in any
+ * order.
+ */
+public interface CompactWriter {
+
+    void writeBoolean(String fieldName, boolean value) throws IOException;
+
+    void writeByte(String fieldName, byte value) throws IOException;
+
+    void writeChar(String fieldName, char value) throws IOException;
+
+    void writeShort(String fieldName, short value) throws IOException;
+
+    void writeInt(String fieldName, int value) throws IOException;
+
+    void writeFloat(String fieldName, float value) throws IOException;
+
+    void writeLong(String fieldName, long value) throws IOException;
+
+    void writeDouble(String fieldName, double value) throws IOException;
+
+    void writeString(String fieldName, String value) throws IOException;
+
+    void writeByteArray(String fieldName, byte[] value) throws IOException;
+
+    void writeIntArray(String fieldName, int[] value) throws IOException;
+
+    void writeLongArray(String fieldName, long[] value) throws IOException;
+
+    void writeDoubleArray(String fieldName, double[] value) throws IOException;
+
+    /**
+     * Writes a nested object, its class must have a compact serializer.
+     */
+    void writeCompact(String fieldName, Object value) throws IOException;
+
+}
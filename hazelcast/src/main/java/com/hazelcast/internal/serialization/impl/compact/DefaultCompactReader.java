@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.compact.DefaultCompactWriter.HEADER_SIZE;
+import static com.hazelcast.internal.serialization.impl.compact.DefaultCompactWriter.NULL_OFFSET;
+
+/**
+ * Reads an object written by a {@link DefaultCompactWriter}.
+ * <p>
+ * The fixed-width fields are read at their positions without moving the
+ * input, the variable-width fields are located through the offset table.
+ */
+public final class DefaultCompactReader implements CompactReader {
+
+    private final CompactStreamSerializer serializer;
+    private final BufferObjectDataInput in;
+    private final Schema schema;
+    private final int begin;
+    private final int fixedBegin;
+    private final int offsetsBegin;
+
+    DefaultCompactReader(CompactStreamSerializer serializer, BufferObjectDataInput in, Schema schema, int begin) {
+        this.serializer = serializer;
+        this.in = in;
+        this.schema = schema;
+        this.begin = begin;
+        this.fixedBegin = begin + HEADER_SIZE;
+        this.offsetsBegin = fixedBegin + schema.getFixedSize();
+    }
+
+    @Override
+    public Schema getSchema() {
+        return schema;
+    }
+
+    @Override
+    public boolean readBoolean(String fieldName) throws IOException {
+        return in.readBoolean(fixedPosition(fieldName, FieldKind.BOOLEAN));
+    }
+
+    @Override
+    public byte readByte(String fieldName) throws IOException {
+        return in.readByte(fixedPosition(fieldName, FieldKind.BYTE));
+    }
+
+    @Override
+    public char readChar(String fieldName) throws IOException {
+        return in.readChar(fixedPosition(fieldName, FieldKind.CHAR));
+    }
+
+    @Override
+    public short readShort(String fieldName) throws IOException {
+        return in.readShort(fixedPosition(fieldName, FieldKind.SHORT));
+    }
+
+    @Override
+    public int readInt(String fieldName) throws IOException {
+        return in.readInt(fixedPosition(fieldName, FieldKind.INT));
+    }
+
+    @Override
+    public float readFloat(String fieldName) throws IOException {
+        return in.readFloat(fixedPosition(fieldName, FieldKind.FLOAT));
+    }
+
+    @Override
+    public long readLong(String fieldName) throws IOException {
+        return in.readLong(fixedPosition(fieldName, FieldKind.LONG));
+    }
+
+    @Override
+    public double readDouble(String fieldName) throws IOException {
+        return in.readDouble(fixedPosition(fieldName, FieldKind.DOUBLE));
+    }
+
+    @Override
+    public String readString(String fieldName) throws IOException {
+        return seekVariableField(fieldName, FieldKind.STRING) ? in.readUTF() : null;
+    }
+
+    @Override
+    public byte[] readByteArray(String fieldName) throws IOException {
+        return seekVariableField(fieldName, FieldKind.BYTE_ARRAY) ? in.readByteArray() : null;
+    }
+
+    @Override
+    public int[] readIntArray(String fieldName) throws IOException {
+        return seekVariableField(fieldName, FieldKind.INT_ARRAY) ? in.readIntArray() : null;
+    }
+
+    @Override
+    public long[] readLongArray(String fieldName) throws IOException {
+        return seekVariableField(fieldName, FieldKind.LONG_ARRAY) ? in.readLongArray() : null;
+    }
+
+    @Override
+    public double[] readDoubleArray(String fieldName) throws IOException {
+        return seekVariableField(fieldName, FieldKind.DOUBLE_ARRAY) ? in.readDoubleArray() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T readCompact(String fieldName) throws IOException {
+        return seekVariableField(fieldName, FieldKind.COMPACT) ? (T) serializer.readObject(in) : null;
+    }
+
+    /**
+     * Reads the value of the given field of any kind, the fixed-width values
+     * are boxed.
+     *
+     * @return the value of the field or {@code null} if there is no such
+     * field
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    public Object read(String fieldName) throws IOException {
+        FieldDescriptor field = schema.getField(fieldName);
+        if (field == null) {
+            return null;
+        }
+        switch (field.getKind()) {
+            case BOOLEAN:
+                return readBoolean(fieldName);
+            case BYTE:
+                return readByte(fieldName);
+            case CHAR:
+                return readChar(fieldName);
+            case SHORT:
+                return readShort(fieldName);
+            case INT:
+                return readInt(fieldName);
+            case FLOAT:
+                return readFloat(fieldName);
+            case LONG:
+                return readLong(fieldName);
+            case DOUBLE:
+                return readDouble(fieldName);
+            case STRING:
+                return readString(fieldName);
+            case BYTE_ARRAY:
+                return readByteArray(fieldName);
+            case INT_ARRAY:
+                return readIntArray(fieldName);
+            case LONG_ARRAY:
+                return readLongArray(fieldName);
+            case DOUBLE_ARRAY:
+                return readDoubleArray(fieldName);
+            case COMPACT:
+                return readCompact(fieldName);
+            default:
+                throw new IllegalStateException("Unexpected field kind: " + field.getKind());
+        }
+    }
+
+    /**
+     * Creates a reader of the nested object held by the given field.
+     *
+     * @return the reader or {@code null} if there is no such field or if
+     * its value is {@code null}
+     */
+    public DefaultCompactReader readNested(String fieldName) throws IOException {
+        FieldDescriptor field = schema.getField(fieldName);
+        if (field == null || field.getKind() != FieldKind.COMPACT) {
+            return null;
+        }
+        return seekVariableField(fieldName, FieldKind.COMPACT) ? serializer.createReader(in) : null;
+    }
+
+    /**
+     * Moves the input to the end of the object being read.
+     */
+    void end() throws IOException {
+        in.position(begin + in.readInt(begin + LONG_SIZE_IN_BYTES));
+    }
+
+    private int fixedPosition(String fieldName, FieldKind kind) {
+        return fixedBegin + getField(fieldName, kind).getIndex();
+    }
+
+    /**
+     * Moves the input to the value of the given variable-width field.
+     *
+     * @return {@code true} if the value is to be read, {@code false} if the
+     * value is {@code null}
+     */
+    private boolean seekVariableField(String fieldName, FieldKind kind) throws IOException {
+        int offset = in.readInt(offsetsBegin + getField(fieldName, kind).getIndex() * INT_SIZE_IN_BYTES);
+        if (offset == NULL_OFFSET) {
+            return false;
+        }
+        in.position(begin + offset);
+        return true;
+    }
+
+    private FieldDescriptor getField(String fieldName, FieldKind kind) {
+        FieldDescriptor field = schema.getField(fieldName);
+        if (field == null || field.getKind() != kind) {
+            throw new HazelcastSerializationException("Invalid field name: '" + fieldName + "' of kind " + kind
+                    + " for " + schema);
+        }
+        return field;
+    }
+
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+
+/**
+ * Writes an object in the compact format.
+ * <p>
+ * The serialized object starts with a header holding the schema identifier
+ * and the total length of the object, followed by the fixed-width section
+ * and the offset table. The variable-width fields are appended after the
+ * offset table as they are written, their offsets are relative to the
+ * beginning of the object, {@code -1} denotes a {@code null} value.
+ */
+public final class DefaultCompactWriter implements CompactWriter {
+
+    /**
+     * The size of the header: the schema identifier and the total length.
+     */
+    static final int HEADER_SIZE = LONG_SIZE_IN_BYTES + INT_SIZE_IN_BYTES;
+
+    /**
+     * The offset of the {@code null} variable-width fields.
+     */
+    static final int NULL_OFFSET = -1;
+
+    private final CompactStreamSerializer serializer;
+    private final BufferObjectDataOutput out;
+    private final Schema schema;
+    private final int begin;
+    private final int fixedBegin;
+    private final int offsetsBegin;
+
+    DefaultCompactWriter(CompactStreamSerializer serializer, BufferObjectDataOutput out, Schema schema) throws IOException {
+        this.serializer = serializer;
+        this.out = out;
+        this.schema = schema;
+        this.begin = out.position();
+        out.writeLong(schema.getSchemaId());
+        out.writeZeroBytes(INT_SIZE_IN_BYTES);
+        this.fixedBegin = out.position();
+        out.writeZeroBytes(schema.getFixedSize());
+        this.offsetsBegin = out.position();
+        for (int i = 0; i < schema.getVariableFieldCount(); ++i) {
+            out.writeInt(NULL_OFFSET);
+        }
+    }
+
+    @Override
+    public void writeBoolean(String fieldName, boolean value) throws IOException {
+        out.writeBoolean(fixedPosition(fieldName, FieldKind.BOOLEAN), value);
+    }
+
+    @Override
+    public void writeByte(String fieldName, byte value) throws IOException {
+        out.writeByte(fixedPosition(fieldName, FieldKind.BYTE), value);
+    }
+
+    @Override
+    public void writeChar(String fieldName, char value) throws IOException {
+        out.writeChar(fixedPosition(fieldName, FieldKind.CHAR), value);
+    }
+
+    @Override
+    public void writeShort(String fieldName, short value) throws IOException {
+        out.writeShort(fixedPosition(fieldName, FieldKind.SHORT), value);
+    }
+
+    @Override
+    public void writeInt(String fieldName, int value) throws IOException {
+        out.writeInt(fixedPosition(fieldName, FieldKind.INT), value);
+    }
+
+    @Override
+    public void writeFloat(String fieldName, float value) throws IOException {
+        out.writeFloat(fixedPosition(fieldName, FieldKind.FLOAT), value);
+    }
+
+    @Override
+    public void writeLong(String fieldName, long value) throws IOException {
+        out.writeLong(fixedPosition(fieldName, FieldKind.LONG), value);
+    }
+
+    @Override
+    public void writeDouble(String fieldName, double value) throws IOException {
+        out.writeDouble(fixedPosition(fieldName, FieldKind.DOUBLE), value);
+    }
+
+    @Override
+    public void writeString(String fieldName, String value) throws IOException {
+        if (beginVariableField(fieldName, FieldKind.STRING, value)) {
+            out.writeUTF(value);
+        }
+    }
+
+    @Override
+    public void writeByteArray(String fieldName, byte[] value) throws IOException {
+        if (beginVariableField(fieldName, FieldKind.BYTE_ARRAY, value)) {
+            out.writeByteArray(value);
+        }
+    }
+
+    @Override
+    public void writeIntArray(String fieldName, int[] value) throws IOException {
+        if (beginVariableField(fieldName, FieldKind.INT_ARRAY, value)) {
+            out.writeIntArray(value);
+        }
+    }
+
+    @Override
+    public void writeLongArray(String fieldName, long[] value) throws IOException {
+        if (beginVariableField(fieldName, FieldKind.LONG_ARRAY, value)) {
+            out.writeLongArray(value);
+        }
+    }
+
+    @Override
+    public void writeDoubleArray(String fieldName, double[] value) throws IOException {
+        if (beginVariableField(fieldName, FieldKind.DOUBLE_ARRAY, value)) {
+            out.writeDoubleArray(value);
+        }
+    }
+
+    @Override
+    public void writeCompact(String fieldName, Object value) throws IOException {
+        if (beginVariableField(fieldName, FieldKind.COMPACT, value)) {
+            serializer.writeObject(out, value);
+        }
+    }
+
+    /**
+     * Completes the serialized object by writing its total length.
+     */
+    void end() throws IOException {
+        out.writeInt(begin + LONG_SIZE_IN_BYTES, out.position() - begin);
+    }
+
+    private int fixedPosition(String fieldName, FieldKind kind) {
+        return fixedBegin + getField(fieldName, kind).getIndex();
+    }
+
+    /**
+     * Records the offset of the given variable-width field.
+     *
+     * @return {@code true} if the value is to be written, {@code false} if
+     * the value is {@code null}
+     */
+    private boolean beginVariableField(String fieldName, FieldKind kind, Object value) throws IOException {
+        int offsetPosition = offsetsBegin + getField(fieldName, kind).getIndex() * INT_SIZE_IN_BYTES;
+        if (value == null) {
+            out.writeInt(offsetPosition, NULL_OFFSET);
+            return false;
+        }
+        out.writeInt(offsetPosition, out.position() - begin);
+        return true;
+    }
+
+    private FieldDescriptor getField(String fieldName, FieldKind kind) {
+        FieldDescriptor field = schema.getField(fieldName);
+        if (field == null || field.getKind() != kind) {
+            throw new HazelcastSerializationException("Invalid field name: '" + fieldName + "' of kind " + kind
+                    + " for " + schema);
+        }
+        return field;
+    }
+
+}
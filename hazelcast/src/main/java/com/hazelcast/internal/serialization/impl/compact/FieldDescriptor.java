@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+/**
+ * Describes a field of a compact {@link Schema} along with its location in
+ * the serialized objects.
+ */
+public final class FieldDescriptor {
+
+    private final String name;
+    private final FieldKind kind;
+    private final int index;
+
+    FieldDescriptor(String name, FieldKind kind, int index) {
+        this.name = name;
+        this.kind = kind;
+        this.index = index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the offset of the field in the fixed-width section if the
+     * field has a fixed width, the index of the field in the offset table
+     * otherwise
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        FieldDescriptor that = (FieldDescriptor) o;
+        return index == that.index && kind == that.kind && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = name.hashCode();
+        result = 31 * result + kind.hashCode();
+        result = 31 * result + index;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FieldDescriptor{name='" + name + "', kind=" + kind + ", index=" + index + '}';
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+/**
+ * The kinds of the fields of the compact serialization format.
+ * <p>
+ * The fields of the fixed-width kinds are stored in the fixed-width
+ * section of the serialized objects, the fields of the variable-width
+ * kinds are located through the offset table.
+ */
+public enum FieldKind {
+
+    BOOLEAN(0, 1),
+    BYTE(1, 1),
+    CHAR(2, 2),
+    SHORT(3, 2),
+    INT(4, 4),
+    FLOAT(5, 4),
+    LONG(6, 8),
+    DOUBLE(7, 8),
+    STRING(8, -1),
+    BYTE_ARRAY(9, -1),
+    INT_ARRAY(10, -1),
+    LONG_ARRAY(11, -1),
+    DOUBLE_ARRAY(12, -1),
+    COMPACT(13, -1);
+
+    private final int id;
+    private final int size;
+
+    FieldKind(int id, int size) {
+        this.id = id;
+        this.size = size;
+    }
+
+    /**
+     * @return the stable identifier of this kind, used to compute the
+     * schema identifiers
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the size in bytes of the fields of this kind if it is a
+     * fixed-width kind, {@code -1} otherwise
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if the fields of this kind have a fixed width,
+     * {@code false} otherwise
+     */
+    public boolean isFixedSize() {
+        return size > 0;
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.util.HashUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static java.util.Collections.unmodifiableCollection;
+
+/**
+ * The schema of a type serialized in the compact format: the type name and
+ * the names and kinds of its fields.
+ * <p>
+ * The schema defines the layout of the serialized objects. The fixed-width
+ * fields are laid out by decreasing width, then by name, the variable-width
+ * fields are indexed in the offset table by name. The layout depends only
+ * on the schema, so the members having the same schemas registered agree on
+ * it without any coordination. The same holds for the schema identifier, a
+ * fingerprint of the schema.
+ *
+ * @see SchemaBuilder
+ */
+public final class Schema {
+
+    private final String typeName;
+    private final Map<String, FieldDescriptor> fields;
+    private final int fixedSize;
+    private final int variableFieldCount;
+    private final long schemaId;
+
+    Schema(String typeName, Map<String, FieldKind> fieldKinds) {
+        this.typeName = typeName;
+
+        // sorted by name
+        TreeMap<String, FieldKind> sortedFieldKinds = new TreeMap<>(fieldKinds);
+        List<Map.Entry<String, FieldKind>> fixedFields = new ArrayList<>();
+        List<String> variableFields = new ArrayList<>();
+        for (Map.Entry<String, FieldKind> entry : sortedFieldKinds.entrySet()) {
+            if (entry.getValue().isFixedSize()) {
+                fixedFields.add(entry);
+            } else {
+                variableFields.add(entry.getKey());
+            }
+        }
+        // stable sort, the fields of the same width remain sorted by name
+        fixedFields.sort(Comparator.comparingInt((Map.Entry<String, FieldKind> entry) -> entry.getValue().getSize())
+                                   .reversed());
+
+        Map<String, FieldDescriptor> fields = new HashMap<>();
+        int offset = 0;
+        for (Map.Entry<String, FieldKind> entry : fixedFields) {
+            fields.put(entry.getKey(), new FieldDescriptor(entry.getKey(), entry.getValue(), offset));
+            offset += entry.getValue().getSize();
+        }
+        for (int i = 0; i < variableFields.size(); ++i) {
+            String name = variableFields.get(i);
+            fields.put(name, new FieldDescriptor(name, sortedFieldKinds.get(name), i));
+        }
+
+        this.fields = fields;
+        this.fixedSize = offset;
+        this.variableFieldCount = variableFields.size();
+        this.schemaId = fingerprint(typeName, sortedFieldKinds);
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    /**
+     * @return the fingerprint identifying this schema
+     */
+    public long getSchemaId() {
+        return schemaId;
+    }
+
+    /**
+     * @return the descriptor of the field having the given name or {@code
+     * null} if there is no such field
+     */
+    public FieldDescriptor getField(String name) {
+        return fields.get(name);
+    }
+
+    public Collection<FieldDescriptor> getFields() {
+        return unmodifiableCollection(fields.values());
+    }
+
+    /**
+     * @return the size in bytes of the fixed-width section
+     */
+    public int getFixedSize() {
+        return fixedSize;
+    }
+
+    /**
+     * @return the number of the entries in the offset table
+     */
+    public int getVariableFieldCount() {
+        return variableFieldCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Schema that = (Schema) o;
+        return schemaId == that.schemaId && typeName.equals(that.typeName) && fields.equals(that.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (schemaId ^ (schemaId >>> Integer.SIZE));
+    }
+
+    @Override
+    public String toString() {
+        List<String> fieldNames = new ArrayList<>(fields.keySet());
+        Collections.sort(fieldNames);
+        StringBuilder builder = new StringBuilder("Schema{typeName='").append(typeName).append("', schemaId=")
+                                                                      .append(schemaId).append(", fields=[");
+        for (int i = 0; i < fieldNames.size(); ++i) {
+            FieldDescriptor field = fields.get(fieldNames.get(i));
+            builder.append(i == 0 ? "" : ", ").append(field.getName()).append(':').append(field.getKind());
+        }
+        return builder.append("]}").toString();
+    }
+
+    private static long fingerprint(String typeName, SortedMap<String, FieldKind> fieldKinds) {
+        StringBuilder canonical = new StringBuilder(typeName);
+        for (Map.Entry<String, FieldKind> entry : fieldKinds.entrySet()) {
+            canonical.append('\0').append(entry.getKey()).append('\0').append(entry.getValue().getId());
+        }
+        byte[] bytes = canonical.toString().getBytes(StandardCharsets.UTF_8);
+        return HashUtil.MurmurHash3_x64_64(bytes, 0, bytes.length);
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.util.Preconditions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds compact {@link Schema schemas}.
+ */
+public final class SchemaBuilder {
+
+    private final String typeName;
+    private final Map<String, FieldKind> fields = new HashMap<>();
+
+    public SchemaBuilder(String typeName) {
+        this.typeName = Preconditions.checkHasText(typeName, "type name must contain text");
+    }
+
+    public SchemaBuilder addField(String name, FieldKind kind) {
+        Preconditions.checkHasText(name, "field name must contain text");
+        Preconditions.checkNotNull(kind, "field kind must not be null");
+        if (fields.putIfAbsent(name, kind) != null) {
+            throw new IllegalArgumentException("Field '" + name + "' is already defined in " + typeName);
+        }
+        return this;
+    }
+
+    public SchemaBuilder addBooleanField(String name) {
+        return addField(name, FieldKind.BOOLEAN);
+    }
+
+    public SchemaBuilder addByteField(String name) {
+        return addField(name, FieldKind.BYTE);
+    }
+
+    public SchemaBuilder addCharField(String name) {
+        return addField(name, FieldKind.CHAR);
+    }
+
+    public SchemaBuilder addShortField(String name) {
+        return addField(name, FieldKind.SHORT);
+    }
+
+    public SchemaBuilder addIntField(String name) {
+        return addField(name, FieldKind.INT);
+    }
+
+    public SchemaBuilder addFloatField(String name) {
+        return addField(name, FieldKind.FLOAT);
+    }
+
+    public SchemaBuilder addLongField(String name) {
+        return addField(name, FieldKind.LONG);
+    }
+
+    public SchemaBuilder addDoubleField(String name) {
+        return addField(name, FieldKind.DOUBLE);
+    }
+
+    public SchemaBuilder addStringField(String name) {
+        return addField(name, FieldKind.STRING);
+    }
+
+    public SchemaBuilder addByteArrayField(String name) {
+        return addField(name, FieldKind.BYTE_ARRAY);
+    }
+
+    public SchemaBuilder addIntArrayField(String name) {
+        return addField(name, FieldKind.INT_ARRAY);
+    }
+
+    public SchemaBuilder addLongArrayField(String name) {
+        return addField(name, FieldKind.LONG_ARRAY);
+    }
+
+    public SchemaBuilder addDoubleArrayField(String name) {
+        return addField(name, FieldKind.DOUBLE_ARRAY);
+    }
+
+    /**
+     * Adds a field holding a nested object serialized in the compact format.
+     */
+    public SchemaBuilder addCompactField(String name) {
+        return addField(name, FieldKind.COMPACT);
+    }
+
+    public Schema build() {
+        return new Schema(typeName, fields);
+    }
+
+}
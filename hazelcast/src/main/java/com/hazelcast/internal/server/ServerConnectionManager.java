@@ -24,6 +24,7 @@ import com.hazelcast.internal.nio.Packet;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -83,6 +84,49 @@ public interface ServerConnectionManager
      */
     ServerConnection get(Address address);
 
+    /**
+     * Gets all connections for a given address. When several connections
+     * are opened to each member, one is returned for every connection that
+     * exists, otherwise the result is the same as {@link #get(Address)}.
+     *
+     * @param address the remote side of the connections
+     * @return the found connections, empty if none exist
+     */
+    default @Nonnull Collection<ServerConnection> getConnections(Address address) {
+        ServerConnection connection = get(address);
+        return connection == null ? Collections.emptyList() : Collections.singletonList(connection);
+    }
+
+    /**
+     * Closes all connections for a given address.
+     *
+     * @param address the remote side of the connections
+     * @param reason  the reason of the closing
+     * @see #getConnections(Address)
+     */
+    default void closeConnections(Address address, String reason) {
+        for (ServerConnection connection : getConnections(address)) {
+            connection.close(reason, null);
+        }
+    }
+
+    /**
+     * Gets the connection for a given address carrying the given stream.
+     * If the connection does not exist, it returns null.
+     * <p>
+     * When several connections are opened to each member, the packets of a
+     * stream are always sent over the same connection, which preserves their
+     * ordering. A negative stream id means the packets don't need to be
+     * ordered and any connection may be returned.
+     *
+     * @param address  the remote side of the connection
+     * @param streamId the stream id, typically the partition id
+     * @return the found Connection, or none if one doesn't exist
+     */
+    default ServerConnection get(Address address, int streamId) {
+        return get(address);
+    }
+
     /**
      * Gets the existing connection for a given address or connects.
      * <p>
@@ -113,6 +157,20 @@ public interface ServerConnectionManager
      */
     ServerConnection getOrConnect(Address address, boolean silent);
 
+    /**
+     * Gets the existing connection for a given address carrying the given
+     * stream. If it does not exist, the system will try to connect
+     * asynchronously. In this case, it returns {@code null}.
+     *
+     * @param address  the address to connect to
+     * @param streamId the stream id, typically the partition id
+     * @return the existing connection
+     * @see #get(Address, int)
+     */
+    default ServerConnection getOrConnect(Address address, int streamId) {
+        return getOrConnect(address, false);
+    }
+
     /**
      * Transmits a packet to a certain connection.
      * <p>
@@ -114,12 +114,17 @@ public abstract class AbstractChannelInitializer
 
             Address remoteEndpoint = null;
             if (isMemberConnection) {
+                if (!assignPlane(connection, handshake)) {
+                    return false;
+                }
+
                 // when a member connection is being bound on the connection initiator side
                 // add the remote socket address as last alias. This way the intended public
                 // address of the target member will be set correctly in TcpIpConnection.setEndpoint.
                 if (mustRegisterRemoteSocketAddress) {
                     allAliases.add(new Address(connection.getRemoteSocketAddress()));
                 }
+                connectionManager.setRemotePlaneCount(allAliases, handshake.getPlaneCount());
             } else {
                 // when not a member connection, register the remote socket address
                 remoteEndpoint = new Address(connection.getRemoteSocketAddress());
@@ -128,11 +133,24 @@ public abstract class AbstractChannelInitializer
             return process0(connection, remoteEndpoint, allAliases, handshake.isReply());
         }
 
+        private boolean assignPlane(TcpServerConnection connection, MemberHandshake handshake) {
+            int planeIndex = handshake.getPlaneIndex();
+            // the remote member uses only as many planes as both members have
+            if (planeIndex < 0 || planeIndex >= connectionManager.getPlaneCount()) {
+                connection.close("The member handshake has plane index " + planeIndex + " but there are only "
+                        + connectionManager.getPlaneCount() + " planes", null);
+                return false;
+            }
+            connection.setPlaneIndex(planeIndex);
+            return true;
+        }
+
         /**
          * Performs the processing of the handshake (sets the endpoint on the Connection, registers the connection)
          * without any spoofing or other validation checks.
          * When executed on the connection initiator side, the connection is registered on the remote address
-         * with which it was registered in {@link TcpServerConnectionManager#connectionsInProgress},
+         * with which it was registered in the {@link TcpServerConnectionManager.Plane#connectionsInProgress}
+         * of the plane of the connection,
          * ignoring the {@code remoteEndpoint} argument.
          *
          * @param connection           the connection that send the handshake
@@ -145,7 +163,8 @@ public abstract class AbstractChannelInitializer
         private synchronized boolean process0(TcpServerConnection connection, Address remoteEndpoint,
                                               Collection<Address> remoteAddressAliases, boolean reply) {
             final Address remoteAddress = new Address(connection.getRemoteSocketAddress());
-            if (connectionManager.connectionsInProgress.contains(remoteAddress)) {
+            TcpServerConnectionManager.Plane plane = connectionManager.getPlane(connection.getPlaneIndex());
+            if (plane.connectionsInProgress.contains(remoteAddress)) {
                 // this is the connection initiator side --> register the connection under the address that was requested
                 remoteEndpoint = remoteAddress;
             }
@@ -163,7 +182,7 @@ public abstract class AbstractChannelInitializer
                 new SendMemberHandshakeTask(logger, serverContext, connection, remoteEndpoint, false).run();
             }
 
-            if (checkAlreadyConnected(connection, remoteEndpoint)) {
+            if (checkAlreadyConnected(connection, remoteEndpoint, plane)) {
                 return false;
             }
 
@@ -177,15 +196,16 @@ public abstract class AbstractChannelInitializer
                     if (logger.isLoggable(Level.FINEST)) {
                         logger.finest("Registering connection " + connection + " to address alias " + remoteAddressAlias);
                     }
-                    connectionManager.mappedConnections.putIfAbsent(remoteAddressAlias, connection);
+                    plane.connectionMap.putIfAbsent(remoteAddressAlias, connection);
                 }
             }
 
             return returnValue;
         }
 
-        private boolean checkAlreadyConnected(TcpServerConnection connection, Address remoteEndPoint) {
-            final Connection existingConnection = connectionManager.get(remoteEndPoint);
+        private boolean checkAlreadyConnected(TcpServerConnection connection, Address remoteEndPoint,
+                                              TcpServerConnectionManager.Plane plane) {
+            final Connection existingConnection = plane.connectionMap.get(remoteEndPoint);
             if (existingConnection != null && existingConnection.isAlive()) {
                 if (existingConnection != connection) {
                     if (logger.isFinestEnabled()) {
@@ -16,8 +16,9 @@
 
 package com.hazelcast.internal.server.tcp;
 
-import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.networking.GatheringOutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
 
@@ -27,6 +28,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.PacketIOHelper.HEADER_SIZE;
 
 /**
  * A {@link OutboundHandler} that for member to member communication.
@@ -37,21 +39,66 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
  *
+ * When the gathering is enabled, the data of the large packets isn't copied
+ * to the dst buffer: it is handed over to the pipeline as buffers wrapping
+ * the packet data, interleaved with the regions of the dst buffer holding
+ * the headers and the small packets.
+ *
  * @see PacketDecoder
  */
-public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> {
+public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer> implements GatheringOutboundHandler {
+
+    /**
+     * The packets with at least this many bytes of data are not copied when
+     * the gathering is enabled.
+     */
+    static final int GATHERING_THRESHOLD = 4096;
+
+    private static final int MAX_BUFFERS = 16;
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
 
     private Packet packet;
 
+    private boolean gatheringEnabled;
+    private ByteBuffer[] buffers;
+    private int bufferCount;
+    // start of the region of the dst buffer not yet added to the buffers
+    private int regionStart;
+    // bytes of packet data wrapped by the buffers
+    private int wrappedBytes;
+    // offset of the next byte of data of the packet to wrap, -1 if its header is not written yet
+    private int dataOffset = -1;
+
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void setGatheringEnabled(boolean enabled) {
+        this.gatheringEnabled = enabled;
+        if (enabled && buffers == null) {
+            buffers = new ByteBuffer[MAX_BUFFERS];
+        }
+    }
+
+    @Override
+    public ByteBuffer[] buffers() {
+        return buffers;
+    }
+
+    @Override
+    public int bufferCount() {
+        return bufferCount;
+    }
+
     @Override
     public HandlerStatus onWrite() {
+        if (gatheringEnabled) {
+            return onWriteGathering();
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -76,4 +123,79 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    private HandlerStatus onWriteGathering() {
+        for (int i = 0; i < bufferCount; i++) {
+            if (buffers[i].hasRemaining()) {
+                // the buffers refer to the dst buffer and to the packets, they are
+                // refilled only after they are completely written
+                return DIRTY;
+            }
+        }
+
+        dst.clear();
+        bufferCount = 0;
+        regionStart = 0;
+        wrappedBytes = 0;
+        try {
+            for (; ; ) {
+                if (packet == null) {
+                    packet = src.get();
+
+                    if (packet == null) {
+                        return CLEAN;
+                    }
+                }
+
+                boolean written = packet.totalSize() >= GATHERING_THRESHOLD
+                        ? wrapPacket(packet)
+                        : packetWriter.writeTo(packet, dst);
+                if (written) {
+                    packet = null;
+                } else {
+                    return DIRTY;
+                }
+            }
+        } finally {
+            addRegion();
+        }
+    }
+
+    private boolean wrapPacket(Packet packet) {
+        if (dataOffset < 0) {
+            if (dst.remaining() < HEADER_SIZE) {
+                return false;
+            }
+            PacketIOHelper.writeHeader(packet, dst);
+            dataOffset = 0;
+        }
+
+        byte[] data = packet.toByteArray();
+        // one slot is kept for the region following the data
+        while (dataOffset < data.length && bufferCount < MAX_BUFFERS - 2 && wrappedBytes < dst.capacity()) {
+            addRegion();
+            // the data is split so that the temporary direct buffers used by the socket stay small
+            int length = Math.min(data.length - dataOffset, dst.capacity());
+            buffers[bufferCount++] = ByteBuffer.wrap(data, dataOffset, length);
+            dataOffset += length;
+            wrappedBytes += length;
+        }
+
+        if (dataOffset < data.length) {
+            return false;
+        }
+        dataOffset = -1;
+        return true;
+    }
+
+    private void addRegion() {
+        int position = dst.position();
+        if (position > regionStart) {
+            ByteBuffer region = dst.duplicate();
+            region.limit(position);
+            region.position(regionStart);
+            buffers[bufferCount++] = region;
+            regionStart = position;
+        }
+    }
 }
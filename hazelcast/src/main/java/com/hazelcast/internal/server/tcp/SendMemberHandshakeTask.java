@@ -57,8 +57,8 @@ public class SendMemberHandshakeTask implements Runnable {
         if (logger.isFinestEnabled()) {
             logger.finest("Sending memberHandshake packet to " + remoteAddress);
         }
-        MemberHandshake memberHandshake
-                = new MemberHandshake((byte) 1, getConfiguredLocalAddresses(), remoteAddress, reply, serverContext.getUuid());
+        MemberHandshake memberHandshake = new MemberHandshake(getConfiguredLocalAddresses(), remoteAddress, reply,
+                serverContext.getUuid(), connection.getConnectionManager().getPlaneCount(), connection.getPlaneIndex());
         byte[] bytes = serverContext.getSerializationService().toBytes(memberHandshake);
         Packet packet = new Packet(bytes).setPacketType(Packet.Type.MEMBER_HANDSHAKE);
         connection.write(packet);
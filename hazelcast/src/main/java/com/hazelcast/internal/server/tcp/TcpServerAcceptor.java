@@ -299,7 +299,8 @@ public class TcpServerAcceptor implements DynamicMetricsProvider {
         private void newConnection0(TcpServerConnectionManager connectionManager, Channel channel) {
             try {
                 serverContext.interceptSocket(connectionManager.getEndpointQualifier(), channel.socket(), true);
-                connectionManager.newConnection(channel, null);
+                // the plane of the connection is known once the member handshake is received
+                connectionManager.newConnection(channel, null, 0);
             } catch (Exception e) {
                 exceptionCount.inc();
                 logger.warning(e.getClass().getName() + ": " + e.getMessage(), e);
@@ -81,6 +81,9 @@ public class TcpServerConnection implements ServerConnection {
 
     private volatile String closeReason;
 
+    // the index of the plane of the connection manager the connection belongs to
+    private volatile int planeIndex;
+
     public TcpServerConnection(TcpServerConnectionManager connectionManager,
                                ConnectionLifecycleListener<TcpServerConnection> lifecycleListener,
                                int connectionId,
@@ -166,6 +169,14 @@ public class TcpServerConnection implements ServerConnection {
         this.remoteAddress = remoteAddress;
     }
 
+    public int getPlaneIndex() {
+        return planeIndex;
+    }
+
+    public void setPlaneIndex(int planeIndex) {
+        this.planeIndex = planeIndex;
+    }
+
     public void setErrorHandler(TcpServerConnectionErrorHandler errorHandler) {
         this.errorHandler = errorHandler;
     }
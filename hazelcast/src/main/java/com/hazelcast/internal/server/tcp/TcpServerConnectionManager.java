@@ -38,6 +38,7 @@ import com.hazelcast.internal.server.ServerConnectionManager;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.tcp.AbstractChannelInitializer.MemberHandshakeHandler;
 import com.hazelcast.internal.util.ConstructorFunction;
+import com.hazelcast.internal.util.HashUtil;
 import com.hazelcast.internal.util.MutableLong;
 import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.executor.StripedRunnable;
@@ -47,7 +48,10 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -82,11 +86,24 @@ import static com.hazelcast.internal.nio.IOUtil.close;
 import static com.hazelcast.internal.nio.IOUtil.setChannelOptions;
 import static com.hazelcast.internal.util.ConcurrencyUtil.getOrPutIfAbsent;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.ClusterProperty.CHANNEL_COUNT;
 import static java.util.Collections.newSetFromMap;
 import static java.util.Collections.unmodifiableCollection;
 import static java.util.Collections.unmodifiableSet;
 
+/**
+ * Manages the connections of an endpoint.
+ * <p>
+ * The member connections are organized in planes: every plane holds at most
+ * one connection per remote member, so {@link com.hazelcast.spi.properties.ClusterProperty#CHANNEL_COUNT}
+ * planes give as many connections between each pair of members. The packets
+ * of a partition are always sent over the same plane, the other packets are
+ * spread round-robin over the planes. Only as many planes as the remote member
+ * has, as told by its {@link com.hazelcast.internal.cluster.impl.MemberHandshake},
+ * are used to send to it.
+ */
 @SuppressWarnings("checkstyle:methodcount")
 public class TcpServerConnectionManager
         implements ServerConnectionManager, Consumer<Packet>, DynamicMetricsProvider {
@@ -94,11 +111,7 @@ public class TcpServerConnectionManager
     private static final int RETRY_NUMBER = 5;
     private static final long DELAY_FACTOR = 100L;
 
-    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_IN_PROGRESS_COUNT)
-    final Set<Address> connectionsInProgress = newSetFromMap(new ConcurrentHashMap<>());
-
-    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COUNT, level = MANDATORY)
-    final ConcurrentHashMap<Address, TcpServerConnection> mappedConnections = new ConcurrentHashMap<>(100);
+    final Plane[] planes;
 
     @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_ACTIVE_COUNT, level = MANDATORY)
     final Set<TcpServerConnection> connections = newSetFromMap(new ConcurrentHashMap<>());
@@ -134,6 +147,10 @@ public class TcpServerConnectionManager
 
     private final ConnectionLifecycleListenerImpl connectionLifecycleListener = new ConnectionLifecycleListenerImpl();
 
+    private final AtomicInteger planeCounter = new AtomicInteger();
+
+    private final ConcurrentHashMap<Address, Integer> remotePlaneCounts = new ConcurrentHashMap<>();
+
     TcpServerConnectionManager(TcpServer server,
                                EndpointConfig endpointConfig,
                                Function<EndpointQualifier, ChannelInitializer> channelInitializerFn,
@@ -148,6 +165,21 @@ public class TcpServerConnectionManager
         this.connector = new TcpServerConnector(this);
         this.memberHandshakeHandler = new MemberHandshakeHandler(this, serverContext, logger, supportedProtocolTypes);
         this.networkStats = endpointQualifier == null ? null : new NetworkStatsImpl();
+        this.planes = newPlanes(endpointQualifier, serverContext);
+    }
+
+    private static Plane[] newPlanes(EndpointQualifier endpointQualifier, ServerContext serverContext) {
+        // only the connections between the members are striped
+        int planeCount = 1;
+        if (endpointQualifier == null || EndpointQualifier.MEMBER.equals(endpointQualifier)) {
+            planeCount = checkPositive(serverContext.properties().getInteger(CHANNEL_COUNT),
+                    CHANNEL_COUNT.getName() + " must be positive");
+        }
+        Plane[] planes = new Plane[planeCount];
+        for (int i = 0; i < planeCount; i++) {
+            planes[i] = new Plane(i);
+        }
+        return planes;
     }
 
     @Override
@@ -159,6 +191,65 @@ public class TcpServerConnectionManager
         return endpointQualifier;
     }
 
+    /**
+     * @return the number of connections to open to each remote member
+     */
+    public int getPlaneCount() {
+        return planes.length;
+    }
+
+    Plane getPlane(int planeIndex) {
+        return planes[planeIndex];
+    }
+
+    /**
+     * Sets the number of planes of the remote member, as sent in its member handshake.
+     */
+    void setRemotePlaneCount(Collection<Address> remoteAddresses, int remotePlaneCount) {
+        for (Address remoteAddress : remoteAddresses) {
+            remotePlaneCounts.put(remoteAddress, remotePlaneCount);
+        }
+    }
+
+    /**
+     * Returns the number of planes used to send to the given remote member,
+     * the lower of the local and the remote plane count.
+     * <p>
+     * The remote plane count is known once the connection of the first plane
+     * is registered, since it's sent in the member handshake. Only the first
+     * plane is used before, but no connection carries any packet yet, so the
+     * partitions keep the order of their packets when they move to their own
+     * plane. The remote plane count is kept when the connections close, so
+     * that the partitions stay on their plane while the connections of the
+     * first plane are reestablished, and it's replaced by the next handshake
+     * if the remote member restarts with another plane count.
+     */
+    int getPlaneCount(Address remoteAddress) {
+        if (planes.length == 1) {
+            return 1;
+        }
+        Integer remotePlaneCount = remotePlaneCounts.get(remoteAddress);
+        return remotePlaneCount == null ? 1 : Math.min(planes.length, remotePlaneCount);
+    }
+
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_IN_PROGRESS_COUNT)
+    private int connectionsInProgressCount() {
+        int count = 0;
+        for (Plane plane : planes) {
+            count += plane.connectionsInProgress.size();
+        }
+        return count;
+    }
+
+    @Probe(name = TCP_METRIC_ENDPOINT_MANAGER_COUNT, level = MANDATORY)
+    private int mappedConnectionsCount() {
+        int count = 0;
+        for (Plane plane : planes) {
+            count += plane.connectionMap.size();
+        }
+        return count;
+    }
+
     public Collection<ServerConnection> getActiveConnections() {
         return unmodifiableSet(connections);
     }
@@ -190,20 +281,60 @@ public class TcpServerConnectionManager
 
     @Override
     public ServerConnection get(Address address) {
-        return mappedConnections.get(address);
+        return planes[0].connectionMap.get(address);
+    }
+
+    @Override
+    public @Nonnull Collection<ServerConnection> getConnections(Address address) {
+        List<ServerConnection> result = new ArrayList<>(planes.length);
+        for (Plane plane : planes) {
+            TcpServerConnection connection = plane.connectionMap.get(address);
+            if (connection != null) {
+                result.add(connection);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public ServerConnection get(Address address, int streamId) {
+        return planes[planeIndex(address, streamId)].connectionMap.get(address);
     }
 
     @Override
     public ServerConnection getOrConnect(final Address address, final boolean silent) {
-        TcpServerConnection connection = mappedConnections.get(address);
+        return getOrConnect(address, 0, silent);
+    }
+
+    @Override
+    public ServerConnection getOrConnect(Address address, int streamId) {
+        return getOrConnect(address, planeIndex(address, streamId), false);
+    }
+
+    private ServerConnection getOrConnect(Address address, int planeIndex, boolean silent) {
+        TcpServerConnection connection = planes[planeIndex].connectionMap.get(address);
         if (connection == null && server.isLive()) {
-            if (connectionsInProgress.add(address)) {
-                connector.asyncConnect(address, silent);
+            // the other planes are connected only once the first plane is, so that
+            // a restarted remote member reports its plane count before they are used
+            int connectPlaneIndex = planes[0].connectionMap.containsKey(address) ? planeIndex : 0;
+            if (planes[connectPlaneIndex].connectionsInProgress.add(address)) {
+                connector.asyncConnect(address, connectPlaneIndex, silent);
             }
         }
         return connection;
     }
 
+    private int planeIndex(Address address, int streamId) {
+        int planeCount = getPlaneCount(address);
+        if (planeCount == 1) {
+            return 0;
+        }
+        if (streamId < 0) {
+            return HashUtil.hashToIndex(planeCounter.getAndIncrement(), planeCount);
+        }
+        return streamId % planeCount;
+    }
+
     @Override
     public synchronized boolean register(final Address remoteAddress, final ServerConnection c) {
         TcpServerConnection connection = (TcpServerConnection) c;
@@ -228,7 +359,7 @@ public class TcpServerConnectionManager
             if (!connection.isClient()) {
                 connection.setErrorHandler(getErrorHandler(remoteAddress, true));
             }
-            mappedConnections.put(remoteAddress, connection);
+            planes[connection.getPlaneIndex()].connectionMap.put(remoteAddress, connection);
 
             serverContext.getEventService().executeEventCallback(new StripedRunnable() {
                 @Override
@@ -243,7 +374,7 @@ public class TcpServerConnectionManager
             });
             return true;
         } finally {
-            connectionsInProgress.remove(remoteAddress);
+            planes[connection.getPlaneIndex()].connectionsInProgress.remove(remoteAddress);
         }
     }
 
@@ -265,11 +396,15 @@ public class TcpServerConnectionManager
 
     public synchronized void reset(boolean cleanListeners) {
         acceptedChannels.forEach(IOUtil::closeResource);
-        mappedConnections.values().forEach(conn -> close(conn, "TcpServerConnectionManager is stopping"));
+        for (Plane plane : planes) {
+            plane.connectionMap.values().forEach(conn -> close(conn, "TcpServerConnectionManager is stopping"));
+        }
         connections.forEach(conn -> close(conn, "TcpServerConnectionManager is stopping"));
         acceptedChannels.clear();
-        connectionsInProgress.clear();
-        mappedConnections.clear();
+        for (Plane plane : planes) {
+            plane.connectionsInProgress.clear();
+            plane.connectionMap.clear();
+        }
         monitors.clear();
         connections.clear();
 
@@ -327,15 +462,15 @@ public class TcpServerConnectionManager
         acceptedChannels.remove(channel);
     }
 
-    void failedConnection(Address address, Throwable t, boolean silent) {
-        connectionsInProgress.remove(address);
+    void failedConnection(Address address, int planeIndex, Throwable t, boolean silent) {
+        planes[planeIndex].connectionsInProgress.remove(address);
         serverContext.onFailedConnection(address);
         if (!silent) {
             getErrorHandler(address, false).onError(t);
         }
     }
 
-    synchronized TcpServerConnection newConnection(Channel channel, Address remoteAddress) {
+    synchronized TcpServerConnection newConnection(Channel channel, Address remoteAddress, int planeIndex) {
         try {
             if (!server.isLive()) {
                 throw new IllegalStateException("connection manager is not live!");
@@ -345,6 +480,7 @@ public class TcpServerConnectionManager
                     connectionIdGen.incrementAndGet(), channel);
 
             connection.setRemoteAddress(remoteAddress);
+            connection.setPlaneIndex(planeIndex);
             connections.add(connection);
 
             if (logger.isFineEnabled()) {
@@ -362,7 +498,9 @@ public class TcpServerConnectionManager
     }
 
     private boolean send(Packet packet, Address target, SendTask sendTask) {
-        Connection connection = get(target);
+        // the plane is chosen again on retries, the remote plane count may have been learned meanwhile
+        int planeIndex = planeIndex(target, packet);
+        Connection connection = planes[planeIndex].connectionMap.get(target);
         if (connection != null) {
             return connection.write(packet);
         }
@@ -373,7 +511,7 @@ public class TcpServerConnectionManager
 
         int retries = sendTask.retries;
         if (retries < RETRY_NUMBER && serverContext.isNodeActive()) {
-            getOrConnect(target, true);
+            getOrConnect(target, planeIndex, true);
             try {
                 server.scheduleDeferred(sendTask, (retries + 1) * DELAY_FACTOR, TimeUnit.MILLISECONDS);
                 return true;
@@ -389,11 +527,19 @@ public class TcpServerConnectionManager
         return false;
     }
 
+    private int planeIndex(Address target, Packet packet) {
+        // the order keys of the events may be negative, only the generic operations are spread round-robin
+        if (packet.getPacketType() == Packet.Type.OPERATION && packet.getPartitionId() < 0) {
+            return planeIndex(target, -1);
+        }
+        return HashUtil.hashToIndex(packet.getPartitionId(), getPlaneCount(target));
+    }
+
     @Override
     public String toString() {
         return "TcpServerConnectionManager{"
                 + "endpointQualifier=" + endpointQualifier
-                + ", mappedConnections=" + mappedConnections + '}';
+                + ", planes=" + Arrays.toString(planes) + '}';
     }
 
     @Override
@@ -417,7 +563,8 @@ public class TcpServerConnectionManager
 
         int clientCount = 0;
         int textCount = 0;
-        for (Map.Entry<Address, TcpServerConnection> entry : mappedConnections.entrySet()) {
+        // the connections of the other planes are collected with the active connections above
+        for (Map.Entry<Address, TcpServerConnection> entry : planes[0].connectionMap.entrySet()) {
             Address bindAddress = entry.getKey();
             TcpServerConnection connection = entry.getValue();
             if (connection.isClient()) {
@@ -478,8 +625,9 @@ public class TcpServerConnectionManager
 
             Address remoteAddress = connection.getRemoteAddress();
             if (remoteAddress != null) {
-                connectionsInProgress.remove(remoteAddress);
-                mappedConnections.remove(remoteAddress, connection);
+                Plane plane = planes[connection.getPlaneIndex()];
+                plane.connectionsInProgress.remove(remoteAddress);
+                plane.connectionMap.remove(remoteAddress, connection);
                 fireConnectionRemovedEvent(connection, remoteAddress);
             }
 
@@ -492,6 +640,24 @@ public class TcpServerConnectionManager
         }
     }
 
+    /**
+     * Holds at most one connection per remote address.
+     */
+    static final class Plane {
+        final int index;
+        final Set<Address> connectionsInProgress = newSetFromMap(new ConcurrentHashMap<>());
+        final ConcurrentHashMap<Address, TcpServerConnection> connectionMap = new ConcurrentHashMap<>(100);
+
+        Plane(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public String toString() {
+            return "Plane{index=" + index + ", connectionMap=" + connectionMap + '}';
+        }
+    }
+
     private class NetworkStatsImpl implements NetworkStats {
         private final AtomicLong bytesReceivedLastCalc = new AtomicLong();
         private final MwCounter bytesReceivedOnClosed = newMwCounter();
@@ -70,9 +70,9 @@ class TcpServerConnector {
         this.socketClientBindAny = properties.getBoolean(SOCKET_CLIENT_BIND_ANY);
     }
 
-    void asyncConnect(Address address, boolean silent) {
+    void asyncConnect(Address address, int planeIndex, boolean silent) {
         serverContext.shouldConnectTo(address);
-        serverContext.executeAsync(new ConnectTask(address, silent));
+        serverContext.executeAsync(new ConnectTask(address, planeIndex, silent));
     }
 
     private boolean useAnyOutboundPort() {
@@ -96,10 +96,12 @@ class TcpServerConnector {
 
     private final class ConnectTask implements Runnable {
         private final Address remoteAddress;
+        private final int planeIndex;
         private final boolean silent;
 
-        ConnectTask(Address remoteAddress, boolean silent) {
+        ConnectTask(Address remoteAddress, int planeIndex, boolean silent) {
             this.remoteAddress = remoteAddress;
+            this.planeIndex = planeIndex;
             this.silent = silent;
         }
 
@@ -138,7 +140,7 @@ class TcpServerConnector {
                 }
             } catch (Throwable e) {
                 logger.finest(e);
-                connectionManager.failedConnection(remoteAddress, e, silent);
+                connectionManager.failedConnection(remoteAddress, planeIndex, e, silent);
             }
         }
 
@@ -194,7 +196,7 @@ class TcpServerConnector {
 
                     serverContext.interceptSocket(connectionManager.getEndpointQualifier(), socketChannel.socket(), false);
 
-                    connection = connectionManager.newConnection(channel, remoteAddress);
+                    connection = connectionManager.newConnection(channel, remoteAddress, planeIndex);
                     new SendMemberHandshakeTask(logger, serverContext, connection, remoteAddress, true).run();
                 } catch (Exception e) {
                     closeConnection(connection, e);
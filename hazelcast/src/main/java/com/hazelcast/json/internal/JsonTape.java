@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.json.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.json.Json;
+import com.hazelcast.internal.json.JsonReducedValueParser;
+import com.hazelcast.internal.json.JsonValue;
+import com.hazelcast.internal.json.NonTerminalJsonValue;
+import com.hazelcast.internal.json.ParseException;
+import com.hazelcast.internal.serialization.impl.NavigableJsonInputAdapter;
+import com.hazelcast.query.impl.getters.JsonPathCursor;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A compact index of the structure of a Json value, created once when the
+ * value is stored and used to find the queried attributes without walking
+ * the Json text.
+ * <p>
+ * The nodes are laid out in post-order in a single {@code int} array, the
+ * children of a node always precede it. Every node starts with a word
+ * holding its type in the lowest {@value #TYPE_BITS} bits and its number of
+ * children in the remaining bits:
+ * <ul>
+ *     <li>a terminal value is followed by the location of the value in the
+ *     Json text,</li>
+ *     <li>an array is followed by the indexes of its items, so an item is
+ *     found in constant time,</li>
+ *     <li>an object is followed by a hash of the name, the location of the
+ *     name in the Json text and the index of the value of each attribute,
+ *     sorted by the name hashes, so an attribute is found with a binary
+ *     search.</li>
+ * </ul>
+ * Finding a value takes time proportional to the depth of the path, only
+ * the names and the value found are read from the Json text.
+ */
+public final class JsonTape {
+
+    static final int TYPE_BITS = 3;
+
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final int TYPE_OBJECT = 0;
+    private static final int TYPE_ARRAY = 1;
+    private static final int TYPE_STRING = 2;
+    private static final int TYPE_NUMBER = 3;
+    private static final int TYPE_TRUE = 4;
+    private static final int TYPE_FALSE = 5;
+    private static final int TYPE_NULL = 6;
+
+    private static final int ATTRIBUTE_SIZE = 3;
+    private static final int MAX_DEPTH = 256;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int[] tape;
+    private final int root;
+
+    private JsonTape(int[] tape, int root) {
+        this.tape = tape;
+        this.root = root;
+    }
+
+    /**
+     * Creates the tape of the first Json value read from the given parser.
+     * The parser must be pointing to the start of the input.
+     *
+     * @return the tape or {@code null} if the input is empty or nested too
+     * deep to be indexed
+     * @throws IOException if the input is not valid Json
+     */
+    public static JsonTape create(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            return null;
+        }
+        Builder builder = new Builder(parser);
+        int root = builder.append(token, 0);
+        return root < 0 ? null : new JsonTape(Arrays.copyOf(builder.tape, builder.size), root);
+    }
+
+    /**
+     * Finds the value at the given path.
+     *
+     * @param input the Json text this tape was created from
+     * @param path  the path of the value, without "any"
+     * @return the value, {@link NonTerminalJsonValue#INSTANCE} if it is an
+     * object or an array, {@code null} if the path does not exist
+     */
+    public JsonValue findValue(NavigableJsonInputAdapter input, JsonPathCursor path) throws IOException {
+        int node = root;
+        while (path.getNext() != null) {
+            node = path.isArray() ? findItem(node, path.getArrayIndex()) : findAttribute(input, node, path);
+            if (node < 0) {
+                return null;
+            }
+        }
+        return valueOf(input, node);
+    }
+
+    private int findItem(int node, int index) {
+        if (type(node) != TYPE_ARRAY || index < 0 || index >= childCount(node)) {
+            return -1;
+        }
+        return tape[node + 1 + index];
+    }
+
+    private int findAttribute(NavigableJsonInputAdapter input, int node, JsonPathCursor path) {
+        if (type(node) != TYPE_OBJECT) {
+            return -1;
+        }
+        int hash = path.getCurrent().hashCode();
+        int low = 0;
+        int high = childCount(node);
+        // finds the first attribute with the hash, the attributes with the
+        // same hash are in the order of the Json text
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tape[attribute(node, mid)] < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < childCount(node) && tape[attribute(node, i)] == hash; i++) {
+            int attribute = attribute(node, i);
+            input.position(tape[attribute + 1]);
+            if (input.isAttributeName(path)) {
+                return tape[attribute + 2];
+            }
+        }
+        return -1;
+    }
+
+    private JsonValue valueOf(NavigableJsonInputAdapter input, int node) throws IOException {
+        switch (type(node)) {
+            case TYPE_TRUE:
+                return Json.TRUE;
+            case TYPE_FALSE:
+                return Json.FALSE;
+            case TYPE_NULL:
+                return Json.NULL;
+            case TYPE_STRING:
+            case TYPE_NUMBER:
+                try {
+                    return input.parseValue(new JsonReducedValueParser(), tape[node + 1]);
+                } catch (ParseException e) {
+                    throw new HazelcastException(e);
+                }
+            default:
+                return NonTerminalJsonValue.INSTANCE;
+        }
+    }
+
+    private int type(int node) {
+        return tape[node] & TYPE_MASK;
+    }
+
+    private int childCount(int node) {
+        return tape[node] >>> TYPE_BITS;
+    }
+
+    private static int attribute(int node, int i) {
+        return node + 1 + i * ATTRIBUTE_SIZE;
+    }
+
+    private static final class Builder {
+
+        private final JsonParser parser;
+        private int[] tape = new int[INITIAL_CAPACITY];
+        private int size;
+
+        Builder(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * Appends the value the parser points to along with its children.
+         *
+         * @return the index of the node or -1 if it is nested too deep
+         */
+        int append(JsonToken token, int depth) throws IOException {
+            if (token == null) {
+                throw new IOException("Unexpected end of Json input");
+            }
+            if (depth > MAX_DEPTH) {
+                return -1;
+            }
+            switch (token) {
+                case START_OBJECT:
+                    return appendObject(depth);
+                case START_ARRAY:
+                    return appendArray(depth);
+                case VALUE_STRING:
+                    return appendTerminal(TYPE_STRING);
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    return appendTerminal(TYPE_NUMBER);
+                case VALUE_TRUE:
+                    return appendTerminal(TYPE_TRUE);
+                case VALUE_FALSE:
+                    return appendTerminal(TYPE_FALSE);
+                case VALUE_NULL:
+                    return appendTerminal(TYPE_NULL);
+                default:
+                    throw new IOException("Unexpected Json token: " + token);
+            }
+        }
+
+        private int appendObject(int depth) throws IOException {
+            // the hash of the name in the upper half, the order in the lower half
+            long[] keys = new long[INITIAL_CAPACITY];
+            int[] names = new int[INITIAL_CAPACITY];
+            int[] values = new int[INITIAL_CAPACITY];
+            int count = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                if (count == keys.length) {
+                    keys = Arrays.copyOf(keys, count * 2);
+                    names = Arrays.copyOf(names, count * 2);
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                keys[count] = ((long) parser.getCurrentName().hashCode() << Integer.SIZE) | count;
+                names[count] = (int) JsonSchemaHelper.getTokenLocation(parser);
+                values[count] = append(parser.nextToken(), depth + 1);
+                if (values[count] < 0) {
+                    return -1;
+                }
+                count++;
+            }
+            Arrays.sort(keys, 0, count);
+
+            int node = reserve(1 + count * ATTRIBUTE_SIZE);
+            tape[node] = count << TYPE_BITS | TYPE_OBJECT;
+            for (int i = 0; i < count; i++) {
+                int order = (int) keys[i];
+                int attribute = attribute(node, i);
+                tape[attribute] = (int) (keys[i] >> Integer.SIZE);
+                tape[attribute + 1] = names[order];
+                tape[attribute + 2] = values[order];
+            }
+            return node;
+        }
+
+        private int appendArray(int depth) throws IOException {
+            int[] items = new int[INITIAL_CAPACITY];
+            int count = 0;
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (count == items.length) {
+                    items = Arrays.copyOf(items, count * 2);
+                }
+                items[count] = append(token, depth + 1);
+                if (items[count] < 0) {
+                    return -1;
+                }
+                count++;
+            }
+
+            int node = reserve(1 + count);
+            tape[node] = count << TYPE_BITS | TYPE_ARRAY;
+            System.arraycopy(items, 0, tape, node + 1, count);
+            return node;
+        }
+
+        private int appendTerminal(int type) {
+            int node = reserve(2);
+            tape[node] = type;
+            tape[node + 1] = (int) JsonSchemaHelper.getTokenLocation(parser);
+            return node;
+        }
+
+        private int reserve(int length) {
+            if (size + length > tape.length) {
+                tape = Arrays.copyOf(tape, Math.max(tape.length * 2, size + length));
+            }
+            int node = size;
+            size += length;
+            return node;
+        }
+    }
+}
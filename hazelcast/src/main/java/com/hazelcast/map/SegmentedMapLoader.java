@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+/**
+ * This is an extension to {@link MapLoader} which can iterate over disjoint
+ * segments of the keys in the store, e.g. key ranges or hash buckets of a
+ * table. When a map loader implements this interface, the initial load is
+ * no longer driven by a single member: the segments are spread over all
+ * data members and each member iterates over its segments concurrently and
+ * dispatches the keys to the partition owners for value loading.
+ * <p>
+ * The number of segments loaded concurrently on each member is configured
+ * with the {@code hazelcast.map.load.segments.per.member} property.
+ * <p>
+ * See {@link MapLoader}.
+ *
+ * @param <K> type of the SegmentedMapLoader key
+ * @param <V> type of the SegmentedMapLoader value
+ */
+public interface SegmentedMapLoader<K, V> extends MapLoader<K, V> {
+
+    /**
+     * Loads the keys belonging to the given segment of the store. Each key of
+     * the store must belong to exactly one of the {@code segmentCount}
+     * segments, so that the union of all segments is equal to the keys returned
+     * by {@link #loadAllKeys()}. The same segment count is used for all segments
+     * of a single load. The returned {@link Iterable} may return the keys lazily,
+     * its {@link java.util.Iterator} may implement {@link java.io.Closeable} in
+     * which case it will be closed once the iteration is over.
+     * <p>
+     * This method is called concurrently for different segments.
+     *
+     * @param segment      the index of the segment, from {@code 0} to {@code segmentCount - 1}
+     * @param segmentCount the total number of segments
+     * @return the keys of the segment. Keys inside the Iterable cannot be {@code null}.
+     */
+    Iterable<K> loadAllKeys(int segment, int segmentCount);
+}
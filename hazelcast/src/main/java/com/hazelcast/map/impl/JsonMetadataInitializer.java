@@ -20,6 +20,7 @@ import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.hazelcast.core.HazelcastJsonValue;
 import com.hazelcast.json.internal.JsonSchemaHelper;
+import com.hazelcast.json.internal.JsonTape;
 import com.hazelcast.internal.serialization.Data;
 
 import java.io.ByteArrayInputStream;
@@ -27,19 +28,30 @@ import java.io.IOException;
 
 import static com.hazelcast.internal.serialization.impl.HeapData.HEAP_DATA_OVERHEAD;
 
-public class JsonMetadataInitializer implements MetadataInitializer {
+public final class JsonMetadataInitializer implements MetadataInitializer {
 
-    public static final JsonMetadataInitializer INSTANCE = new JsonMetadataInitializer();
+    public static final JsonMetadataInitializer INSTANCE = new JsonMetadataInitializer(false);
+
+    /**
+     * Creates {@link JsonTape}s instead of the {@link JsonSchemaHelper schemas}.
+     */
+    public static final JsonMetadataInitializer TAPE_INSTANCE = new JsonMetadataInitializer(true);
 
     private static final int UTF_CHAR_COUNT_FIELD_SIZE = 4;
 
     private static final JsonFactory FACTORY = new JsonFactory();
 
+    private final boolean createTape;
+
+    private JsonMetadataInitializer(boolean createTape) {
+        this.createTape = createTape;
+    }
+
     public Object createFromData(Data data) throws IOException {
         if (data.isJson()) {
             try (JsonParser parser = FACTORY.createParser(new ByteArrayInputStream(data.toByteArray(),
                     HEAP_DATA_OVERHEAD + UTF_CHAR_COUNT_FIELD_SIZE, data.dataSize() - UTF_CHAR_COUNT_FIELD_SIZE))) {
-                return JsonSchemaHelper.createSchema(parser);
+                return createMetadata(parser);
             }
         }
         return null;
@@ -49,9 +61,13 @@ public class JsonMetadataInitializer implements MetadataInitializer {
         if (obj instanceof HazelcastJsonValue) {
             String str = obj.toString();
             try (JsonParser parser = FACTORY.createParser(str)) {
-                return JsonSchemaHelper.createSchema(parser);
+                return createMetadata(parser);
             }
         }
         return null;
     }
+
+    private Object createMetadata(JsonParser parser) throws IOException {
+        return createTape ? JsonTape.create(parser) : JsonSchemaHelper.createSchema(parser);
+    }
 }
@@ -36,6 +36,7 @@ import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.nearcache.MapNearCacheManager;
 import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.recordstore.DeserializedValueCache;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.impl.Indexes;
@@ -222,6 +223,10 @@ public class LocalMapStatsProvider {
         LocalRecordStoreStats stats = recordStore.getLocalRecordStoreStats();
 
         onDemandStats.incrementHits(stats.getHits());
+        DeserializedValueCache valueCache = recordStore.getDeserializedValueCache();
+        if (valueCache != null) {
+            onDemandStats.incrementDeserializedValueCacheStats(valueCache.getHits(), valueCache.getMisses());
+        }
         onDemandStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getOwnedEntryCost());
         if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
@@ -456,6 +461,8 @@ public class LocalMapStatsProvider {
         private long dirtyEntryCount;
         private long lastAccessTime;
         private long lastUpdateTime;
+        private long deserializedValueCacheHits;
+        private long deserializedValueCacheMisses;
 
         public void setBackupCount(int backupCount) {
             this.backupCount = backupCount;
@@ -497,6 +504,11 @@ public class LocalMapStatsProvider {
             this.merkleTreesCost += merkleTreeCost;
         }
 
+        public void incrementDeserializedValueCacheStats(long hits, long misses) {
+            this.deserializedValueCacheHits += hits;
+            this.deserializedValueCacheMisses += misses;
+        }
+
         public LocalMapStatsImpl updateAndGet(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
@@ -510,6 +522,8 @@ public class LocalMapStatsProvider {
             stats.setDirtyEntryCount(dirtyEntryCount);
             stats.setLastAccessTime(lastAccessTime);
             stats.setLastUpdateTime(lastUpdateTime);
+            stats.setDeserializedValueCacheHits(deserializedValueCacheHits);
+            stats.setDeserializedValueCacheMisses(deserializedValueCacheMisses);
             return stats;
         }
 
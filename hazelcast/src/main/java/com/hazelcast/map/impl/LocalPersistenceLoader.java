@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.internal.partition.impl.PartitionTableStore;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.executionservice.ExecutionService;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_PERSISTENCE_LOAD_EXECUTOR;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reloads the map partitions persisted to local disk while the member
+ * starts, before it joins the cluster, see {@link
+ * com.hazelcast.spi.properties.ClusterProperty#MAP_PERSISTENCE_DIR}.
+ * <p>
+ * The partitions this member held a replica of according to the persisted
+ * partition table are loaded concurrently on the {@link
+ * ExecutionService#MAP_PERSISTENCE_LOAD_EXECUTOR}, the persisted records of
+ * the other partitions are stale and deleted. The configured indexes are
+ * populated with the partitions this member owned, the partition table
+ * restored by the master assigns them to this member again.
+ * <p>
+ * No operation runs on the partitions before the member joins,
+ * so the record stores are safely loaded outside the partition threads.
+ */
+class LocalPersistenceLoader {
+
+    /**
+     * The file in the directory of a map which holds the map name,
+     * the directory name itself may not be mapped back to it.
+     */
+    static final String MAP_NAME_FILE_NAME = "map-name";
+
+    private final MapServiceContext mapServiceContext;
+    private final PartitionTableStore partitionTableStore;
+    private final NodeEngine nodeEngine;
+    private final ILogger logger;
+
+    LocalPersistenceLoader(MapServiceContext mapServiceContext, PartitionTableStore partitionTableStore) {
+        this.mapServiceContext = mapServiceContext;
+        this.partitionTableStore = partitionTableStore;
+        this.nodeEngine = mapServiceContext.getNodeEngine();
+        this.logger = nodeEngine.getLogger(LocalPersistenceLoader.class);
+    }
+
+    /**
+     * Loads all persisted partitions and waits until they are loaded.
+     */
+    void load() {
+        File memberDirectory = PartitionTableStore.getMemberDirectory(nodeEngine.getProperties(), nodeEngine.getThisAddress());
+        File[] mapDirectories = memberDirectory == null ? null : memberDirectory.listFiles(File::isDirectory);
+        if (mapDirectories == null || mapDirectories.length == 0) {
+            return;
+        }
+
+        long startMillis = Clock.currentTimeMillis();
+        ExecutionService executionService = nodeEngine.getExecutionService();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (File mapDirectory : mapDirectories) {
+                String mapName = readMapName(mapDirectory);
+                if (mapName == null || !mapServiceContext.getMapContainer(mapName).isLocalPersistenceEnabled()) {
+                    continue;
+                }
+                File[] partitionDirectories = mapDirectory.listFiles(File::isDirectory);
+                for (File partitionDirectory : partitionDirectories == null ? new File[0] : partitionDirectories) {
+                    int partitionId = Integer.parseInt(partitionDirectory.getName());
+                    int replicaIndex = partitionTableStore.getPersistedReplicaIndex(partitionId);
+                    if (replicaIndex < 0) {
+                        delete(partitionDirectory);
+                    } else {
+                        futures.add(executionService.submit(MAP_PERSISTENCE_LOAD_EXECUTOR,
+                                () -> loadPartition(mapName, partitionId, replicaIndex == 0)));
+                    }
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (Exception e) {
+            throw rethrow(e);
+        } finally {
+            executionService.shutdownExecutor(MAP_PERSISTENCE_LOAD_EXECUTOR);
+        }
+        logger.info("Loaded " + futures.size() + " persisted map partitions in "
+                + (Clock.currentTimeMillis() - startMillis) + " ms");
+    }
+
+    /**
+     * Puts the records persisted for the given partition into its
+     * record store, as if they were replicated to it.
+     */
+    private void loadPartition(String mapName, int partitionId, boolean owner) {
+        MapContainer mapContainer = mapServiceContext.getMapContainer(mapName);
+        RecordStore recordStore = mapServiceContext.getPartitionContainer(partitionId).getRecordStoreForHotRestart(mapName);
+        Indexes indexes = mapContainer.getIndexes(partitionId);
+        if (owner) {
+            for (IndexConfig indexConfig : mapContainer.getMapConfig().getIndexConfigs()) {
+                indexes.addOrGetIndex(IndexUtils.validateAndNormalize(mapName, indexConfig),
+                        indexes.isGlobal() ? null : new RecordStoreAdapter(recordStore));
+            }
+        }
+
+        long nowInMillis = Clock.currentTimeMillis();
+        recordStore.getPersistentLog().load((key, record) -> {
+            recordStore.putReplicatedRecord(key, record, nowInMillis, owner);
+            if (recordStore.shouldEvict()) {
+                recordStore.evictEntries(key);
+            }
+        });
+        if (owner) {
+            Indexes.markPartitionAsIndexed(partitionId, indexes.getIndexes());
+        }
+    }
+
+    private String readMapName(File mapDirectory) throws IOException {
+        File file = new File(mapDirectory, MAP_NAME_FILE_NAME);
+        if (!file.exists()) {
+            logger.warning("Ignoring " + mapDirectory + ", it holds no map name");
+            return null;
+        }
+        return new String(Files.readAllBytes(file.toPath()), UTF_8);
+    }
+}
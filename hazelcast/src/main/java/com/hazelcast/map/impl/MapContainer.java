@@ -19,6 +19,7 @@ package com.hazelcast.map.impl;
 import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EventJournalConfig;
+import com.hazelcast.config.HotRestartConfig;
 import com.hazelcast.config.IndexConfig;
 import com.hazelcast.config.InvalidConfigurationException;
 import com.hazelcast.config.MapConfig;
@@ -26,6 +27,7 @@ import com.hazelcast.config.WanConsumerConfig;
 import com.hazelcast.config.WanReplicationConfig;
 import com.hazelcast.config.WanReplicationRef;
 import com.hazelcast.config.WanSyncConfig;
+import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -40,8 +42,10 @@ import com.hazelcast.internal.util.RuntimeMemoryInfoAccessor;
 import com.hazelcast.map.impl.eviction.EvictionChecker;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.eviction.EvictorImpl;
+import com.hazelcast.map.impl.mapstore.MapLoaderStats;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.nearcache.invalidation.InvalidationListener;
+import com.hazelcast.map.impl.query.IndexPopulationStats;
 import com.hazelcast.map.impl.query.QueryEntryFactory;
 import com.hazelcast.map.impl.record.DataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
@@ -57,6 +61,9 @@ import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.wan.impl.DelegatingWanScheme;
 import com.hazelcast.wan.impl.WanReplicationService;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -66,10 +73,17 @@ import static com.hazelcast.config.ConsistencyCheckStrategy.MERKLE_TREES;
 import static com.hazelcast.config.InMemoryFormat.NATIVE;
 import static com.hazelcast.config.InMemoryFormat.OBJECT;
 import static com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator;
+import static com.hazelcast.internal.nio.IOUtil.toFileName;
+import static com.hazelcast.internal.partition.impl.PartitionTableStore.getMemberDirectory;
+import static com.hazelcast.internal.util.StringUtil.isNullOrEmptyAfterTrim;
+import static com.hazelcast.map.impl.LocalPersistenceLoader.MAP_NAME_FILE_NAME;
 import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapStoreContextFactory.createMapStoreContext;
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COVERING_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.MAP_EVICTION_BATCH_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_DIR;
 import static java.lang.System.getProperty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Map container for a map with a specific name. Contains config and
@@ -94,6 +108,8 @@ public class MapContainer {
     protected final InternalSerializationService serializationService;
     protected final Function<Object, Data> toDataFunction = new ObjectToData();
     protected final InterceptorRegistry interceptorRegistry = new InterceptorRegistry();
+    protected final MapLoaderStats mapLoaderStats = new MapLoaderStats();
+    protected final IndexPopulationStats indexPopulationStats = new IndexPopulationStats();
     protected final ConstructorFunction<Void, RecordFactory> recordFactoryConstructor;
     /**
      * Holds number of registered {@link InvalidationListener} from clients.
@@ -102,6 +118,7 @@ public class MapContainer {
 
     protected SplitBrainMergePolicy wanMergePolicy;
     protected DelegatingWanScheme wanReplicationDelegate;
+    protected File localPersistenceDirectory;
 
     protected volatile MapConfig mapConfig;
     private volatile Evictor evictor;
@@ -155,6 +172,7 @@ public class MapContainer {
                 .statsEnabled(mapConfig.isStatisticsEnabled())
                 .indexProvider(mapServiceContext.getIndexProvider(mapConfig))
                 .usesCachedQueryableEntries(mapConfig.getCacheDeserializedValues() != CacheDeserializedValues.NEVER)
+                .covering(global && mapServiceContext.getNodeEngine().getProperties().getBoolean(INDEX_COVERING_ENABLED))
                 .build();
     }
 
@@ -176,6 +194,42 @@ public class MapContainer {
         return new EvictorImpl(evictionPolicyComparator, evictionChecker, evictionBatchSize, partitionService);
     }
 
+    /**
+     * @return {@code true} if the records of this map are persisted
+     * to local disk, see {@link
+     * com.hazelcast.spi.properties.ClusterProperty#MAP_PERSISTENCE_DIR}
+     */
+    public boolean isLocalPersistenceEnabled() {
+        HotRestartConfig hotRestartConfig = mapConfig.getHotRestartConfig();
+        return hotRestartConfig != null && hotRestartConfig.isEnabled()
+                && mapConfig.getInMemoryFormat() != NATIVE
+                && !isNullOrEmptyAfterTrim(mapServiceContext.getNodeEngine().getProperties().getString(MAP_PERSISTENCE_DIR));
+    }
+
+    /**
+     * Creates the directory which holds the persistent logs of the
+     * partitions of this map on this member on first call, together with
+     * the file naming the map it belongs to, see {@link
+     * #isLocalPersistenceEnabled()} and {@link LocalPersistenceLoader}.
+     *
+     * @return the directory of the persistent logs of this map
+     */
+    public synchronized File getLocalPersistenceDirectory() {
+        if (localPersistenceDirectory == null) {
+            NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+            File directory = new File(getMemberDirectory(nodeEngine.getProperties(), nodeEngine.getThisAddress()),
+                    toFileName(name));
+            try {
+                Files.createDirectories(directory.toPath());
+                Files.write(new File(directory, MAP_NAME_FILE_NAME).toPath(), name.getBytes(UTF_8));
+            } catch (IOException e) {
+                throw new HazelcastException("Could not create the persistence directory " + directory, e);
+            }
+            localPersistenceDirectory = directory;
+        }
+        return localPersistenceDirectory;
+    }
+
     public boolean shouldUseGlobalIndex() {
         return mapConfig.getInMemoryFormat() != NATIVE || mapServiceContext.globalIndexEnabled();
     }
@@ -330,6 +384,14 @@ public class MapContainer {
         return mapStoreContext;
     }
 
+    public MapLoaderStats getMapLoaderStats() {
+        return mapLoaderStats;
+    }
+
+    public IndexPopulationStats getIndexPopulationStats() {
+        return indexPopulationStats;
+    }
+
     public MapConfig getMapConfig() {
         return mapConfig;
     }
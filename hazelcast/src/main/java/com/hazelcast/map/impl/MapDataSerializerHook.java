@@ -63,6 +63,7 @@ import com.hazelcast.map.impl.operation.IsPartitionLoadedOperationFactory;
 import com.hazelcast.map.impl.operation.KeyLoadStatusOperation;
 import com.hazelcast.map.impl.operation.KeyLoadStatusOperationFactory;
 import com.hazelcast.map.impl.operation.LoadAllOperation;
+import com.hazelcast.map.impl.operation.LoadKeySegmentsOperation;
 import com.hazelcast.map.impl.operation.LoadMapOperation;
 import com.hazelcast.map.impl.operation.MapFetchEntriesOperation;
 import com.hazelcast.map.impl.operation.MapFetchKeysOperation;
@@ -96,6 +97,7 @@ import com.hazelcast.map.impl.operation.PostJoinMapOperation;
 import com.hazelcast.map.impl.operation.PutAllBackupOperation;
 import com.hazelcast.map.impl.operation.PutAllOperation;
 import com.hazelcast.map.impl.operation.PutAllPartitionAwareOperationFactory;
+import com.hazelcast.map.impl.operation.PopulateIndexOperation;
 import com.hazelcast.map.impl.operation.PutBackupOperation;
 import com.hazelcast.map.impl.operation.PutFromLoadAllBackupOperation;
 import com.hazelcast.map.impl.operation.PutFromLoadAllOperation;
@@ -106,6 +108,7 @@ import com.hazelcast.map.impl.operation.PutTransientBackupOperation;
 import com.hazelcast.map.impl.operation.PutTransientOperation;
 import com.hazelcast.map.impl.operation.PutTransientWithExpiryOperation;
 import com.hazelcast.map.impl.operation.PutWithExpiryOperation;
+import com.hazelcast.map.impl.operation.ReadBackupDataOperation;
 import com.hazelcast.map.impl.operation.RemoveBackupOperation;
 import com.hazelcast.map.impl.operation.RemoveFromLoadAllOperation;
 import com.hazelcast.map.impl.operation.RemoveIfSameOperation;
@@ -314,8 +317,11 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int COMPUTE_IF_ABSENT_PROCESSOR = 149;
     public static final int KEY_VALUE_CONSUMING_PROCESSOR = 150;
     public static final int COMPUTE_MAP_OPERATION_PROCESSOR = 151;
+    public static final int LOAD_KEY_SEGMENTS = 152;
+    public static final int READ_BACKUP_DATA = 153;
+    public static final int POPULATE_INDEX = 154;
 
-    private static final int LEN = COMPUTE_MAP_OPERATION_PROCESSOR + 1;
+    private static final int LEN = POPULATE_INDEX + 1;
 
     @Override
     public int getFactoryId() {
@@ -475,6 +481,9 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[COMPUTE_IF_ABSENT_PROCESSOR] = arg -> new ComputeIfAbsentEntryProcessor<>();
         constructors[KEY_VALUE_CONSUMING_PROCESSOR] = arg -> new KeyValueConsumingEntryProcessor<>();
         constructors[COMPUTE_MAP_OPERATION_PROCESSOR] = arg -> new ComputeEntryProcessor<>();
+        constructors[LOAD_KEY_SEGMENTS] = arg -> new LoadKeySegmentsOperation();
+        constructors[READ_BACKUP_DATA] = arg -> new ReadBackupDataOperation();
+        constructors[POPULATE_INDEX] = arg -> new PopulateIndexOperation();
 
         return new ArrayDataSerializableFactory(constructors);
     }
@@ -18,6 +18,7 @@ package com.hazelcast.map.impl;
 
 import com.hazelcast.cluster.Address;
 import com.hazelcast.cluster.Member;
+import com.hazelcast.cluster.memberselector.MemberSelectors;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.util.FutureUtil;
@@ -25,9 +26,12 @@ import com.hazelcast.internal.util.StateMachine;
 import com.hazelcast.internal.util.scheduler.CoalescingDelayedTrigger;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.MapLoader;
+import com.hazelcast.map.SegmentedMapLoader;
+import com.hazelcast.map.impl.mapstore.MapLoaderStats;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.operation.KeyLoadStatusOperation;
 import com.hazelcast.map.impl.operation.KeyLoadStatusOperationFactory;
+import com.hazelcast.map.impl.operation.LoadKeySegmentsOperation;
 import com.hazelcast.map.impl.operation.MapOperation;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.map.impl.operation.TriggerLoadIfNeededOperation;
@@ -42,6 +46,7 @@ import com.hazelcast.spi.properties.ClusterProperty;
 
 import java.io.Closeable;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -93,6 +98,13 @@ public class MapKeyLoader {
      * @see ClusterProperty#MAP_LOAD_CHUNK_SIZE
      */
     private int maxBatch;
+    /**
+     * The number of key segments loaded concurrently by each member
+     * if the map loader is a {@link SegmentedMapLoader}
+     *
+     * @see ClusterProperty#MAP_LOAD_SEGMENTS_PER_MEMBER
+     */
+    private int segmentsPerMember;
     private int mapNamePartition;
     private int partitionId;
     private boolean hasBackup;
@@ -115,6 +127,7 @@ public class MapKeyLoader {
      */
     private LoadFinishedFuture keyLoadFinished = new LoadFinishedFuture(true);
     private MapOperationProvider operationProvider;
+    private MapLoaderStats mapLoaderStats;
 
     /**
      * Role of this {@link MapKeyLoader}
@@ -409,6 +422,11 @@ public class MapKeyLoader {
         }
 
         int clusterSize = partitionService.getMemberPartitionsMap().size();
+        if (mapStoreContext.isSegmentedMapLoader()) {
+            sendKeySegments(clusterSize, replaceExistingValues);
+            return;
+        }
+
         Iterator<Object> keys = null;
         Throwable loadError = null;
 
@@ -449,6 +467,53 @@ public class MapKeyLoader {
         }
     }
 
+    /**
+     * Spreads the key segments of a {@link SegmentedMapLoader} over all data
+     * members which load their segments concurrently and send the keys to the
+     * partition owners for value loading. This method will return after all
+     * members have dispatched the keys of their segments and all partitions
+     * have been notified that the key loading has completed.
+     * If there is a configured max size policy per node, the limit is split
+     * evenly among the segments.
+     *
+     * @param clusterSize           the size of the cluster
+     * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     * @throws Exception if there was an exception when notifying the record stores that the key
+     *                   loading has finished
+     * @see SegmentedMapLoader#loadAllKeys(int, int)
+     */
+    private void sendKeySegments(int clusterSize, boolean replaceExistingValues) throws Exception {
+        Throwable loadError = null;
+        try {
+            Collection<Member> members = clusterService.getMembers(MemberSelectors.DATA_MEMBER_SELECTOR);
+            int memberCount = members.size();
+            int segmentCount = memberCount * segmentsPerMember;
+            int mapMaxSize = clusterSize * maxSizePerNode;
+            int maxKeysPerSegment = mapMaxSize > 0 ? (mapMaxSize + segmentCount - 1) / segmentCount : -1;
+
+            List<Future> futures = new ArrayList<>(memberCount);
+            int memberIndex = 0;
+            for (Member member : members) {
+                int[] segments = new int[segmentsPerMember];
+                for (int i = 0; i < segmentsPerMember; i++) {
+                    segments[i] = memberIndex + i * memberCount;
+                }
+                Operation op = new LoadKeySegmentsOperation(mapName, segments, segmentCount,
+                        maxKeysPerSegment, replaceExistingValues);
+                futures.add(opService.invokeOnTarget(SERVICE_NAME, op, member.getAddress()));
+                memberIndex++;
+            }
+
+            // same barrier as in sendKeysInBatches, the members respond
+            // once all LoadAllOperation(s) of their segments were ACKed
+            FutureUtil.waitForever(futures);
+        } catch (Exception caught) {
+            loadError = caught;
+        } finally {
+            sendKeyLoadCompleted(clusterSize, loadError);
+        }
+    }
+
     /**
      * Sends the key batches to the partition owners for value loading.
      * The returned futures represent pending offloading of the value loading on the
@@ -469,6 +534,7 @@ public class MapKeyLoader {
             List<Data> keys = e.getValue();
 
             MapOperation op = operationProvider.createLoadAllOperation(mapName, keys, replaceExistingValues);
+            mapLoaderStats.incrementKeysDispatched(keys.size());
 
             InternalCompletableFuture<Object> future = opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
             futures.add(future);
@@ -551,10 +617,24 @@ public class MapKeyLoader {
         this.hasBackup = hasBackup;
     }
 
+    /**
+     * Sets the number of key segments loaded concurrently by each member
+     * if the map loader is a {@link SegmentedMapLoader}.
+     *
+     * @param segmentsPerMember the number of key segments per member
+     */
+    public void setSegmentsPerMember(int segmentsPerMember) {
+        this.segmentsPerMember = segmentsPerMember;
+    }
+
     public void setMapOperationProvider(MapOperationProvider operationProvider) {
         this.operationProvider = operationProvider;
     }
 
+    public void setMapLoaderStats(MapLoaderStats mapLoaderStats) {
+        this.mapLoaderStats = mapLoaderStats;
+    }
+
     /**
      * Returns {@code true} if there is no ongoing key loading and dispatching
      * task on this map key loader.
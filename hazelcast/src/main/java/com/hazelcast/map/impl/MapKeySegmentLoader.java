@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+import com.hazelcast.internal.partition.IPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.FutureUtil;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.SegmentedMapLoader;
+import com.hazelcast.map.impl.mapstore.MapLoaderStats;
+import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.operation.MapOperationProvider;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.executionservice.ExecutionService;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.util.IterableUtil.limit;
+import static com.hazelcast.internal.util.IterableUtil.map;
+import static com.hazelcast.map.impl.MapKeyLoaderUtil.toBatches;
+import static com.hazelcast.map.impl.MapKeyLoaderUtil.toPartition;
+import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_LOAD_KEY_SEGMENTS_EXECUTOR;
+
+/**
+ * Loads key segments from a {@link SegmentedMapLoader} on the local member
+ * and sends the keys to their partition owners for value loading.
+ * <p>
+ * Each segment is loaded by a separate task on the
+ * {@link ExecutionService#MAP_LOAD_KEY_SEGMENTS_EXECUTOR} executor, not on
+ * the {@link ExecutionService#MAP_LOAD_ALL_KEYS_EXECUTOR} on which the sender
+ * waits for the segments, which could otherwise deadlock. The key
+ * batches of a segment are dispatched while the next ones are read from
+ * the loader, only the number of unacknowledged batches is bounded.
+ *
+ * @see MapKeyLoader
+ */
+public class MapKeySegmentLoader {
+
+    private final String mapName;
+    private final ILogger logger;
+    private final OperationService opService;
+    private final IPartitionService partitionService;
+    private final ExecutionService execService;
+    private final MapOperationProvider operationProvider;
+    private final Function<Object, Data> toData;
+    private final MapLoaderStats mapLoaderStats;
+    /**
+     * The maximum size of a batch of loaded keys sent to a
+     * single partition for value loading
+     *
+     * @see ClusterProperty#MAP_LOAD_CHUNK_SIZE
+     */
+    private final int maxBatch;
+    /**
+     * The maximum number of key batches of a single segment
+     * which may be dispatched but not yet acknowledged
+     */
+    private final int maxPendingBatches;
+
+    public MapKeySegmentLoader(MapContainer mapContainer) {
+        MapServiceContext mapServiceContext = mapContainer.getMapServiceContext();
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        this.mapName = mapContainer.getName();
+        this.logger = nodeEngine.getLogger(MapKeySegmentLoader.class);
+        this.opService = nodeEngine.getOperationService();
+        this.partitionService = nodeEngine.getPartitionService();
+        this.execService = nodeEngine.getExecutionService();
+        this.operationProvider = mapServiceContext.getMapOperationProvider(mapName);
+        this.toData = mapContainer.toData();
+        this.mapLoaderStats = mapContainer.getMapLoaderStats();
+        this.maxBatch = nodeEngine.getProperties().getInteger(ClusterProperty.MAP_LOAD_CHUNK_SIZE);
+        this.maxPendingBatches = partitionService.getPartitionCount();
+    }
+
+    /**
+     * Loads the given key segments concurrently and sends the keys to the
+     * partition owners for value loading. The returned future completes
+     * once all keys of all segments have been dispatched to and acknowledged
+     * by the partition owners, it does not wait for the value loading itself.
+     *
+     * @param mapStoreContext       the map store context for this map
+     * @param segments              the segments to be loaded by this member
+     * @param segmentCount          the total number of segments
+     * @param maxKeysPerSegment     the maximum number of keys loaded from a
+     *                              single segment or {@code -1} if unlimited
+     * @param replaceExistingValues if the existing entries for the loaded keys should be replaced
+     * @return a future representing pending completion of the loading of all given segments
+     * @see SegmentedMapLoader#loadAllKeys(int, int)
+     */
+    public InternalCompletableFuture<Object> loadSegments(MapStoreContext mapStoreContext, int[] segments,
+                                                          int segmentCount, int maxKeysPerSegment,
+                                                          boolean replaceExistingValues) {
+        SegmentsLoadedFuture future = new SegmentsLoadedFuture(segments.length);
+        for (int segment : segments) {
+            execService.execute(MAP_LOAD_KEY_SEGMENTS_EXECUTOR, () -> {
+                try {
+                    loadSegment(mapStoreContext, segment, segmentCount, maxKeysPerSegment, replaceExistingValues);
+                    future.onSegmentLoaded();
+                } catch (Exception e) {
+                    logger.warning("Could not load key segment " + segment + " of map " + mapName, e);
+                    future.completeExceptionally(e);
+                }
+            });
+        }
+        return future;
+    }
+
+    private void loadSegment(MapStoreContext mapStoreContext, int segment, int segmentCount,
+                             int maxKeysPerSegment, boolean replaceExistingValues) throws Exception {
+        if (logger.isFinestEnabled()) {
+            logger.finest("Loading key segment " + segment + "/" + segmentCount + " of map " + mapName);
+        }
+
+        Iterator<Object> keys = null;
+        try {
+            keys = mapStoreContext.loadAllKeys(segment, segmentCount).iterator();
+            Iterator<Data> dataKeys = map(keys, toData);
+            if (maxKeysPerSegment > 0) {
+                dataKeys = limit(dataKeys, maxKeysPerSegment);
+            }
+
+            Iterator<Entry<Integer, Data>> partitionsAndKeys = map(dataKeys, toPartition(partitionService));
+            Iterator<Map<Integer, List<Data>>> batches = toBatches(partitionsAndKeys, maxBatch);
+
+            Queue<Future> pending = new ArrayDeque<>();
+            while (batches.hasNext()) {
+                for (Entry<Integer, List<Data>> e : batches.next().entrySet()) {
+                    pending.add(sendBatch(e.getKey(), e.getValue(), replaceExistingValues));
+                }
+                while (pending.size() > maxPendingBatches) {
+                    pending.poll().get();
+                }
+            }
+            FutureUtil.waitForever(pending);
+            mapLoaderStats.incrementSegmentsLoaded();
+        } finally {
+            if (keys instanceof Closeable) {
+                closeResource((Closeable) keys);
+            }
+        }
+    }
+
+    private Future sendBatch(int partitionId, List<Data> keys, boolean replaceExistingValues) {
+        MapOperation op = operationProvider.createLoadAllOperation(mapName, keys, replaceExistingValues);
+        mapLoaderStats.incrementKeysDispatched(keys.size());
+        return opService.invokeOnPartition(SERVICE_NAME, op, partitionId);
+    }
+
+    /**
+     * A future which is completed once all segments have been loaded.
+     */
+    private static final class SegmentsLoadedFuture extends InternalCompletableFuture<Object> {
+
+        private final AtomicInteger remaining;
+
+        SegmentsLoadedFuture(int segmentCount) {
+            this.remaining = new AtomicInteger(segmentCount);
+            if (segmentCount == 0) {
+                complete(null);
+            }
+        }
+
+        void onSegmentLoaded() {
+            if (remaining.decrementAndGet() == 0) {
+                complete(null);
+            }
+        }
+    }
+}
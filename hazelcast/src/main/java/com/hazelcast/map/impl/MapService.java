@@ -45,6 +45,9 @@ import com.hazelcast.internal.services.TransactionalService;
 import com.hazelcast.internal.services.WanSupportingService;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
+import com.hazelcast.map.impl.mapstore.MapStoreContext;
+import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindManager;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.LocalIndexStats;
@@ -69,6 +72,9 @@ import static com.hazelcast.core.EntryEventType.INVALIDATION;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_DISCRIMINATOR_NAME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX_POPULATION;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_LOADER;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_WRITE_BEHIND;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_NEARCACHE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_TAG_INDEX;
 
@@ -321,6 +327,40 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
                         .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapName);
                 context.collect(nearCacheDescriptor, nearCacheStats);
             }
+
+            MapContainer mapContainer = mapServiceContext.getMapContainers().get(mapName);
+            if (mapContainer == null) {
+                continue;
+            }
+
+            // index population
+            if (!localInstanceStats.getIndexStats().isEmpty()) {
+                MetricDescriptor indexPopulationDescriptor = descriptor
+                        .copy()
+                        .withPrefix(MAP_PREFIX_INDEX_POPULATION)
+                        .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapName);
+                context.collect(indexPopulationDescriptor, mapContainer.getIndexPopulationStats());
+            }
+
+            // map loader
+            MapStoreContext mapStoreContext = mapContainer.getMapStoreContext();
+            if (mapStoreContext.isMapLoader()) {
+                MetricDescriptor loaderDescriptor = descriptor
+                        .copy()
+                        .withPrefix(MAP_PREFIX_LOADER)
+                        .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapName);
+                context.collect(loaderDescriptor, mapContainer.getMapLoaderStats());
+            }
+
+            // write-behind map store
+            MapStoreManager mapStoreManager = mapStoreContext.getMapStoreManager();
+            if (mapStoreManager instanceof WriteBehindManager) {
+                MetricDescriptor writeBehindDescriptor = descriptor
+                        .copy()
+                        .withPrefix(MAP_PREFIX_WRITE_BEHIND)
+                        .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapName);
+                context.collect(writeBehindDescriptor, ((WriteBehindManager) mapStoreManager).getWriteBehindStats());
+            }
         }
     }
 }
@@ -22,6 +22,7 @@ import com.hazelcast.config.MapConfig;
 import com.hazelcast.config.PartitioningStrategyConfig;
 import com.hazelcast.internal.eviction.ExpirationManager;
 import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.internal.partition.impl.PartitionTableStore;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
 import com.hazelcast.internal.util.comparators.ValueComparator;
 import com.hazelcast.map.impl.event.MapEventPublisher;
@@ -79,6 +80,15 @@ public interface MapServiceContext extends MapServiceContextInterceptorSupport,
 
     Map<String, MapContainer> getMapContainers();
 
+    /**
+     * Reloads the map partitions persisted to local disk by this member
+     * and waits until they are loaded, see {@link LocalPersistenceLoader}.
+     *
+     * @param partitionTableStore the store of the partition table
+     *                            persisted by this member
+     */
+    void loadLocalPersistence(PartitionTableStore partitionTableStore);
+
     PartitionContainer getPartitionContainer(int partitionId);
 
     void initPartitionsContainers();
@@ -24,6 +24,7 @@ import com.hazelcast.map.MapLoader;
 import com.hazelcast.map.MapLoaderLifecycleSupport;
 import com.hazelcast.map.MapStore;
 import com.hazelcast.map.PostProcessingMapStore;
+import com.hazelcast.map.SegmentedMapLoader;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 
@@ -44,6 +45,11 @@ public class MapStoreWrapper implements MapStore, MapLoaderLifecycleSupport {
      * or {@code null} if none was provided.
      */
     private MapStore mapStore;
+    /**
+     * The configured {@link MapLoader} if it also implements
+     * {@link SegmentedMapLoader}, otherwise {@code null}.
+     */
+    private final SegmentedMapLoader segmentedMapLoader;
 
     private boolean withExpirationTime;
 
@@ -66,6 +72,7 @@ public class MapStoreWrapper implements MapStore, MapLoaderLifecycleSupport {
         if (impl instanceof EntryLoader) {
             withExpirationTime = true;
         }
+        this.segmentedMapLoader = impl instanceof SegmentedMapLoader ? (SegmentedMapLoader) impl : null;
         this.mapLoader = loader;
         this.mapStore = store;
     }
@@ -99,6 +106,14 @@ public class MapStoreWrapper implements MapStore, MapLoaderLifecycleSupport {
         return (mapLoader != null);
     }
 
+    /**
+     * @return {@code true} if the configured {@link MapLoader}
+     * is a {@link SegmentedMapLoader}
+     */
+    public boolean isSegmentedMapLoader() {
+        return segmentedMapLoader != null;
+    }
+
     public void instrument(NodeEngine nodeEngine) {
         Diagnostics diagnostics = ((NodeEngineImpl) nodeEngine).getDiagnostics();
         StoreLatencyPlugin storeLatencyPlugin = diagnostics.getPlugin(StoreLatencyPlugin.class);
@@ -158,6 +173,19 @@ public class MapStoreWrapper implements MapStore, MapLoaderLifecycleSupport {
         return null;
     }
 
+    /**
+     * Returns an {@link Iterable} of the keys in the given segment or
+     * {@code null} if a segmented map loader is not configured for this map.
+     *
+     * @see SegmentedMapLoader#loadAllKeys(int, int)
+     */
+    public Iterable<Object> loadAllKeys(int segment, int segmentCount) {
+        if (isSegmentedMapLoader()) {
+            return (Iterable<Object>) segmentedMapLoader.loadAllKeys(segment, segmentCount);
+        }
+        return null;
+    }
+
     @Override
     public Object load(Object key) {
         if (isMapLoader()) {
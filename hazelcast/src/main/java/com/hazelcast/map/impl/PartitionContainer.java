@@ -98,9 +98,11 @@ public class PartitionContainer {
         MapKeyLoader keyLoader = new MapKeyLoader(name, opService, ps, nodeEngine.getClusterService(),
                 execService, mapContainer.toData());
         keyLoader.setMaxBatch(hazelcastProperties.getInteger(ClusterProperty.MAP_LOAD_CHUNK_SIZE));
+        keyLoader.setSegmentsPerMember(hazelcastProperties.getInteger(ClusterProperty.MAP_LOAD_SEGMENTS_PER_MEMBER));
         keyLoader.setMaxSize(getMaxSizePerNode(mapConfig.getEvictionConfig()));
         keyLoader.setHasBackup(mapConfig.getTotalBackupCount() > 0);
         keyLoader.setMapOperationProvider(serviceContext.getMapOperationProvider(name));
+        keyLoader.setMapLoaderStats(mapContainer.getMapLoaderStats());
 
         if (!mapContainer.isGlobalIndexEnabled()) {
             Indexes indexesForMap = mapContainer.createIndexes(false);
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl;
+
+/**
+ * Defines which replica serves {@code IMap.get} calls of maps which have
+ * {@link com.hazelcast.config.MapConfig#isReadBackupData() read-backup-data}
+ * enabled.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_READ_BACKUP_DATA_POLICY
+ */
+public enum ReadBackupDataPolicy {
+
+    /**
+     * Reads from the local replica if this member holds one,
+     * otherwise from the primary replica.
+     */
+    NEAREST,
+
+    /**
+     * Spreads the reads over the primary and the synchronous backup
+     * replicas in a round-robin fashion. Reads of the local replica
+     * do not leave the calling thread.
+     */
+    ROUND_ROBIN
+}
@@ -99,7 +99,7 @@ public class EvictorImpl implements Evictor {
         }
 
         boolean backup = isBackup(recordStore);
-        recordStore.evict(dataKey, backup);
+        recordStore.evictToDiskTier(dataKey, backup);
 
         if (!backup) {
             recordStore.doPostEvictionOperations(dataKey, record);
@@ -19,6 +19,7 @@ package com.hazelcast.map.impl.iterator;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.IterationType;
 import com.hazelcast.map.IMap;
 import com.hazelcast.map.impl.query.Query;
@@ -29,6 +30,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 import static com.hazelcast.internal.util.CollectionUtil.isNotEmpty;
 
@@ -39,7 +41,11 @@ import static com.hazelcast.internal.util.CollectionUtil.isNotEmpty;
  * <li>the fetch size</li>
  * <li>whether a projection was applied to the entries</li>
  * <li>whether a predicate was applied to the entries</li>
+ * <li>whether the next batch is prefetched while the current one is consumed</li>
  * </ul>
+ * When prefetching, at most one batch is being fetched at a time and the
+ * next one is requested only after the previous one is handed to the
+ * consumer, so a slow consumer holds at most two batches in memory.
  *
  * @param <K> the key type
  * @param <V> the value type
@@ -66,14 +72,32 @@ public abstract class AbstractMapQueryPartitionIterator<K, V, R> implements Iter
 
     protected List<Data> segment;
 
+    private final boolean prefetch;
+
+    /**
+     * The next segment being fetched while the current one is consumed,
+     * {@code null} if no segment is being fetched.
+     */
+    private CompletableFuture<List<Data>> nextSegment;
+
     public AbstractMapQueryPartitionIterator(IMap<K, V> map,
                                              int fetchSize,
                                              int partitionId,
                                              Predicate<K, V> predicate,
                                              Projection<? super Entry<K, V>, R> projection) {
+        this(map, fetchSize, partitionId, predicate, projection, false);
+    }
+
+    public AbstractMapQueryPartitionIterator(IMap<K, V> map,
+                                             int fetchSize,
+                                             int partitionId,
+                                             Predicate<K, V> predicate,
+                                             Projection<? super Entry<K, V>, R> projection,
+                                             boolean prefetch) {
         this.map = map;
         this.fetchSize = fetchSize;
         this.partitionId = partitionId;
+        this.prefetch = prefetch;
         this.query = Query.of()
                           .mapName(map.getName())
                           .iterationType(IterationType.VALUE)
@@ -104,18 +128,49 @@ public abstract class AbstractMapQueryPartitionIterator<K, V, R> implements Iter
     }
 
     protected boolean advance() {
-        if (pointers[pointers.length - 1].getIndex() < 0) {
-            resetPointers();
-            return false;
+        if (nextSegment != null) {
+            CompletableFuture<List<Data>> future = nextSegment;
+            nextSegment = null;
+            segment = join(future);
+        } else {
+            if (isFetchCompleted()) {
+                resetPointers();
+                return false;
+            }
+            segment = fetch();
         }
-        segment = fetch();
         if (isNotEmpty(segment)) {
             index = 0;
+            if (prefetch) {
+                prefetch();
+            }
             return true;
         }
         return false;
     }
 
+    /**
+     * Starts fetching the next segment in the background unless it is
+     * already being fetched or all segments were fetched.
+     */
+    protected void prefetch() {
+        if (nextSegment == null && !isFetchCompleted()) {
+            nextSegment = fetchAsync();
+        }
+    }
+
+    /**
+     * @return {@code true} if all the segments of the partition were fetched
+     * and the segment being iterated is the last one
+     */
+    public boolean isLastSegment() {
+        return nextSegment == null && isFetchCompleted();
+    }
+
+    private boolean isFetchCompleted() {
+        return pointers[pointers.length - 1].getIndex() < 0;
+    }
+
     /**
      * Resets the iteration state.
      */
@@ -136,10 +191,26 @@ public abstract class AbstractMapQueryPartitionIterator<K, V, R> implements Iter
         }
     }
 
-    protected abstract List<Data> fetch();
+    protected List<Data> fetch() {
+        return join(fetchAsync());
+    }
+
+    /**
+     * Fetches the segment following the current iteration state. The
+     * iteration state is updated before the returned future completes.
+     */
+    protected abstract CompletableFuture<List<Data>> fetchAsync();
 
     protected abstract SerializationService getSerializationService();
 
+    private static List<Data> join(CompletableFuture<List<Data>> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw ExceptionUtil.rethrow(e);
+        }
+    }
+
     private Data getQueryResult(int index) {
         if (segment != null) {
             return segment.get(index);
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.IntFunction;
+
+/**
+ * Iterator for iterating the result of a query on all the partitions of a
+ * map, one partition after another. The partitions are iterated by
+ * prefetching {@link AbstractMapQueryPartitionIterator}s, the iteration of
+ * a partition starts when the last segment of the previous partition is
+ * being consumed. So at most one segment is fetched at a time and at most
+ * two segments are held in memory whatever the size of the result.
+ * The {@link Iterator#remove()} method is not supported and will throw a
+ * {@link UnsupportedOperationException}.
+ * <b>NOTE</b>
+ * The same consistency guarantees as for the partition iterators apply.
+ *
+ * @param <R> the type of the iterated results
+ */
+public class MapQueryIterator<R> implements Iterator<R> {
+
+    private final IntFunction<? extends AbstractMapQueryPartitionIterator<?, ?, R>> partitionIteratorFactory;
+    private final int partitionCount;
+
+    private int partitionId;
+    private AbstractMapQueryPartitionIterator<?, ?, R> current;
+    private AbstractMapQueryPartitionIterator<?, ?, R> next;
+
+    /**
+     * @param partitionIteratorFactory creates a prefetching iterator for the
+     *                                 given partition ID
+     * @param partitionCount           the number of partitions
+     */
+    public MapQueryIterator(IntFunction<? extends AbstractMapQueryPartitionIterator<?, ?, R>> partitionIteratorFactory,
+                            int partitionCount) {
+        this.partitionIteratorFactory = partitionIteratorFactory;
+        this.partitionCount = partitionCount;
+        this.current = partitionCount > 0 ? partitionIteratorFactory.apply(0) : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (current != null) {
+            if (current.hasNext()) {
+                return true;
+            }
+            current = next != null ? next : nextPartitionIterator();
+            next = null;
+        }
+        return false;
+    }
+
+    @Override
+    public R next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        R result = current.next();
+        if (next == null && current.isLastSegment()) {
+            next = nextPartitionIterator();
+        }
+        return result;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing when iterating map with query is not supported");
+    }
+
+    private AbstractMapQueryPartitionIterator<?, ?, R> nextPartitionIterator() {
+        if (partitionId + 1 >= partitionCount) {
+            return null;
+        }
+        return partitionIteratorFactory.apply(++partitionId);
+    }
+}
@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Iterator for iterating map entries in a single partition.
@@ -53,31 +54,42 @@ public class MapQueryPartitionIterator<K, V, R> extends AbstractMapQueryPartitio
     public MapQueryPartitionIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, int partitionId,
                                      Predicate<K, V> predicate,
                                      Projection<? super Entry<K, V>, R> projection) {
-        super(mapProxy, fetchSize, partitionId, predicate, projection);
+        this(mapProxy, fetchSize, partitionId, predicate, projection, false);
+    }
+
+    public MapQueryPartitionIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, int partitionId,
+                                     Predicate<K, V> predicate,
+                                     Projection<? super Entry<K, V>, R> projection,
+                                     boolean prefetch) {
+        super(mapProxy, fetchSize, partitionId, predicate, projection, prefetch);
         this.mapProxy = mapProxy;
-        advance();
+        if (prefetch) {
+            prefetch();
+        } else {
+            advance();
+        }
     }
 
-    protected List<Data> fetch() {
+    @Override
+    protected CompletableFuture<List<Data>> fetchAsync() {
         final MapOperation op = mapProxy.getOperationProvider()
                                         .createFetchWithQueryOperation(mapProxy.getName(), pointers, fetchSize, query);
 
-        final ResultSegment segment = invoke(op);
-        final QueryResult queryResult = (QueryResult) segment.getResult();
+        return invoke(op).thenApply(segment -> {
+            final QueryResult queryResult = (QueryResult) segment.getResult();
 
-        final List<Data> serialized = new ArrayList<>(queryResult.size());
-        for (QueryResultRow row : queryResult) {
-            serialized.add(row.getValue());
-        }
+            final List<Data> serialized = new ArrayList<>(queryResult.size());
+            for (QueryResultRow row : queryResult) {
+                serialized.add(row.getValue());
+            }
 
-        setLastTableIndex(serialized, segment.getPointers());
-        return serialized;
+            setLastTableIndex(serialized, segment.getPointers());
+            return serialized;
+        });
     }
 
-    private ResultSegment invoke(Operation operation) {
-        final InternalCompletableFuture<ResultSegment> future =
-                mapProxy.getOperationService().invokeOnPartition(mapProxy.getServiceName(), operation, partitionId);
-        return future.joinInternal();
+    private InternalCompletableFuture<ResultSegment> invoke(Operation operation) {
+        return mapProxy.getOperationService().invokeOnPartition(mapProxy.getServiceName(), operation, partitionId);
     }
 
     @Override
@@ -75,6 +75,11 @@ final class BasicMapStoreContext implements MapStoreContext {
         return storeWrapper.isMapLoader();
     }
 
+    @Override
+    public boolean isSegmentedMapLoader() {
+        return storeWrapper.isSegmentedMapLoader();
+    }
+
     @Override
     public SerializationService getSerializationService() {
         return mapServiceContext.getNodeEngine().getSerializationService();
@@ -169,6 +174,11 @@ final class BasicMapStoreContext implements MapStoreContext {
         return IterableUtil.nullToEmpty(storeWrapper.loadAllKeys());
     }
 
+    @Override
+    public Iterable<Object> loadAllKeys(int segment, int segmentCount) {
+        return IterableUtil.nullToEmpty(storeWrapper.loadAllKeys(segment, segmentCount));
+    }
+
     void setMapStoreManager(MapStoreManager mapStoreManager) {
         this.mapStoreManager = mapStoreManager;
     }
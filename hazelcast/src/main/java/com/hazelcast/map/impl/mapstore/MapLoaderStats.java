@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOADER_ENTRIES_LOADED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOADER_KEYS_DISPATCHED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOADER_SEGMENTS_LOADED;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Member local progress of the {@link com.hazelcast.map.MapLoader}
+ * loads of a single map, exposed as metrics.
+ */
+public class MapLoaderStats {
+
+    /**
+     * The number of keys this member loaded from the map loader
+     * and dispatched to the partition owners for value loading.
+     */
+    @Probe(name = MAP_METRIC_LOADER_KEYS_DISPATCHED)
+    private final Counter keysDispatched = newMwCounter();
+
+    /**
+     * The number of key segments this member loaded from a
+     * {@link com.hazelcast.map.SegmentedMapLoader}.
+     */
+    @Probe(name = MAP_METRIC_LOADER_SEGMENTS_LOADED)
+    private final Counter segmentsLoaded = newMwCounter();
+
+    /**
+     * The number of entries the partitions owned by this
+     * member loaded from the map loader.
+     */
+    @Probe(name = MAP_METRIC_LOADER_ENTRIES_LOADED)
+    private final Counter entriesLoaded = newMwCounter();
+
+    public void incrementKeysDispatched(int delta) {
+        keysDispatched.inc(delta);
+    }
+
+    public void incrementSegmentsLoaded() {
+        segmentsLoaded.inc();
+    }
+
+    public void incrementEntriesLoaded(int delta) {
+        entriesLoaded.inc(delta);
+    }
+
+    public long getKeysDispatched() {
+        return keysDispatched.get();
+    }
+
+    public long getSegmentsLoaded() {
+        return segmentsLoaded.get();
+    }
+
+    public long getEntriesLoaded() {
+        return entriesLoaded.get();
+    }
+}
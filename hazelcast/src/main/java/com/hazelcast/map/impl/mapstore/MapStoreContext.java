@@ -18,6 +18,7 @@ package com.hazelcast.map.impl.mapstore;
 
 import com.hazelcast.config.MapStoreConfig;
 import com.hazelcast.map.MapLoader;
+import com.hazelcast.map.SegmentedMapLoader;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.MapStoreWrapper;
@@ -63,8 +64,22 @@ public interface MapStoreContext {
      */
     Iterable<Object> loadAllKeys();
 
+    /**
+     * Returns an {@link Iterable} over the keys in the given segment
+     * or an empty iterable if there is no segmented map loader
+     * configured for this map.
+     *
+     * @see SegmentedMapLoader#loadAllKeys(int, int)
+     */
+    Iterable<Object> loadAllKeys(int segment, int segmentCount);
+
     /**
      * @return {@code true} if a {@link MapLoader} is configured for this map
      */
     boolean isMapLoader();
+
+    /**
+     * @return {@code true} if a {@link SegmentedMapLoader} is configured for this map
+     */
+    boolean isSegmentedMapLoader();
 }
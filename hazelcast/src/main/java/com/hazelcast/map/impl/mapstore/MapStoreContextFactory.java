@@ -104,9 +104,19 @@ public final class MapStoreContextFactory {
             return Collections.emptyList();
         }
 
+        @Override
+        public Iterable<Object> loadAllKeys(int segment, int segmentCount) {
+            return Collections.emptyList();
+        }
+
         @Override
         public boolean isMapLoader() {
             return false;
         }
+
+        @Override
+        public boolean isSegmentedMapLoader() {
+            return false;
+        }
     }
 }
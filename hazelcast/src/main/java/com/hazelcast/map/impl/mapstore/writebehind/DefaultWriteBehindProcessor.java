@@ -20,6 +20,8 @@ import com.hazelcast.map.EntryLoader.MetadataAwareValue;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Timer;
+import com.hazelcast.spi.properties.ClusterProperty;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -52,9 +54,18 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     private final List<StoreListener> storeListeners;
 
-    DefaultWriteBehindProcessor(MapStoreContext mapStoreContext) {
+    private final WriteBehindStats writeBehindStats;
+
+    private final WriteBatchSizer writeBatchSizer;
+
+    DefaultWriteBehindProcessor(MapStoreContext mapStoreContext, WriteBehindStats writeBehindStats) {
         super(mapStoreContext);
         this.storeListeners = new ArrayList<>(2);
+        this.writeBehindStats = writeBehindStats;
+        long targetLatencyMillis = mapStoreContext.getMapServiceContext().getNodeEngine().getProperties()
+                .getMillis(ClusterProperty.MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS);
+        this.writeBatchSizer = new WriteBatchSizer(writeBatchSize, targetLatencyMillis);
+        writeBehindStats.setWriteBatchSize(writeBatchSize);
     }
 
     @Override
@@ -66,9 +77,18 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
         } else {
             failMap = processInternal(delayedEntries);
         }
+        writeBehindStats.incrementStoredEntryCount(delayedEntries.size() - countEntries(failMap));
         return failMap;
     }
 
+    private static int countEntries(Map<Integer, List<DelayedEntry>> entriesPerPartition) {
+        int count = 0;
+        for (List<DelayedEntry> entries : entriesPerPartition.values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+
 
     private Map<Integer, List<DelayedEntry>> processInternal(List<DelayedEntry> delayedEntries) {
         if (delayedEntries == null || delayedEntries.isEmpty()) {
@@ -275,16 +295,26 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     /**
      * Store chunk by chunk using write batch size {@link #writeBatchSize}
+     * or the batch size adapted to the store latency by the {@link #writeBatchSizer}
      *
      * @param sortedDelayedEntries entries to be stored.
      * @return not-stored entries per partition.
      */
     private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries) {
         Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<>();
-        int page = 0;
-        List<DelayedEntry> delayedEntryList;
-        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, writeBatchSize, page++)) != null) {
+        int start = 0;
+        int size = sortedDelayedEntries.size();
+        while (start < size) {
+            int end = Math.min(start + writeBatchSizer.getBatchSize(), size);
+            List<DelayedEntry> delayedEntryList = sortedDelayedEntries.subList(start, end);
+            start = end;
+
+            long startNanos = Timer.nanos();
             Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntryList);
+            if (writeBatchSizer.isAdaptive()) {
+                writeBatchSizer.onBatchStored(delayedEntryList.size(), Timer.nanosElapsed(startNanos));
+                writeBehindStats.setWriteBatchSize(writeBatchSizer.getBatchSize());
+            }
             Set<Map.Entry<Integer, List<DelayedEntry>>> entries = fails.entrySet();
             for (Map.Entry<Integer, List<DelayedEntry>> entry : entries) {
                 addFailsTo(failsPerPartition, entry.getValue());
@@ -30,13 +30,16 @@ import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.FutureUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -45,7 +48,12 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * Only one {@link StoreWorker} task is created for a map on a member. If more than one write-behind
+ * worker is configured, the entries of the owned partitions are split into partition groups which are
+ * passed to the {@link #writeBehindProcessor} concurrently, so that a slow store call for one group
+ * does not hold back the others.
+ *
+ * @see ClusterProperty#MAP_WRITE_BEHIND_WORKER_COUNT
  */
 public class StoreWorker implements Runnable {
     private final String mapName;
@@ -53,12 +61,14 @@ public class StoreWorker implements Runnable {
     private final IPartitionService partitionService;
     private final ExecutionService executionService;
     private final WriteBehindProcessor writeBehindProcessor;
+    private final WriteBehindStats writeBehindStats;
     /**
      * Run on backup nodes after this interval.
      */
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    private final int workerCount;
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -68,7 +78,8 @@ public class StoreWorker implements Runnable {
     private long lastHighestStoreTime;
     private volatile boolean running;
 
-    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor,
+                       WriteBehindStats writeBehindStats) {
         this.mapName = mapStoreContext.getMapName();
         this.mapServiceContext = mapStoreContext.getMapServiceContext();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
@@ -79,6 +90,9 @@ public class StoreWorker implements Runnable {
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.workerCount = Math.max(1, Math.min(partitionCount,
+                nodeEngine.getProperties().getInteger(ClusterProperty.MAP_WRITE_BEHIND_WORKER_COUNT)));
+        this.writeBehindStats = writeBehindStats;
     }
 
 
@@ -119,8 +133,10 @@ public class StoreWorker implements Runnable {
 
         lastHighestStoreTime = ownerHighestStoreTime;
 
-        List<DelayedEntry> ownersList = null;
+        // owned entries per partition group, the group of a partition is partitionId % workerCount
+        List<List<DelayedEntry>> ownersLists = null;
         List<DelayedEntry> backupsList = null;
+        long oldestOwnedStoreTime = Long.MAX_VALUE;
 
         for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
             if (currentThread().isInterrupted()) {
@@ -138,15 +154,19 @@ public class StoreWorker implements Runnable {
                 backupsList = initListIfNull(backupsList, partitionCount);
                 selectEntriesToStore(recordStore, backupsList, backupHighestStoreTime);
             } else {
-                ownersList = initListIfNull(ownersList, partitionCount);
+                ownersLists = initOwnersListsIfNull(ownersLists);
+                int group = partitionId % workerCount;
+                List<DelayedEntry> ownersList = initListIfNull(ownersLists.get(group), partitionCount);
+                ownersLists.set(group, ownersList);
                 selectEntriesToStore(recordStore, ownersList, ownerHighestStoreTime);
+                oldestOwnedStoreTime = Math.min(oldestOwnedStoreTime, getOldestStoreTime(recordStore));
             }
         }
 
-        if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
-            removeFinishedStoreOperationsFromQueues(mapName, ownersList);
-            reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+        writeBehindStats.setFlushLag(oldestOwnedStoreTime == Long.MAX_VALUE ? 0 : Math.max(0, now - oldestOwnedStoreTime));
+
+        if (ownersLists != null) {
+            processPartitionGroups(ownersLists);
         }
 
         if (!isEmpty(backupsList)) {
@@ -157,6 +177,49 @@ public class StoreWorker implements Runnable {
 
     }
 
+    private List<List<DelayedEntry>> initOwnersListsIfNull(List<List<DelayedEntry>> ownersLists) {
+        if (ownersLists == null) {
+            ownersLists = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                ownersLists.add(null);
+            }
+        }
+        return ownersLists;
+    }
+
+    /**
+     * Stores the entries of all partition groups, concurrently
+     * if there is more than one group with entries to store.
+     */
+    private void processPartitionGroups(List<List<DelayedEntry>> ownersLists) {
+        List<Future> futures = null;
+        List<DelayedEntry> lastOwnersList = null;
+        for (List<DelayedEntry> ownersList : ownersLists) {
+            if (isEmpty(ownersList)) {
+                continue;
+            }
+            if (lastOwnersList != null) {
+                futures = futures == null ? new ArrayList<>(workerCount) : futures;
+                List<DelayedEntry> entries = lastOwnersList;
+                futures.add(executionService.submit(MAP_WRITE_BEHIND_EXECUTOR, () -> processOwners(entries)));
+            }
+            lastOwnersList = ownersList;
+        }
+        // the last group is stored by this thread
+        if (lastOwnersList != null) {
+            processOwners(lastOwnersList);
+        }
+        if (futures != null) {
+            FutureUtil.waitForever(futures);
+        }
+    }
+
+    private void processOwners(List<DelayedEntry> ownersList) {
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
+        removeFinishedStoreOperationsFromQueues(mapName, ownersList);
+        reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<>(capacity);
@@ -197,6 +260,11 @@ public class StoreWorker implements Runnable {
         }
     }
 
+    private long getOldestStoreTime(RecordStore recordStore) {
+        DelayedEntry oldest = getWriteBehindQueue(recordStore).peek();
+        return oldest == null ? Long.MAX_VALUE : oldest.getStoreTime();
+    }
+
     private boolean isPartitionLocal(int partitionId) {
         IPartition partition = partitionService.getPartition(partitionId, false);
         return partition.isLocal();
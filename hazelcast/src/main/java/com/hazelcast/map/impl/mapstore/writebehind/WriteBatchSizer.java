@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Adapts the write batch size of a write-behind map store to the observed
+ * latency of its batch store calls: the batch size grows by a quarter while
+ * full batches are stored faster than the target latency and is halved when
+ * a batch takes longer. A batch size adapted this way stays between {@code 1}
+ * and {@link #MAX_GROWTH_FACTOR} times the configured batch size.
+ * <p>
+ * If no target latency is configured, the configured batch size is kept.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS
+ */
+class WriteBatchSizer {
+
+    static final int MAX_GROWTH_FACTOR = 16;
+
+    private static final int GROWTH_DIVISOR = 4;
+
+    private final int maxBatchSize;
+    private final long targetLatencyNanos;
+
+    private volatile int batchSize;
+
+    WriteBatchSizer(int configuredBatchSize, long targetLatencyMillis) {
+        this.batchSize = configuredBatchSize;
+        this.targetLatencyNanos = MILLISECONDS.toNanos(targetLatencyMillis);
+        this.maxBatchSize = (int) Math.min(Integer.MAX_VALUE, (long) configuredBatchSize * MAX_GROWTH_FACTOR);
+    }
+
+    int getBatchSize() {
+        return batchSize;
+    }
+
+    boolean isAdaptive() {
+        return targetLatencyNanos > 0;
+    }
+
+    /**
+     * Adapts the batch size to the duration of a batch store call.
+     * Concurrent updates may overwrite each other, which only delays
+     * the adaptation.
+     *
+     * @param storedCount  the number of entries in the stored batch
+     * @param elapsedNanos the duration of the store call
+     */
+    void onBatchStored(int storedCount, long elapsedNanos) {
+        if (!isAdaptive()) {
+            return;
+        }
+        int current = batchSize;
+        if (elapsedNanos > targetLatencyNanos) {
+            batchSize = Math.max(1, current / 2);
+        } else if (storedCount >= current && current < maxBatchSize) {
+            batchSize = Math.min(maxBatchSize, current + Math.max(1, current / GROWTH_DIVISOR));
+        }
+    }
+}
@@ -32,6 +32,7 @@ import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindProcessors.
  */
 public class WriteBehindManager implements MapStoreManager {
 
+    private final WriteBehindStats writeBehindStats = new WriteBehindStats();
     private final WriteBehindProcessor writeBehindProcessor;
     private final StoreWorker storeWorker;
     private final MapStoreContext mapStoreContext;
@@ -39,7 +40,11 @@ public class WriteBehindManager implements MapStoreManager {
     public WriteBehindManager(MapStoreContext mapStoreContext) {
         this.mapStoreContext = mapStoreContext;
         this.writeBehindProcessor = newWriteBehindProcessor(mapStoreContext);
-        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor);
+        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor, writeBehindStats);
+    }
+
+    public WriteBehindStats getWriteBehindStats() {
+        return writeBehindStats;
     }
 
     @Override
@@ -59,7 +64,7 @@ public class WriteBehindManager implements MapStoreManager {
     }
 
     private WriteBehindProcessor newWriteBehindProcessor(final MapStoreContext mapStoreContext) {
-        WriteBehindProcessor writeBehindProcessor = createWriteBehindProcessor(mapStoreContext);
+        WriteBehindProcessor writeBehindProcessor = createWriteBehindProcessor(mapStoreContext, writeBehindStats);
         StoreListener<DelayedEntry> storeListener = new InternalStoreListener(mapStoreContext);
         writeBehindProcessor.addStoreListener(storeListener);
         return writeBehindProcessor;
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_BATCH_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_FLUSH_LAG;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Member local statistics of the write-behind
+ * map store of a single map, exposed as metrics.
+ */
+public class WriteBehindStats {
+
+    /**
+     * How long the oldest entry in the write-behind queues of the owned
+     * partitions has been due to be stored, as of the last store run.
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_FLUSH_LAG, unit = MS)
+    private volatile long flushLag;
+
+    /**
+     * The current write batch size, which differs from the configured one
+     * if the batch size is adapted to the store latency.
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_BATCH_SIZE)
+    private volatile int writeBatchSize;
+
+    /**
+     * The number of entries stored or deleted by the map store.
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT)
+    private final Counter storedEntryCount = newMwCounter();
+
+    public long getFlushLag() {
+        return flushLag;
+    }
+
+    void setFlushLag(long flushLag) {
+        this.flushLag = flushLag;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    void setWriteBatchSize(int writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public long getStoredEntryCount() {
+        return storedEntryCount.get();
+    }
+
+    void incrementStoredEntryCount(int delta) {
+        storedEntryCount.inc(delta);
+    }
+}
@@ -17,6 +17,8 @@
 package com.hazelcast.map.impl.operation;
 
 import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
@@ -36,6 +38,11 @@ import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
 
 import java.io.IOException;
 
+import static com.hazelcast.map.impl.operation.PopulateIndexOperation.execute;
+import static com.hazelcast.map.impl.operation.PopulateIndexOperation.initialPointers;
+import static com.hazelcast.map.impl.operation.PopulateIndexOperation.isPopulated;
+import static com.hazelcast.map.impl.operation.PopulateIndexOperation.populateChunk;
+
 public class AddIndexOperation extends MapOperation
         implements PartitionAwareOperation, MutatingOperation, BackupAwareOperation {
     /**
@@ -89,6 +96,25 @@ public class AddIndexOperation extends MapOperation
             return;
         }
 
+        if (config.getType() == IndexType.BITMAP) {
+            // bitmap indexes can't tolerate updates of the entries they don't
+            // have yet, so they can't be populated concurrently with them
+            populateAll(indexes, index, recordStoreAdapter);
+            index.markPartitionAsIndexed(partitionId);
+            return;
+        }
+
+        IterationPointer[] pointers = populateChunk(mapContainer, recordStore, indexes, index, initialPointers(),
+                getNodeEngine());
+        if (isPopulated(pointers)) {
+            index.markPartitionAsIndexed(partitionId);
+        } else {
+            mapContainer.getIndexPopulationStats().onPopulationStarted();
+            execute(getNodeEngine(), new PopulateIndexOperation(name, index.getName(), pointers), partitionId);
+        }
+    }
+
+    private void populateAll(Indexes indexes, InternalIndex index, RecordStoreAdapter recordStoreAdapter) {
         SerializationService serializationService = getNodeEngine().getSerializationService();
 
         recordStore.forEach((dataKey, record) -> {
@@ -96,10 +122,11 @@ public class AddIndexOperation extends MapOperation
             QueryableEntry queryEntry = mapContainer.newQueryEntry(dataKey, value);
             queryEntry.setRecord(record);
             queryEntry.setStoreAdapter(recordStoreAdapter);
+            if (indexes.isCovering()) {
+                queryEntry.cacheAttributeValues(index.getComponents());
+            }
             index.putEntry(queryEntry, null, Index.OperationSource.USER);
         }, false);
-
-        index.markPartitionAsIndexed(partitionId);
     }
 
     @Override
@@ -249,6 +249,11 @@ public class DefaultMapOperationProvider implements MapOperationProvider {
         return new GetOperation(name, dataKey);
     }
 
+    @Override
+    public MapOperation createReadBackupDataOperation(String name, Data dataKey) {
+        return new ReadBackupDataOperation(name, dataKey);
+    }
+
     @Override
     public Operation createQueryOperation(Query query) {
         return new QueryOperation(query);
@@ -34,6 +34,7 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.DeserializedValueCache;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.Predicate;
@@ -79,6 +80,7 @@ public final class EntryOperator {
     private final MapOperation mapOperation;
     private final Address callerAddress;
     private final InMemoryFormat inMemoryFormat;
+    private final DeserializedValueCache valueCache;
 
     private EntryProcessor entryProcessor;
     private EntryProcessor backupProcessor;
@@ -116,6 +118,8 @@ public final class EntryOperator {
         this.partitionId = recordStore.getPartitionId();
         this.callerAddress = mapOperation.getCallerAddress();
         this.entry = new LockAwareLazyMapEntry();
+        // only read-only processors may be given the shared cached values
+        this.valueCache = readOnly ? recordStore.getDeserializedValueCache() : null;
     }
 
     private void setProcessor(Object processor) {
@@ -177,7 +181,7 @@ public final class EntryOperator {
     }
 
     private EntryOperator operateOnKeyValueInternal(Data dataKey, Object oldValue, Boolean locked) {
-        init(dataKey, oldValue, null, null, null, locked);
+        init(dataKey, cachedOrRawOldValue(oldValue), null, null, null, locked);
 
         if (outOfPredicateScope(entry)) {
             this.didMatchPredicate = false;
@@ -284,6 +288,11 @@ public final class EntryOperator {
         return shouldClone ? ss.toObject(ss.toData(oldValue)) : oldValue;
     }
 
+    private Object cachedOrRawOldValue(Object oldValue) {
+        return valueCache != null && DeserializedValueCache.isCacheable(oldValue)
+                ? valueCache.toObject((Data) oldValue) : oldValue;
+    }
+
     // Needed for MultipleEntryOperation.
     private boolean belongsAnotherPartition(Data key) {
         return partitionService.getPartitionId(key) != partitionId;
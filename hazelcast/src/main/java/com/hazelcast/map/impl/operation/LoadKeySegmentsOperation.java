@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapKeySegmentLoader;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.exception.TargetNotMemberException;
+import com.hazelcast.spi.impl.operationservice.AbstractNamedOperation;
+import com.hazelcast.spi.impl.operationservice.CallStatus;
+import com.hazelcast.spi.impl.operationservice.ExceptionAction;
+import com.hazelcast.spi.impl.operationservice.Offload;
+
+import java.io.IOException;
+
+import static com.hazelcast.spi.impl.operationservice.CallStatus.OFFLOAD_ORDINAL;
+import static com.hazelcast.spi.impl.operationservice.ExceptionAction.THROW_EXCEPTION;
+
+/**
+ * Loads the given key segments of a {@link com.hazelcast.map.SegmentedMapLoader}
+ * on the target member and dispatches the keys to the partition owners for
+ * value loading. Sent by the member with the
+ * {@link com.hazelcast.map.impl.MapKeyLoader.Role#SENDER} key loader role to
+ * all data members.
+ * <p>
+ * The loading is offloaded, the response is sent once all keys of the given
+ * segments have been dispatched.
+ *
+ * @see MapKeySegmentLoader
+ */
+public class LoadKeySegmentsOperation extends AbstractNamedOperation {
+
+    private int[] segments;
+    private int segmentCount;
+    private int maxKeysPerSegment;
+    private boolean replaceExistingValues;
+
+    private transient CallStatus callStatus;
+
+    public LoadKeySegmentsOperation() {
+    }
+
+    public LoadKeySegmentsOperation(String name, int[] segments, int segmentCount,
+                                    int maxKeysPerSegment, boolean replaceExistingValues) {
+        super(name);
+        this.segments = segments;
+        this.segmentCount = segmentCount;
+        this.maxKeysPerSegment = maxKeysPerSegment;
+        this.replaceExistingValues = replaceExistingValues;
+    }
+
+    @Override
+    public CallStatus call() {
+        callStatus = new OffloadedLoad();
+        return callStatus;
+    }
+
+    @Override
+    public ExceptionAction onInvocationException(Throwable throwable) {
+        if (throwable instanceof MemberLeftException || throwable instanceof TargetNotMemberException) {
+            return THROW_EXCEPTION;
+        }
+        return super.onInvocationException(throwable);
+    }
+
+    @Override
+    public void onExecutionFailure(Throwable e) {
+        if (callStatus != null && callStatus.ordinal() == OFFLOAD_ORDINAL) {
+            sendResponse(e);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.LOAD_KEY_SEGMENTS;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeIntArray(segments);
+        out.writeInt(segmentCount);
+        out.writeInt(maxKeysPerSegment);
+        out.writeBoolean(replaceExistingValues);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        segments = in.readIntArray();
+        segmentCount = in.readInt();
+        maxKeysPerSegment = in.readInt();
+        replaceExistingValues = in.readBoolean();
+    }
+
+    private final class OffloadedLoad extends Offload {
+
+        private OffloadedLoad() {
+            super(LoadKeySegmentsOperation.this);
+        }
+
+        @Override
+        public void start() {
+            MapService mapService = getService();
+            MapContainer mapContainer = mapService.getMapServiceContext().getMapContainer(name);
+            new MapKeySegmentLoader(mapContainer)
+                    .loadSegments(mapContainer.getMapStoreContext(), segments, segmentCount,
+                            maxKeysPerSegment, replaceExistingValues)
+                    .whenCompleteAsync((response, throwable) ->
+                            sendResponse(throwable == null ? response : throwable));
+        }
+    }
+}
@@ -85,6 +85,12 @@ public interface MapOperationProvider {
 
     MapOperation createGetOperation(String name, Data dataKey);
 
+    /**
+     * Creates an operation which reads the value of a key from the
+     * replica it is invoked on, without loading missing values.
+     */
+    MapOperation createReadBackupDataOperation(String name, Data dataKey);
+
     Operation createQueryOperation(Query query);
 
     MapOperation createQueryPartitionOperation(Query query);
@@ -31,6 +31,7 @@ import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.StoreAdapter;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.DiskTier;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
 import com.hazelcast.nio.ObjectDataInput;
@@ -49,6 +50,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.MapUtil.isNullOrEmpty;
@@ -174,10 +176,13 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
                     recordStore.putReplicatedRecord(dataKey, record, nowInMillis, populateIndexes);
 
                     if (recordStore.shouldEvict()) {
-                        // No need to continue replicating records anymore.
-                        // We are already over eviction threshold, each put record will cause another eviction.
                         recordStore.evictEntries(dataKey);
-                        break;
+                        if (recordStore.getDiskTier() == null) {
+                            // No need to continue replicating records anymore.
+                            // We are already over eviction threshold, each put record will cause another eviction.
+                            break;
+                        }
+                        // evicted records are kept by the disk tier, so all records are replicated
                     }
                     recordStore.disposeDeferredBlocks();
                 }
@@ -185,6 +190,9 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
                 if (populateIndexes) {
                     Indexes.markPartitionAsIndexed(partitionContainer.getPartitionId(), indexesSnapshot);
                 }
+                if (recordStore.getPersistentLog() != null) {
+                    recordStore.getPersistentLog().commit();
+                }
             }
         }
     }
@@ -234,16 +242,22 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable {
 
             SerializationService ss = getSerializationService(operation.getRecordStore(mapName).getMapContainer());
             RecordStore<Record> recordStore = entry.getValue();
-            out.writeInt(recordStore.size());
-            // No expiration should be done in forEach, since we have serialized size before.
-            recordStore.forEach((dataKey, record) -> {
+            DiskTier diskTier = recordStore.getDiskTier();
+            int spilledCount = diskTier == null ? 0 : diskTier.size();
+            out.writeInt(recordStore.size() + spilledCount);
+            BiConsumer<Data, Record> recordWriter = (dataKey, record) -> {
                 try {
                     IOUtil.writeData(out, dataKey);
                     Records.writeRecord(out, record, ss.toData(record.getValue()));
                 } catch (IOException e) {
                     throw ExceptionUtil.rethrow(e);
                 }
-            }, operation.getReplicaIndex() != 0, true);
+            };
+            // No expiration should be done in forEach, since we have serialized size before.
+            recordStore.forEach(recordWriter, operation.getReplicaIndex() != 0, true);
+            if (spilledCount > 0) {
+                diskTier.forEach(recordWriter);
+            }
         }
 
         out.writeInt(loaded.size());
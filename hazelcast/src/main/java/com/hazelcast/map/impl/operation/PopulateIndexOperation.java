@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.query.impl.Index;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.exception.PartitionMigratingException;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.io.IOException;
+import java.util.logging.Level;
+
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_POPULATION_CHUNK_SIZE;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Local operation indexing the next chunk of the entries of a partition
+ * into an index added by an {@link AddIndexOperation}.
+ * <p>
+ * The operation schedules itself again for the following chunk until the
+ * iteration over the partition completes, then marks the partition as
+ * indexed, so the index is used by queries only once all the partitions
+ * are populated. Between the chunks, the other operations of the partition
+ * run and update the index as usual. The population is abandoned if the
+ * partition is not owned by this member anymore, if the index is gone or
+ * if the partition got indexed in the meantime, e.g. by a migration.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#INDEX_POPULATION_CHUNK_SIZE
+ */
+public class PopulateIndexOperation extends MapOperation implements PartitionAwareOperation, MutatingOperation {
+
+    private static final long RETRY_DELAY_MILLIS = 100;
+
+    private String indexName;
+    private IterationPointer[] pointers;
+
+    public PopulateIndexOperation() {
+    }
+
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "This is an internal class")
+    public PopulateIndexOperation(String name, String indexName, IterationPointer[] pointers) {
+        super(name);
+        this.indexName = indexName;
+        this.pointers = pointers;
+        this.createRecordStoreOnDemand = false;
+    }
+
+    @Override
+    protected void runInternal() {
+        int partitionId = getPartitionId();
+        InternalIndex index = getIndexToPopulate();
+        if (index == null) {
+            mapContainer.getIndexPopulationStats().onPopulationAborted();
+            return;
+        }
+
+        Indexes indexes = mapContainer.getIndexes(partitionId);
+        pointers = populateChunk(mapContainer, recordStore, indexes, index, pointers, getNodeEngine());
+        if (isPopulated(pointers)) {
+            index.markPartitionAsIndexed(partitionId);
+            mapContainer.getIndexPopulationStats().onPopulationCompleted();
+        } else {
+            execute(getNodeEngine(), new PopulateIndexOperation(name, indexName, pointers), partitionId);
+        }
+    }
+
+    private InternalIndex getIndexToPopulate() {
+        int partitionId = getPartitionId();
+        if (recordStore == null || !getNodeEngine().getPartitionService().isPartitionOwner(partitionId)) {
+            return null;
+        }
+        InternalIndex index = mapContainer.getIndexes(partitionId).getIndex(indexName);
+        return index == null || index.hasPartitionIndexed(partitionId) ? null : index;
+    }
+
+    @Override
+    public void onExecutionFailure(Throwable e) {
+        try {
+            super.onExecutionFailure(e);
+        } finally {
+            NodeEngine nodeEngine = getNodeEngine();
+            if (e instanceof PartitionMigratingException) {
+                // the partition is blocked by a migration, carry on once it is done
+                PopulateIndexOperation op = new PopulateIndexOperation(name, indexName, pointers);
+                nodeEngine.getExecutionService().schedule(() -> execute(nodeEngine, op, getPartitionId()),
+                        RETRY_DELAY_MILLIS, MILLISECONDS);
+            } else {
+                MapService mapService = nodeEngine.getService(MapService.SERVICE_NAME);
+                mapService.getMapServiceContext().getMapContainer(name).getIndexPopulationStats().onPopulationAborted();
+            }
+        }
+    }
+
+    @Override
+    public void logError(Throwable e) {
+        if (e instanceof PartitionMigratingException) {
+            ILogger logger = getLogger();
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.log(Level.FINEST, e.toString());
+            }
+        } else {
+            super.logError(e);
+        }
+    }
+
+    @Override
+    public boolean returnsResponse() {
+        return false;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        indexName = in.readUTF();
+        int pointersCount = in.readInt();
+        pointers = new IterationPointer[pointersCount];
+        for (int i = 0; i < pointersCount; i++) {
+            pointers[i] = new IterationPointer(in.readInt(), in.readInt());
+        }
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeUTF(indexName);
+        out.writeInt(pointers.length);
+        for (IterationPointer pointer : pointers) {
+            out.writeInt(pointer.getIndex());
+            out.writeInt(pointer.getSize());
+        }
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.POPULATE_INDEX;
+    }
+
+    @Override
+    protected void toString(StringBuilder sb) {
+        super.toString(sb);
+
+        sb.append(", indexName=").append(indexName);
+    }
+
+    /**
+     * @return the iteration pointers to start populating
+     * the index of a partition from
+     */
+    static IterationPointer[] initialPointers() {
+        return new IterationPointer[]{new IterationPointer(Integer.MAX_VALUE, -1)};
+    }
+
+    /**
+     * @return {@code true} if the iteration pointed by the given
+     * pointers is over, {@code false} otherwise
+     */
+    static boolean isPopulated(IterationPointer[] pointers) {
+        return pointers[pointers.length - 1].getIndex() < 0;
+    }
+
+    /**
+     * Indexes the next chunk of the entries of the given record store.
+     *
+     * @return the iteration pointers to index the following chunk from
+     */
+    static IterationPointer[] populateChunk(MapContainer mapContainer, RecordStore<Record> recordStore, Indexes indexes,
+                                            InternalIndex index, IterationPointer[] pointers, NodeEngine nodeEngine) {
+        SerializationService serializationService = nodeEngine.getSerializationService();
+        RecordStoreAdapter recordStoreAdapter = new RecordStoreAdapter(recordStore);
+        int chunkSize = nodeEngine.getProperties().getInteger(INDEX_POPULATION_CHUNK_SIZE);
+
+        MapKeysWithCursor keys = recordStore.fetchKeys(pointers, chunkSize);
+        int populated = 0;
+        for (Data dataKey : keys.getBatch()) {
+            Record record = recordStore.getRecordOrNull(dataKey);
+            if (record == null) {
+                continue;
+            }
+            Object value = Records.getValueOrCachedValue(record, serializationService);
+            QueryableEntry queryEntry = mapContainer.newQueryEntry(dataKey, value);
+            queryEntry.setRecord(record);
+            queryEntry.setStoreAdapter(recordStoreAdapter);
+            if (indexes.isCovering()) {
+                queryEntry.cacheAttributeValues(index.getComponents());
+            }
+            // entries updated since the index was added are already indexed
+            // with their current value, indexing them again replaces them
+            index.putEntry(queryEntry, null, Index.OperationSource.USER);
+            populated++;
+        }
+        mapContainer.getIndexPopulationStats().incrementPopulatedEntries(populated);
+        return keys.getIterationPointers();
+    }
+
+    /**
+     * Executes the given population operation locally
+     * on the thread of the given partition.
+     */
+    static void execute(NodeEngine nodeEngine, Operation op, int partitionId) {
+        op.setNodeEngine(nodeEngine)
+          .setCallerUuid(nodeEngine.getLocalMember().getUuid())
+          .setPartitionId(partitionId)
+          .setValidateTarget(false)
+          .setServiceName(MapService.SERVICE_NAME);
+        nodeEngine.getOperationService().execute(op);
+    }
+}
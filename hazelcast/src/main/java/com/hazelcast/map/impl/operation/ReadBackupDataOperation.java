@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.partition.InternalPartitionService;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+
+/**
+ * Reads the value of a key from the replica this operation is invoked on,
+ * which is usually a backup replica.
+ * <p>
+ * Unlike {@link GetOperation}, it never loads missing values and does not
+ * create the record store. The response is {@code null} if the key is not
+ * in memory or if the replica is known to be behind the primary replica,
+ * i.e. its replica versions are dirty and a replica sync is pending. The
+ * caller is expected to fall back to the primary replica in that case.
+ */
+public final class ReadBackupDataOperation extends ReadonlyKeyBasedMapOperation {
+
+    private Data result;
+
+    public ReadBackupDataOperation() {
+        createRecordStoreOnDemand = false;
+    }
+
+    public ReadBackupDataOperation(String name, Data dataKey) {
+        super(name, dataKey);
+        createRecordStoreOnDemand = false;
+    }
+
+    @Override
+    protected void runInternal() {
+        if (recordStore == null || isReplicaStale()) {
+            return;
+        }
+        result = recordStore.readBackupData(dataKey);
+    }
+
+    private boolean isReplicaStale() {
+        InternalPartitionService partitionService = (InternalPartitionService) getNodeEngine().getPartitionService();
+        return partitionService.getPartitionReplicaVersionManager()
+                .isPartitionReplicaVersionDirty(getPartitionId(), getServiceNamespace());
+    }
+
+    @Override
+    public Data getResponse() {
+        return result;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.READ_BACKUP_DATA;
+    }
+}
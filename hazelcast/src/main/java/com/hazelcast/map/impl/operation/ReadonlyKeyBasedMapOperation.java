@@ -25,6 +25,8 @@ import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
 
 import java.io.IOException;
 
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+
 /**
  * Abstract {@link MapOperation} that serves as based for readonly operations.
  */
@@ -52,6 +54,24 @@ public abstract class ReadonlyKeyBasedMapOperation extends MapOperation
         this.threadId = threadId;
     }
 
+    @Override
+    protected void innerBeforeRun() throws Exception {
+        super.innerBeforeRun();
+
+        // the key shares the buffer of the received operation, it is copied
+        // only if the record store may retain it
+        if (mayRetainKey()) {
+            dataKey = toHeapData(dataKey);
+        }
+    }
+
+    private boolean mayRetainKey() {
+        // loaded records and records brought back from the disk tier are
+        // stored under the key of the operation
+        return recordStore == null || recordStore.getDiskTier() != null
+                || mapContainer.getMapStoreContext().isMapLoader();
+    }
+
     @Override
     protected void writeInternal(ObjectDataOutput out) throws IOException {
         super.writeInternal(out);
@@ -62,7 +82,7 @@ public abstract class ReadonlyKeyBasedMapOperation extends MapOperation
     @Override
     protected void readInternal(ObjectDataInput in) throws IOException {
         super.readInternal(in);
-        dataKey = IOUtil.readData(in);
+        dataKey = IOUtil.readDataView(in);
         threadId = in.readLong();
     }
 }
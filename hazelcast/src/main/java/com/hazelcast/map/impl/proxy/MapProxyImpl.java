@@ -39,6 +39,7 @@ import com.hazelcast.map.impl.KeyValueConsumingEntryProcessor;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.SimpleEntryView;
 import com.hazelcast.map.impl.iterator.MapPartitionIterator;
+import com.hazelcast.map.impl.iterator.MapQueryIterator;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
@@ -935,6 +936,49 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return new MapQueryPartitionIterator<>(this, fetchSize, partitionId, predicate, projection);
     }
 
+    /**
+     * Returns an iterator for iterating the result of the projection on entries
+     * in all the partitions which satisfy the {@code predicate}.
+     * <p>
+     * Unlike {@link #values(Predicate)} or {@link #entrySet(Predicate)}, the
+     * result is not materialized. The partitions are iterated one after another
+     * and the values are fetched in batches. The next batch is fetched while the
+     * current one is consumed and no more batches are fetched until it is
+     * consumed, so at most two batches are held in memory. The iteration is not
+     * subject to the query result size limit.
+     * The underlying implementation may send more values in one batch than
+     * {@code fetchSize} if it needs to get to a "safepoint" to later resume
+     * iteration.
+     * Predicates of type {@link PagingPredicate} are not supported.
+     * <b>NOTE</b>
+     * The same consistency guarantees as for
+     * {@link #iterator(int, int, Projection, Predicate)} apply to each partition.
+     *
+     * @param fetchSize  the size of the batches which will be sent when iterating the data
+     * @param projection the projection to apply before returning the value. {@code null} value
+     *                   is not allowed
+     * @param predicate  the predicate which the entries must match. {@code null} value is not
+     *                   allowed
+     * @param <R>        the return type
+     * @return the iterator for the projected entries
+     * @throws IllegalArgumentException if the predicate is of type {@link PagingPredicate}
+     */
+    public <R> Iterator<R> iterator(int fetchSize,
+                                    Projection<? super Map.Entry<K, V>, R> projection,
+                                    Predicate<K, V> predicate) {
+        if (predicate instanceof PagingPredicate) {
+            throw new IllegalArgumentException("Paging predicate is not allowed when iterating map by query");
+        }
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        // HazelcastInstanceAware handled by cloning
+        Projection<? super Map.Entry<K, V>, R> clonedProjection = serializationService.toObject(
+                serializationService.toData(projection));
+        handleHazelcastInstanceAwareParams(predicate);
+        return new MapQueryIterator<>(partitionId -> new MapQueryPartitionIterator<>(this, fetchSize, partitionId,
+                predicate, clonedProjection, true), partitionService.getPartitionCount());
+    }
+
     @Override
     public CompletionStage<EventJournalInitialSubscriberState> subscribeToEventJournal(int partitionId) {
         final MapEventJournalSubscribeOperation op = new MapEventJournalSubscribeOperation(name);
@@ -51,6 +51,7 @@ import com.hazelcast.map.impl.MapEntries;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.ReadBackupDataPolicy;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.operation.AddIndexOperation;
 import com.hazelcast.map.impl.operation.AddInterceptorOperationSupplier;
@@ -114,6 +115,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.core.EntryEventType.CLEAR_ALL;
 import static com.hazelcast.internal.util.CollectionUtil.asIntegerList;
 import static com.hazelcast.internal.util.ConcurrencyUtil.CALLER_RUNS;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.InvocationUtil.invokeOnStableClusterSerial;
 import static com.hazelcast.internal.util.IterableUtil.nullToEmpty;
@@ -128,6 +130,7 @@ import static com.hazelcast.map.impl.LocalMapStatsProvider.EMPTY_LOCAL_MAP_STATS
 import static com.hazelcast.map.impl.MapService.SERVICE_NAME;
 import static com.hazelcast.map.impl.query.Target.createPartitionTarget;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_READ_BACKUP_DATA_POLICY;
 import static java.lang.Math.ceil;
 import static java.lang.Math.log10;
 import static java.lang.Math.min;
@@ -214,6 +217,8 @@ abstract class MapProxySupport<K, V>
 
     private final int putAllBatchSize;
     private final float putAllInitialSizeFactor;
+    private final ReadBackupDataPolicy readBackupDataPolicy;
+    private final AtomicInteger readReplicaCounter = new AtomicInteger();
 
     protected MapProxySupport(String name, MapService service, NodeEngine nodeEngine, MapConfig mapConfig) {
         super(nodeEngine, service);
@@ -237,6 +242,7 @@ abstract class MapProxySupport<K, V>
 
         this.putAllBatchSize = properties.getInteger(MAP_PUT_ALL_BATCH_SIZE);
         this.putAllInitialSizeFactor = properties.getFloat(MAP_PUT_ALL_INITIAL_SIZE_FACTOR);
+        this.readBackupDataPolicy = properties.getEnum(MAP_READ_BACKUP_DATA_POLICY, ReadBackupDataPolicy.class);
     }
 
     @Override
@@ -368,6 +374,49 @@ abstract class MapProxySupport<K, V>
 
     private Data readBackupDataOrNull(Data key) {
         int partitionId = partitionService.getPartitionId(key);
+        if (readBackupDataPolicy == ReadBackupDataPolicy.ROUND_ROBIN) {
+            return readReplicaRoundRobinOrNull(key, partitionId);
+        }
+        return readLocalReplicaOrNull(key, partitionId);
+    }
+
+    /**
+     * Reads the next replica in turn among the primary and synchronous
+     * backup replicas. Returns {@code null} when it is the turn of
+     * the primary replica or when the backup replica could not serve
+     * the read, so that the primary replica is invoked by the caller.
+     */
+    private Data readReplicaRoundRobinOrNull(Data key, int partitionId) {
+        int replicaIndex = (readReplicaCounter.getAndIncrement() & Integer.MAX_VALUE) % (mapConfig.getBackupCount() + 1);
+        if (replicaIndex == 0) {
+            return null;
+        }
+        Address replicaAddress = partitionService.getPartition(partitionId, false).getReplicaAddress(replicaIndex);
+        if (replicaAddress == null) {
+            return null;
+        }
+        if (replicaAddress.equals(thisAddress)) {
+            return readLocalReplicaOrNull(key, partitionId);
+        }
+
+        MapOperation operation = operationProvider.createReadBackupDataOperation(name, key);
+        try {
+            InvocationFuture<Data> future = operationService
+                    .createInvocationBuilder(SERVICE_NAME, operation, partitionId)
+                    .setReplicaIndex(replicaIndex)
+                    .setTryCount(1)
+                    .setResultDeserialized(false)
+                    .invoke();
+            return future.joinInternal();
+        } catch (Exception e) {
+            // the replica moved, its member left or disconnected etc.,
+            // the read is idempotent and the primary replica serves it
+            ignore(e);
+            return null;
+        }
+    }
+
+    private Data readLocalReplicaOrNull(Data key, int partitionId) {
         IPartition partition = partitionService.getPartition(partitionId, false);
         if (!partition.isOwnerOrBackup(thisAddress)) {
             return null;
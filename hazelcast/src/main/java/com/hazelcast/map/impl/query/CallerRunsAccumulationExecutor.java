@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.query;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.IndexAwareAggregator;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
@@ -40,8 +41,11 @@ public class CallerRunsAccumulationExecutor implements AccumulationExecutor {
             Aggregator aggregator, Collection<QueryableEntry> entries, PartitionIdSet partitionIds) {
         Aggregator resultAggregator = serializationService.toObject(serializationService.toData(aggregator));
         try {
-            for (QueryableEntry entry : entries) {
-                resultAggregator.accumulate(entry);
+            if (!(resultAggregator instanceof IndexAwareAggregator
+                    && ((IndexAwareAggregator) resultAggregator).accumulateAll(entries))) {
+                for (QueryableEntry entry : entries) {
+                    resultAggregator.accumulate(entry);
+                }
             }
         } finally {
             resultAggregator.onAccumulationFinished();
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_POPULATION_PENDING_PARTITIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_POPULATION_POPULATED_ENTRIES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEX_POPULATION_POPULATED_PARTITIONS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * Member local progress of the population of the indexes added to a
+ * single populated map, exposed as metrics.
+ *
+ * @see com.hazelcast.map.impl.operation.PopulateIndexOperation
+ */
+public class IndexPopulationStats {
+
+    /**
+     * The number of partitions of this member with an index
+     * population in progress.
+     */
+    @Probe(name = MAP_METRIC_INDEX_POPULATION_PENDING_PARTITIONS)
+    private final Counter pendingPartitions = newMwCounter();
+
+    /**
+     * The number of partitions of this member whose index population
+     * completed in the background.
+     */
+    @Probe(name = MAP_METRIC_INDEX_POPULATION_POPULATED_PARTITIONS)
+    private final Counter populatedPartitions = newMwCounter();
+
+    /**
+     * The number of entries the partitions of this member
+     * added to the indexes being populated.
+     */
+    @Probe(name = MAP_METRIC_INDEX_POPULATION_POPULATED_ENTRIES)
+    private final Counter populatedEntries = newMwCounter();
+
+    public void onPopulationStarted() {
+        pendingPartitions.inc();
+    }
+
+    public void onPopulationCompleted() {
+        pendingPartitions.inc(-1);
+        populatedPartitions.inc();
+    }
+
+    public void onPopulationAborted() {
+        pendingPartitions.inc(-1);
+    }
+
+    public void incrementPopulatedEntries(int delta) {
+        populatedEntries.inc(delta);
+    }
+
+    public long getPendingPartitions() {
+        return pendingPartitions.get();
+    }
+
+    public long getPopulatedPartitions() {
+        return populatedPartitions.get();
+    }
+
+    public long getPopulatedEntries() {
+        return populatedEntries.get();
+    }
+}
@@ -17,6 +17,7 @@
 package com.hazelcast.map.impl.query;
 
 import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.IndexAwareAggregator;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.collection.PartitionIdSet;
@@ -56,9 +57,15 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
     @SuppressWarnings("unchecked")
     public AggregationResult execute(
             Aggregator aggregator, Collection<QueryableEntry> entries, PartitionIdSet partitionIds) {
-        Collection<Aggregator> chunkAggregators = accumulateParallel(aggregator, entries);
-
         Aggregator resultAggregator = clone(aggregator);
+        if (resultAggregator instanceof IndexAwareAggregator
+                && ((IndexAwareAggregator) resultAggregator).accumulateAll(entries)) {
+            // no need to split the entries, they are accumulated at once
+            resultAggregator.onAccumulationFinished();
+            return createResult(resultAggregator, partitionIds);
+        }
+
+        Collection<Aggregator> chunkAggregators = accumulateParallel(aggregator, entries);
         try {
             for (Aggregator chunkAggregator : chunkAggregators) {
                 resultAggregator.combine(chunkAggregator);
@@ -66,7 +73,10 @@ public class ParallelAccumulationExecutor implements AccumulationExecutor {
         } finally {
             resultAggregator.onCombinationFinished();
         }
+        return createResult(resultAggregator, partitionIds);
+    }
 
+    private AggregationResult createResult(Aggregator resultAggregator, PartitionIdSet partitionIds) {
         AggregationResult result = new AggregationResult(resultAggregator, serializationService);
         result.setPartitionIds(partitionIds);
         return result;
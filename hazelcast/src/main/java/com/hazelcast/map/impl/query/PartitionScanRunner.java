@@ -31,6 +31,7 @@ import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.StoreAdapter;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.DeserializedValueCache;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.map.impl.recordstore.RecordStoreAdapter;
 import com.hazelcast.query.Predicate;
@@ -86,6 +87,7 @@ public class PartitionScanRunner {
         RecordStore<Record> recordStore = partitionContainer.getRecordStore(mapName);
         boolean nativeMemory = recordStore.getInMemoryFormat() == InMemoryFormat.NATIVE;
         boolean useCachedValues = isUseCachedDeserializedValuesEnabled(mapContainer, partitionId);
+        DeserializedValueCache valueCache = useCachedValues ? null : recordStore.getDeserializedValueCache();
         Extractors extractors = mapServiceContext.getExtractors(mapName);
         StoreAdapter storeAdapter = new RecordStoreAdapter(recordStore);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
@@ -102,7 +104,7 @@ public class PartitionScanRunner {
                     return;
                 }
 
-                queryEntry.init(ss, key, value, extractors);
+                queryEntry.init(ss, key, getQueriedValue(value, valueCache), extractors);
                 queryEntry.setRecord(record);
                 queryEntry.setStoreAdapter(storeAdapter);
                 queryEntry.setMetadata(PartitionScanRunner.this.getMetadataFromRecord(recordStore, key, record));
@@ -123,6 +125,18 @@ public class PartitionScanRunner {
         result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
     }
 
+    /**
+     * Returns the deserialized value cached for the given value to evaluate
+     * the predicate with. The result entries keep the record value itself,
+     * the cached object may be mutated by the caller of the query.
+     */
+    private static Object getQueriedValue(Object value, DeserializedValueCache valueCache) {
+        if (valueCache != null && DeserializedValueCache.isCacheable(value)) {
+            return valueCache.toObject((Data) value);
+        }
+        return value;
+    }
+
     // overridden in ee
     protected Metadata getMetadataFromRecord(RecordStore recordStore, Data dataKey, Record record) {
         return record.getMetadata();
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.impl.IndexAwareAggregator;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -29,6 +31,7 @@ import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
+import com.hazelcast.query.impl.predicates.TruePredicate;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
@@ -131,7 +134,7 @@ public class QueryRunner {
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexes);
 
         // then we try to run using an index, but if that doesn't work, we'll try a full table scan
-        Collection<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
+        Collection<QueryableEntry> entries = runUsingGlobalIndexSafely(query, predicate, mapContainer,
                 migrationStamp, initialPartitions.size());
 
         if (entries == null && !doPartitionScan) {
@@ -183,7 +186,7 @@ public class QueryRunner {
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexes);
 
         // then we try to run using an index
-        Collection<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
+        Collection<QueryableEntry> entries = runUsingGlobalIndexSafely(query, predicate, mapContainer,
                 migrationStamp, initialPartitions.size());
 
         Result result;
@@ -241,6 +244,45 @@ public class QueryRunner {
                 initialPartitions);
     }
 
+    /**
+     * Performs the given query using indexes. Aggregations of all entries
+     * are performed by accumulating only the entries the aggregator selects
+     * from the indexes, if it's able to.
+     */
+    private Collection<QueryableEntry> runUsingGlobalIndexSafely(Query query, Predicate predicate,
+                                                                 MapContainer mapContainer,
+                                                                 int migrationStamp, int ownedPartitionCount) {
+        Aggregator aggregator = query.getAggregator();
+        if (predicate instanceof TruePredicate && aggregator instanceof IndexAwareAggregator) {
+            Collection<QueryableEntry> entries = selectUsingGlobalIndexSafely((IndexAwareAggregator) aggregator,
+                    mapContainer, migrationStamp, ownedPartitionCount);
+            if (entries != null) {
+                return entries;
+            }
+        }
+        return runUsingGlobalIndexSafely(predicate, mapContainer, migrationStamp, ownedPartitionCount);
+    }
+
+    private Collection<QueryableEntry> selectUsingGlobalIndexSafely(IndexAwareAggregator aggregator,
+                                                                    MapContainer mapContainer,
+                                                                    int migrationStamp, int ownedPartitionCount) {
+        if (!validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+
+        Indexes indexes = mapContainer.getIndexes();
+        if (indexes == null || !indexes.isGlobal()) {
+            return null;
+        }
+        Collection<QueryableEntry> entries = aggregator.selectIndexedEntries(indexes, ownedPartitionCount);
+        if (entries == null) {
+            return null;
+        }
+
+        // see runUsingGlobalIndexSafely(Predicate, ...)
+        return validateMigrationStamp(migrationStamp) ? entries : null;
+    }
+
     protected Collection<QueryableEntry> runUsingGlobalIndexSafely(Predicate predicate, MapContainer mapContainer,
                                                                    int migrationStamp, int ownedPartitionCount) {
 
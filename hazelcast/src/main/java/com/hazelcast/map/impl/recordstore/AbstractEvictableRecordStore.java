@@ -27,6 +27,7 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.event.MapEventPublisher;
 import com.hazelcast.map.impl.eviction.Evictor;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.eventservice.EventService;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
@@ -176,6 +177,49 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
         }
     }
 
+    /**
+     * Writes an evicted record to the disk tier.
+     * Expired records are dropped.
+     */
+    protected void spillToDiskTier(Data key, Record record, boolean backup) {
+        DiskTier diskTier = getDiskTier();
+        if (diskTier != null && !isExpired(record, getNow(), backup)) {
+            diskTier.spill(key, record);
+        }
+    }
+
+    /**
+     * Brings a record which was spilled to the disk tier back into memory.
+     *
+     * @return the record or {@code null} if no record was spilled for the key
+     */
+    protected Record takeFromDiskTier(Data key, boolean backup) {
+        DiskTier diskTier = getDiskTier();
+        if (diskTier == null) {
+            return null;
+        }
+        Record spilled = diskTier.take(key);
+        if (spilled == null) {
+            return null;
+        }
+        Record record = Records.copyMetadataFrom(spilled, recordFactory.newRecord(spilled.getValue()));
+        markRecordStoreExpirable(record.getTtl(), record.getMaxIdle());
+        storage.put(key, record);
+        mutationObserver.onReplicationPutRecord(key, record, !backup);
+        return record;
+    }
+
+    /**
+     * Records brought back from the disk tier by read-only operations
+     * may exceed the eviction limits, as opposed to mutating operations
+     * these operations do not run the eviction afterwards.
+     */
+    protected void evictAfterDiskTierRead(Data excludedKey) {
+        if (getDiskTier() != null) {
+            evictEntries(excludedKey);
+        }
+    }
+
     @Override
     public void sampleAndForceRemoveEntries(int entryCountToRemove) {
         Queue<Data> keysToRemove = new LinkedList<>();
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.recordstore;
 
+import com.hazelcast.config.CacheDeserializedValues;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
@@ -40,12 +41,15 @@ import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.Records;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.wan.impl.CallerProvenance;
 
 import javax.annotation.Nonnull;
 import java.util.UUID;
 
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTimes;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_DESERIALIZED_VALUE_CACHE_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_JSON_METADATA_TAPE_ENABLED;
 
 /**
  * Contains record store common parts.
@@ -65,6 +69,11 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected final SerializationService serializationService;
     protected final CompositeMutationObserver<Record> mutationObserver;
     protected final LocalRecordStoreStatsImpl stats = new LocalRecordStoreStatsImpl();
+    /**
+     * Caches the deserialized values, {@code null} when the cache is not
+     * configured or the map does not keep its values in binary format.
+     */
+    protected final DeserializedValueCache deserializedValueCache;
 
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
@@ -83,6 +92,18 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         this.mapDataStore = mapStoreContext.getMapStoreManager().getMapDataStore(name, partitionId);
         this.lockStore = createLockStore();
         this.mutationObserver = new CompositeMutationObserver<>();
+        this.deserializedValueCache = createDeserializedValueCache();
+    }
+
+    protected DeserializedValueCache createDeserializedValueCache() {
+        HazelcastProperties properties = mapServiceContext.getNodeEngine().getProperties();
+        int size = properties.getInteger(MAP_DESERIALIZED_VALUE_CACHE_SIZE);
+        if (size <= 0
+                || inMemoryFormat != InMemoryFormat.BINARY
+                || mapContainer.getMapConfig().getCacheDeserializedValues() == CacheDeserializedValues.ALWAYS) {
+            return null;
+        }
+        return new DeserializedValueCache(serializationService, size);
     }
 
     @Override
@@ -108,12 +129,19 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for deserialized value cache
+        if (deserializedValueCache != null) {
+            mutationObserver.add(new DeserializedValueCacheMutationObserver(deserializedValueCache));
+        }
     }
 
     // Overridden in EE.
     protected void addJsonMetadataMutationObserver() {
+        boolean createTape = mapServiceContext.getNodeEngine().getProperties()
+                .getBoolean(MAP_JSON_METADATA_TAPE_ENABLED);
         mutationObserver.add(new JsonMetadataMutationObserver(serializationService,
-                JsonMetadataInitializer.INSTANCE));
+                createTape ? JsonMetadataInitializer.TAPE_INSTANCE : JsonMetadataInitializer.INSTANCE));
     }
 
     public IndexingMutationObserver<Record> getIndexingObserver() {
@@ -125,6 +153,11 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         return inMemoryFormat;
     }
 
+    @Override
+    public DeserializedValueCache getDeserializedValueCache() {
+        return deserializedValueCache;
+    }
+
     @Override
     public EvictionPolicy getEvictionPolicy() {
         return getMapContainer().getMapConfig().getEvictionConfig().getEvictionPolicy();
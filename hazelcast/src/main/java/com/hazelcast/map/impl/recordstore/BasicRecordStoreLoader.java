@@ -22,6 +22,7 @@ import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapService;
 import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.mapstore.MapDataStore;
+import com.hazelcast.map.impl.mapstore.MapLoaderStats;
 import com.hazelcast.map.impl.operation.MapOperationProvider;
 import com.hazelcast.map.impl.operation.RemoveFromLoadAllOperation;
 import com.hazelcast.internal.serialization.Data;
@@ -53,6 +54,7 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     protected final MapServiceContext mapServiceContext;
     private final ILogger logger;
     private final MapDataStore mapDataStore;
+    private final MapLoaderStats mapLoaderStats;
     private final int partitionId;
 
     BasicRecordStoreLoader(RecordStore recordStore) {
@@ -61,6 +63,7 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
         this.mapServiceContext = mapContainer.getMapServiceContext();
         this.partitionId = recordStore.getPartitionId();
         this.mapDataStore = recordStore.getMapDataStore();
+        this.mapLoaderStats = mapContainer.getMapLoaderStats();
         this.logger = mapServiceContext.getNodeEngine().getLogger(getClass());
     }
 
@@ -214,6 +217,9 @@ class BasicRecordStoreLoader implements RecordStoreLoader {
     private List<Data> loadAndGet(List<Data> keys) {
         try {
             Map entries = mapDataStore.loadAll(keys);
+            if (entries != null) {
+                mapLoaderStats.incrementEntriesLoaded(entries.size());
+            }
             return getLoadingSequence(entries);
         } catch (Throwable t) {
             logger.warning("Could not load keys from map store", t);
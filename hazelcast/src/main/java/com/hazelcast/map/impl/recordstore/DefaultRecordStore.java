@@ -25,6 +25,7 @@ import com.hazelcast.internal.locksupport.LockSupportService;
 import com.hazelcast.internal.partition.IPartition;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.ExceptionUtil;
@@ -52,10 +53,12 @@ import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.wan.impl.CallerProvenance;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -72,12 +75,20 @@ import static com.hazelcast.config.NativeMemoryConfig.MemoryAllocatorType.POOLED
 import static com.hazelcast.core.EntryEventType.ADDED;
 import static com.hazelcast.core.EntryEventType.LOADED;
 import static com.hazelcast.core.EntryEventType.UPDATED;
+import static com.hazelcast.internal.nio.IOUtil.getPath;
+import static com.hazelcast.internal.nio.IOUtil.toFileName;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.MapUtil.isNullOrEmpty;
+import static com.hazelcast.internal.util.StringUtil.isNullOrEmptyAfterTrim;
 import static com.hazelcast.map.impl.ExpirationTimeSetter.setExpirationTimes;
+import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapDataStores.EMPTY_MAP_DATA_STORE;
 import static com.hazelcast.map.impl.record.Record.UNSET;
 import static com.hazelcast.spi.impl.merge.MergingValueFactory.createMergingEntry;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_PERSISTENCE_SEGMENT_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_TIERED_STORE_DIR;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_TIERED_STORE_MAX_MAPPED_SEGMENTS;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_TIERED_STORE_SEGMENT_SIZE;
 
 /**
  * Default implementation of record-store.
@@ -88,6 +99,16 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     protected final ILogger logger;
     protected final RecordStoreLoader recordStoreLoader;
     protected final MapKeyLoader keyLoader;
+    /**
+     * Keeps evicted entries on local disk, {@code null} when
+     * the disk tier is not configured or the map is not evictable.
+     */
+    protected final DiskTier diskTier;
+    /**
+     * Persists the records to local disk, {@code null} when
+     * local persistence is not enabled for the map.
+     */
+    protected final PersistentLog persistentLog;
     /**
      * A collection of futures representing pending completion of the key and
      * value loading tasks.
@@ -124,6 +145,54 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         this.recordStoreLoader = createRecordStoreLoader(mapStoreContext);
         this.partitionService = mapServiceContext.getNodeEngine().getPartitionService();
         this.interceptorRegistry = mapContainer.getInterceptorRegistry();
+        this.diskTier = createDiskTier();
+        this.persistentLog = createPersistentLog();
+    }
+
+    protected DiskTier createDiskTier() {
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        HazelcastProperties properties = nodeEngine.getProperties();
+        String baseDir = properties.getString(MAP_TIERED_STORE_DIR);
+        if (isNullOrEmptyAfterTrim(baseDir)
+                || inMemoryFormat == InMemoryFormat.NATIVE
+                || mapContainer.getEvictor() == NULL_EVICTOR) {
+            return null;
+        }
+
+        File directory = new File(getPath(baseDir, nodeEngine.getLocalMember().getUuid().toString(),
+                toFileName(name), String.valueOf(partitionId)));
+        return new DiskTier(directory, properties.getInteger(MAP_TIERED_STORE_SEGMENT_SIZE),
+                properties.getInteger(MAP_TIERED_STORE_MAX_MAPPED_SEGMENTS),
+                (InternalSerializationService) serializationService, logger);
+    }
+
+    protected PersistentLog createPersistentLog() {
+        if (!mapContainer.isLocalPersistenceEnabled()) {
+            return null;
+        }
+        HazelcastProperties properties = mapServiceContext.getNodeEngine().getProperties();
+        File directory = new File(mapContainer.getLocalPersistenceDirectory(), String.valueOf(partitionId));
+        return new PersistentLog(directory, properties.getInteger(MAP_PERSISTENCE_SEGMENT_SIZE),
+                properties.getInteger(MAP_TIERED_STORE_MAX_MAPPED_SEGMENTS),
+                (InternalSerializationService) serializationService, logger);
+    }
+
+    @Override
+    protected void addMutationObservers() {
+        super.addMutationObservers();
+        if (persistentLog != null) {
+            mutationObserver.add(new PersistentLogMutationObserver(persistentLog, diskTier != null));
+        }
+    }
+
+    @Override
+    public DiskTier getDiskTier() {
+        return diskTier;
+    }
+
+    @Override
+    public PersistentLog getPersistentLog() {
+        return persistentLog;
     }
 
     @Override
@@ -436,11 +505,24 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
 
     @Override
     public Object evict(Data key, boolean backup) {
+        discardFromDiskTier(key);
+        return evict(key, backup, false);
+    }
+
+    @Override
+    public Object evictToDiskTier(Data key, boolean backup) {
+        return evict(key, backup, true);
+    }
+
+    private Object evict(Data key, boolean backup, boolean spill) {
         Record record = storage.get(key);
         Object value = null;
         if (record != null) {
             value = record.getValue();
             mapDataStore.flush(key, value, backup);
+            if (spill) {
+                spillToDiskTier(key, record, backup);
+            }
             mutationObserver.onEvictRecord(key, record);
             storage.removeRecord(key, record);
             if (!backup) {
@@ -450,6 +532,28 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         return value;
     }
 
+    /**
+     * Drops the record of the supplied key from the disk tier, if any,
+     * so that an explicitly evicted entry is reloaded from the map store.
+     */
+    private void discardFromDiskTier(Data key) {
+        if (diskTier != null) {
+            diskTier.discard(key);
+            if (persistentLog != null) {
+                persistentLog.remove(key);
+            }
+        }
+    }
+
+    private void discardDiskTier() {
+        if (diskTier != null) {
+            if (persistentLog != null) {
+                diskTier.forEach((key, record) -> persistentLog.remove(key));
+            }
+            diskTier.clear();
+        }
+    }
+
     @Override
     public void removeBackup(Data key, CallerProvenance provenance) {
         removeBackupInternal(key, provenance, null);
@@ -562,6 +666,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }
         Object value = record == null ? null : record.getValue();
         value = mapServiceContext.interceptGet(interceptorRegistry, value);
+        evictAfterDiskTierRead(key);
 
         return value;
     }
@@ -615,6 +720,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
             Map loadedEntries = loadEntries(keys, callerAddress);
             addToMapEntrySet(loadedEntries, mapEntries);
         }
+        evictAfterDiskTierRead(null);
 
         return mapEntries;
     }
@@ -696,6 +802,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         if (contains) {
             accessRecord(record, now);
         }
+        evictAfterDiskTierRead(key);
 
         return contains;
     }
@@ -1065,7 +1172,10 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     protected Record getRecordOrNull(Data key, long now, boolean backup) {
         Record record = storage.get(key);
         if (record == null) {
-            return null;
+            record = takeFromDiskTier(key, backup);
+            if (record == null) {
+                return null;
+            }
         }
         return getOrNullIfExpired(key, record, now, backup);
     }
@@ -1233,6 +1343,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         }, true);
 
         flush(keys, records, backup);
+        discardDiskTier();
         return evictBulk(keys, records);
     }
 
@@ -1259,6 +1370,9 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         // This conversion is required by mapDataStore#removeAll call.
         mapDataStore.removeAll(keys);
         mapDataStore.reset();
+        if (diskTier != null) {
+            diskTier.clear();
+        }
         return removeBulk(keys, records);
     }
 
@@ -1274,6 +1388,9 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         storage.clear(false);
         stats.reset();
         mutationObserver.onReset();
+        if (diskTier != null) {
+            diskTier.clear();
+        }
     }
 
     @Override
@@ -1285,6 +1402,22 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
     public void clearPartition(boolean onShutdown, boolean onStorageDestroy) {
         clearLockStore();
         mapDataStore.reset();
+        if (persistentLog != null) {
+            if (onShutdown) {
+                persistentLog.close();
+            } else if (onStorageDestroy) {
+                persistentLog.destroy();
+            } else {
+                persistentLog.clear();
+            }
+        }
+        if (diskTier != null) {
+            if (onShutdown || onStorageDestroy) {
+                diskTier.destroy();
+            } else {
+                diskTier.clear();
+            }
+        }
 
         if (onShutdown) {
             if (hasPooledMemoryAllocator()) {
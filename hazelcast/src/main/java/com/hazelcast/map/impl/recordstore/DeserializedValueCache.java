@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * A bounded cache of the deserialized values of a record store which keeps
+ * its values in {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}
+ * format.
+ * <p>
+ * The cache is a direct-mapped table indexed by the identity hash of the
+ * serialized values, a lookup hits only if the slot holds the very same
+ * {@link Data} instance. Since an update of a record replaces its
+ * serialized value with a new instance, the cached values of the updated
+ * records are never returned again. They are still {@link
+ * #invalidate(Object) invalidated} by a {@link
+ * DeserializedValueCacheMutationObserver}, so the cache does not keep the
+ * removed values reachable.
+ * <p>
+ * The cached values are shared by all the readers, they must only be
+ * handed out to code which does not modify them, e.g. query predicates and
+ * read-only entry processors.
+ * <p>
+ * The cache is accessed by partition, query and offloaded entry processor
+ * threads concurrently.
+ */
+public final class DeserializedValueCache {
+
+    private final SerializationService serializationService;
+    private final AtomicReferenceArray<Entry> entries;
+    private final int mask;
+    private final MwCounter hits = newMwCounter();
+    private final MwCounter misses = newMwCounter();
+
+    /**
+     * @param capacity the maximum number of cached values, rounded up to
+     *                 the next power of two
+     */
+    public DeserializedValueCache(SerializationService serializationService, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.serializationService = serializationService;
+        this.entries = new AtomicReferenceArray<>(nextPowerOfTwo(capacity));
+        this.mask = entries.length() - 1;
+    }
+
+    /**
+     * Returns {@code true} if the given value may be deserialized through
+     * this cache. Portable, compact and JSON values are not cached since
+     * the queries read their attributes directly from the serialized form.
+     */
+    public static boolean isCacheable(Object value) {
+        if (!(value instanceof Data)) {
+            return false;
+        }
+        Data data = (Data) value;
+        return !data.isPortable() && !data.isCompact() && !data.isJson();
+    }
+
+    /**
+     * Returns the deserialized form of the given serialized value, either
+     * from the cache or by deserializing and caching it.
+     *
+     * @param data the serialized value, must be {@link #isCacheable(Object) cacheable}
+     * @return the deserialized value, shared by all the callers
+     */
+    public Object toObject(Data data) {
+        int index = System.identityHashCode(data) & mask;
+        Entry entry = entries.get(index);
+        if (entry != null && entry.data == data) {
+            hits.inc();
+            return entry.value;
+        }
+
+        misses.inc();
+        Object value = serializationService.toObject(data);
+        if (value != null) {
+            entries.lazySet(index, new Entry(data, value));
+        }
+        return value;
+    }
+
+    /**
+     * Removes the cached deserialized form of the given serialized value,
+     * if there is any.
+     */
+    public void invalidate(Object value) {
+        if (!(value instanceof Data)) {
+            return;
+        }
+        int index = System.identityHashCode(value) & mask;
+        Entry entry = entries.get(index);
+        if (entry != null && entry.data == value) {
+            entries.compareAndSet(index, entry, null);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); ++i) {
+            entries.lazySet(i, null);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    int capacity() {
+        return entries.length();
+    }
+
+    private static final class Entry {
+
+        final Data data;
+        final Object value;
+
+        Entry(Data data, Object value) {
+            this.data = data;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.collection.Int2ObjectHashMap;
+import com.hazelcast.internal.util.collection.Object2LongHashMap;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+
+/**
+ * Second storage tier of a {@link RecordStore} which keeps evicted
+ * records on local disk instead of dropping them.
+ * <p>
+ * Records are appended to memory-mapped {@link DiskTierSegment}s and
+ * located through an in-memory index from key to segment and offset.
+ * A record is removed from the tier when it is taken back into memory;
+ * segments are deleted once all their entries are dead and compacted
+ * into the active segment once their live ratio drops below {@link
+ * #COMPACTION_THRESHOLD}. Compaction runs incrementally on the owning
+ * partition thread, so the tier needs no synchronization.
+ * <p>
+ * Spilled records are not visible to sizes, iterations and queries, they
+ * are only brought back when their key is accessed, in the same way
+ * evicted entries are brought back by a {@link com.hazelcast.map.MapLoader}.
+ */
+public class DiskTier {
+
+    /**
+     * A sealed segment is compacted once less than this
+     * fraction of its written bytes belongs to live entries.
+     */
+    static final float COMPACTION_THRESHOLD = 0.5F;
+
+    private static final long NOT_SPILLED = -1L;
+    private static final int SEGMENT_ID_SHIFT = 32;
+    private static final long OFFSET_MASK = 0xFFFFFFFFL;
+
+    private final File directory;
+    private final int segmentSize;
+    private final SegmentMappings mappings;
+    private final ILogger logger;
+    private final InternalSerializationService ss;
+    private final Object2LongHashMap<Data> index = new Object2LongHashMap<>(NOT_SPILLED);
+    private final Int2ObjectHashMap<DiskTierSegment> segments = new Int2ObjectHashMap<>();
+
+    private DiskTierSegment activeSegment;
+    private int nextSegmentId;
+
+    public DiskTier(File directory, int segmentSize, int maxMappedSegments,
+                    InternalSerializationService ss, ILogger logger) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.mappings = new SegmentMappings(maxMappedSegments);
+        this.ss = ss;
+        this.logger = logger;
+    }
+
+    /**
+     * Writes the supplied record to disk, replacing
+     * any previously spilled record with the same key.
+     *
+     * @return {@code true} if the record was spilled, {@code false}
+     * if it could not be written and is lost
+     */
+    public boolean spill(Data key, Record record) {
+        Data heapKey = toHeapData(key);
+        discard(heapKey);
+        try {
+            long pointer = append(heapKey.toByteArray(), toBytes(record));
+            index.put(heapKey, pointer);
+            return true;
+        } catch (IOException e) {
+            logger.warning("Could not spill an evicted entry to " + directory, e);
+            return false;
+        }
+    }
+
+    /**
+     * Removes the record of the supplied key from this tier.
+     *
+     * @return the removed record or {@code null} if
+     * no record was spilled for the supplied key
+     */
+    public Record take(Data key) {
+        long pointer = index.removeKey(toHeapData(key));
+        if (pointer == NOT_SPILLED) {
+            return null;
+        }
+        DiskTierSegment segment = segments.get(segmentId(pointer));
+        int offset = offset(pointer);
+        Record record = toRecord(segment.readRecord(offset));
+        release(segment, offset);
+        return record;
+    }
+
+    /**
+     * Removes the record of the supplied key from this tier, if any.
+     */
+    public void discard(Data key) {
+        long pointer = index.removeKey(toHeapData(key));
+        if (pointer != NOT_SPILLED) {
+            release(segments.get(segmentId(pointer)), offset(pointer));
+        }
+    }
+
+    public boolean contains(Data key) {
+        return index.containsKey(toHeapData(key));
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Reads all spilled records without removing them from this tier.
+     */
+    public void forEach(BiConsumer<Data, Record> consumer) {
+        for (Data key : index.keySet()) {
+            long pointer = index.getValue(key);
+            DiskTierSegment segment = segments.get(segmentId(pointer));
+            consumer.accept(key, toRecord(segment.readRecord(offset(pointer))));
+        }
+    }
+
+    /**
+     * Removes all records and deletes their segment files.
+     */
+    public void clear() {
+        for (DiskTierSegment segment : segments.values()) {
+            segment.delete();
+        }
+        segments.clear();
+        index.clear();
+        activeSegment = null;
+    }
+
+    /**
+     * Removes all records and deletes the directory of this tier.
+     */
+    public void destroy() {
+        clear();
+        deleteQuietly(directory);
+    }
+
+    // only used for testing purposes
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    // only used for testing purposes
+    int getMappedSegmentCount() {
+        return mappings.getMappedSegmentCount();
+    }
+
+    private long append(byte[] key, byte[] record) throws IOException {
+        int entrySize = DiskTierSegment.entrySize(key.length, record.length);
+        if (activeSegment == null || !activeSegment.hasRoomFor(entrySize)) {
+            rollSegment(entrySize);
+        }
+        int offset = activeSegment.append(key, record);
+        return pointer(activeSegment.getId(), offset);
+    }
+
+    private void rollSegment(int minCapacity) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create directory " + directory.getAbsolutePath());
+        }
+        DiskTierSegment sealed = activeSegment;
+        int id = nextSegmentId++;
+        File file = new File(directory, "segment-" + id + ".log");
+        activeSegment = new DiskTierSegment(id, file, Math.max(segmentSize, minCapacity), mappings);
+        segments.put(id, activeSegment);
+
+        if (sealed != null) {
+            sealed.seal();
+            if (sealed.getLiveBytes() == 0) {
+                drop(sealed);
+            }
+        }
+    }
+
+    private void release(DiskTierSegment segment, int offset) {
+        segment.release(offset);
+        if (segment == activeSegment) {
+            return;
+        }
+        if (segment.getLiveBytes() == 0) {
+            drop(segment);
+        } else if (segment.getLiveBytes() < COMPACTION_THRESHOLD * segment.getWritePosition()) {
+            compact(segment);
+        }
+    }
+
+    /**
+     * Moves the live entries of the supplied
+     * segment to the active one and deletes it.
+     */
+    private void compact(DiskTierSegment segment) {
+        int movedEntries = 0;
+        int offset = 0;
+        int end = segment.getWritePosition();
+        try {
+            while (offset < end) {
+                int entrySize = segment.entrySizeAt(offset);
+                byte[] keyBytes = segment.readKey(offset);
+                Data key = new HeapData(keyBytes);
+                if (index.getValue(key) == pointer(segment.getId(), offset)) {
+                    index.put(key, append(keyBytes, segment.readRecord(offset)));
+                    segment.release(offset);
+                    movedEntries++;
+                }
+                offset += entrySize;
+            }
+        } catch (IOException e) {
+            logger.warning("Could not compact " + segment + ", " + movedEntries + " entries were moved", e);
+            return;
+        }
+        drop(segment);
+    }
+
+    private void drop(DiskTierSegment segment) {
+        segments.remove(segment.getId());
+        segment.delete();
+    }
+
+    private byte[] toBytes(Record record) throws IOException {
+        BufferObjectDataOutput out = ss.createObjectDataOutput();
+        try {
+            Records.writeRecord(out, record, ss.toData(record.getValue()));
+            return out.toByteArray();
+        } finally {
+            closeResource(out);
+        }
+    }
+
+    private Record toRecord(byte[] bytes) {
+        BufferObjectDataInput in = ss.createObjectDataInput(bytes);
+        try {
+            return Records.readRecord(in);
+        } catch (IOException e) {
+            throw new HazelcastException("Could not read a spilled entry from " + directory, e);
+        } finally {
+            closeResource(in);
+        }
+    }
+
+    static long pointer(int segmentId, int offset) {
+        return ((long) segmentId << SEGMENT_ID_SHIFT) | (offset & OFFSET_MASK);
+    }
+
+    static int segmentId(long pointer) {
+        return (int) (pointer >>> SEGMENT_ID_SHIFT);
+    }
+
+    static int offset(long pointer) {
+        return (int) (pointer & OFFSET_MASK);
+    }
+}
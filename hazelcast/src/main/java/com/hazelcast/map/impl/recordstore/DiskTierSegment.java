@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.nio.DirectBufferCleaner;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+
+/**
+ * A fixed-capacity, memory-mapped and append-only file which holds
+ * the entries spilled to a {@link DiskTier} or written to a {@link
+ * PersistentLog}.
+ * <p>
+ * Each entry is laid out as {@code [key-size][record-size][key][record]}.
+ * Entries are never modified in place: a removed entry only decreases the
+ * live byte count of its segment, its space is reclaimed by compaction.
+ * The key size of an entry is written last, so an entry which was only
+ * partially written when the process died reads as the end of the segment.
+ * <p>
+ * Once sealed, i.e. no more entries are appended, the segment may be
+ * unmapped by its {@link SegmentMappings} and is mapped again on access.
+ * <p>
+ * Not thread-safe, segments are only accessed by the partition thread
+ * owning the {@link DiskTier} or {@link PersistentLog}.
+ */
+final class DiskTierSegment {
+
+    static final int ENTRY_HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+
+    private final int id;
+    private final File file;
+    private final int capacity;
+    private final SegmentMappings mappings;
+
+    private MappedByteBuffer buffer;
+    private boolean sealed;
+    private int writePosition;
+    private int liveBytes;
+
+    DiskTierSegment(int id, File file, int capacity, SegmentMappings mappings) throws IOException {
+        this.id = id;
+        this.file = file;
+        this.capacity = capacity;
+        this.mappings = mappings;
+        this.buffer = map(file, capacity);
+    }
+
+    /**
+     * Maps an existing segment file and positions the
+     * segment after the last completely written entry.
+     * All recovered entries are initially live and
+     * the segment is sealed.
+     */
+    static DiskTierSegment open(int id, File file, SegmentMappings mappings) throws IOException {
+        DiskTierSegment segment = new DiskTierSegment(id, file, (int) file.length(), mappings);
+        segment.recover();
+        segment.seal();
+        return segment;
+    }
+
+    static int entrySize(int keySize, int recordSize) {
+        return ENTRY_HEADER_SIZE + keySize + recordSize;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    int getLiveBytes() {
+        return liveBytes;
+    }
+
+    boolean hasRoomFor(int entrySize) {
+        return capacity - writePosition >= entrySize;
+    }
+
+    /**
+     * Marks this segment as sealed, no more entries are appended to it.
+     */
+    void seal() {
+        sealed = true;
+        mappings.onAccess(this);
+    }
+
+    /**
+     * Appends an entry to the end of this segment.
+     *
+     * @return the offset of the appended entry
+     */
+    int append(byte[] key, byte[] record) {
+        int offset = writePosition;
+        MappedByteBuffer mapped = buffer();
+        ByteBuffer view = mapped.duplicate();
+        view.position(offset + ENTRY_HEADER_SIZE);
+        view.put(key);
+        view.put(record);
+
+        mapped.putInt(offset + INT_SIZE_IN_BYTES, record.length);
+        mapped.putInt(offset, key.length);
+
+        int size = entrySize(key.length, record.length);
+        writePosition += size;
+        liveBytes += size;
+        return offset;
+    }
+
+    int entrySizeAt(int offset) {
+        return entrySize(keySizeAt(offset), recordSizeAt(offset));
+    }
+
+    byte[] readKey(int offset) {
+        return read(offset + ENTRY_HEADER_SIZE, keySizeAt(offset));
+    }
+
+    byte[] readRecord(int offset) {
+        return read(offset + ENTRY_HEADER_SIZE + keySizeAt(offset), recordSizeAt(offset));
+    }
+
+    /**
+     * Returns {@code true} if the entry at the given
+     * offset has an empty record, i.e. it is a tombstone.
+     */
+    boolean isTombstoneAt(int offset) {
+        return recordSizeAt(offset) == 0;
+    }
+
+    /**
+     * Marks the entry at the given offset as dead.
+     */
+    void release(int offset) {
+        liveBytes -= entrySizeAt(offset);
+    }
+
+    /**
+     * Writes the modified content of this segment to the storage device.
+     */
+    void force() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Unmaps this segment and deletes its file.
+     */
+    void delete() {
+        close();
+        deleteQuietly(file);
+    }
+
+    /**
+     * Unmaps this segment, the file is kept.
+     */
+    void close() {
+        mappings.onUnmap(this);
+        unmap();
+    }
+
+    /**
+     * Releases the mapping of this segment without
+     * waiting for the buffer to be garbage collected.
+     */
+    void unmap() {
+        if (buffer != null) {
+            DirectBufferCleaner.clean(buffer);
+            buffer = null;
+        }
+    }
+
+    // only used for testing purposes
+    boolean isMapped() {
+        return buffer != null;
+    }
+
+    private void recover() {
+        int offset = 0;
+        while (capacity - offset >= ENTRY_HEADER_SIZE) {
+            int keySize = keySizeAt(offset);
+            int recordSize = recordSizeAt(offset);
+            if (keySize <= 0 || recordSize < 0
+                    || capacity - offset - ENTRY_HEADER_SIZE < (long) keySize + recordSize) {
+                break;
+            }
+            offset += entrySize(keySize, recordSize);
+        }
+        writePosition = offset;
+        liveBytes = offset;
+    }
+
+    private int keySizeAt(int offset) {
+        return buffer().getInt(offset);
+    }
+
+    private int recordSizeAt(int offset) {
+        return buffer().getInt(offset + INT_SIZE_IN_BYTES);
+    }
+
+    private byte[] read(int position, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer().duplicate();
+        view.position(position);
+        view.get(bytes);
+        return bytes;
+    }
+
+    private MappedByteBuffer buffer() {
+        if (buffer == null) {
+            try {
+                buffer = map(file, capacity);
+            } catch (IOException e) {
+                throw new HazelcastException("Could not map " + file, e);
+            }
+        }
+        if (sealed) {
+            mappings.onAccess(this);
+        }
+        return buffer;
+    }
+
+    private static MappedByteBuffer map(File file, int capacity) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            // the mapping stays valid after the channel is closed
+            return raf.getChannel().map(READ_WRITE, 0, capacity);
+        } finally {
+            closeResource(raf);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DiskTierSegment{"
+                + "id=" + id
+                + ", file=" + file
+                + ", writePosition=" + writePosition
+                + ", liveBytes=" + liveBytes
+                + '}';
+    }
+}
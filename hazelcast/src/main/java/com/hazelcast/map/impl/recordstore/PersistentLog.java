@@ -0,0 +1,446 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.collection.Int2ObjectHashMap;
+import com.hazelcast.internal.util.collection.Object2LongHashMap;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+import static com.hazelcast.map.impl.recordstore.DiskTier.offset;
+import static com.hazelcast.map.impl.recordstore.DiskTier.pointer;
+import static com.hazelcast.map.impl.recordstore.DiskTier.segmentId;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Append-only log which persists the records of a {@link RecordStore}
+ * on local disk, so that they can be reloaded after a restart.
+ * <p>
+ * Every put appends the new record to the active {@link DiskTierSegment}
+ * and every removal appends a tombstone, i.e. an entry with an empty
+ * record. An in-memory index points to the latest entry of each live key,
+ * all other entries are dead. On restart, the segments are replayed in
+ * the order they were created to rebuild the index.
+ * <p>
+ * Tombstones must outlive every older entry of their key, so segments are
+ * not compacted one by one as in a {@link DiskTier}. Instead, whenever a
+ * segment is sealed and less than {@link #COMPACTION_THRESHOLD} of the
+ * written bytes are live, all live entries are rewritten to new segments
+ * and all previous segments, including their tombstones, are deleted.
+ * <p>
+ * When the records are replaced as a whole, e.g. by the state of a
+ * migrated partition, the previous segments are kept until the new
+ * records are {@link #commit() committed}. A base file then records the
+ * first segment of the new records and the previous segments are deleted,
+ * so a crash in between reloads the previous records and the new ones
+ * instead of losing both.
+ * <p>
+ * Not thread-safe, the log is only accessed by the partition thread
+ * owning its record store.
+ */
+public class PersistentLog {
+
+    /**
+     * The log is compacted once less than this
+     * fraction of its written bytes belongs to live entries.
+     */
+    static final float COMPACTION_THRESHOLD = 0.5F;
+
+    private static final long NOT_PERSISTED = -1L;
+    private static final String SEGMENT_FILE_PREFIX = "segment-";
+    private static final String SEGMENT_FILE_SUFFIX = ".log";
+    private static final String BASE_FILE_NAME = "base";
+    private static final byte[] TOMBSTONE = new byte[0];
+
+    private final File directory;
+    private final int segmentSize;
+    private final SegmentMappings mappings;
+    private final ILogger logger;
+    private final InternalSerializationService ss;
+    private final Object2LongHashMap<Data> index = new Object2LongHashMap<>(NOT_PERSISTED);
+    private final Int2ObjectHashMap<DiskTierSegment> segments = new Int2ObjectHashMap<>();
+    private final List<DiskTierSegment> replacedSegments = new ArrayList<>();
+
+    private DiskTierSegment activeSegment;
+    private int nextSegmentId;
+    private int firstSegmentIdSinceReset;
+    private boolean sealedSinceCompactionCheck;
+    private boolean loading;
+
+    public PersistentLog(File directory, int segmentSize, int maxMappedSegments,
+                         InternalSerializationService ss, ILogger logger) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.mappings = new SegmentMappings(maxMappedSegments);
+        this.ss = ss;
+        this.logger = logger;
+    }
+
+    /**
+     * Appends the supplied record to the log, superseding
+     * any previously written record with the same key.
+     * Writes issued from within {@link #load} are ignored,
+     * the loaded records are already in the log.
+     */
+    public void write(Data key, Record record) {
+        if (loading) {
+            return;
+        }
+        Data heapKey = toHeapData(key);
+        try {
+            long previous = index.put(heapKey, append(heapKey.toByteArray(), toBytes(record)));
+            release(previous);
+        } catch (IOException e) {
+            logger.warning("Could not persist an entry to " + directory, e);
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Appends a tombstone for the supplied key if the
+     * log has a record for it.
+     */
+    public void remove(Data key) {
+        Data heapKey = toHeapData(key);
+        long previous = index.removeKey(heapKey);
+        if (previous == NOT_PERSISTED) {
+            return;
+        }
+        try {
+            release(append(heapKey.toByteArray(), TOMBSTONE));
+        } catch (IOException e) {
+            logger.warning("Could not persist the removal of an entry to " + directory, e);
+        }
+        release(previous);
+        compactIfNeeded();
+    }
+
+    /**
+     * Replays the segment files found in the directory of this log and
+     * passes every live record to the supplied consumer. The consumer may
+     * remove the records it does not keep.
+     */
+    public void load(BiConsumer<Data, Record> consumer) {
+        int baseSegmentId = readBaseSegmentId();
+        nextSegmentId = baseSegmentId;
+        int[] segmentIds = listSegmentIds();
+        for (int id : segmentIds) {
+            if (id < baseSegmentId) {
+                // replaced by a committed reset, the deletion did not complete
+                deleteQuietly(segmentFile(id));
+                continue;
+            }
+            try {
+                replay(DiskTierSegment.open(id, segmentFile(id), mappings));
+            } catch (IOException e) {
+                throw new HazelcastException("Could not read " + segmentFile(id), e);
+            }
+            nextSegmentId = id + 1;
+        }
+        sealedSinceCompactionCheck = !segments.isEmpty();
+        compactIfNeeded();
+
+        List<Data> keys = new ArrayList<>(index.keySet());
+        loading = true;
+        try {
+            for (Data key : keys) {
+                long pointer = index.getValue(key);
+                if (pointer != NOT_PERSISTED) {
+                    consumer.accept(key, toRecord(segments.get(segmentId(pointer)).readRecord(offset(pointer))));
+                }
+            }
+        } finally {
+            loading = false;
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Starts replacing all records of this log. The current segments
+     * are kept until the records written after this call are {@link
+     * #commit() committed}.
+     */
+    public void reset() {
+        firstSegmentIdSinceReset = nextSegmentId;
+        replacedSegments.addAll(segments.values());
+        segments.clear();
+        index.clear();
+        activeSegment = null;
+        sealedSinceCompactionCheck = false;
+    }
+
+    /**
+     * Writes the records written since the last {@link #reset()}
+     * to the storage device and deletes the segments they replace.
+     */
+    public void commit() {
+        if (replacedSegments.isEmpty()) {
+            return;
+        }
+        if (activeSegment != null) {
+            activeSegment.force();
+        }
+        try {
+            writeBaseSegmentId(firstSegmentIdSinceReset);
+        } catch (IOException e) {
+            logger.warning("Could not commit the persistent log in " + directory, e);
+            return;
+        }
+        for (DiskTierSegment segment : replacedSegments) {
+            segment.delete();
+        }
+        replacedSegments.clear();
+    }
+
+    /**
+     * Removes all records and deletes their segment files.
+     */
+    public void clear() {
+        reset();
+        for (DiskTierSegment segment : replacedSegments) {
+            segment.delete();
+        }
+        replacedSegments.clear();
+        deleteQuietly(new File(directory, BASE_FILE_NAME));
+    }
+
+    /**
+     * Removes all records and deletes the directory of this log.
+     */
+    public void destroy() {
+        clear();
+        deleteQuietly(directory);
+    }
+
+    /**
+     * Writes the active segment to the storage device, unmaps all
+     * segments and releases the in-memory state of this log. The
+     * segment files are kept to be loaded on the next start.
+     */
+    public void close() {
+        if (activeSegment != null) {
+            activeSegment.force();
+        }
+        for (DiskTierSegment segment : segments.values()) {
+            segment.close();
+        }
+        for (DiskTierSegment segment : replacedSegments) {
+            segment.close();
+        }
+        replacedSegments.clear();
+        segments.clear();
+        index.clear();
+        activeSegment = null;
+    }
+
+    // only used for testing purposes
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    private void replay(DiskTierSegment segment) {
+        segments.put(segment.getId(), segment);
+        int offset = 0;
+        int end = segment.getWritePosition();
+        while (offset < end) {
+            int entrySize = segment.entrySizeAt(offset);
+            Data key = new HeapData(segment.readKey(offset));
+            long previous;
+            if (segment.isTombstoneAt(offset)) {
+                previous = index.removeKey(key);
+                segment.release(offset);
+            } else {
+                previous = index.put(key, pointer(segment.getId(), offset));
+            }
+            if (previous != NOT_PERSISTED) {
+                segments.get(segmentId(previous)).release(offset(previous));
+            }
+            offset += entrySize;
+        }
+    }
+
+    private long append(byte[] key, byte[] record) throws IOException {
+        int entrySize = DiskTierSegment.entrySize(key.length, record.length);
+        if (activeSegment == null || !activeSegment.hasRoomFor(entrySize)) {
+            rollSegment(entrySize);
+        }
+        int offset = activeSegment.append(key, record);
+        return pointer(activeSegment.getId(), offset);
+    }
+
+    private void rollSegment(int minCapacity) throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create directory " + directory.getAbsolutePath());
+        }
+        if (activeSegment != null) {
+            activeSegment.force();
+            activeSegment.seal();
+            sealedSinceCompactionCheck = true;
+        }
+        int id = nextSegmentId++;
+        activeSegment = new DiskTierSegment(id, segmentFile(id), Math.max(segmentSize, minCapacity), mappings);
+        segments.put(id, activeSegment);
+    }
+
+    private void release(long pointer) {
+        if (pointer != NOT_PERSISTED) {
+            segments.get(segmentId(pointer)).release(offset(pointer));
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (!sealedSinceCompactionCheck) {
+            return;
+        }
+        sealedSinceCompactionCheck = false;
+
+        long liveBytes = 0;
+        long writtenBytes = 0;
+        for (DiskTierSegment segment : segments.values()) {
+            liveBytes += segment.getLiveBytes();
+            writtenBytes += segment.getWritePosition();
+        }
+        if (liveBytes < COMPACTION_THRESHOLD * writtenBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * Rewrites all live entries to new segments and deletes all previous
+     * segments once the new ones are written to the storage device. If the
+     * compaction fails, the previous segments are kept since their
+     * tombstones may still be needed.
+     */
+    private void compact() {
+        List<DiskTierSegment> previousSegments = new ArrayList<>(segments.values());
+        List<Data> keys = new ArrayList<>(index.keySet());
+        activeSegment = null;
+        try {
+            for (Data key : keys) {
+                long pointer = index.getValue(key);
+                byte[] record = segments.get(segmentId(pointer)).readRecord(offset(pointer));
+                index.put(key, append(key.toByteArray(), record));
+                release(pointer);
+            }
+        } catch (IOException e) {
+            logger.warning("Could not compact the persistent log in " + directory, e);
+            return;
+        } finally {
+            sealedSinceCompactionCheck = false;
+        }
+        // full segments were forced when they were rolled, only the active one is not
+        if (activeSegment != null) {
+            activeSegment.force();
+        }
+        for (DiskTierSegment segment : previousSegments) {
+            segments.remove(segment.getId());
+            segment.delete();
+        }
+    }
+
+    private int readBaseSegmentId() {
+        File file = new File(directory, BASE_FILE_NAME);
+        if (!file.exists()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim());
+        } catch (IOException | NumberFormatException e) {
+            throw new HazelcastException("Could not read " + file, e);
+        }
+    }
+
+    private void writeBaseSegmentId(int segmentId) throws IOException {
+        File file = new File(directory, BASE_FILE_NAME);
+        File tmpFile = new File(directory, BASE_FILE_NAME + ".tmp");
+        FileOutputStream out = new FileOutputStream(tmpFile);
+        try {
+            out.write(String.valueOf(segmentId).getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        } finally {
+            closeResource(out);
+        }
+        Files.move(tmpFile.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    private int[] listSegmentIds() {
+        String[] names = directory.list();
+        if (names == null) {
+            return new int[0];
+        }
+        int[] ids = new int[names.length];
+        int count = 0;
+        for (String name : names) {
+            if (name.startsWith(SEGMENT_FILE_PREFIX) && name.endsWith(SEGMENT_FILE_SUFFIX)) {
+                ids[count++] = Integer.parseInt(name.substring(SEGMENT_FILE_PREFIX.length(),
+                        name.length() - SEGMENT_FILE_SUFFIX.length()));
+            }
+        }
+        int[] segmentIds = Arrays.copyOf(ids, count);
+        Arrays.sort(segmentIds);
+        return segmentIds;
+    }
+
+    private File segmentFile(int id) {
+        return new File(directory, SEGMENT_FILE_PREFIX + id + SEGMENT_FILE_SUFFIX);
+    }
+
+    private byte[] toBytes(Record record) throws IOException {
+        BufferObjectDataOutput out = ss.createObjectDataOutput();
+        try {
+            Records.writeRecord(out, record, ss.toData(record.getValue()));
+            return out.toByteArray();
+        } finally {
+            closeResource(out);
+        }
+    }
+
+    private Record toRecord(byte[] bytes) {
+        BufferObjectDataInput in = ss.createObjectDataInput(bytes);
+        try {
+            return Records.readRecord(in);
+        } catch (IOException e) {
+            throw new HazelcastException("Could not read a persisted entry from " + directory, e);
+        } finally {
+            closeResource(in);
+        }
+    }
+}
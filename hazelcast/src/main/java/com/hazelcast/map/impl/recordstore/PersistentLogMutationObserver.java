@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.record.Record;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Writes record store mutations to a {@link PersistentLog}.
+ * <p>
+ * Clearing and destroying the record store are not handled here
+ * since they also happen on shutdown, when the log must be kept.
+ * The record store clears, closes or destroys the log itself.
+ * A reset only starts replacing the records of the log, the
+ * replaced records are deleted once the new ones are committed.
+ */
+public class PersistentLogMutationObserver implements MutationObserver<Record> {
+
+    private final PersistentLog persistentLog;
+    private final boolean keepEvicted;
+
+    /**
+     * @param persistentLog the log to write to
+     * @param keepEvicted   {@code true} if evicted records are still part
+     *                      of the map, i.e. they are kept by a {@link DiskTier}
+     */
+    public PersistentLogMutationObserver(PersistentLog persistentLog, boolean keepEvicted) {
+        this.persistentLog = persistentLog;
+        this.keepEvicted = keepEvicted;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        persistentLog.write(key, record);
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        persistentLog.write(key, record);
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        persistentLog.write(key, record);
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record) {
+        persistentLog.remove(key);
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record) {
+        if (!keepEvicted) {
+            persistentLog.remove(key);
+        }
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        persistentLog.write(key, record);
+    }
+
+    @Override
+    public void onReset() {
+        persistentLog.reset();
+    }
+
+    @Override
+    public void onClear() {
+        // no-op
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        // no-op
+    }
+}
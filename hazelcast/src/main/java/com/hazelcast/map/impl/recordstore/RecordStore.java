@@ -368,6 +368,17 @@ public interface RecordStore<R extends Record> {
 
     Object evict(Data key, boolean backup);
 
+    /**
+     * Evicts the entry selected by the eviction policy. Unlike
+     * {@link #evict(Data, boolean)}, which drops the entry, the
+     * entry is moved to the {@link #getDiskTier() disk tier} if any.
+     *
+     * @param key    the key to evict
+     * @param backup <code>true</code> if a backup partition, otherwise <code>false</code>.
+     * @return the evicted value
+     */
+    Object evictToDiskTier(Data key, boolean backup);
+
     /**
      * Evicts all keys except locked ones.
      *
@@ -490,6 +501,31 @@ public interface RecordStore<R extends Record> {
 
     Storage getStorage();
 
+    /**
+     * Returns the disk tier which keeps the entries evicted
+     * from this record store.
+     *
+     * @return the disk tier or {@code null} if evicted entries are dropped
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_TIERED_STORE_DIR
+     */
+    DiskTier getDiskTier();
+
+    /**
+     * Returns the log which persists the records of this record store.
+     *
+     * @return the log or {@code null} if the records are not persisted
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_PERSISTENCE_DIR
+     */
+    PersistentLog getPersistentLog();
+
+    /**
+     * Returns the cache of the deserialized values of this record store.
+     *
+     * @return the cache or {@code null} if the deserialized values are not cached
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_DESERIALIZED_VALUE_CACHE_SIZE
+     */
+    DeserializedValueCache getDeserializedValueCache();
+
     void sampleAndForceRemoveEntries(int entryCountToRemove);
 
     /**
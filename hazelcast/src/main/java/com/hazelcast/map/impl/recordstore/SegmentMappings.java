@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounds the number of sealed {@link DiskTierSegment}s of a {@link DiskTier}
+ * or a {@link PersistentLog} which are memory-mapped at the same time. When
+ * the bound is exceeded, the least recently accessed sealed segment is
+ * unmapped. It is mapped again on its next access.
+ * <p>
+ * Not thread-safe, it is only accessed by the partition
+ * thread owning the tier or the log.
+ */
+final class SegmentMappings {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private final int maxMappedSegments;
+    private final Map<DiskTierSegment, Boolean> mappedSegments;
+
+    SegmentMappings(int maxMappedSegments) {
+        this.maxMappedSegments = maxMappedSegments;
+        // in access order, the eldest entry is the least recently accessed segment
+        this.mappedSegments = new LinkedHashMap<DiskTierSegment, Boolean>(INITIAL_CAPACITY, LOAD_FACTOR, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DiskTierSegment, Boolean> eldest) {
+                if (size() <= SegmentMappings.this.maxMappedSegments) {
+                    return false;
+                }
+                eldest.getKey().unmap();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Records an access to a mapped sealed segment,
+     * which may unmap another sealed segment.
+     */
+    void onAccess(DiskTierSegment segment) {
+        mappedSegments.put(segment, Boolean.TRUE);
+    }
+
+    /**
+     * Forgets a segment which was unmapped by its owner.
+     */
+    void onUnmap(DiskTierSegment segment) {
+        mappedSegments.remove(segment);
+    }
+
+    // only used for testing purposes
+    int getMappedSegmentCount() {
+        return mappedSegments.size();
+    }
+}
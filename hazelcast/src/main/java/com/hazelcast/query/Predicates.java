@@ -19,6 +19,7 @@ package com.hazelcast.query;
 import com.hazelcast.query.impl.predicates.FalsePredicate;
 import com.hazelcast.query.impl.PredicateBuilderImpl;
 import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.AttributeComparator;
 import com.hazelcast.query.impl.predicates.BetweenPredicate;
 import com.hazelcast.query.impl.predicates.EqualPredicate;
 import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
@@ -564,6 +565,28 @@ public final class Predicates {
         return new PagingPredicateImpl<>(predicate, comparator, pageSize);
     }
 
+    /**
+     * Creates a paging predicate with an inner predicate and page size. Results will be filtered via inner predicate
+     * and will be ordered by the given attribute, entries having a {@code null} attribute value are ordered last.
+     * <p>
+     * If the attribute is indexed by a sorted index, the members look the entries of the requested page up in
+     * the index instead of filtering and sorting all the matching entries.
+     *
+     * @param predicate the inner predicate through which results will be filtered
+     * @param attribute the attribute by which results will be ordered
+     * @param pageSize  the page size
+     * @param <K>       the type of keys the predicate operates on.
+     * @param <V>       the type of values the predicate operates on.
+     * @throws IllegalArgumentException if pageSize is not greater than 0
+     * @throws IllegalArgumentException if inner predicate is also a {@link PagingPredicate}
+     * @throws NullPointerException     if attribute is {@code null}
+     * @throws IllegalArgumentException if attribute uses the {@code [any]} operator
+     */
+    public static <K, V> PagingPredicate<K, V> pagingPredicateByAttribute(Predicate<K, V> predicate, String attribute,
+                                                                          int pageSize) {
+        return new PagingPredicateImpl<>(predicate, new AttributeComparator<>(attribute), pageSize);
+    }
+
     /**
      * Creates a new partition predicate that restricts the execution of the target predicate to a single partition.
      *
@@ -42,6 +42,7 @@ import static java.util.Collections.emptySet;
 /**
  * Provides an abstract base for indexes.
  */
+@SuppressWarnings("checkstyle:methodcount")
 public abstract class AbstractIndex implements InternalIndex {
 
     /**
@@ -136,7 +137,7 @@ public abstract class AbstractIndex implements InternalIndex {
             converter = obtainConverter(entry);
         }
 
-        Object newAttributeValue = extractAttributeValue(entry.getKeyData(), entry.getTargetObject(false));
+        Object newAttributeValue = extractAttributeValue(entry);
         if (oldValue == null) {
             indexStore.insert(newAttributeValue, entry, operationStats);
             stats.onInsert(timestamp, operationStats, operationSource);
@@ -238,6 +239,43 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    @Override
+    public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+        return indexStore.getBoundaryRecords(highest);
+    }
+
+    @Override
+    public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+        long timestamp = stats.makeTimestamp();
+
+        if (converter == null) {
+            stats.onIndexHit(timestamp, 0);
+            return emptySet();
+        }
+
+        Set<QueryableEntry> result = indexStore.getLowestRecords(from == null ? null : convert(from), fromInclusive,
+                minCount);
+        stats.onIndexHit(timestamp, result == null ? 0 : result.size());
+        return result;
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateRecordCount(convert(value));
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateRecordCount(from == null ? null : convert(from), fromInclusive,
+                to == null ? null : convert(to), toInclusive);
+    }
+
     @Override
     public void clear() {
         indexStore.clear();
@@ -260,6 +298,21 @@ public abstract class AbstractIndex implements InternalIndex {
         return stats;
     }
 
+    private Object extractAttributeValue(QueryableEntry entry) {
+        if (!entry.hasCachedAttributeValues()) {
+            return extractAttributeValue(entry.getKeyData(), entry.getTargetObject(false));
+        }
+        // the values of the index components are already cached by the covering indexes
+        if (components.length == 1) {
+            return entry.getAttributeValue(components[0]);
+        }
+        Comparable[] valueComponents = new Comparable[components.length];
+        for (int i = 0; i < components.length; ++i) {
+            valueComponents[i] = toCompositeValueComponent(components[i], entry.getAttributeValue(components[i]));
+        }
+        return new CompositeValue(valueComponents);
+    }
+
     private Object extractAttributeValue(Data key, Object value) {
         if (components.length == 1) {
             return QueryableEntry.extractAttributeValue(extractors, ss, components[0], key, value, null);
@@ -269,19 +322,23 @@ public abstract class AbstractIndex implements InternalIndex {
                 String attribute = components[i];
 
                 Object extractedValue = QueryableEntry.extractAttributeValue(extractors, ss, attribute, key, value, null);
-                if (extractedValue instanceof MultiResult) {
-                    throw new IllegalStateException(
-                            "Collection/array attributes are not supported by composite indexes: " + attribute);
-                } else if (extractedValue == null || extractedValue instanceof Comparable) {
-                    valueComponents[i] = (Comparable) extractedValue;
-                } else {
-                    throw new IllegalStateException("Unsupported non-comparable value type: " + extractedValue.getClass());
-                }
+                valueComponents[i] = toCompositeValueComponent(attribute, extractedValue);
             }
             return new CompositeValue(valueComponents);
         }
     }
 
+    private static Comparable toCompositeValueComponent(String attribute, Object extractedValue) {
+        if (extractedValue instanceof MultiResult) {
+            throw new IllegalStateException(
+                    "Collection/array attributes are not supported by composite indexes: " + attribute);
+        } else if (extractedValue == null || extractedValue instanceof Comparable) {
+            return (Comparable) extractedValue;
+        } else {
+            throw new IllegalStateException("Unsupported non-comparable value type: " + extractedValue.getClass());
+        }
+    }
+
     /**
      * Note: the fact that the given value is of type Comparable doesn't mean
      * that this value is of the same type as the one that's stored in the index,
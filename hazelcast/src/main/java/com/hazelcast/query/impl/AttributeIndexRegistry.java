@@ -303,6 +303,38 @@ public class AttributeIndexRegistry {
             }
         }
 
+        @Override
+        public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+            // the boundaries of the composite values are not
+            // necessarily the boundaries of the first component
+            return null;
+        }
+
+        @Override
+        public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+            // the composite values having the same first component
+            // are not grouped into a single value
+            return null;
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable value) {
+            Comparable from = new CompositeValue(width, value, NEGATIVE_INFINITY);
+            Comparable to = new CompositeValue(width, value, POSITIVE_INFINITY);
+            return delegate.estimateRecordCount(from, false, to, false);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            Comparable compositeFrom = from == null
+                    ? new CompositeValue(width, NULL, POSITIVE_INFINITY)
+                    : new CompositeValue(width, from, fromInclusive ? NEGATIVE_INFINITY : POSITIVE_INFINITY);
+            Comparable compositeTo = to == null
+                    ? null
+                    : new CompositeValue(width, to, toInclusive ? POSITIVE_INFINITY : NEGATIVE_INFINITY);
+            return delegate.estimateRecordCount(compositeFrom, false, compositeTo, false);
+        }
+
         @Override
         public void clear() {
             throw newUnsupportedException();
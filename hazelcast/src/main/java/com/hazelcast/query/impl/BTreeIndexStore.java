@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.Collections.emptySet;
+
+/**
+ * Store indexes rankly in an {@link IndexBTree}.
+ * <p>
+ * Unlike the {@link OrderedIndexStore}, the store does not allocate a map
+ * per distinct value, the entries are kept directly in the tree leaves.
+ * All accesses are serialized by the read-write lock of the store and
+ * query results are always collected into new maps, so they are detached
+ * from the index whatever the {@link IndexCopyBehavior}.
+ */
+public class BTreeIndexStore extends BaseSingleValueIndexStore {
+
+    private final IndexBTree tree = new IndexBTree();
+    private final Map<Data, QueryableEntry> recordsWithNullValue = new HashMap<>();
+
+    public BTreeIndexStore(IndexCopyBehavior copyOn) {
+        super(copyOn, true);
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        markIndexStoreExpirableIfNecessary(record);
+        if (value == NULL) {
+            return recordsWithNullValue.put(record.getKeyData(), record);
+        } else {
+            return tree.put(value, record);
+        }
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        if (value == NULL) {
+            return recordsWithNullValue.remove(recordKey);
+        } else {
+            return tree.remove(value, recordKey);
+        }
+    }
+
+    @Override
+    void forEachValue(ObjIntConsumer<Comparable> consumer) {
+        tree.forEachValue(consumer);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // We still need to canonicalize query arguments for ordered indexes to
+        // support InPredicate queries.
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        // The tree compares values, so there is no need
+        // in providing canonical representations.
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            recordsWithNullValue.clear();
+            tree.clear();
+            histogram.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        if (value != NULL) {
+            return super.estimateRecordCount(value);
+        }
+        takeReadLock();
+        try {
+            return recordsWithNullValue.size();
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+        takeReadLock();
+        try {
+            Comparable value = highest ? tree.lastValue() : tree.firstValue();
+            if (value == null) {
+                return emptySet();
+            }
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            tree.collect(value, true, value, true, results);
+            return toResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            tree.collect(from, fromInclusive, minCount, results);
+            return toResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            collect(value, results);
+            return toResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            for (Comparable value : values) {
+                collect(value, results);
+            }
+            return toResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        takeReadLock();
+        try {
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            switch (comparison) {
+                case LESS:
+                    tree.collect(null, false, searchedValue, false, results);
+                    break;
+                case LESS_OR_EQUAL:
+                    tree.collect(null, false, searchedValue, true, results);
+                    break;
+                case GREATER:
+                    tree.collect(searchedValue, false, null, false, results);
+                    break;
+                case GREATER_OR_EQUAL:
+                    tree.collect(searchedValue, true, null, false, results);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+            }
+            return toResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            int order = Comparables.compare(from, to);
+            if (order > 0 || order == 0 && (!fromInclusive || !toInclusive)) {
+                return emptySet();
+            }
+            Map<Data, QueryableEntry> results = new HashMap<>();
+            tree.collect(from, fromInclusive, to, toInclusive, results);
+            return toResultSet(results);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private void collect(Comparable value, Map<Data, QueryableEntry> results) {
+        if (value == NULL) {
+            results.putAll(recordsWithNullValue);
+        } else {
+            tree.collect(value, true, value, true, results);
+        }
+    }
+
+    private Set<QueryableEntry> toResultSet(Map<Data, QueryableEntry> results) {
+        // the results are already detached from the index, no need to copy them again
+        return new SingleResultSet(isExpirable() ? new ExpirationAwareHashMapDelegate(results) : results);
+    }
+}
@@ -22,6 +22,9 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.impl.getters.MultiResult;
 
 import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
 
 /**
  * The base store for indexes that are unable to work with multi-value
@@ -34,6 +37,11 @@ import java.util.List;
  */
 public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
 
+    /**
+     * The distribution of the non-null values stored in this index store.
+     */
+    final ValueHistogram histogram = new ValueHistogram();
+
     /**
      * The flag is set to {@code true} when a collection is inserted into the index
      * and deduplication is needed.
@@ -74,6 +82,26 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     abstract Object removeInternal(Comparable value, Data recordKey);
 
+    /**
+     * Supplies each distinct non-null value stored in this index store
+     * together with the number of records associated with it to the given
+     * consumer. Invoked while the write lock is held, if there is one.
+     */
+    abstract void forEachValue(ObjIntConsumer<Comparable> consumer);
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        if (value == NULL) {
+            return Index.UNKNOWN_RECORD_COUNT;
+        }
+        return histogram.estimateCount(value);
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        return histogram.estimateCount(from, fromInclusive, to, toInclusive);
+    }
+
     final MultiResultSet createMultiResultSet() {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
@@ -121,11 +149,13 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             for (Object o : results) {
                 Comparable sanitizedValue = sanitizeValue(o);
                 Object oldValue = insertInternal(sanitizedValue, queryableEntry);
+                onInserted(sanitizedValue, oldValue);
                 operationStats.onEntryAdded(oldValue, newValue);
             }
         } else {
             Comparable sanitizedValue = sanitizeValue(newValue);
             Object oldValue = insertInternal(sanitizedValue, queryableEntry);
+            onInserted(sanitizedValue, oldValue);
             operationStats.onEntryAdded(oldValue, newValue);
         }
     }
@@ -140,13 +170,27 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             for (Object o : results) {
                 Comparable sanitizedValue = sanitizeValue(o);
                 Object removedValue = removeInternal(sanitizedValue, indexKey);
+                onRemoved(sanitizedValue, removedValue);
                 operationStats.onEntryRemoved(removedValue);
             }
         } else {
             Comparable sanitizedValue = sanitizeValue(oldValue);
             Object removedValue = removeInternal(sanitizedValue, indexKey);
+            onRemoved(sanitizedValue, removedValue);
             operationStats.onEntryRemoved(removedValue);
         }
     }
 
+    private void onInserted(Comparable value, Object replacedEntry) {
+        if (replacedEntry == null && value != NULL && histogram.onInsert(value)) {
+            histogram.rebuild(this::forEachValue);
+        }
+    }
+
+    private void onRemoved(Comparable value, Object removedEntry) {
+        if (removedEntry != null && value != NULL && histogram.onRemove()) {
+            histogram.rebuild(this::forEachValue);
+        }
+    }
+
 }
@@ -328,6 +328,26 @@ public final class BitmapIndexStore extends BaseIndexStore {
         throw makeUnsupportedOperationException();
     }
 
+    @Override
+    public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+        return null;
+    }
+
+    @Override
+    public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+        return null;
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        return Index.UNKNOWN_RECORD_COUNT;
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        return Index.UNKNOWN_RECORD_COUNT;
+    }
+
     @Override
     Comparable canonicalizeScalarForStorage(Comparable value) {
         // Assuming on-heap overhead of 12 bytes for the object header and
@@ -61,6 +61,7 @@ public class CachedQueryEntry<K, V> extends QueryableEntry<K, V> {
             this.valueData = null;
         }
         this.extractors = extractors;
+        clearCachedAttributeValues();
         return this;
     }
 
@@ -110,14 +111,14 @@ public class CachedQueryEntry<K, V> extends QueryableEntry<K, V> {
         Object targetObject;
         if (key) {
             // keyData is never null
-            if (keyData.isPortable() || keyData.isJson()) {
+            if (keyData.isPortable() || keyData.isJson() || keyData.isCompact()) {
                 targetObject = keyData;
             } else {
                 targetObject = getKey();
             }
         } else {
             if (valueObject == null) {
-                if (valueData.isPortable() || valueData.isJson()) {
+                if (valueData.isPortable() || valueData.isJson() || valueData.isCompact()) {
                     targetObject = valueData;
                 } else {
                     targetObject = getValue();
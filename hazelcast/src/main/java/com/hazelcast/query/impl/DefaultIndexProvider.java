@@ -26,6 +26,21 @@ import com.hazelcast.query.impl.getters.Extractors;
  * Provides on-heap indexes.
  */
 public class DefaultIndexProvider implements IndexProvider {
+
+    private final boolean sortedBTreeEnabled;
+
+    public DefaultIndexProvider() {
+        this(false);
+    }
+
+    /**
+     * @param sortedBTreeEnabled {@code true} to keep sorted indexes
+     *                           in a {@link BTreeIndexStore}
+     */
+    public DefaultIndexProvider(boolean sortedBTreeEnabled) {
+        this.sortedBTreeEnabled = sortedBTreeEnabled;
+    }
+
     @Override
     public InternalIndex createIndex(
         IndexConfig config,
@@ -35,6 +50,9 @@ public class DefaultIndexProvider implements IndexProvider {
         PerIndexStats stats,
         StoreAdapter partitionStoreAdapter
     ) {
+        if (sortedBTreeEnabled) {
+            return new BTreeIndexImpl(config, ss, extractors, copyBehavior, stats);
+        }
         return new IndexImpl(config, ss, extractors, copyBehavior, stats);
     }
 }
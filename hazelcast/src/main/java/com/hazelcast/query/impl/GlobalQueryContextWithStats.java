@@ -171,6 +171,28 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return result;
         }
 
+        @Override
+        public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+            return delegate.getBoundaryRecords(highest);
+        }
+
+        @Override
+        public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+            Set<QueryableEntry> result = delegate.getLowestRecords(from, fromInclusive, minCount);
+            hasQueries = true;
+            return result;
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable value) {
+            return delegate.estimateRecordCount(value);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            return delegate.estimateRecordCount(from, fromInclusive, to, toInclusive);
+        }
+
         @Override
         public void clear() {
             delegate.clear();
@@ -29,6 +29,12 @@ import java.util.Set;
  */
 public interface Index {
 
+    /**
+     * Returned by the record count estimations
+     * if the count can't be estimated.
+     */
+    long UNKNOWN_RECORD_COUNT = -1;
+
     /**
      * @return Index name.
      */
@@ -151,6 +157,69 @@ public interface Index {
      */
     Set<QueryableEntry> getRecords(Comparison comparison, Comparable value);
 
+    /**
+     * Produces a result set containing entries whose attribute values are
+     * equal to the lowest or the highest non-null value of this index.
+     * <p>
+     * Used by the query engine to aggregate the minimum or the maximum of
+     * the indexed attribute without visiting every entry.
+     *
+     * @param highest {@code true} to look for the highest value, {@code false}
+     *                to look for the lowest value.
+     * @return the produced result set or {@code null} if this index doesn't
+     * support the operation, e.g. it's not ordered.
+     */
+    Set<QueryableEntry> getBoundaryRecords(boolean highest);
+
+    /**
+     * Produces a result set containing entries whose attribute values are the
+     * lowest non-null values greater than the given value. The values are
+     * taken in ascending order, each with all its entries, until the result
+     * set contains at least the given number of entries.
+     * <p>
+     * Used by the query engine to seek a page of entries ordered by the
+     * indexed attribute without producing all the matching entries.
+     *
+     * @param from          the value to start from or {@code null} to start
+     *                      from the lowest value.
+     * @param fromInclusive {@code true} if the entries having the given value
+     *                      should be included, {@code false} otherwise.
+     * @param minCount      the number of entries after which no more values
+     *                      are taken.
+     * @return the produced result set or {@code null} if this index doesn't
+     * support the operation, e.g. it's not ordered.
+     */
+    Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount);
+
+    /**
+     * Estimates the number of entries {@link #getRecords(Comparable)} would
+     * return for the given value without producing the result set.
+     * <p>
+     * Used by the query engine to compare the selectivity of predicates.
+     *
+     * @param value the value to compare against.
+     * @return the estimated entry count or {@link #UNKNOWN_RECORD_COUNT}.
+     */
+    long estimateRecordCount(Comparable value);
+
+    /**
+     * Estimates the number of entries a range query on this index would
+     * return without producing the result set.
+     * <p>
+     * Used by the query engine to compare the selectivity of predicates.
+     *
+     * @param from          the beginning of the range or {@code null} if the
+     *                      range is not bounded from below.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range or {@code null} if the range
+     *                      is not bounded from above.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the estimated entry count or {@link #UNKNOWN_RECORD_COUNT}.
+     */
+    long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
     /**
      * Clears out all entries from this index.
      */
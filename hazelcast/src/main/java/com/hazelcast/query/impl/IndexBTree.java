@@ -0,0 +1,629 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * B+tree which keeps {@link QueryableEntry entries} sorted by their index
+ * value and, among equal values, by their key.
+ * <p>
+ * Leaf nodes store the entries directly in parallel arrays of values and
+ * entries and are linked to their right sibling, so range scans walk the
+ * leaves sequentially. Inner nodes store separators, i.e. the smallest
+ * value and key of each child but the first. Adjacent entries with equal
+ * values share the same value instance.
+ * <p>
+ * Not thread-safe, the owning {@link BTreeIndexStore} guards the tree
+ * with its read-write lock.
+ */
+final class IndexBTree {
+
+    /**
+     * The maximum number of entries of a leaf and
+     * the maximum number of children of an inner node.
+     */
+    static final int NODE_CAPACITY = 64;
+
+    private static final int MIN_NODE_SIZE = NODE_CAPACITY / 2;
+
+    private Node root;
+    private Leaf head;
+    private int size;
+
+    // the separator of the node created by the last split
+    private Comparable splitValue;
+    private Data splitKey;
+
+    IndexBTree() {
+        clear();
+    }
+
+    int size() {
+        return size;
+    }
+
+    // only used for testing purposes
+    int height() {
+        int height = 1;
+        for (Node node = root; node instanceof Inner; node = ((Inner) node).children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    void clear() {
+        head = new Leaf();
+        root = head;
+        size = 0;
+    }
+
+    /**
+     * Inserts the supplied entry, replacing the entry
+     * having the same value and key if there is one.
+     *
+     * @return the replaced entry or {@code null}
+     */
+    QueryableEntry put(Comparable value, QueryableEntry entry) {
+        Data key = entry.getKeyData();
+        Leaf leaf = findLeaf(value, key);
+        int index = leaf.indexOf(value, key);
+        if (index >= 0) {
+            QueryableEntry replaced = leaf.entries[index];
+            leaf.entries[index] = entry;
+            return replaced;
+        }
+
+        Node split = insert(root, value, entry);
+        if (split != null) {
+            Inner newRoot = new Inner();
+            newRoot.children[0] = root;
+            newRoot.children[1] = split;
+            newRoot.values[0] = splitValue;
+            newRoot.keys[0] = splitKey;
+            newRoot.size = 2;
+            root = newRoot;
+        }
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the entry having the supplied value and key.
+     *
+     * @return the removed entry or {@code null}
+     */
+    QueryableEntry remove(Comparable value, Data key) {
+        QueryableEntry removed = delete(root, value, key);
+        if (removed == null) {
+            return null;
+        }
+        if (root instanceof Inner && root.size == 1) {
+            root = ((Inner) root).children[0];
+        }
+        size--;
+        return removed;
+    }
+
+    /**
+     * @return the lowest value of the tree or {@code null} if it's empty
+     */
+    Comparable firstValue() {
+        return head.size == 0 ? null : head.values[0];
+    }
+
+    /**
+     * @return the highest value of the tree or {@code null} if it's empty
+     */
+    Comparable lastValue() {
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[node.size - 1];
+        }
+        Leaf leaf = (Leaf) node;
+        return leaf.size == 0 ? null : leaf.values[leaf.size - 1];
+    }
+
+    /**
+     * Supplies each distinct value of the tree in ascending order together
+     * with the number of its entries to the given consumer.
+     */
+    void forEachValue(ObjIntConsumer<Comparable> consumer) {
+        Comparable value = null;
+        int count = 0;
+        for (Leaf leaf = head; leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.size; i++) {
+                if (count > 0 && Comparables.compare(leaf.values[i], value) == 0) {
+                    count++;
+                } else {
+                    if (count > 0) {
+                        consumer.accept(value, count);
+                    }
+                    value = leaf.values[i];
+                    count = 1;
+                }
+            }
+        }
+        if (count > 0) {
+            consumer.accept(value, count);
+        }
+    }
+
+    /**
+     * Puts the entries having a value within the supplied range into the
+     * supplied map. A {@code null} bound leaves that side of the range open.
+     */
+    void collect(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                 Map<Data, QueryableEntry> results) {
+        Leaf leaf;
+        int index;
+        if (from == null) {
+            leaf = head;
+            index = 0;
+        } else {
+            leaf = findFirstLeaf(from, fromInclusive);
+            index = leaf.lowerBound(from, fromInclusive);
+        }
+
+        while (leaf != null) {
+            for (; index < leaf.size; index++) {
+                if (to != null) {
+                    int order = Comparables.compare(leaf.values[index], to);
+                    if (order > 0 || order == 0 && !toInclusive) {
+                        return;
+                    }
+                }
+                QueryableEntry entry = leaf.entries[index];
+                results.put(entry.getKeyData(), entry);
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+    }
+
+    /**
+     * Puts the entries having the lowest values greater than the supplied
+     * value into the supplied map, taking the values in ascending order
+     * until the map holds at least {@code minCount} entries. A {@code null}
+     * bound starts from the lowest value.
+     */
+    void collect(Comparable from, boolean fromInclusive, int minCount, Map<Data, QueryableEntry> results) {
+        Leaf leaf;
+        int index;
+        if (from == null) {
+            leaf = head;
+            index = 0;
+        } else {
+            leaf = findFirstLeaf(from, fromInclusive);
+            index = leaf.lowerBound(from, fromInclusive);
+        }
+
+        Comparable lastValue = null;
+        while (leaf != null) {
+            for (; index < leaf.size; index++) {
+                Comparable value = leaf.values[index];
+                if (results.size() >= minCount && (lastValue == null || Comparables.compare(value, lastValue) != 0)) {
+                    return;
+                }
+                QueryableEntry entry = leaf.entries[index];
+                results.put(entry.getKeyData(), entry);
+                lastValue = value;
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+    }
+
+    private Leaf findLeaf(Comparable value, Data key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.childIndex(value, key)];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf findFirstLeaf(Comparable value, boolean inclusive) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.lowerBound(value, inclusive)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Inserts an entry known to be absent into the subtree of the
+     * supplied node.
+     *
+     * @return the new right sibling of the node if it was split, its
+     * separator is left in {@link #splitValue} and {@link #splitKey}
+     */
+    private Node insert(Node node, Comparable value, QueryableEntry entry) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = -leaf.indexOf(value, entry.getKeyData()) - 1;
+            return leaf.insert(index, leaf.shareValue(index, value), entry);
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndex(value, entry.getKeyData());
+        Node split = insert(inner.children[childIndex], value, entry);
+        return split == null ? null : inner.insert(childIndex, splitValue, splitKey, split);
+    }
+
+    private QueryableEntry delete(Node node, Comparable value, Data key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(value, key);
+            return index < 0 ? null : leaf.delete(index);
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndex(value, key);
+        QueryableEntry removed = delete(inner.children[childIndex], value, key);
+        if (removed != null && inner.children[childIndex].size < MIN_NODE_SIZE) {
+            rebalance(inner, childIndex);
+        }
+        return removed;
+    }
+
+    /**
+     * Merges the underflown child at the supplied index with a sibling or,
+     * if they do not fit into a single node, redistributes their contents.
+     */
+    private void rebalance(Inner parent, int childIndex) {
+        int leftIndex = childIndex > 0 ? childIndex - 1 : 0;
+        Node left = parent.children[leftIndex];
+        Node right = parent.children[leftIndex + 1];
+
+        if (left instanceof Leaf) {
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            if (leftLeaf.size + rightLeaf.size <= NODE_CAPACITY) {
+                leftLeaf.merge(rightLeaf);
+                parent.delete(leftIndex);
+            } else {
+                leftLeaf.redistribute(rightLeaf);
+                parent.values[leftIndex] = rightLeaf.values[0];
+                parent.keys[leftIndex] = rightLeaf.entries[0].getKeyData();
+            }
+        } else {
+            Inner leftInner = (Inner) left;
+            Inner rightInner = (Inner) right;
+            if (leftInner.size + rightInner.size <= NODE_CAPACITY) {
+                leftInner.merge(parent.values[leftIndex], parent.keys[leftIndex], rightInner);
+                parent.delete(leftIndex);
+            } else {
+                leftInner.redistribute(parent, leftIndex, rightInner);
+            }
+        }
+    }
+
+    private static int compare(Comparable value1, Data key1, Comparable value2, Data key2) {
+        int order = Comparables.compare(value1, value2);
+        return order != 0 ? order : compareKeys(key1, key2);
+    }
+
+    private static int compareKeys(Data key1, Data key2) {
+        byte[] bytes1 = key1.toByteArray();
+        byte[] bytes2 = key2.toByteArray();
+        int length = Math.min(bytes1.length, bytes2.length);
+        for (int i = 0; i < length; i++) {
+            if (bytes1[i] != bytes2[i]) {
+                return bytes1[i] < bytes2[i] ? -1 : 1;
+            }
+        }
+        return Integer.compare(bytes1.length, bytes2.length);
+    }
+
+    private abstract static class Node {
+        int size;
+    }
+
+    private final class Leaf extends Node {
+
+        final Comparable[] values = new Comparable[NODE_CAPACITY];
+        final QueryableEntry[] entries = new QueryableEntry[NODE_CAPACITY];
+        Leaf next;
+
+        /**
+         * @return the index of the entry having the supplied value and key
+         * or {@code -(insertion point) - 1} if there is none
+         */
+        int indexOf(Comparable value, Data key) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = compare(values[mid], entries[mid].getKeyData(), value, key);
+                if (order < 0) {
+                    low = mid + 1;
+                } else if (order > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * @return the index of the first entry having a value greater than
+         * or, if inclusive, equal to the supplied value
+         */
+        int lowerBound(Comparable value, boolean inclusive) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int order = Comparables.compare(values[mid], value);
+                if (order < 0 || order == 0 && !inclusive) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        Comparable shareValue(int index, Comparable value) {
+            if (index > 0 && Comparables.compare(values[index - 1], value) == 0) {
+                return values[index - 1];
+            }
+            if (index < size && Comparables.compare(values[index], value) == 0) {
+                return values[index];
+            }
+            return value;
+        }
+
+        Leaf insert(int index, Comparable value, QueryableEntry entry) {
+            if (size < NODE_CAPACITY) {
+                insertAt(index, value, entry);
+                return null;
+            }
+
+            Leaf right = new Leaf();
+            int leftSize = (NODE_CAPACITY + 1) / 2;
+            if (index < leftSize) {
+                moveTo(right, leftSize - 1);
+                insertAt(index, value, entry);
+            } else {
+                moveTo(right, leftSize);
+                right.insertAt(index - leftSize, value, entry);
+            }
+            right.next = next;
+            next = right;
+            splitValue = right.values[0];
+            splitKey = right.entries[0].getKeyData();
+            return right;
+        }
+
+        QueryableEntry delete(int index) {
+            QueryableEntry removed = entries[index];
+            int moved = size - index - 1;
+            System.arraycopy(values, index + 1, values, index, moved);
+            System.arraycopy(entries, index + 1, entries, index, moved);
+            size--;
+            values[size] = null;
+            entries[size] = null;
+            return removed;
+        }
+
+        void merge(Leaf right) {
+            System.arraycopy(right.values, 0, values, size, right.size);
+            System.arraycopy(right.entries, 0, entries, size, right.size);
+            size += right.size;
+            next = right.next;
+        }
+
+        void redistribute(Leaf right) {
+            int total = size + right.size;
+            int leftSize = total / 2;
+            if (size > leftSize) {
+                int moved = size - leftSize;
+                System.arraycopy(right.values, 0, right.values, moved, right.size);
+                System.arraycopy(right.entries, 0, right.entries, moved, right.size);
+                System.arraycopy(values, leftSize, right.values, 0, moved);
+                System.arraycopy(entries, leftSize, right.entries, 0, moved);
+                clearFrom(leftSize);
+            } else {
+                int moved = leftSize - size;
+                System.arraycopy(right.values, 0, values, size, moved);
+                System.arraycopy(right.entries, 0, entries, size, moved);
+                System.arraycopy(right.values, moved, right.values, 0, right.size - moved);
+                System.arraycopy(right.entries, moved, right.entries, 0, right.size - moved);
+                right.clearFrom(right.size - moved);
+                size = leftSize;
+            }
+            right.size = total - leftSize;
+        }
+
+        private void insertAt(int index, Comparable value, QueryableEntry entry) {
+            System.arraycopy(values, index, values, index + 1, size - index);
+            System.arraycopy(entries, index, entries, index + 1, size - index);
+            values[index] = value;
+            entries[index] = entry;
+            size++;
+        }
+
+        private void moveTo(Leaf right, int from) {
+            right.size = size - from;
+            System.arraycopy(values, from, right.values, 0, right.size);
+            System.arraycopy(entries, from, right.entries, 0, right.size);
+            clearFrom(from);
+        }
+
+        private void clearFrom(int from) {
+            for (int i = from; i < size; i++) {
+                values[i] = null;
+                entries[i] = null;
+            }
+            size = from;
+        }
+    }
+
+    private final class Inner extends Node {
+
+        // separator i is the smallest value and key of child i + 1
+        final Comparable[] values = new Comparable[NODE_CAPACITY];
+        final Data[] keys = new Data[NODE_CAPACITY];
+        final Node[] children = new Node[NODE_CAPACITY + 1];
+
+        /**
+         * @return the index of the child whose range
+         * covers the supplied value and key
+         */
+        int childIndex(Comparable value, Data key) {
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(values[mid], keys[mid], value, key) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return the index of the leftmost child which may contain entries
+         * having a value greater than or, if inclusive, equal to the supplied
+         * value
+         */
+        int lowerBound(Comparable value, boolean inclusive) {
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int order = Comparables.compare(values[mid], value);
+                if (order < 0 || order == 0 && !inclusive) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Inserts the supplied child to the right of the child at the
+         * supplied index, splitting this node if it is full.
+         */
+        Inner insert(int index, Comparable value, Data key, Node child) {
+            insertAt(index, value, key, child);
+            if (size <= NODE_CAPACITY) {
+                return null;
+            }
+
+            Inner right = new Inner();
+            int leftSize = size / 2;
+            right.size = size - leftSize;
+            System.arraycopy(children, leftSize, right.children, 0, right.size);
+            System.arraycopy(values, leftSize, right.values, 0, right.size - 1);
+            System.arraycopy(keys, leftSize, right.keys, 0, right.size - 1);
+            splitValue = values[leftSize - 1];
+            splitKey = keys[leftSize - 1];
+            clearFrom(leftSize);
+            return right;
+        }
+
+        /**
+         * Removes the child to the right of the
+         * separator at the supplied index.
+         */
+        void delete(int index) {
+            int moved = size - index - 2;
+            System.arraycopy(values, index + 1, values, index, moved);
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(children, index + 2, children, index + 1, moved);
+            size--;
+            values[size - 1] = null;
+            keys[size - 1] = null;
+            children[size] = null;
+        }
+
+        void merge(Comparable value, Data key, Inner right) {
+            values[size - 1] = value;
+            keys[size - 1] = key;
+            System.arraycopy(right.values, 0, values, size, right.size - 1);
+            System.arraycopy(right.keys, 0, keys, size, right.size - 1);
+            System.arraycopy(right.children, 0, children, size, right.size);
+            size += right.size;
+        }
+
+        void redistribute(Inner parent, int separatorIndex, Inner right) {
+            int total = size + right.size;
+            int leftSize = total / 2;
+            if (size > leftSize) {
+                int moved = size - leftSize;
+                System.arraycopy(right.values, 0, right.values, moved, right.size - 1);
+                System.arraycopy(right.keys, 0, right.keys, moved, right.size - 1);
+                System.arraycopy(right.children, 0, right.children, moved, right.size);
+                right.values[moved - 1] = parent.values[separatorIndex];
+                right.keys[moved - 1] = parent.keys[separatorIndex];
+                System.arraycopy(values, leftSize, right.values, 0, moved - 1);
+                System.arraycopy(keys, leftSize, right.keys, 0, moved - 1);
+                System.arraycopy(children, leftSize, right.children, 0, moved);
+                parent.values[separatorIndex] = values[leftSize - 1];
+                parent.keys[separatorIndex] = keys[leftSize - 1];
+                clearFrom(leftSize);
+                right.size += moved;
+            } else {
+                int moved = leftSize - size;
+                values[size - 1] = parent.values[separatorIndex];
+                keys[size - 1] = parent.keys[separatorIndex];
+                System.arraycopy(right.values, 0, values, size, moved - 1);
+                System.arraycopy(right.keys, 0, keys, size, moved - 1);
+                System.arraycopy(right.children, 0, children, size, moved);
+                parent.values[separatorIndex] = right.values[moved - 1];
+                parent.keys[separatorIndex] = right.keys[moved - 1];
+                int remaining = right.size - moved;
+                System.arraycopy(right.values, moved, right.values, 0, remaining - 1);
+                System.arraycopy(right.keys, moved, right.keys, 0, remaining - 1);
+                System.arraycopy(right.children, moved, right.children, 0, remaining);
+                right.clearFrom(remaining);
+                size = leftSize;
+            }
+        }
+
+        private void insertAt(int index, Comparable value, Data key, Node child) {
+            int moved = size - index - 1;
+            System.arraycopy(values, index, values, index + 1, moved);
+            System.arraycopy(keys, index, keys, index + 1, moved);
+            System.arraycopy(children, index + 1, children, index + 2, moved);
+            values[index] = value;
+            keys[index] = key;
+            children[index + 1] = child;
+            size++;
+        }
+
+        private void clearFrom(int from) {
+            for (int i = from; i < size; i++) {
+                children[i] = null;
+                values[i - 1] = null;
+                keys[i - 1] = null;
+            }
+            size = from;
+        }
+    }
+}
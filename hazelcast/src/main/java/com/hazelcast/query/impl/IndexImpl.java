@@ -52,6 +52,8 @@ public class IndexImpl extends AbstractIndex {
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
                 return new BitmapIndexStore(config, ss, extractors);
+            case NGRAM:
+                return new NgramIndexStore();
             default:
                 throw new IllegalArgumentException("unexpected index type: " + config.getType());
         }
@@ -170,4 +170,61 @@ public interface IndexStore {
      */
     Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
 
+    /**
+     * Estimates the number of entries having indexed attribute value equal
+     * to the given value.
+     *
+     * @param value the value to estimate the entry count for.
+     * @return the estimated entry count or {@link Index#UNKNOWN_RECORD_COUNT}.
+     * @see Index#estimateRecordCount(Comparable)
+     */
+    long estimateRecordCount(Comparable value);
+
+    /**
+     * Obtains entries that have indexed attribute value equal to the lowest
+     * or the highest non-null value stored in this index store.
+     *
+     * @param highest {@code true} to obtain the entries having the highest
+     *                value, {@code false} for the lowest value.
+     * @return the obtained entries or {@code null} if this index store is not
+     * ordered.
+     * @see Index#getBoundaryRecords(boolean)
+     */
+    Set<QueryableEntry> getBoundaryRecords(boolean highest);
+
+    /**
+     * Obtains entries that have indexed attribute value equal to one of the
+     * lowest non-null values greater than the given value, taking the values
+     * in ascending order until at least the given number of entries is
+     * obtained.
+     *
+     * @param from          the value to start from or {@code null} to start
+     *                      from the lowest value.
+     * @param fromInclusive {@code true} if the entries having the given value
+     *                      should be included, {@code false} otherwise.
+     * @param minCount      the number of entries after which no more values
+     *                      are taken.
+     * @return the obtained entries or {@code null} if this index store is not
+     * ordered.
+     * @see Index#getLowestRecords(Comparable, boolean, int)
+     */
+    Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount);
+
+    /**
+     * Estimates the number of entries having indexed attribute value belonging
+     * to the given range.
+     *
+     * @param from          the beginning of the range or {@code null} if the
+     *                      range is not bounded from below.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range or {@code null} if the range
+     *                      is not bounded from above.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the estimated entry count or {@link Index#UNKNOWN_RECORD_COUNT}.
+     * @see Index#estimateRecordCount(Comparable, boolean, Comparable, boolean)
+     */
+    long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive);
+
 }
@@ -57,7 +57,7 @@ public final class IndexUtils {
      * @return Normalized index config.
      * @throws IllegalArgumentException If index configuration is invalid.
      */
-    @SuppressWarnings("checkstyle:npathcomplexity")
+    @SuppressWarnings({"checkstyle:npathcomplexity", "checkstyle:cyclomaticcomplexity"})
     public static IndexConfig validateAndNormalize(String mapName, IndexConfig config) {
         assert config != null;
 
@@ -77,6 +77,10 @@ public final class IndexUtils {
             throw new IllegalArgumentException("Composite bitmap indexes are not supported: " + config);
         }
 
+        if (config.getType() == IndexType.NGRAM && originalAttributeNames.size() > 1) {
+            throw new IllegalArgumentException("Composite n-gram indexes are not supported: " + config);
+        }
+
         List<String> normalizedAttributeNames = new ArrayList<>(originalAttributeNames.size());
 
         for (String originalAttributeName : originalAttributeNames) {
@@ -348,6 +352,8 @@ public final class IndexUtils {
             return IndexType.HASH;
         } else if (typeStr.equals(IndexType.BITMAP.name().toLowerCase())) {
             return IndexType.BITMAP;
+        } else if (typeStr.equals(IndexType.NGRAM.name().toLowerCase())) {
+            return IndexType.NGRAM;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -378,6 +384,8 @@ public final class IndexUtils {
             type = IndexType.HASH;
         } else if (typeStr.equals(IndexType.BITMAP.name().toLowerCase())) {
             type = IndexType.BITMAP;
+        } else if (typeStr.equals(IndexType.NGRAM.name().toLowerCase())) {
+            type = IndexType.NGRAM;
         } else {
             throw new IllegalArgumentException("Unsupported index type: " + typeStr);
         }
@@ -423,6 +431,9 @@ public final class IndexUtils {
             case BITMAP:
                 return "bitmap";
 
+            case NGRAM:
+                return "ngram";
+
             default:
                 throw new IllegalArgumentException("Unsupported index type: " + type);
         }
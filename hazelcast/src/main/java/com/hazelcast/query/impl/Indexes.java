@@ -35,6 +35,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -55,9 +56,11 @@ public class Indexes {
      */
     public static final int SKIP_PARTITIONS_COUNT_CHECK = -1;
     private static final InternalIndex[] EMPTY_INDEXES = {};
+    private static final String[] EMPTY_ATTRIBUTES = {};
 
     private final boolean global;
     private final boolean usesCachedQueryableEntries;
+    private final boolean covering;
     private final IndexesStats stats;
     private final Extractors extractors;
     private final IndexProvider indexProvider;
@@ -73,11 +76,13 @@ public class Indexes {
 
     private volatile InternalIndex[] indexes = EMPTY_INDEXES;
     private volatile InternalIndex[] compositeIndexes = EMPTY_INDEXES;
+    private volatile String[] coveredAttributes = EMPTY_ATTRIBUTES;
 
     private Indexes(InternalSerializationService serializationService, IndexCopyBehavior indexCopyBehavior, Extractors extractors,
                     IndexProvider indexProvider, boolean usesCachedQueryableEntries, boolean statisticsEnabled, boolean global,
-                    InMemoryFormat inMemoryFormat) {
+                    boolean covering, InMemoryFormat inMemoryFormat) {
         this.global = global;
+        this.covering = covering;
         this.indexCopyBehavior = indexCopyBehavior;
         this.serializationService = serializationService;
         this.usesCachedQueryableEntries = usesCachedQueryableEntries;
@@ -157,6 +162,9 @@ public class Indexes {
             newCompositeIndexes[oldCompositeIndexes.length] = index;
             compositeIndexes = newCompositeIndexes;
         }
+        if (covering) {
+            coveredAttributes = collectCoveredAttributes(indexes);
+        }
         return index;
     }
 
@@ -219,6 +227,7 @@ public class Indexes {
 
         indexes = EMPTY_INDEXES;
         compositeIndexes = EMPTY_INDEXES;
+        coveredAttributes = EMPTY_ATTRIBUTES;
         indexesByName.clear();
         attributeIndexRegistry.clear();
         evaluateOnlyAttributeIndexRegistry.clear();
@@ -271,12 +280,26 @@ public class Indexes {
      * @param operationSource the operation source.
      */
     public void putEntry(QueryableEntry queryableEntry, Object oldValue, Index.OperationSource operationSource) {
+        String[] coveredAttributes = this.coveredAttributes;
+        if (coveredAttributes.length > 0) {
+            queryableEntry.cacheAttributeValues(coveredAttributes);
+        }
         InternalIndex[] indexes = getIndexes();
         for (InternalIndex index : indexes) {
             index.putEntry(queryableEntry, oldValue, operationSource);
         }
     }
 
+    /**
+     * @return {@code true} if the entries of this indexes instance cache the
+     * values of the indexed attributes, so that the entries returned by index
+     * queries cover their projections and aggregations.
+     * @see QueryableEntry#cacheAttributeValues
+     */
+    public boolean isCovering() {
+        return covering;
+    }
+
     /**
      * Removes the entry from this indexes instance identified by the given key
      * and value.
@@ -454,6 +477,14 @@ public class Indexes {
         }
     }
 
+    private static String[] collectCoveredAttributes(InternalIndex[] indexes) {
+        Set<String> attributes = new LinkedHashSet<>();
+        for (InternalIndex index : indexes) {
+            attributes.addAll(Arrays.asList(index.getComponents()));
+        }
+        return attributes.toArray(EMPTY_ATTRIBUTES);
+    }
+
     /**
      * Builder which is used to create a new Indexes object.
      */
@@ -465,6 +496,7 @@ public class Indexes {
         private boolean global = true;
         private boolean statsEnabled;
         private boolean usesCachedQueryableEntries;
+        private boolean covering;
         private Extractors extractors;
         private IndexProvider indexProvider;
         private InMemoryFormat inMemoryFormat;
@@ -524,12 +556,23 @@ public class Indexes {
             return this;
         }
 
+        /**
+         * @param covering set {@code true} if the indexed entries should cache
+         *                 the values of the indexed attributes, otherwise set
+         *                 {@code false}. Default value is false.
+         * @return this builder instance
+         */
+        public Builder covering(boolean covering) {
+            this.covering = covering;
+            return this;
+        }
+
         /**
          * @return a new instance of Indexes
          */
         public Indexes build() {
             return new Indexes(serializationService, indexCopyBehavior, extractors, indexProvider, usesCachedQueryableEntries,
-                    statsEnabled, global, inMemoryFormat);
+                    statsEnabled, global, covering, inMemoryFormat);
         }
 
     }
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.collection.Object2LongHashMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.bitmap.NgramBitmap;
+import com.hazelcast.query.impl.predicates.ILikePredicate;
+import com.hazelcast.query.impl.predicates.LikePredicate;
+import com.hazelcast.query.impl.predicates.RegexPredicate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * The store of n-gram indexes.
+ * <p>
+ * Internally, manages a {@link NgramBitmap} instance along with a key
+ * remapping structure used to establish the correspondence between long
+ * bitmap keys and the entry keys. The predicates are evaluated by looking
+ * up the substrings their matching values must contain in the bitmap, then
+ * by applying the predicates to the candidate entries.
+ */
+public final class NgramIndexStore extends BaseIndexStore {
+
+    private static final long NO_KEY = -1;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.75F;
+
+    private static final Set<Class<? extends Predicate>> EVALUABLE_PREDICATES = new HashSet<>();
+
+    static {
+        EVALUABLE_PREDICATES.add(LikePredicate.class);
+        EVALUABLE_PREDICATES.add(ILikePredicate.class);
+        EVALUABLE_PREDICATES.add(RegexPredicate.class);
+    }
+
+    private final NgramBitmap<QueryableEntry> bitmap = new NgramBitmap<>();
+    // maps entry keys to long bitmap keys
+    private final Object2LongHashMap<Data> internalKeys = new Object2LongHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, NO_KEY);
+    private long internalKeyCounter;
+
+    public NgramIndexStore() {
+        super(IndexCopyBehavior.NEVER, true);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        return value;
+    }
+
+    @Override
+    Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void insert(Object value, QueryableEntry entry, IndexOperationStats operationStats) {
+        takeWriteLock();
+        try {
+            markIndexStoreExpirableIfNecessary(entry);
+
+            Data key = entry.getKeyData();
+            long internalKey = internalKeys.getValue(key);
+            if (internalKey == NO_KEY) {
+                internalKey = internalKeyCounter++;
+                internalKeys.put(key, internalKey);
+            }
+            bitmap.insert(value, internalKey, entry);
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void update(Object oldValue, Object newValue, QueryableEntry entry, IndexOperationStats operationStats) {
+        // the bitmap keeps the indexed values, so the old value is not needed
+        insert(newValue, entry, operationStats);
+    }
+
+    @Override
+    public void remove(Object value, Data entryKey, Object entryValue, IndexOperationStats operationStats) {
+        takeWriteLock();
+        try {
+            long internalKey = internalKeys.removeKey(entryKey);
+            if (internalKey != NO_KEY) {
+                bitmap.remove(internalKey);
+            }
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            bitmap.clear();
+            internalKeys.clear();
+            internalKeyCounter = 0;
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return EVALUABLE_PREDICATES.contains(predicateClass);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        List<String> substrings = requiredSubstrings(predicate);
+
+        List<QueryableEntry> candidates = new ArrayList<>();
+        takeReadLock();
+        try {
+            Iterator<QueryableEntry> iterator = bitmap.evaluate(substrings);
+            while (iterator.hasNext()) {
+                candidates.add(iterator.next());
+            }
+        } finally {
+            releaseReadLock();
+        }
+
+        Map<Data, QueryableEntry> results = new HashMap<>();
+        for (QueryableEntry candidate : candidates) {
+            if (predicate.apply(candidate)) {
+                results.put(candidate.getKeyData(), candidate);
+            }
+        }
+        return toSingleResultSet(isExpirable() && !results.isEmpty() ? new ExpirationAwareHashMapDelegate(results) : results);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable value) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        throw makeUnsupportedOperationException();
+    }
+
+    @Override
+    public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+        return null;
+    }
+
+    @Override
+    public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+        return null;
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        return Index.UNKNOWN_RECORD_COUNT;
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        return Index.UNKNOWN_RECORD_COUNT;
+    }
+
+    /**
+     * Returns the substrings the values matching the given predicate must
+     * contain. The returned substrings are not exhaustive, an empty list is
+     * returned if nothing is known about the matching values.
+     */
+    static List<String> requiredSubstrings(Predicate predicate) {
+        if (predicate instanceof LikePredicate) {
+            String expression = ((LikePredicate) predicate).getExpression();
+            return expression == null ? emptyList() : likeSubstrings(expression);
+        }
+
+        if (predicate instanceof RegexPredicate) {
+            String regex = ((RegexPredicate) predicate).getRegex();
+            return regex == null ? emptyList() : regexSubstrings(regex);
+        }
+
+        throw new IllegalArgumentException("unexpected predicate: " + predicate);
+    }
+
+    /**
+     * Splits the given {@code LIKE} expression into its literal parts, using
+     * the same escaping rules as {@link LikePredicate}.
+     */
+    static List<String> likeSubstrings(String expression) {
+        List<String> substrings = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < expression.length(); ++i) {
+            char c = expression.charAt(i);
+            if (c == '\\' && i + 1 < expression.length() && isLikeWildcard(expression.charAt(i + 1))) {
+                current.append(expression.charAt(++i));
+            } else if (isLikeWildcard(c)) {
+                flush(current, substrings);
+            } else {
+                current.append(c);
+            }
+        }
+        flush(current, substrings);
+        return substrings;
+    }
+
+    /**
+     * Collects the literal character runs every string fully matching the
+     * given regular expression must contain.
+     * <p>
+     * Only the top level of the expression is inspected: groups, character
+     * classes and quantified characters interrupt the runs. Expressions using
+     * top level alternations, embedded flags, quoting or escapes with
+     * arguments are not inspected at all.
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+    static List<String> regexSubstrings(String regex) {
+        List<String> substrings = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int depth = 0;
+        for (int i = 0; i < regex.length(); ++i) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == regex.length() || hasArguments(regex.charAt(i + 1))) {
+                    return emptyList();
+                }
+                c = regex.charAt(++i);
+                if (Character.isLetter(c)) {
+                    // a predefined class, a boundary or a control character
+                    flush(current, substrings);
+                    continue;
+                }
+            } else if (c == '[') {
+                i = skipCharacterClass(regex, i);
+                if (i < 0) {
+                    return emptyList();
+                }
+                flush(current, substrings);
+                continue;
+            } else if (c == '(') {
+                if (i + 1 < regex.length() && regex.charAt(i + 1) == '?') {
+                    return emptyList();
+                }
+                ++depth;
+                flush(current, substrings);
+                continue;
+            } else if (c == ')') {
+                --depth;
+                continue;
+            } else if (c == '|') {
+                if (depth == 0) {
+                    return emptyList();
+                }
+                continue;
+            } else if (c == '{') {
+                i = regex.indexOf('}', i);
+                if (i < 0) {
+                    return emptyList();
+                }
+                flush(current, substrings);
+                continue;
+            } else if (".^$*?+".indexOf(c) >= 0 || Character.isSurrogate(c)) {
+                flush(current, substrings);
+                continue;
+            }
+
+            if (depth == 0) {
+                appendLiteral(c, i + 1 < regex.length() ? regex.charAt(i + 1) : 0, current, substrings);
+            }
+        }
+        flush(current, substrings);
+        return substrings;
+    }
+
+    private static void appendLiteral(char c, char next, StringBuilder current, List<String> substrings) {
+        if (next == '*' || next == '?' || next == '{') {
+            // the character is optional
+            flush(current, substrings);
+        } else if (next == '+') {
+            current.append(c);
+            flush(current, substrings);
+        } else {
+            current.append(c);
+        }
+    }
+
+    private static boolean isLikeWildcard(char c) {
+        return c == '%' || c == '_';
+    }
+
+    private static boolean hasArguments(char escaped) {
+        return Character.isDigit(escaped) || "xucpPNkQE".indexOf(escaped) >= 0;
+    }
+
+    private static int skipCharacterClass(String regex, int start) {
+        int depth = 0;
+        int i = start;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            if (c == '[') {
+                ++depth;
+                ++i;
+                if (i < regex.length() && regex.charAt(i) == '^') {
+                    ++i;
+                }
+                if (i < regex.length() && regex.charAt(i) == ']') {
+                    ++i;
+                }
+                continue;
+            }
+            if (c == ']' && --depth == 0) {
+                return i;
+            }
+            ++i;
+        }
+        return -1;
+    }
+
+    private static void flush(StringBuilder current, List<String> substrings) {
+        if (current.length() >= NgramBitmap.GRAM_LENGTH) {
+            substrings.add(current.toString());
+        }
+        current.setLength(0);
+    }
+
+    private static UnsupportedOperationException makeUnsupportedOperationException() {
+        return new UnsupportedOperationException("n-gram indexes support only direct predicate evaluation");
+    }
+
+}
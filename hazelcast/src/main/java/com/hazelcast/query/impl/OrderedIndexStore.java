@@ -27,6 +27,7 @@ import java.util.Set;
 import java.util.SortedMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.ObjIntConsumer;
 
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 import static java.util.Collections.emptySet;
@@ -69,6 +70,11 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         return removeFunctor.invoke(value, recordKey);
     }
 
+    @Override
+    void forEachValue(ObjIntConsumer<Comparable> consumer) {
+        recordMap.forEach((value, records) -> consumer.accept(value, records.size()));
+    }
+
     @Override
     public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
         // We still need to canonicalize query arguments for ordered indexes to
@@ -90,6 +96,7 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            histogram.clear();
         } finally {
             releaseWriteLock();
         }
@@ -110,6 +117,44 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        Map<Data, QueryableEntry> records = value == NULL ? recordsWithNullValue : recordMap.get(value);
+        return records == null ? 0 : records.size();
+    }
+
+    @Override
+    public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+        takeReadLock();
+        try {
+            Map.Entry<Comparable, Map<Data, QueryableEntry>> boundary = highest ? recordMap.lastEntry() : recordMap.firstEntry();
+            return toSingleResultSet(boundary == null ? null : boundary.getValue());
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            SortedMap<Comparable, Map<Data, QueryableEntry>> subMap =
+                    from == null ? recordMap : recordMap.tailMap(from, fromInclusive);
+            int count = 0;
+            for (Map<Data, QueryableEntry> records : subMap.values()) {
+                if (count >= minCount) {
+                    break;
+                }
+                copyToMultiResultSet(results, records);
+                count += records.size();
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
     @Override
     public Set<QueryableEntry> getRecords(Comparable value) {
         takeReadLock();
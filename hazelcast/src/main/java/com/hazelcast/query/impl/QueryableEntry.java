@@ -50,6 +50,10 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     private StoreAdapter storeAdapter;
     private Record record;
 
+    // attribute values extracted once for covering indexes, see cacheAttributeValues
+    private String[] cachedAttributeNames;
+    private Object[] cachedAttributeValues;
+
     // overridden in some subclasses
     public Metadata getMetadata() {
         // record is not set in plenty of internal unit tests
@@ -77,9 +81,50 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     @Override
     public Object getAttributeValue(String attributeName) throws QueryException {
+        String[] names = cachedAttributeNames;
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(attributeName)) {
+                    return cachedAttributeValues[i];
+                }
+            }
+        }
         return extractAttributeValue(attributeName);
     }
 
+    /**
+     * Extracts the values of the supplied attributes and keeps them in this
+     * entry, so that queries, projections and aggregations reading them from
+     * an indexed entry do not have to access its value again.
+     * <p>
+     * Must be invoked before the entry is published to other threads, e.g.
+     * before it is inserted into an index.
+     *
+     * @param attributeNames the names of the attributes to cache
+     */
+    public void cacheAttributeValues(String[] attributeNames) {
+        Object[] values = new Object[attributeNames.length];
+        Object valueTarget = getTargetObject(false);
+        for (int i = 0; i < attributeNames.length; i++) {
+            values[i] = extractAttributeValue(attributeNames[i], valueTarget);
+        }
+        cachedAttributeNames = attributeNames;
+        cachedAttributeValues = values;
+    }
+
+    /**
+     * @return {@code true} if the attribute values of this
+     * entry were cached by {@link #cacheAttributeValues}
+     */
+    public boolean hasCachedAttributeValues() {
+        return cachedAttributeNames != null;
+    }
+
+    protected void clearCachedAttributeValues() {
+        cachedAttributeNames = null;
+        cachedAttributeValues = null;
+    }
+
     public abstract V getValue();
 
     public abstract K getKey();
@@ -117,11 +162,19 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
     }
 
     private Object extractAttributeValue(String attributeName) throws QueryException {
+        return extractAttributeValue(attributeName, null);
+    }
+
+    /**
+     * @param valueTarget the target object of the value if it was already
+     *                    obtained, {@code null} otherwise
+     */
+    private Object extractAttributeValue(String attributeName, Object valueTarget) throws QueryException {
         Object result = extractAttributeValueIfAttributeQueryConstant(attributeName);
         if (result == null) {
             boolean isKey = startsWithKeyConstant(attributeName);
             attributeName = getAttributeName(isKey, attributeName);
-            Object target = getTargetObject(isKey);
+            Object target = isKey || valueTarget == null ? getTargetObject(isKey) : valueTarget;
             Object metadata = getMetadataOrNull(this. getMetadata(), isKey);
             result = extractAttributeValueFromTargetObject(extractors, attributeName, target, metadata);
         }
@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ObjIntConsumer;
 
 import static com.hazelcast.query.impl.AbstractIndex.NULL;
 
@@ -64,6 +65,11 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         return removeFunctor.invoke(value, recordKey);
     }
 
+    @Override
+    void forEachValue(ObjIntConsumer<Comparable> consumer) {
+        recordMap.forEach((value, records) -> consumer.accept(value, records.size()));
+    }
+
     @Override
     public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
         // Using a storage representation for arguments here to save on
@@ -116,6 +122,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            histogram.clear();
         } finally {
             releaseWriteLock();
         }
@@ -136,6 +143,22 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public Set<QueryableEntry> getBoundaryRecords(boolean highest) {
+        return null;
+    }
+
+    @Override
+    public Set<QueryableEntry> getLowestRecords(Comparable from, boolean fromInclusive, int minCount) {
+        return null;
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        Map<Data, QueryableEntry> records = value == NULL ? recordsWithNullValue : recordMap.get(canonicalize(value));
+        return records == null ? 0 : records.size();
+    }
+
     @Override
     public Set<QueryableEntry> getRecords(Comparable value) {
         takeReadLock();
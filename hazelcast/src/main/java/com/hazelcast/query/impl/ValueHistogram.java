@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Estimates the distribution of the values stored in an index store.
+ * <p>
+ * The histogram keeps an exact count of the stored values and a uniform
+ * reservoir sample of the inserted values, which acts as an equi-depth
+ * histogram with a single value per bucket: the fraction of the sampled
+ * values matching a range estimates the fraction of the stored values
+ * matching it.
+ * <p>
+ * A reservoir sample can't forget removed values, so the histogram asks
+ * its index store to be rebuilt from the stored values once the values
+ * inserted or removed since the last rebuild exceed {@link #REBUILD_RATIO}
+ * of the values stored at that time. The rebuild also counts the distinct
+ * stored values, which estimates the frequency of the values missing from
+ * the sample. Since the stored values grow geometrically between two
+ * rebuilds, the rebuild cost amortizes to a constant per update.
+ * <p>
+ * Thread-safe, updates are lock-free. Updates racing with a rebuild
+ * may be missed by the sample, which only skews the estimates.
+ */
+final class ValueHistogram {
+
+    static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * The ratio of the values stored at the last rebuild
+     * which may be replaced before the next rebuild.
+     */
+    static final double REBUILD_RATIO = 0.5;
+
+    private final AtomicLong offered = new AtomicLong();
+    private final AtomicLong valueCount = new AtomicLong();
+    private final AtomicLong changeCount = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private volatile AtomicReferenceArray<Comparable> sample = new AtomicReferenceArray<>(SAMPLE_SIZE);
+    private volatile long distinctValueCount;
+    private volatile long rebuildThreshold;
+
+    /**
+     * @return {@code true} if the histogram should be rebuilt
+     * @see #rebuild
+     */
+    boolean onInsert(Comparable value) {
+        valueCount.incrementAndGet();
+        offer(sample, offered, value);
+        return changeCount.incrementAndGet() > rebuildThreshold;
+    }
+
+    /**
+     * @return {@code true} if the histogram should be rebuilt
+     * @see #rebuild
+     */
+    boolean onRemove() {
+        valueCount.decrementAndGet();
+        return changeCount.incrementAndGet() > rebuildThreshold;
+    }
+
+    /**
+     * Replaces the sample and the distinct value count by the ones of the
+     * given stored values. Does nothing if another rebuild is running.
+     *
+     * @param values supplies each distinct stored value together with
+     *               the number of times it's stored to the given consumer
+     */
+    void rebuild(Consumer<ObjIntConsumer<Comparable>> values) {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            changeCount.set(0);
+            SampleBuilder builder = new SampleBuilder();
+            values.accept(builder);
+            sample = builder.sample;
+            offered.set(builder.offered.get());
+            distinctValueCount = builder.distinctValueCount;
+            rebuildThreshold = (long) (builder.offered.get() * REBUILD_RATIO);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    void clear() {
+        valueCount.set(0);
+        offered.set(0);
+        changeCount.set(0);
+        distinctValueCount = 0;
+        rebuildThreshold = 0;
+        sample = new AtomicReferenceArray<>(SAMPLE_SIZE);
+    }
+
+    long getValueCount() {
+        return Math.max(valueCount.get(), 0);
+    }
+
+    /**
+     * @return the number of distinct values stored at the last rebuild
+     */
+    long getDistinctValueCount() {
+        return distinctValueCount;
+    }
+
+    /**
+     * Estimates the number of stored values equal to the supplied one.
+     * Values missing from the sample are assumed to be as frequent as
+     * the average distinct value.
+     */
+    long estimateCount(Comparable value) {
+        long count = getValueCount();
+        AtomicReferenceArray<Comparable> currentSample = sample;
+        int sampled = 0;
+        int matched = 0;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            Comparable sampledValue = currentSample.get(i);
+            if (sampledValue != null) {
+                sampled++;
+                if (Comparables.compare(sampledValue, value) == 0) {
+                    matched++;
+                }
+            }
+        }
+        if (matched > 0) {
+            return (matched * count + sampled - 1) / sampled;
+        }
+        // the sample holds all values unless more values were offered
+        long distinct = distinctValueCount;
+        return count <= sampled || distinct == 0 ? 0 : (count + distinct - 1) / distinct;
+    }
+
+    /**
+     * Estimates the number of stored values within the supplied range.
+     * A {@code null} bound leaves that side of the range open.
+     */
+    long estimateCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        long count = getValueCount();
+        if (count == 0) {
+            return 0;
+        }
+
+        AtomicReferenceArray<Comparable> currentSample = sample;
+        int sampled = 0;
+        int matched = 0;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            Comparable value = currentSample.get(i);
+            if (value == null) {
+                continue;
+            }
+            sampled++;
+            if (isWithin(value, from, fromInclusive, to, toInclusive)) {
+                matched++;
+            }
+        }
+        if (sampled == 0) {
+            return count;
+        }
+        // rounding up keeps ranges matching any sampled value above zero
+        return (matched * count + sampled - 1) / sampled;
+    }
+
+    private static void offer(AtomicReferenceArray<Comparable> sample, AtomicLong offered, Comparable value) {
+        long offeredCount = offered.incrementAndGet();
+        long slot = offeredCount <= SAMPLE_SIZE
+                ? offeredCount - 1 : ThreadLocalRandom.current().nextLong(offeredCount);
+        if (slot < SAMPLE_SIZE) {
+            sample.set((int) slot, value);
+        }
+    }
+
+    private static boolean isWithin(Comparable value, Comparable from, boolean fromInclusive,
+                                    Comparable to, boolean toInclusive) {
+        if (from != null) {
+            int order = Comparables.compare(value, from);
+            if (order < 0 || order == 0 && !fromInclusive) {
+                return false;
+            }
+        }
+        if (to != null) {
+            int order = Comparables.compare(value, to);
+            return order < 0 || order == 0 && toInclusive;
+        }
+        return true;
+    }
+
+    private static final class SampleBuilder implements ObjIntConsumer<Comparable> {
+
+        private final AtomicReferenceArray<Comparable> sample = new AtomicReferenceArray<>(SAMPLE_SIZE);
+        private final AtomicLong offered = new AtomicLong();
+        private long distinctValueCount;
+
+        @Override
+        public void accept(Comparable value, int count) {
+            distinctValueCount++;
+            for (int i = 0; i < count; i++) {
+                offer(sample, offered, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import com.hazelcast.internal.util.collection.Long2ObjectHashMap;
+import com.hazelcast.query.impl.getters.MultiResult;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Provides substring querying capabilities for the string values of a single
+ * attribute of entries of type {@code E}. Each indexed entry is uniquely
+ * identified by its unique {@code long} key provided externally.
+ * <p>
+ * Internally, the bitmap manages a sparse bit set for each trigram, i.e. each
+ * sequence of {@value #GRAM_LENGTH} consecutive characters, found in the
+ * indexed values. The characters are case-folded, so the same grams serve
+ * case-sensitive and case-insensitive queries. The entries containing a
+ * substring are a subset of the entries whose bit sets of all the grams of
+ * the substring intersect, so the bitmap narrows the candidates of substring
+ * queries, the candidates are to be verified by the caller.
+ * <p>
+ * The indexed value of each entry is kept, so entries can be updated or
+ * removed without knowing their previous value.
+ *
+ * @param <E> the type of entries being indexed.
+ */
+public final class NgramBitmap<E> {
+
+    /**
+     * The number of characters in the indexed grams.
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final Long2ObjectHashMap<SparseBitSet> bitSets = new Long2ObjectHashMap<>();
+
+    private final SparseArray<E> entries = new SparseArray<>();
+
+    private final SparseArray<Object> values = new SparseArray<>();
+
+    /**
+     * Inserts or replaces the given value associated with the given entry
+     * having the given unique key.
+     *
+     * @param value the value to insert, either a string, a multi-result of
+     *              values or any other value having no grams.
+     * @param key   the unique key of the entry being inserted.
+     * @param entry the entry to insert.
+     */
+    public void insert(Object value, long key, E entry) {
+        Object storedValue = value == null ? NULL_VALUE : value;
+        Object oldValue = values.get(key);
+        if (!storedValue.equals(oldValue)) {
+            if (oldValue != null) {
+                removeGrams(oldValue, key);
+            }
+            addGrams(storedValue, key);
+            values.set(key, storedValue);
+        }
+        entries.set(key, entry);
+    }
+
+    /**
+     * Removes an entry identified by the given unique key.
+     *
+     * @param key the unique key of an entry being removed.
+     */
+    public void remove(long key) {
+        Object oldValue = values.get(key);
+        if (oldValue != null) {
+            removeGrams(oldValue, key);
+            values.clear(key);
+        }
+        entries.clear(key);
+    }
+
+    /**
+     * Clears this bitmap.
+     */
+    public void clear() {
+        bitSets.clear();
+        entries.clear();
+        values.clear();
+    }
+
+    /**
+     * Returns the candidate entries having values containing all the given
+     * substrings. The result is a superset of the matching entries, all the
+     * entries are returned if none of the substrings has a full gram.
+     *
+     * @param substrings the substrings the values of the entries must contain.
+     * @return an iterator over the candidate entries.
+     */
+    public Iterator<E> evaluate(Collection<String> substrings) {
+        int gramCount = 0;
+        for (String substring : substrings) {
+            gramCount += Math.max(0, substring.length() - GRAM_LENGTH + 1);
+        }
+        if (gramCount == 0) {
+            return new EntryIterator<>(entries.iterator(), entries.iterator());
+        }
+
+        AscendingLongIterator[] iterators = new AscendingLongIterator[gramCount];
+        int i = 0;
+        for (String substring : substrings) {
+            for (int j = 0; j + GRAM_LENGTH <= substring.length(); ++j) {
+                SparseBitSet bitSet = bitSets.get(gram(substring, j));
+                if (bitSet == null) {
+                    return new EntryIterator<>(AscendingLongIterator.EMPTY, entries.iterator());
+                }
+                iterators[i++] = bitSet.iterator();
+            }
+        }
+        AscendingLongIterator iterator = iterators.length == 1 ? iterators[0] : BitmapAlgorithms.and(iterators);
+        return new EntryIterator<>(iterator, entries.iterator());
+    }
+
+    /**
+     * Folds the case of the given character the way case-insensitive regular
+     * expressions do.
+     */
+    public static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private void addGrams(Object value, long key) {
+        if (value instanceof MultiResult) {
+            for (Object result : ((MultiResult<?>) value).getResults()) {
+                addGrams(result, key);
+            }
+        } else if (value instanceof String) {
+            String string = (String) value;
+            for (int i = 0; i + GRAM_LENGTH <= string.length(); ++i) {
+                long gram = gram(string, i);
+                SparseBitSet bitSet = bitSets.get(gram);
+                if (bitSet == null) {
+                    bitSet = new SparseBitSet();
+                    bitSets.put(gram, bitSet);
+                }
+                bitSet.add(key);
+            }
+        }
+    }
+
+    private void removeGrams(Object value, long key) {
+        if (value instanceof MultiResult) {
+            for (Object result : ((MultiResult<?>) value).getResults()) {
+                removeGrams(result, key);
+            }
+        } else if (value instanceof String) {
+            String string = (String) value;
+            for (int i = 0; i + GRAM_LENGTH <= string.length(); ++i) {
+                long gram = gram(string, i);
+                SparseBitSet bitSet = bitSets.get(gram);
+                if (bitSet != null && bitSet.remove(key)) {
+                    bitSets.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static long gram(String string, int offset) {
+        long gram = 0;
+        for (int i = offset; i < offset + GRAM_LENGTH; ++i) {
+            gram = gram << Character.SIZE | fold(string.charAt(i));
+        }
+        return gram;
+    }
+
+    private static final class EntryIterator<E> implements Iterator<E> {
+
+        private final AscendingLongIterator iterator;
+        private final SparseArray.Iterator<E> universe;
+
+        EntryIterator(AscendingLongIterator iterator, SparseArray.Iterator<E> universe) {
+            this.iterator = iterator;
+            this.universe = universe;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.getIndex() != AscendingLongIterator.END;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            long member = iterator.advance();
+            long advancedTo = universe.advanceAtLeastTo(member);
+            assert advancedTo == member;
+            return universe.getValue();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("bitmap iterators are read-only");
+        }
+
+    }
+
+}
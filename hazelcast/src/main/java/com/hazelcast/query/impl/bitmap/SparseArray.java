@@ -80,6 +80,21 @@ final class SparseArray<E> {
         }
     }
 
+    /**
+     * Returns the value at the given index in this sparse array.
+     *
+     * @param index the index to get the value at.
+     * @return the value at the given index or {@code null} if there is no
+     * value at the given index.
+     */
+    public E get(long index) {
+        assert index >= 0;
+        int prefix = (int) (index >>> Integer.SIZE);
+
+        SparseIntArray<E> storage = prefix == lastPrefix ? lastStorage : storages.get(prefix);
+        return storage == null ? null : storage.get((int) index);
+    }
+
     /**
      * Clears the value at the given index in this sparse array.
      *
@@ -48,6 +48,8 @@ import static java.util.Arrays.copyOf;
  * 16-bit postfixes.
  * <li>{@link BitSetStorage16 BitSetStorage16} which manages directly indexable
  * long array of bits.
+ * <li>{@link RunStorage16 RunStorage16} which manages sorted short arrays of
+ * starts and ends of runs of consecutive 16-bit postfixes.
  * </ul>
  * <p>
  * The implementation (which was inspired by Roaring Bitmap) switches between
@@ -71,12 +73,28 @@ final class SparseBitSet {
      */
     public static final int ARRAY_STORAGE_16_MAX_SIZE = 4096;
 
+    /**
+     * The number of runs at which RunStorage16 is converted to BitSetStorage16
+     * or ArrayStorage16. At this number of runs the memory cost of having
+     * sorted short arrays of run starts and ends is equal to the cost of having
+     * directly indexable long array of bits.
+     */
+    public static final int RUN_STORAGE_16_MAX_RUNS = 2048;
+
+    /**
+     * The number of runs at which BitSetStorage16 is converted to RunStorage16.
+     * Lower than {@link #RUN_STORAGE_16_MAX_RUNS} to avoid flipping between
+     * the flavors if the number of runs oscillates around a single threshold.
+     */
+    public static final int BIT_SET_STORAGE_16_MIN_RUNS = RUN_STORAGE_16_MAX_RUNS / 2;
+
     private static final long INT_PREFIX_MASK = 0xFFFFFFFF00000000L;
     private static final long INT_POSTFIX_MASK = 0x00000000FFFFFFFFL;
     private static final long SHORT_PREFIX_MASK = 0x00000000FFFF0000L;
     private static final long INT_PREFIX_SHORT_POSTFIX_MASK = 0xFFFFFFFF0000FFFFL;
     private static final long INT_PREFIX_SHORT_PREFIX_MASK = 0xFFFFFFFFFFFF0000L;
     private static final long SHORT_POSTFIX_MASK = 0x000000000000FFFFL;
+    private static final int MAX_MEMBER = 0xFFFF;
 
     private final SparseIntArray<Storage32> storages = new SparseIntArray<>();
 
@@ -823,6 +841,26 @@ final class SparseBitSet {
             this.members = members;
         }
 
+        /**
+         * Constructs a new storage by converting from the given {@link
+         * RunStorage16} data.
+         */
+        ArrayStorage16(short[] starts, short[] ends, int runs, int size) {
+            assert size < ARRAY_STORAGE_16_MAX_SIZE;
+            this.size = size;
+
+            short[] members = new short[Math.min(ARRAY_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(size))];
+            int index = 0;
+            for (int i = 0; i < runs; ++i) {
+                for (int member = toUnsignedInt(starts[i]); member <= toUnsignedInt(ends[i]); ++member) {
+                    members[index++] = (short) member;
+                }
+            }
+            assert index == size;
+
+            this.members = members;
+        }
+
         @Override
         public Storage16 add(short member) {
             int index = unsignedBinarySearch(members, size, toUnsignedInt(member));
@@ -836,7 +874,7 @@ final class SparseBitSet {
                 // No space left: try to grow members array.
 
                 if (size == ARRAY_STORAGE_16_MAX_SIZE) {
-                    return new BitSetStorage16(members, member, index);
+                    return new BitSetStorage16(members, member, index).compact();
                 }
 
                 int newCapacity = Math.min(ARRAY_STORAGE_16_MAX_SIZE, size + capacityDeltaShort(members.length));
@@ -978,6 +1016,8 @@ final class SparseBitSet {
 
         private final long[] members = new long[SIZE];
         private int size;
+        // the number of runs of consecutive members
+        private int runs;
 
         /**
          * Constructs a new bit set storage for the given sorted members array
@@ -994,6 +1034,20 @@ final class SparseBitSet {
             this.size = members.length + 1;
         }
 
+        /**
+         * Constructs a new storage by converting from the given {@link
+         * RunStorage16} data.
+         */
+        BitSetStorage16(short[] starts, short[] ends, int runs, int size) {
+            for (int i = 0; i < runs; ++i) {
+                for (int member = toUnsignedInt(starts[i]); member <= toUnsignedInt(ends[i]); ++member) {
+                    members[member >>> BIT_SET_LONG_SHIFT] |= 1L << member;
+                }
+            }
+            this.size = size;
+            this.runs = runs;
+        }
+
         @Override
         public Storage16 add(short member) {
             int bitIndex = toUnsignedInt(member);
@@ -1005,6 +1059,9 @@ final class SparseBitSet {
 
             if (newBitSet != bitSet) {
                 ++size;
+                // the member either starts a new run, extends a run or joins two runs
+                runs += 1 - neighbours(bitIndex);
+                return compact();
             }
             return this;
         }
@@ -1020,13 +1077,24 @@ final class SparseBitSet {
 
             if (newBitSet != bitSet) {
                 --size;
+                // the member either ends a run, shortens a run or splits a run
+                runs += neighbours(bitIndex) - 1;
                 if (size == MIN_SIZE) {
                     return new ArrayStorage16(members, size);
                 }
+                return compact();
             }
             return this;
         }
 
+        /**
+         * @return a new {@link RunStorage16} if the members of this storage
+         * are clustered in few enough runs; this storage otherwise.
+         */
+        Storage16 compact() {
+            return runs <= BIT_SET_STORAGE_16_MIN_RUNS ? new RunStorage16(members, runs, size) : this;
+        }
+
         @Override
         public void iterate(IteratorImpl iterator) {
             assert size > 0;
@@ -1097,9 +1165,248 @@ final class SparseBitSet {
 
         private void append(short member) {
             int bitIndex = toUnsignedInt(member);
+            if (bitIndex == 0 || !contains(bitIndex - 1)) {
+                // members are appended in ascending order
+                ++runs;
+            }
             members[bitIndex >>> BIT_SET_LONG_SHIFT] |= 1L << bitIndex;
         }
 
+        private int neighbours(int bitIndex) {
+            int neighbours = 0;
+            if (bitIndex > 0 && contains(bitIndex - 1)) {
+                ++neighbours;
+            }
+            if (bitIndex < MAX_MEMBER && contains(bitIndex + 1)) {
+                ++neighbours;
+            }
+            return neighbours;
+        }
+
+        private boolean contains(int bitIndex) {
+            return (members[bitIndex >>> BIT_SET_LONG_SHIFT] & 1L << bitIndex) != 0;
+        }
+
+    }
+
+    /**
+     * Manages sorted short arrays of starts and ends of runs of consecutive
+     * members. Inspired by the run containers of Roaring Bitmap, pays off
+     * for dense and clustered members.
+     */
+    private static final class RunStorage16 implements Storage16 {
+
+        private static final int MIN_CAPACITY = 2;
+
+        // the number of runs
+        private int runs;
+        private short[] starts;
+        // inclusive
+        private short[] ends;
+        // the number of members
+        private int size;
+
+        /**
+         * Constructs a new storage by converting from the given {@link
+         * BitSetStorage16} data.
+         */
+        RunStorage16(long[] bits, int runs, int size) {
+            assert runs > 0;
+            this.runs = runs;
+            this.size = size;
+
+            short[] starts = new short[runs];
+            short[] ends = new short[runs];
+            int run = 0;
+            boolean inRun = false;
+            for (int i = 0; i <= MAX_MEMBER; ++i) {
+                boolean member = (bits[i >>> BitSetStorage16.BIT_SET_LONG_SHIFT] & 1L << i) != 0;
+                if (member && !inRun) {
+                    starts[run] = (short) i;
+                } else if (!member && inRun) {
+                    ends[run++] = (short) (i - 1);
+                }
+                inRun = member;
+            }
+            if (inRun) {
+                ends[run++] = (short) MAX_MEMBER;
+            }
+            assert run == runs;
+
+            this.starts = starts;
+            this.ends = ends;
+        }
+
+        @Override
+        public Storage16 add(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember);
+            if (run >= 0 && unsignedMember <= toUnsignedInt(ends[run])) {
+                // already in a run
+                return this;
+            }
+
+            boolean extendsPrevious = run >= 0 && toUnsignedInt(ends[run]) + 1 == unsignedMember;
+            boolean extendsNext = run + 1 < runs && toUnsignedInt(starts[run + 1]) - 1 == unsignedMember;
+            if (!extendsPrevious && !extendsNext && runs == RUN_STORAGE_16_MAX_RUNS) {
+                return convert().add(member);
+            }
+
+            ++size;
+            if (extendsPrevious && extendsNext) {
+                // join the runs
+                ends[run] = ends[run + 1];
+                removeRun(run + 1);
+            } else if (extendsPrevious) {
+                ends[run] = member;
+            } else if (extendsNext) {
+                starts[run + 1] = member;
+            } else {
+                insertRun(run + 1, member, member);
+            }
+            return this;
+        }
+
+        @Override
+        public Storage16 remove(short member) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember);
+            if (run < 0 || unsignedMember > toUnsignedInt(ends[run])) {
+                // not a member
+                return this;
+            }
+
+            short start = starts[run];
+            short end = ends[run];
+            boolean splits = member != start && member != end;
+            if (splits && runs == RUN_STORAGE_16_MAX_RUNS) {
+                return convert().remove(member);
+            }
+
+            --size;
+            if (size == 0) {
+                // emptied
+                return null;
+            }
+
+            if (start == end) {
+                removeRun(run);
+            } else if (member == start) {
+                starts[run] = (short) (unsignedMember + 1);
+            } else if (member == end) {
+                ends[run] = (short) (unsignedMember - 1);
+            } else {
+                // split the run
+                ends[run] = (short) (unsignedMember - 1);
+                insertRun(run + 1, (short) (unsignedMember + 1), end);
+            }
+            return this;
+        }
+
+        @Override
+        public void iterate(IteratorImpl iterator) {
+            assert runs > 0;
+            iterator.position16 = 0;
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(starts[0]);
+        }
+
+        @Override
+        public boolean advance(IteratorImpl iterator) {
+            long current = iterator.index;
+            int run = iterator.position16;
+            if ((current & SHORT_POSTFIX_MASK) < toUnsignedInt(ends[run])) {
+                iterator.index = current + 1;
+                return true;
+            }
+
+            ++run;
+            if (run == runs) {
+                return false;
+            }
+            iterator.index = current & INT_PREFIX_SHORT_PREFIX_MASK | toUnsignedInt(starts[run]);
+            iterator.position16 = run;
+            return true;
+        }
+
+        @Override
+        public boolean iterateAtLeastFrom(short member, IteratorImpl iterator) {
+            int unsignedMember = toUnsignedInt(member);
+            int run = findRun(unsignedMember);
+
+            if (run < 0 || unsignedMember > toUnsignedInt(ends[run])) {
+                // the member is in a gap: move to the next run
+                ++run;
+                if (run == runs) {
+                    return false;
+                }
+                unsignedMember = toUnsignedInt(starts[run]);
+            }
+
+            iterator.index = iterator.index & INT_PREFIX_SHORT_PREFIX_MASK | unsignedMember;
+            iterator.position16 = run;
+            return true;
+        }
+
+        @Override
+        public boolean advanceAtLeastTo(short member, IteratorImpl iterator) {
+            assert (iterator.index & SHORT_POSTFIX_MASK) < toUnsignedInt(member);
+            return iterateAtLeastFrom(member, iterator);
+        }
+
+        /**
+         * @return the index of the last run starting at or before the given
+         * member or {@code -1} if there is no such run.
+         */
+        private int findRun(int unsignedMember) {
+            int index = unsignedBinarySearch(starts, runs, unsignedMember);
+            return index >= 0 ? index : -(index + 1) - 1;
+        }
+
+        private void insertRun(int index, short start, short end) {
+            if (runs == starts.length) {
+                int newCapacity = Math.min(RUN_STORAGE_16_MAX_RUNS, runs + capacityDeltaShort(starts.length));
+                starts = copyOf(starts, newCapacity);
+                ends = copyOf(ends, newCapacity);
+            }
+            arraycopy(starts, index, starts, index + 1, runs - index);
+            arraycopy(ends, index, ends, index + 1, runs - index);
+            starts[index] = start;
+            ends[index] = end;
+            ++runs;
+        }
+
+        private void removeRun(int index) {
+            --runs;
+            int delta = capacityDeltaShort(starts.length);
+            int wasted = starts.length - runs;
+            int newCapacity = starts.length - delta;
+            if (wasted >= delta && newCapacity >= MIN_CAPACITY) {
+                // We are wasting too much: shrink the arrays.
+
+                short[] newStarts = new short[newCapacity];
+                arraycopy(starts, 0, newStarts, 0, index);
+                arraycopy(starts, index + 1, newStarts, index, runs - index);
+                starts = newStarts;
+
+                short[] newEnds = new short[newCapacity];
+                arraycopy(ends, 0, newEnds, 0, index);
+                arraycopy(ends, index + 1, newEnds, index, runs - index);
+                ends = newEnds;
+            } else {
+                // shift the arrays left to fill the gap
+                arraycopy(starts, index + 1, starts, index, runs - index);
+                arraycopy(ends, index + 1, ends, index, runs - index);
+            }
+        }
+
+        private Storage16 convert() {
+            if (size < ARRAY_STORAGE_16_MAX_SIZE) {
+                return new ArrayStorage16(starts, ends, runs, size);
+            } else {
+                return new BitSetStorage16(starts, ends, runs, size);
+            }
+        }
+
     }
 
     /**
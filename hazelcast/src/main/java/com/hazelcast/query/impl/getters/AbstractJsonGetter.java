@@ -27,6 +27,7 @@ import com.hazelcast.internal.util.collection.WeightedEvictableList.WeightedItem
 import com.hazelcast.json.internal.JsonPattern;
 import com.hazelcast.json.internal.JsonSchemaHelper;
 import com.hazelcast.json.internal.JsonSchemaNode;
+import com.hazelcast.json.internal.JsonTape;
 
 import java.io.IOException;
 import java.util.List;
@@ -149,6 +150,9 @@ public abstract class AbstractJsonGetter extends Getter {
         if (metadata == null) {
             return getValue(obj, attributePath);
         }
+        if (metadata instanceof JsonTape) {
+            return getValueWithTape(obj, attributePath, (JsonTape) metadata);
+        }
         JsonSchemaNode schemaNode = (JsonSchemaNode) metadata;
 
         NavigableJsonInputAdapter adapter = annotate(obj);
@@ -179,6 +183,18 @@ public abstract class AbstractJsonGetter extends Getter {
         return null;
     }
 
+    private Object getValueWithTape(Object obj, String attributePath, JsonTape tape) throws IOException {
+        JsonPathCursor pathCursor = contextCache.getContext(attributePath).newJsonPathCursor();
+        while (pathCursor.getNext() != null) {
+            if (pathCursor.isArray() && pathCursor.isAny()) {
+                // the tape finds single values only
+                return getValue(obj, attributePath);
+            }
+        }
+        pathCursor.reset();
+        return convertFromJsonValue(tape.findValue(annotate(obj), pathCursor));
+    }
+
     @Override
     Class getReturnType() {
         throw new IllegalArgumentException("Non applicable for Json getters");
@@ -22,12 +22,14 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.AndResultSet;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,6 +47,12 @@ import static com.hazelcast.query.impl.predicates.PredicateUtils.estimatedSizeOf
 public final class AndPredicate
         implements IndexAwarePredicate, IdentifiedDataSerializable, VisitablePredicate, NegatablePredicate, CompoundPredicate {
 
+    /**
+     * How many times more entries an index may select than the most
+     * selective index to still be used for filtering.
+     */
+    static final long RESIDUAL_EVALUATION_COST = 4;
+
     private static final long serialVersionUID = 1L;
 
     protected Predicate[] predicates;
@@ -67,44 +75,116 @@ public final class AndPredicate
         return visitor.visit(this, indexes);
     }
 
+    /**
+     * Filters the entries using the index of the most selective indexed
+     * predicate. The indexes of the other indexed predicates are used only
+     * if they select at most {@link #RESIDUAL_EVALUATION_COST} times more
+     * entries, since evaluating a predicate on an already filtered entry
+     * is cheaper than materializing a large index result set. All other
+     * predicates are evaluated on the filtered entries.
+     * <p>
+     * If the selectivity of some indexed predicate can't be estimated, all
+     * indexed predicates are filtered using their indexes and the smallest
+     * result set is intersected with the others.
+     */
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestResultSet = null;
-        List<Set<QueryableEntry>> otherResultSets = null;
+        List<IndexAwarePredicate> indexedPredicates = null;
         List<Predicate> unindexedPredicates = null;
+        long[] cardinalities = new long[predicates.length];
+        long lowestCardinality = Long.MAX_VALUE;
+        boolean cardinalitiesKnown = true;
 
         for (Predicate predicate : predicates) {
             if (isIndexedPredicate(predicate, queryContext)) {
-                // Avoid checking indexed partitions count twice to avoid
-                // scenario when the owner partitions count changes concurrently and null
-                // value from the filter method may indicate that the index is under
-                // construction.
-                int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
-                queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
-                Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
-                queryContext.setOwnedPartitionCount(ownedPartitionsCount);
-                if (smallestResultSet == null) {
-                    smallestResultSet = currentResultSet;
-                } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(smallestResultSet);
-                    smallestResultSet = currentResultSet;
-                } else {
-                    otherResultSets = initOrGetListOf(otherResultSets);
-                    otherResultSets.add(currentResultSet);
+                IndexAwarePredicate indexedPredicate = (IndexAwarePredicate) predicate;
+                indexedPredicates = initOrGetListOf(indexedPredicates);
+                if (cardinalitiesKnown) {
+                    long cardinality = indexedPredicate.estimateCardinality(queryContext);
+                    if (cardinality == Index.UNKNOWN_RECORD_COUNT) {
+                        cardinalitiesKnown = false;
+                    } else {
+                        cardinalities[indexedPredicates.size()] = cardinality;
+                        lowestCardinality = Math.min(lowestCardinality, cardinality);
+                    }
                 }
+                indexedPredicates.add(indexedPredicate);
             } else {
                 unindexedPredicates = initOrGetListOf(unindexedPredicates);
                 unindexedPredicates.add(predicate);
             }
         }
 
-        if (smallestResultSet == null) {
+        if (indexedPredicates == null) {
             return null;
         }
+        if (!cardinalitiesKnown) {
+            return filterUsingIndexes(queryContext, indexedPredicates, unindexedPredicates);
+        }
+
+        long maxIndexedCardinality = lowestCardinality > Long.MAX_VALUE / RESIDUAL_EVALUATION_COST
+                ? Long.MAX_VALUE : lowestCardinality * RESIDUAL_EVALUATION_COST;
+        List<IndexAwarePredicate> selectivePredicates = new ArrayList<>(indexedPredicates.size());
+        for (int i = 0; i < indexedPredicates.size(); ++i) {
+            if (cardinalities[i] <= maxIndexedCardinality) {
+                selectivePredicates.add(indexedPredicates.get(i));
+            } else {
+                unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                unindexedPredicates.add(indexedPredicates.get(i));
+            }
+        }
+        return filterUsingIndexes(queryContext, selectivePredicates, unindexedPredicates);
+    }
+
+    private static Set<QueryableEntry> filterUsingIndexes(QueryContext queryContext,
+                                                             List<IndexAwarePredicate> indexedPredicates,
+                                                             List<Predicate> unindexedPredicates) {
+        Set<QueryableEntry> smallestResultSet = null;
+        List<Set<QueryableEntry>> otherResultSets = null;
+
+        for (IndexAwarePredicate predicate : indexedPredicates) {
+            Set<QueryableEntry> currentResultSet = filterUsingIndex(queryContext, predicate);
+            if (smallestResultSet == null) {
+                smallestResultSet = currentResultSet;
+            } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(smallestResultSet);
+                smallestResultSet = currentResultSet;
+            } else {
+                otherResultSets = initOrGetListOf(otherResultSets);
+                otherResultSets.add(currentResultSet);
+            }
+        }
         return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
     }
 
+    private static Set<QueryableEntry> filterUsingIndex(QueryContext queryContext, IndexAwarePredicate predicate) {
+        // Avoid checking indexed partitions count twice to avoid
+        // scenario when the owner partitions count changes concurrently and null
+        // value from the filter method may indicate that the index is under
+        // construction.
+        int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
+        queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
+        Set<QueryableEntry> resultSet = predicate.filter(queryContext);
+        queryContext.setOwnedPartitionCount(ownedPartitionsCount);
+        return resultSet;
+    }
+
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        long cardinality = Index.UNKNOWN_RECORD_COUNT;
+        for (Predicate predicate : predicates) {
+            if (isIndexedPredicate(predicate, queryContext)) {
+                long predicateCardinality = ((IndexAwarePredicate) predicate).estimateCardinality(queryContext);
+                if (predicateCardinality >= 0
+                        && (cardinality == Index.UNKNOWN_RECORD_COUNT || predicateCardinality < cardinality)) {
+                    cardinality = predicateCardinality;
+                }
+            }
+        }
+        return cardinality;
+    }
+
     private static boolean isIndexedPredicate(Predicate predicate, QueryContext queryContext) {
         return predicate instanceof IndexAwarePredicate
                 && ((IndexAwarePredicate) predicate).isIndexed(queryContext);
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.Extractable;
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.Map;
+
+import static com.hazelcast.internal.serialization.impl.FactoryIdHelper.PREDICATE_DS_FACTORY_ID;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
+
+/**
+ * Orders entries by the value of an attribute, the entries having a
+ * {@code null} value go last.
+ * <p>
+ * The attribute values of {@link Extractable} entries are extracted the
+ * same way as in queries. The values of other entries, e.g. the entries
+ * deserialized on the caller side, are extracted using their getters or
+ * fields.
+ * <p>
+ * Paging predicates ordered by this comparator can seek their pages in a
+ * sorted index on the attribute, see {@link PagingPredicateImpl#filter}.
+ *
+ * @param <K> the entry key type
+ * @param <V> the entry value type
+ */
+public final class AttributeComparator<K, V> implements Comparator<Map.Entry<K, V>>, IdentifiedDataSerializable {
+
+    private static final String KEY_ATTRIBUTE_PREFIX = KEY_ATTRIBUTE_NAME.value() + ".";
+
+    private String attribute;
+
+    /**
+     * Used for serialization internally
+     */
+    public AttributeComparator() {
+    }
+
+    /**
+     * @param attribute the attribute to order the entries by, it can't
+     *                  contain the {@code [any]} operator.
+     * @throws IllegalArgumentException if the attribute contains the
+     *                                  {@code [any]} operator.
+     */
+    public AttributeComparator(String attribute) {
+        checkNotNull(attribute, "attribute can't be null");
+        if (attribute.contains("[any]")) {
+            throw new IllegalArgumentException("Ordering by a multi-value attribute is not supported: " + attribute);
+        }
+        this.attribute = canonicalizeAttribute(attribute);
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    @Override
+    public int compare(Map.Entry<K, V> entry1, Map.Entry<K, V> entry2) {
+        Comparable value1 = extractAttributeValue(entry1);
+        Comparable value2 = extractAttributeValue(entry2);
+        if (value1 == null) {
+            return value2 == null ? 0 : 1;
+        }
+        if (value2 == null) {
+            return -1;
+        }
+        return Comparables.compare(value1, value2);
+    }
+
+    /**
+     * Extracts the value of the attribute of this comparator from the given
+     * entry.
+     *
+     * @throws IllegalArgumentException if the value is not comparable.
+     */
+    public Comparable extractAttributeValue(Map.Entry<K, V> entry) {
+        Object value;
+        if (entry instanceof Extractable) {
+            value = ((Extractable) entry).getAttributeValue(attribute);
+        } else if (attribute.equals(KEY_ATTRIBUTE_NAME.value())) {
+            value = entry.getKey();
+        } else if (attribute.equals(THIS_ATTRIBUTE_NAME.value())) {
+            value = entry.getValue();
+        } else if (attribute.startsWith(KEY_ATTRIBUTE_PREFIX)) {
+            value = extractValue(entry.getKey(), attribute.substring(KEY_ATTRIBUTE_PREFIX.length()));
+        } else {
+            value = extractValue(entry.getValue(), attribute);
+        }
+
+        if (value == null || value instanceof Comparable) {
+            return (Comparable) value;
+        }
+        throw new IllegalArgumentException("Not comparable " + value);
+    }
+
+    private static Object extractValue(Object target, String path) {
+        if (target == null) {
+            return null;
+        }
+        try {
+            return ReflectionHelper.extractValue(target, path);
+        } catch (QueryException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new QueryException(e);
+        }
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeUTF(attribute);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        attribute = in.readUTF();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return PREDICATE_DS_FACTORY_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return PredicateDataSerializerHook.ATTRIBUTE_COMPARATOR;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return attribute.equals(((AttributeComparator<?, ?>) o).attribute);
+    }
+
+    @Override
+    public int hashCode() {
+        return attribute.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AttributeComparator{attribute='" + attribute + "'}";
+    }
+}
@@ -120,6 +120,23 @@ public class InPredicate extends AbstractIndexAwarePredicate implements Visitabl
         }
     }
 
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        if (index == null) {
+            return Index.UNKNOWN_RECORD_COUNT;
+        }
+        long cardinality = 0;
+        for (Comparable value : values) {
+            long valueCardinality = index.estimateRecordCount(value);
+            if (valueCardinality < 0) {
+                return Index.UNKNOWN_RECORD_COUNT;
+            }
+            cardinality += valueCardinality;
+        }
+        return cardinality;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
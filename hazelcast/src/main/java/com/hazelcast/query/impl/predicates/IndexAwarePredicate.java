@@ -18,6 +18,7 @@ package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.internal.serialization.BinaryInterface;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
 
@@ -76,4 +77,19 @@ public interface IndexAwarePredicate<K, V> extends Predicate<K, V> {
      * speed up the processing, {@code false} otherwise.
      */
     boolean isIndexed(QueryContext queryContext);
+
+    /**
+     * Estimates the number of entries {@link #filter} would produce without
+     * producing them, so that the query engine can pick the most selective
+     * of several indexed predicates.
+     *
+     * @param queryContext the query context to access the indexes. The passed
+     *                     query context is valid only for a duration of a single
+     *                     call to the method.
+     * @return the estimated number of entries or {@link
+     * Index#UNKNOWN_RECORD_COUNT} if this predicate can't estimate it.
+     */
+    default long estimateCardinality(QueryContext queryContext) {
+        return Index.UNKNOWN_RECORD_COUNT;
+    }
 }
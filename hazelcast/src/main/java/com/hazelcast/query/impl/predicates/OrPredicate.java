@@ -21,6 +21,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.OrResultSet;
 import com.hazelcast.query.impl.QueryContext;
@@ -81,6 +82,20 @@ public final class OrPredicate
         return indexedResults.isEmpty() ? null : new OrResultSet(indexedResults);
     }
 
+    @Override
+    public long estimateCardinality(QueryContext queryContext) {
+        long cardinality = 0;
+        for (Predicate predicate : predicates) {
+            long predicateCardinality = predicate instanceof IndexAwarePredicate
+                    ? ((IndexAwarePredicate) predicate).estimateCardinality(queryContext) : Index.UNKNOWN_RECORD_COUNT;
+            if (predicateCardinality < 0) {
+                return Index.UNKNOWN_RECORD_COUNT;
+            }
+            cardinality += predicateCardinality;
+        }
+        return cardinality;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         for (Predicate predicate : predicates) {
@@ -24,9 +24,12 @@ import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.PagingPredicate;
 import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.QueryContext;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.TypeConverters;
 
 import java.io.IOException;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -178,12 +181,25 @@ public class PagingPredicateImpl<K, V>
 
     /**
      * Used if inner predicate is instanceof {@link IndexAwarePredicate} for filtering.
+     * <p>
+     * If the entries are ordered by an {@link AttributeComparator} and the
+     * attribute has a sorted index, the entries of the requested page are
+     * looked up in the index starting from the value of the nearest anchor,
+     * unless the inner predicate is selective enough to be filtered first.
      *
      * @param queryContext
      * @return
      */
     @Override
     public Set<QueryableEntry<K, V>> filter(QueryContext queryContext) {
+        Index sortIndex = matchSortIndex(queryContext);
+        if (sortIndex != null && shouldSeekSortIndex(queryContext, sortIndex)) {
+            Set<QueryableEntry<K, V>> result = filterUsingSortIndex(sortIndex);
+            if (result != null) {
+                return result;
+            }
+        }
+
         if (!(predicate instanceof IndexAwarePredicate)) {
             return null;
         }
@@ -208,15 +224,116 @@ public class PagingPredicateImpl<K, V>
 
     /**
      * Used if inner predicate is instanceof {@link IndexAwarePredicate} for checking if indexed.
+     * Also indexed if the entries are ordered by an attribute having a sorted index.
      *
      * @param queryContext
      * @return
      */
     public boolean isIndexed(QueryContext queryContext) {
-        if (predicate instanceof IndexAwarePredicate) {
-            return ((IndexAwarePredicate) predicate).isIndexed(queryContext);
+        if (predicate instanceof IndexAwarePredicate && ((IndexAwarePredicate) predicate).isIndexed(queryContext)) {
+            return true;
+        }
+        return matchSortIndex(queryContext) != null;
+    }
+
+    private Index matchSortIndex(QueryContext queryContext) {
+        if (!(comparator instanceof AttributeComparator)) {
+            return null;
+        }
+        String attribute = ((AttributeComparator) comparator).getAttribute();
+        Index index = queryContext.matchIndex(attribute, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null || !index.isOrdered() || index.getConverter() == TypeConverters.ENUM_CONVERTER) {
+            // enums are indexed by name, but compared by ordinal
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Decides whether seeking the sort index is cheaper than filtering
+     * the inner predicate using its index and sorting the result. The
+     * seek visits about {@code limit * indexed / cardinality} entries,
+     * the inner filter visits {@code cardinality} entries.
+     */
+    private boolean shouldSeekSortIndex(QueryContext queryContext, Index sortIndex) {
+        if (!(predicate instanceof IndexAwarePredicate)) {
+            return true;
+        }
+        IndexAwarePredicate indexAwarePredicate = (IndexAwarePredicate) predicate;
+        if (!indexAwarePredicate.isIndexed(queryContext)) {
+            return true;
+        }
+        long cardinality = indexAwarePredicate.estimateCardinality(queryContext);
+        long indexed = sortIndex.estimateRecordCount(null, false, null, false);
+        if (cardinality == Index.UNKNOWN_RECORD_COUNT || indexed == Index.UNKNOWN_RECORD_COUNT) {
+            return false;
+        }
+        return (double) cardinality * cardinality > (double) getLimit(getNearestAnchorEntry()) * indexed;
+    }
+
+    /**
+     * Collects the entries of the requested page and of the pages between
+     * it and the nearest anchor by taking the lowest values after the
+     * anchor value from the given sort index. The entries having a
+     * {@code null} value are ordered last.
+     *
+     * @return the sorted entries or {@code null} if the index can't be used.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<QueryableEntry<K, V>> filterUsingSortIndex(Index sortIndex) {
+        AttributeComparator<K, V> attributeComparator = (AttributeComparator<K, V>) comparator;
+        Map.Entry<Integer, Map.Entry> nearestAnchorEntry = getNearestAnchorEntry();
+        Map.Entry<K, V> anchor = nearestAnchorEntry.getValue();
+        int limit = getLimit(nearestAnchorEntry);
+
+        List<QueryableEntry<K, V>> resultList = new ArrayList<>();
+        Comparable from = anchor == null ? null : attributeComparator.extractAttributeValue(anchor);
+        if (anchor == null || from != null) {
+            boolean fromInclusive = true;
+            while (resultList.size() < limit) {
+                Set<QueryableEntry> entries = sortIndex.getLowestRecords(from, fromInclusive, limit - resultList.size());
+                if (entries == null) {
+                    return null;
+                }
+                if (entries.isEmpty()) {
+                    break;
+                }
+                for (QueryableEntry entry : entries) {
+                    Comparable value = attributeComparator.extractAttributeValue(entry);
+                    if (from == null || Comparables.compare(value, from) > 0) {
+                        from = value;
+                    }
+                    addIfMatches(resultList, entry, nearestAnchorEntry);
+                }
+                // all entries having the highest value seen are taken
+                fromInclusive = false;
+            }
         }
-        return false;
+        if (resultList.size() < limit) {
+            for (QueryableEntry entry : sortIndex.getRecords((Comparable) null)) {
+                addIfMatches(resultList, entry, nearestAnchorEntry);
+            }
+        }
+
+        List<QueryableEntry<K, V>> sortedSubList =
+                (List) SortingUtil.getSortedSubList((List) resultList, this, nearestAnchorEntry);
+        return new LinkedHashSet<>(sortedSubList);
+    }
+
+    private void addIfMatches(List<QueryableEntry<K, V>> resultList, QueryableEntry entry,
+                              Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        if (SortingUtil.compareAnchor(this, entry, nearestAnchorEntry) && apply(entry)) {
+            resultList.add(entry);
+        }
+    }
+
+    /**
+     * @return the number of entries from the nearest anchor to the end of
+     * the requested page
+     */
+    private int getLimit(Map.Entry<Integer, Map.Entry> nearestAnchorEntry) {
+        long limit = pageSize * ((long) page - nearestAnchorEntry.getKey());
+        return (int) Math.min(limit, Integer.MAX_VALUE);
     }
 
     /**
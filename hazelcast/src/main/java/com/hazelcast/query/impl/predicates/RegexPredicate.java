@@ -19,6 +19,8 @@ package com.hazelcast.query.impl.predicates;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.internal.serialization.BinaryInterface;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.Indexes;
 
 import java.io.IOException;
 import java.util.regex.Matcher;
@@ -28,7 +30,7 @@ import java.util.regex.Pattern;
  * Regex Predicate
  */
 @BinaryInterface
-public class RegexPredicate extends AbstractPredicate {
+public class RegexPredicate extends AbstractPredicate implements VisitablePredicate {
 
     private static final long serialVersionUID = 1L;
 
@@ -59,6 +61,18 @@ public class RegexPredicate extends AbstractPredicate {
         }
     }
 
+    /**
+     * @return the regular expression of this predicate.
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    @Override
+    public Predicate accept(Visitor visitor, Indexes indexes) {
+        return visitor.visit(this, indexes);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
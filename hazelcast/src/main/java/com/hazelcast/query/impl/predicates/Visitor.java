@@ -42,4 +42,8 @@ public interface Visitor {
 
     Predicate visit(BetweenPredicate predicate, Indexes indexes);
 
+    Predicate visit(LikePredicate predicate, Indexes indexes);
+
+    Predicate visit(RegexPredicate predicate, Indexes indexes);
+
 }
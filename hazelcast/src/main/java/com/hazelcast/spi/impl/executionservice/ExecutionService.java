@@ -99,6 +99,32 @@ public interface ExecutionService {
      */
     String MAP_LOAD_ALL_KEYS_EXECUTOR = "hz:map-loadAllKeys";
 
+    /**
+     * The name of the executor that loads the key segments of a
+     * {@link com.hazelcast.map.SegmentedMapLoader}. It is separate from the
+     * {@link #MAP_LOAD_ALL_KEYS_EXECUTOR} on which the senders wait for
+     * the segments to be loaded.
+     *
+     * @see com.hazelcast.map.SegmentedMapLoader#loadAllKeys(int, int)
+     */
+    String MAP_LOAD_KEY_SEGMENTS_EXECUTOR = "hz:map-loadKeySegments";
+
+    /**
+     * The name of the executor that reloads the map partitions persisted to
+     * local disk while the member starts, before it joins the cluster.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_PERSISTENCE_DIR
+     */
+    String MAP_PERSISTENCE_LOAD_EXECUTOR = "hz:map-persistenceLoad";
+
+    /**
+     * The name of the executor that stores the write-behind queues of a map
+     * when more than one write-behind worker is configured.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_WORKER_COUNT
+     */
+    String MAP_WRITE_BEHIND_EXECUTOR = "hz:map-writeBehind";
+
     /**
      * Name of the Management Center executor. Used to execute blocking tasks
      * related with operations run by Management Center.
@@ -48,7 +48,7 @@ public class OutboundOperationHandler {
             throw new IllegalArgumentException("Target is this node! -> " + target + ", op: " + op);
         }
 
-        ServerConnection connection = node.getServer().getConnectionManager(MEMBER).getOrConnect(target);
+        ServerConnection connection = node.getServer().getConnectionManager(MEMBER).getOrConnect(target, op.getPartitionId());
         return send(op, connection);
     }
 
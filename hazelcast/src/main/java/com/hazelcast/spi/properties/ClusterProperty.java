@@ -277,6 +277,19 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_OUTPUT_THREAD_COUNT
             = new HazelcastProperty("hazelcast.io.output.thread.count", IO_THREAD_COUNT);
 
+    /**
+     * The number of connections opened between each pair of members. Every
+     * connection has its own inbound and outbound pipelines, so the traffic
+     * between two members can be processed by several IO threads.
+     * <p>
+     * Partition specific packets are spread over the connections by partition
+     * id, which preserves the per-partition ordering. The other packets are
+     * spread round-robin. All members of a cluster must be configured with
+     * the same value.
+     */
+    public static final HazelcastProperty CHANNEL_COUNT
+            = new HazelcastProperty("hazelcast.channel.count", 1);
+
     /**
      * Optimization that allows sending of packets over the network to be done on the calling thread if the
      * conditions are right. This can reduce latency and increase performance for low threaded environments.
@@ -286,6 +299,17 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * Enables gathering writes for the member connections. The packets are
+     * written to the socket as a sequence of buffers in a single system call:
+     * the small packets are still copied to the send buffer, but the data of
+     * the large packets is written directly from the packets.
+     *
+     * It is disabled by default.
+     */
+    public static final HazelcastProperty IO_GATHERING_WRITE_ENABLED
+            = new HazelcastProperty("hazelcast.io.gathering.write", false);
+
     /**
      * Property needed for concurrency detection so that write through can be done correctly.
      * This property sets the window the concurrency detection will signalling
@@ -331,6 +355,15 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_LOAD_CHUNK_SIZE
             = new HazelcastProperty("hazelcast.map.load.chunk.size", 1000);
 
+    /**
+     * The number of key segments each data member loads concurrently during
+     * the initial load of a map whose loader implements
+     * {@link com.hazelcast.map.SegmentedMapLoader}. The keys are split into
+     * this many segments times the number of data members.
+     */
+    public static final HazelcastProperty MAP_LOAD_SEGMENTS_PER_MEMBER
+            = new HazelcastProperty("hazelcast.map.load.segments.per.member", 4);
+
     /**
      * The delay until the first run of the split-brain handler.
      */
@@ -590,6 +623,140 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_EVICTION_BATCH_SIZE
             = new HazelcastProperty("hazelcast.map.eviction.batch.size", 1);
 
+    /**
+     * Base directory of the IMap disk tier. When set, the entries evicted
+     * from a map which has eviction configured are written to append-only
+     * files under this directory instead of being dropped, and they are
+     * transparently brought back into memory when their key is accessed.
+     * Spilled entries are not persistent, they are deleted when their
+     * partition is cleared, migrated away or the member shuts down.
+     * <p>
+     * Maps with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory
+     * format do not use the disk tier.
+     * <p>
+     * Default: not set, evicted entries are dropped
+     */
+    public static final HazelcastProperty MAP_TIERED_STORE_DIR
+            = new HazelcastProperty("hazelcast.map.tiered.store.dir");
+
+    /**
+     * Size in bytes of a single memory-mapped segment file of the IMap disk
+     * tier. Each map partition appends to its own segments, an entry which
+     * is larger than this size is written to a dedicated segment.
+     *
+     * @see #MAP_TIERED_STORE_DIR
+     */
+    public static final HazelcastProperty MAP_TIERED_STORE_SEGMENT_SIZE
+            = new HazelcastProperty("hazelcast.map.tiered.store.segment.size", 8 << 20);
+
+    /**
+     * Maximum number of sealed segment files of the IMap disk tier and of
+     * the IMap local persistence which are kept memory-mapped per map
+     * partition. The least recently read segments beyond this number are
+     * unmapped and mapped again when one of their entries is read, which
+     * bounds the address space used by large tiers and logs.
+     *
+     * @see #MAP_TIERED_STORE_DIR
+     * @see #MAP_PERSISTENCE_DIR
+     */
+    public static final HazelcastProperty MAP_TIERED_STORE_MAX_MAPPED_SEGMENTS
+            = new HazelcastProperty("hazelcast.map.tiered.store.max.mapped.segments", 4);
+
+    /**
+     * Maximum number of deserialized values cached per partition of every
+     * map with {@link com.hazelcast.config.InMemoryFormat#BINARY} in-memory
+     * format which does not already cache the deserialized values with
+     * {@link com.hazelcast.config.CacheDeserializedValues#ALWAYS}. The cached
+     * values are used by the query predicates and the read-only entry
+     * processors, so the values of read-mostly maps are not deserialized on
+     * every access.
+     * <p>
+     * The cached values are shared, the predicates and read-only entry
+     * processors must not modify the values they are given.
+     * <p>
+     * Default: 0, deserialized values are not cached
+     */
+    public static final HazelcastProperty MAP_DESERIALIZED_VALUE_CACHE_SIZE
+            = new HazelcastProperty("hazelcast.map.deserialized.value.cache.size", 0);
+
+    /**
+     * Whether the Json metadata of the maps with the
+     * {@link com.hazelcast.config.MetadataPolicy#CREATE_ON_UPDATE} metadata
+     * policy is created as a tape, a compact index of the structure of the
+     * {@link com.hazelcast.core.HazelcastJsonValue}s, instead of a tree of
+     * schema nodes. The queries find the attributes of the Json values in
+     * time proportional to the depth of the queried path with the tapes,
+     * without walking the Json text.
+     * <p>
+     * Default: false, the metadata is created as a tree of schema nodes
+     */
+    public static final HazelcastProperty MAP_JSON_METADATA_TAPE_ENABLED
+            = new HazelcastProperty("hazelcast.map.json.metadata.tape.enabled", false);
+
+    /**
+     * Selects the replica which serves {@code IMap.get} calls of maps with
+     * {@link com.hazelcast.config.MapConfig#isReadBackupData() read-backup-data}
+     * enabled, see {@link com.hazelcast.map.impl.ReadBackupDataPolicy} for the
+     * possible values.
+     * <p>
+     * With {@code ROUND_ROBIN}, the reads of hot keys are spread over the
+     * partition threads of the primary and synchronous backup replicas.
+     * Asynchronous backups are never read since there is no bound on how
+     * far they may lag behind. A backup replica answers a read only if its
+     * partition replica versions are not known to be behind the primary,
+     * otherwise, and for keys it does not have in memory, the read falls
+     * back to the primary replica.
+     * <p>
+     * Default: {@code NEAREST}, reads the local replica if there is one
+     */
+    public static final HazelcastProperty MAP_READ_BACKUP_DATA_POLICY
+            = new HazelcastProperty("hazelcast.map.read.backup.data.policy", "NEAREST");
+
+    /**
+     * Base directory of the IMap local persistence. When set, every map which
+     * has {@link com.hazelcast.config.MapConfig#getHotRestartConfig() hot
+     * restart} enabled appends its mutations to per-partition log files
+     * under this directory. Each member writes to a subdirectory named after
+     * its address, so a member must be restarted with the same address to
+     * reload its files.
+     * <p>
+     * The partition table is persisted as well. A restarted member reloads
+     * the partitions it held a replica of before it joins the cluster, and
+     * the master assigns the partitions as they were persisted once all
+     * the persisted members have rejoined, see {@link
+     * #MAP_PERSISTENCE_RESTORE_TIMEOUT}. The cluster should be shut down as
+     * a whole, e.g. with {@link com.hazelcast.cluster.Cluster#shutdown()},
+     * so that all members persist the same partition table.
+     * <p>
+     * Maps with {@link com.hazelcast.config.InMemoryFormat#NATIVE} in-memory
+     * format are not persisted.
+     * <p>
+     * Default: not set, maps are not persisted
+     */
+    public static final HazelcastProperty MAP_PERSISTENCE_DIR
+            = new HazelcastProperty("hazelcast.map.persistence.dir");
+
+    /**
+     * Size in bytes of a single memory-mapped segment file of the IMap local
+     * persistence. Each map partition appends to its own segments, an entry
+     * which is larger than this size is written to a dedicated segment.
+     *
+     * @see #MAP_PERSISTENCE_DIR
+     */
+    public static final HazelcastProperty MAP_PERSISTENCE_SEGMENT_SIZE
+            = new HazelcastProperty("hazelcast.map.persistence.segment.size", 8 << 20);
+
+    /**
+     * Time in seconds the master of a restarted cluster waits for the members
+     * of the persisted partition table to rejoin before it assigns the
+     * partitions. The members which did not rejoin in time are handled as
+     * departed members, their partitions are restored from the backups.
+     *
+     * @see #MAP_PERSISTENCE_DIR
+     */
+    public static final HazelcastProperty MAP_PERSISTENCE_RESTORE_TIMEOUT
+            = new HazelcastProperty("hazelcast.map.persistence.restore.timeout.seconds", 120, SECONDS);
+
     /**
      * XML and system property for setting the hot restart required free space.
      * By default, hot restart requires at least 15% free HD space.
@@ -709,6 +876,28 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * The number of workers which concurrently store the write-behind queues of
+     * a map on a member. The owned partitions are split into this many groups,
+     * each group is stored by a task on the
+     * {@link com.hazelcast.spi.impl.executionservice.ExecutionService#MAP_WRITE_BEHIND_EXECUTOR}
+     * executor. With the default of {@code 1}, all partitions are stored one
+     * after another by a single task.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_WORKER_COUNT
+            = new HazelcastProperty("hazelcast.map.write.behind.worker.count", 1);
+
+    /**
+     * The target duration of a single {@code storeAll}/{@code deleteAll} call
+     * of write-behind map stores. When set to a positive value, the configured
+     * write batch size is only the initial batch size: batches grow while the
+     * calls take less than this target and shrink when they take longer, up to
+     * 16 times the configured write batch size. The default of {@code 0} keeps
+     * the batch size fixed.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS
+            = new HazelcastProperty("hazelcast.map.write.behind.target.batch.latency.millis", 0, MILLISECONDS);
+
     /**
      * Defines cache invalidation event batch sending is enabled or not.
      */
@@ -942,6 +1131,45 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * Enables the B+tree store for sorted indexes.
+     * <p>
+     * By default, sorted indexes keep a skip list of the distinct attribute
+     * values, each pointing to a hash map of the matching entries. The B+tree
+     * store keeps the entries directly in array-based leaf nodes ordered by
+     * attribute value and key, which reduces the memory footprint of the
+     * index and makes range scans sequential. Index queries always return
+     * results detached from the index, whatever the {@link #INDEX_COPY_BEHAVIOR}.
+     */
+    public static final HazelcastProperty INDEX_SORTED_BTREE_ENABLED
+            = new HazelcastProperty("hazelcast.index.sorted.btree.enabled", false);
+
+    /**
+     * Enables covering indexes.
+     * <p>
+     * When enabled, every entry indexed by the global indexes of a map keeps a
+     * copy of the values of all the attributes indexed by that map. Queries,
+     * projections and aggregations reading only indexed attributes of the
+     * entries returned by an index query then neither deserialize the entry
+     * values nor run their getters or extractors again, at the cost of the
+     * memory taken by the copied values.
+     */
+    public static final HazelcastProperty INDEX_COVERING_ENABLED
+            = new HazelcastProperty("hazelcast.index.covering.enabled", false);
+
+    /**
+     * The number of entries a partition indexes at a time when an index is
+     * added to a populated map.
+     * <p>
+     * The first chunk is indexed by the operation adding the index, the
+     * remaining entries are indexed by follow-up partition operations, one
+     * chunk per operation, so the other operations on the partition are not
+     * blocked until the whole partition is indexed. The index is not used by
+     * queries until all the partitions are indexed.
+     */
+    public static final HazelcastProperty INDEX_POPULATION_CHUNK_SIZE
+            = new HazelcastProperty("hazelcast.index.population.chunk.size", 1000);
+
     /**
      * Forces the JCache provider, which can have values client or server, to force the provider type.
      * If not provided, the provider will be client or server, whichever is found on the classpath first respectively.
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.aggregation;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class})
+public class IndexAwareAggregationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+    private static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        DESERIALIZATIONS.set(0);
+    }
+
+    @Test
+    public void testCount_fromIndexResult() {
+        IMap<Integer, Order> map = createMap(false);
+
+        long count = map.aggregate(Aggregators.count(), Predicates.equal("customerId", 7));
+
+        assertEquals(0, DESERIALIZATIONS.get());
+        assertEquals(10, count);
+    }
+
+    @Test
+    public void testCount_fromIndexResult_withParallelAccumulation() {
+        IMap<Integer, Order> map = createMap(true);
+
+        long count = map.aggregate(Aggregators.count(), Predicates.greaterEqual("amount", 50));
+
+        assertEquals(0, DESERIALIZATIONS.get());
+        assertEquals(50, count);
+    }
+
+    @Test
+    public void testMaxAndMin_fromSortedIndex() {
+        IMap<Integer, Order> map = createMap(false);
+
+        int max = map.aggregate(Aggregators.integerMax("amount"));
+        int min = map.aggregate(Aggregators.integerMin("amount"));
+
+        assertEquals(2, DESERIALIZATIONS.get());
+        assertEquals(99, max);
+        assertEquals(0, min);
+    }
+
+    @Test
+    public void testMaxByAndMinBy_fromSortedIndex() {
+        IMap<Integer, Order> map = createMap(false);
+
+        Map.Entry<Integer, Order> maxEntry = map.aggregate(Aggregators.maxBy("amount"));
+        Map.Entry<Integer, Order> minEntry = map.aggregate(Aggregators.minBy("amount"));
+
+        assertEquals(99, (int) maxEntry.getKey());
+        assertEquals(0, (int) minEntry.getKey());
+    }
+
+    @Test
+    public void testMin_fromSortedIndex_followsUpdates() {
+        IMap<Integer, Order> map = createMap(false);
+        map.remove(0);
+        map.put(1, new Order(1, Priority.LOW, 100));
+
+        int min = map.aggregate(Aggregators.integerMin("amount"));
+
+        assertEquals(2, min);
+    }
+
+    @Test
+    public void testMax_ofEnumAttribute_isNotTakenFromIndex() {
+        IMap<Integer, Order> map = createMap(false);
+
+        // the index orders the enum values by name, LOW > HIGH
+        Priority max = map.aggregate(Aggregators.comparableMax("priority"));
+
+        assertEquals(Priority.HIGH, max);
+        assertEquals(ENTRY_COUNT, DESERIALIZATIONS.get());
+    }
+
+    private IMap<Integer, Order> createMap(boolean parallelAccumulation) {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION.getName(),
+                        String.valueOf(parallelAccumulation));
+        config.addMapConfig(new MapConfig("orders").setCacheDeserializedValues(CacheDeserializedValues.NEVER)
+                .addIndexConfig(IndexUtils.createTestIndexConfig(IndexType.HASH, "customerId"))
+                .addIndexConfig(IndexUtils.createTestIndexConfig(IndexType.SORTED, "amount"))
+                .addIndexConfig(IndexUtils.createTestIndexConfig(IndexType.SORTED, "priority")));
+        IMap<Integer, Order> map = createHazelcastInstance(config).getMap("orders");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Order(i % 10, i % 2 == 0 ? Priority.LOW : Priority.HIGH, i));
+        }
+        DESERIALIZATIONS.set(0);
+        return map;
+    }
+
+    public enum Priority {
+        LOW,
+        HIGH
+    }
+
+    public static class Order implements Serializable {
+
+        private final int customerId;
+        private final Priority priority;
+        private final int amount;
+
+        Order(int customerId, Priority priority, int amount) {
+            this.customerId = customerId;
+            this.priority = priority;
+            this.amount = amount;
+        }
+
+        public int getCustomerId() {
+            return customerId;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            DESERIALIZATIONS.incrementAndGet();
+        }
+    }
+}
@@ -30,10 +30,14 @@ import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -199,6 +203,28 @@ public abstract class AbstractMapQueryPartitionIteratorTest extends HazelcastTes
         }
     }
 
+    @Test
+    public void test_AllPartitions_Are_Iterated() {
+        final ClientMapProxy<Integer, Integer> proxy = getMapProxy();
+        int count = 1000;
+        for (int i = 0; i < count; i++) {
+            proxy.put(i, i);
+        }
+
+        final Iterator<Integer> iterator = proxy.iterator(7, new GetValueProjection<>(), Predicates.greaterEqual("this", 100));
+        final List<Integer> values = collectAll(iterator);
+        assertFalse(iterator.hasNext());
+
+        Collections.sort(values);
+        assertEquals(IntStream.range(100, count).boxed().collect(Collectors.toList()), values);
+    }
+
+    @Test
+    public void test_HasNext_Returns_False_When_AllPartitions_Are_Empty() {
+        final ClientMapProxy<String, String> proxy = getMapProxy();
+        assertFalse(proxy.iterator(10, new TestProjection(), Predicates.alwaysTrue()).hasNext());
+    }
+
     protected ClientConfig getClientConfig() {
         return new ClientConfig();
     }
@@ -222,9 +248,9 @@ public abstract class AbstractMapQueryPartitionIteratorTest extends HazelcastTes
         }
     }
 
-    private static class GetValueProjection<T> implements Projection<Entry<String, T>, T> {
+    private static class GetValueProjection<K, T> implements Projection<Entry<K, T>, T> {
         @Override
-        public T transform(Map.Entry<String, T> input) {
+        public T transform(Map.Entry<K, T> input) {
             return input.getValue();
         }
     }
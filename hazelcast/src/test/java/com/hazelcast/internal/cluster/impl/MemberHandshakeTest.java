@@ -70,6 +70,29 @@ public class MemberHandshakeTest {
         assertEquals(uuid, deserialized.getUuid());
     }
 
+    @Test
+    public void testSerialization_withPlanes() throws Exception {
+        bindMessage = new MemberHandshake(localAddresses(), targetAddress, false, uuid, 4, 3);
+        Data serialized = serializationService.toData(bindMessage);
+        MemberHandshake deserialized = serializationService.toObject(serialized);
+        assertEquals(MemberHandshake.PLANES_SCHEMA_VERSION, deserialized.getSchemaVersion());
+        assertEquals(localAddresses(), deserialized.getLocalAddresses());
+        assertEquals(targetAddress, deserialized.getTargetAddress());
+        assertFalse(deserialized.isReply());
+        assertEquals(uuid, deserialized.getUuid());
+        assertEquals(4, deserialized.getPlaneCount());
+        assertEquals(3, deserialized.getPlaneIndex());
+    }
+
+    @Test
+    public void testSerialization_withoutPlanes() throws Exception {
+        bindMessage = new MemberHandshake((byte) 1, localAddresses(), targetAddress, true, uuid);
+        Data serialized = serializationService.toData(bindMessage);
+        MemberHandshake deserialized = serializationService.toObject(serialized);
+        assertEquals(1, deserialized.getPlaneCount());
+        assertEquals(0, deserialized.getPlaneIndex());
+    }
+
     @Test
     public void testSerialization_whenBindMessageEmpty() {
         bindMessage = new MemberHandshake();
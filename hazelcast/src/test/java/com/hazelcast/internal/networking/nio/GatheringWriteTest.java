@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static com.hazelcast.spi.properties.ClusterProperty.IO_GATHERING_WRITE_ENABLED;
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Sends map entries between two members whose member connections write
+ * the packets with gathering writes.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class GatheringWriteTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private HazelcastInstance hz1;
+    private HazelcastInstance hz2;
+
+    @Before
+    public void setUp() {
+        hz1 = Hazelcast.newHazelcastInstance(getConfig());
+        hz2 = Hazelcast.newHazelcastInstance(getConfig());
+        assertClusterSizeEventually(2, hz1, hz2);
+    }
+
+    @After
+    public void tearDown() {
+        hz1.getLifecycleService().terminate();
+        hz2.getLifecycleService().terminate();
+    }
+
+    @Test
+    public void testPacketsBelowGatheringThreshold_arriveIntact() {
+        assertValuesArriveIntact(100);
+    }
+
+    @Test
+    public void testPacketsAboveGatheringThreshold_arriveIntact() {
+        assertValuesArriveIntact(10_000);
+    }
+
+    @Test
+    public void testPacketsLargerThanSendBuffer_arriveIntact() {
+        assertValuesArriveIntact(1 << 20);
+    }
+
+    @Test
+    public void testInterleavedPacketSizes_arriveIntact() {
+        IMap<Integer, byte[]> map = hz1.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.putAsync(i, value(i, i % 4 == 0 ? i * 10_000 : i));
+        }
+
+        IMap<Integer, byte[]> map2 = hz2.getMap(map.getName());
+        assertTrueEventually(() -> {
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                assertArrayEquals(value(i, i % 4 == 0 ? i * 10_000 : i), map2.get(i));
+            }
+        });
+    }
+
+    private void assertValuesArriveIntact(int valueSize) {
+        IMap<Integer, byte[]> map = hz1.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, value(i, valueSize));
+        }
+
+        IMap<Integer, byte[]> map2 = hz2.getMap(map.getName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertArrayEquals(value(i, valueSize), map2.get(i));
+        }
+    }
+
+    private static byte[] value(int i, int size) {
+        byte[] value = new byte[size];
+        Arrays.fill(value, (byte) i);
+        return value;
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = smallInstanceConfig()
+                .setProperty(IO_GATHERING_WRITE_ENABLED.getName(), "true");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return config;
+    }
+}
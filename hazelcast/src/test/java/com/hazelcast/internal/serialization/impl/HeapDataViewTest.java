@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class HeapDataViewTest {
+
+    private InternalSerializationService serializationService;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test
+    public void testView_sameAsHeapData() throws IOException {
+        List<Object> objects = asList("string", 42L, new ArrayList<>(asList(1, 2, 3)), "partitioned");
+        for (Object object : objects) {
+            Data heapData = serializationService.toData(object,
+                    key -> "partitioned".equals(key) ? "partition-key" : null);
+            Data view = readView(heapData);
+
+            assertTrue(view instanceof HeapDataView);
+            assertEquals(heapData, view);
+            assertEquals(view, heapData);
+            assertEquals(heapData.hashCode(), view.hashCode());
+            assertEquals(heapData.hash64(), view.hash64());
+            assertEquals(heapData.getPartitionHash(), view.getPartitionHash());
+            assertEquals(heapData.hasPartitionHash(), view.hasPartitionHash());
+            assertEquals(heapData.getType(), view.getType());
+            assertEquals(heapData.totalSize(), view.totalSize());
+            assertEquals(heapData.dataSize(), view.dataSize());
+            assertArrayEquals(heapData.toByteArray(), view.toByteArray());
+
+            byte[] copy = new byte[view.totalSize() + 1];
+            view.copyTo(copy, 1);
+            assertArrayEquals(heapData.toByteArray(), Arrays.copyOfRange(copy, 1, copy.length));
+        }
+    }
+
+    @Test
+    public void testView_notEqualToDifferentData() throws IOException {
+        Data view = readView(serializationService.toData("value-1"));
+
+        assertNotEquals(view, serializationService.toData("value-2"));
+        assertNotEquals(view, readView(serializationService.toData("value-2")));
+        assertNotEquals(view, serializationService.toData(1));
+        assertEquals(view, readView(serializationService.toData("value-1")));
+    }
+
+    @Test
+    public void testToObject() throws IOException {
+        ArrayList<Object> list = new ArrayList<>(asList("a", 1, 2L, asList("nested", "list")));
+        Data view = readView(serializationService.toData(list));
+
+        assertEquals(list, serializationService.toObject(view));
+    }
+
+    @Test
+    public void testReadDataAsObject() throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeData(serializationService.toData("first"));
+        out.writeData(null);
+        out.writeData(serializationService.toData(2));
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        assertEquals("first", in.readDataAsObject());
+        assertNull(in.readDataAsObject());
+        assertEquals(2, (int) in.readDataAsObject());
+    }
+
+    @Test
+    public void testToHeapData() throws IOException {
+        Data heapData = serializationService.toData("value");
+        Data view = readView(heapData);
+
+        Data copy = toHeapData(view);
+        assertTrue(copy instanceof HeapData);
+        assertEquals(heapData, copy);
+        assertSame(heapData, toHeapData(heapData));
+        assertNull(toHeapData(null));
+    }
+
+    @Test
+    public void testReadDataView_nullAndEmpty() throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeData(null);
+        out.writeData(new HeapData(new byte[0]));
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        assertNull(in.readDataView());
+        assertEquals(0, in.readDataView().totalSize());
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadDataView_truncated() throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeData(serializationService.toData("value"));
+        byte[] bytes = out.toByteArray();
+
+        serializationService.createObjectDataInput(Arrays.copyOf(bytes, bytes.length - 1)).readDataView();
+    }
+
+    private Data readView(Data data) throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeLong(1);
+        out.writeData(data);
+        out.writeLong(2);
+
+        BufferObjectDataInput in = serializationService.createObjectDataInput(out.toByteArray());
+        assertEquals(1, in.readLong());
+        Data view = in.readDataView();
+        assertEquals(2, in.readLong());
+        return view;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PrimitiveArrayEncoderDecoderTest {
+
+    private static final int OFFSET = 3;
+    private static final int LENGTH = 1000;
+
+    private final InternalSerializationService serializationService = mock(InternalSerializationService.class);
+    private final Random random = new Random(42);
+
+    @Test
+    public void testEncode_sameAsElementByElement() {
+        for (boolean bigEndian : new boolean[]{true, false}) {
+            int[] ints = new int[LENGTH];
+            long[] longs = new long[LENGTH];
+            for (int i = 0; i < LENGTH; ++i) {
+                ints[i] = random.nextInt();
+                longs[i] = random.nextLong();
+            }
+
+            byte[] expected = new byte[OFFSET + LENGTH * LONG_SIZE_IN_BYTES];
+            byte[] actual = new byte[expected.length];
+            for (int i = 0; i < LENGTH; ++i) {
+                Bits.writeInt(expected, OFFSET + i * Bits.INT_SIZE_IN_BYTES, ints[i], bigEndian);
+            }
+            PrimitiveArrayEncoderDecoder.writeInts(actual, OFFSET, ints, bigEndian);
+            assertArrayEquals(expected, actual);
+
+            for (int i = 0; i < LENGTH; ++i) {
+                Bits.writeLong(expected, OFFSET + i * LONG_SIZE_IN_BYTES, longs[i], bigEndian);
+            }
+            PrimitiveArrayEncoderDecoder.writeLongs(actual, OFFSET, longs, bigEndian);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void testArrays_roundTrip() throws IOException {
+        for (ByteOrder byteOrder : new ByteOrder[]{BIG_ENDIAN, LITTLE_ENDIAN}) {
+            char[] chars = new char[LENGTH];
+            short[] shorts = new short[LENGTH];
+            int[] ints = new int[LENGTH];
+            float[] floats = new float[LENGTH];
+            long[] longs = new long[LENGTH];
+            double[] doubles = new double[LENGTH];
+            for (int i = 0; i < LENGTH; ++i) {
+                chars[i] = (char) random.nextInt();
+                shorts[i] = (short) random.nextInt();
+                ints[i] = random.nextInt();
+                floats[i] = random.nextFloat();
+                longs[i] = random.nextLong();
+                doubles[i] = random.nextDouble();
+            }
+            floats[0] = Float.NaN;
+            doubles[0] = Double.NEGATIVE_INFINITY;
+
+            ByteArrayObjectDataOutput out = new ByteArrayObjectDataOutput(16, serializationService, byteOrder);
+            out.writeByte(1);
+            out.writeCharArray(chars);
+            out.writeShortArray(shorts);
+            out.writeIntArray(ints);
+            out.writeFloatArray(floats);
+            out.writeLongArray(longs);
+            out.writeDoubleArray(doubles);
+            out.writeLongArray(null);
+            out.writeDoubleArray(new double[0]);
+
+            ByteArrayObjectDataInput in = new ByteArrayObjectDataInput(out.toByteArray(), serializationService, byteOrder);
+            assertEquals(1, in.readByte());
+            assertArrayEquals(chars, in.readCharArray());
+            assertArrayEquals(shorts, in.readShortArray());
+            assertArrayEquals(ints, in.readIntArray());
+            assertArrayEquals(floats, in.readFloatArray(), 0);
+            assertArrayEquals(longs, in.readLongArray());
+            assertArrayEquals(doubles, in.readDoubleArray(), 0);
+            assertNull(in.readLongArray());
+            assertEquals(0, in.readDoubleArray().length);
+            assertEquals(0, in.available());
+        }
+    }
+
+    @Test(expected = EOFException.class)
+    public void testReadArray_truncated() throws IOException {
+        ByteArrayObjectDataOutput out = new ByteArrayObjectDataOutput(16, serializationService, BIG_ENDIAN);
+        out.writeInt(Integer.MAX_VALUE);
+        out.writeLong(1);
+
+        new ByteArrayObjectDataInput(out.toByteArray(), serializationService, BIG_ENDIAN).readLongArray();
+    }
+
+    @Test
+    public void testDeltaEncodedLongArray_sorted() throws IOException {
+        long[] timestamps = new long[LENGTH];
+        timestamps[0] = 1600000000000L;
+        for (int i = 1; i < LENGTH; ++i) {
+            timestamps[i] = timestamps[i - 1] + random.nextInt(64);
+        }
+
+        byte[] bytes = assertDeltaEncodedRoundTrip(timestamps);
+        // the first value takes 6 bytes, the deltas and the trailing byte one byte each
+        assertEquals(Bits.INT_SIZE_IN_BYTES + 6 + LENGTH, bytes.length);
+    }
+
+    @Test
+    public void testDeltaEncodedLongArray_unsorted() throws IOException {
+        long[] values = new long[LENGTH];
+        for (int i = 0; i < LENGTH; ++i) {
+            values[i] = random.nextLong();
+        }
+        assertDeltaEncodedRoundTrip(values);
+        assertDeltaEncodedRoundTrip(new long[]{Long.MAX_VALUE, Long.MIN_VALUE, 0, -1, Long.MIN_VALUE, Long.MAX_VALUE});
+        assertDeltaEncodedRoundTrip(new long[0]);
+        assertDeltaEncodedRoundTrip(null);
+    }
+
+    @Test(expected = EOFException.class)
+    public void testDeltaEncodedLongArray_truncated() throws IOException {
+        ByteArrayObjectDataOutput out = new ByteArrayObjectDataOutput(16, serializationService, BIG_ENDIAN);
+        out.writeDeltaEncodedLongArray(new long[]{1, Long.MAX_VALUE});
+        byte[] bytes = out.toByteArray();
+
+        new ByteArrayObjectDataInput(Arrays.copyOf(bytes, bytes.length - 1), serializationService, BIG_ENDIAN)
+                .readDeltaEncodedLongArray();
+    }
+
+    @Test
+    public void testDeltaEncodedLongArray_malformed() throws IOException {
+        ByteArrayObjectDataOutput out = new ByteArrayObjectDataOutput(16, serializationService, BIG_ENDIAN);
+        out.writeInt(1);
+        for (int i = 0; i < PrimitiveArrayEncoderDecoder.MAX_VAR_LONG_LENGTH + 1; ++i) {
+            out.writeByte(0x80);
+        }
+        out.writeByte(0);
+
+        ByteArrayObjectDataInput in = new ByteArrayObjectDataInput(out.toByteArray(), serializationService, BIG_ENDIAN);
+        try {
+            in.readDeltaEncodedLongArray();
+            fail();
+        } catch (EOFException e) {
+            fail();
+        } catch (IOException expected) {
+            // the value is too long
+        }
+    }
+
+    private byte[] assertDeltaEncodedRoundTrip(long[] values) throws IOException {
+        ByteArrayObjectDataOutput out = new ByteArrayObjectDataOutput(16, serializationService, LITTLE_ENDIAN);
+        out.writeDeltaEncodedLongArray(values);
+        out.writeByte(1);
+        byte[] bytes = out.toByteArray();
+
+        ByteArrayObjectDataInput in = new ByteArrayObjectDataInput(bytes, serializationService, LITTLE_ENDIAN);
+        assertArrayEquals(values, in.readDeltaEncodedLongArray());
+        assertEquals(1, in.readByte());
+        return bytes;
+    }
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class UTFEncoderDecoderTest {
+
+    private static final String[] STRINGS = {
+            "", "a", "ACTIVE", "plain ascii text",
+            "latin-1 " + (char) 0xE9 + (char) 0xFF,
+            "greek " + (char) 0x3B1 + (char) 0x3B2,
+            "cjk " + (char) 0x4E2D + (char) 0x6587,
+            "emoji " + new String(Character.toChars(0x1F600)) + "!",
+            new String(Character.toChars(Character.MAX_CODE_POINT)),
+            "lone high " + (char) 0xD83D,
+            "lone low " + (char) 0xDE00 + " end",
+            "" + (char) 0x7F + (char) 0x80 + (char) 0x7FF + (char) 0x800 + (char) 0xFFFF,
+    };
+
+    @Test
+    public void testEncode_sameAsJdk() {
+        for (String str : STRINGS) {
+            assertEncodedSameAsJdk(str);
+        }
+    }
+
+    @Test
+    public void testEncode_randomStrings() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; ++i) {
+            char[] chars = new char[random.nextInt(100)];
+            for (int j = 0; j < chars.length; ++j) {
+                chars[j] = (char) random.nextInt(Character.MAX_VALUE + 1);
+            }
+            assertEncodedSameAsJdk(new String(chars));
+        }
+    }
+
+    @Test
+    public void testDecode() {
+        for (String str : STRINGS) {
+            byte[] bytes = str.getBytes(UTF_8);
+            byte[] buffer = new byte[bytes.length + 2];
+            System.arraycopy(bytes, 0, buffer, 1, bytes.length);
+
+            assertEquals(new String(bytes, UTF_8), UTFEncoderDecoder.readUTF8(buffer, 1, bytes.length));
+        }
+    }
+
+    @Test
+    public void testDecode_shortAsciiStringsCached() {
+        byte[] bytes = "cached-value".getBytes(UTF_8);
+        String first = UTFEncoderDecoder.readUTF8(bytes, 0, bytes.length);
+        String second = UTFEncoderDecoder.readUTF8(bytes, 0, bytes.length);
+
+        assertEquals("cached-value", first);
+        assertSame(first, second);
+        assertEquals("cached", UTFEncoderDecoder.readUTF8(bytes, 0, 6));
+    }
+
+    @Test
+    public void testDecode_longStringsNotCached() {
+        char[] chars = new char[UTFEncoderDecoder.MAX_CACHED_LENGTH + 1];
+        Arrays.fill(chars, 'x');
+        byte[] bytes = new String(chars).getBytes(UTF_8);
+
+        assertNotSame(UTFEncoderDecoder.readUTF8(bytes, 0, bytes.length), UTFEncoderDecoder.readUTF8(bytes, 0, bytes.length));
+    }
+
+    private static void assertEncodedSameAsJdk(String str) {
+        byte[] expected = str.getBytes(UTF_8);
+        int utf8Length = UTFEncoderDecoder.utf8Length(str);
+        assertEquals(str, expected.length, utf8Length);
+
+        byte[] buffer = new byte[utf8Length + 1];
+        assertEquals(utf8Length + 1, UTFEncoderDecoder.writeUTF8(buffer, 1, str));
+        assertArrayEquals(str, expected, Arrays.copyOfRange(buffer, 1, buffer.length));
+    }
+}
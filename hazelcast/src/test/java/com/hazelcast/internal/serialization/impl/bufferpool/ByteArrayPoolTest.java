@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.bufferpool;
+
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.AbstractSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool.MAX_POOLED_LENGTH;
+import static com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool.MIN_POOLED_LENGTH;
+import static com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool.SLOTS_PER_CLASS;
+import static com.hazelcast.internal.serialization.impl.bufferpool.ByteArrayPool.sizeClassLength;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ByteArrayPoolTest {
+
+    private final ByteArrayPool pool = new ByteArrayPool(ByteArrayPool.DEFAULT_CAPACITY);
+
+    @Test
+    public void testSizeClassLength() {
+        assertEquals(MIN_POOLED_LENGTH, sizeClassLength(1));
+        assertEquals(MIN_POOLED_LENGTH, sizeClassLength(MIN_POOLED_LENGTH));
+        assertEquals(2 * MIN_POOLED_LENGTH, sizeClassLength(MIN_POOLED_LENGTH + 1));
+        assertEquals(1 << 17, sizeClassLength(100_000));
+        assertEquals(MAX_POOLED_LENGTH, sizeClassLength(MAX_POOLED_LENGTH));
+        assertEquals(MAX_POOLED_LENGTH + 1, sizeClassLength(MAX_POOLED_LENGTH + 1));
+    }
+
+    @Test
+    public void testTakeAndRelease() {
+        byte[] array = pool.take(100_000);
+        assertEquals(1 << 17, array.length);
+        assertEquals(1, pool.getMisses());
+
+        pool.release(array);
+        assertEquals(array.length, pool.getPooledBytes());
+
+        assertSame(array, pool.take(70_000));
+        assertEquals(1, pool.getHits());
+        assertEquals(0, pool.getPooledBytes());
+        assertNotSame(array, pool.take(70_000));
+    }
+
+    @Test
+    public void testRelease_notPooledLengths() {
+        pool.release(new byte[MIN_POOLED_LENGTH + 1]);
+        pool.release(new byte[MIN_POOLED_LENGTH / 2]);
+        pool.release(new byte[MAX_POOLED_LENGTH + 1]);
+
+        assertEquals(0, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testRelease_whenClassFull() {
+        for (int i = 0; i < SLOTS_PER_CLASS + 1; ++i) {
+            pool.release(new byte[MIN_POOLED_LENGTH]);
+        }
+
+        assertEquals(SLOTS_PER_CLASS * MIN_POOLED_LENGTH, pool.getPooledBytes());
+        assertEquals(1, pool.getDiscarded());
+    }
+
+    @Test
+    public void testRelease_whenCapacityExceeded() {
+        ByteArrayPool pool = new ByteArrayPool(3 * MIN_POOLED_LENGTH);
+        for (int i = 0; i < 4; ++i) {
+            pool.release(new byte[MIN_POOLED_LENGTH]);
+        }
+        pool.release(new byte[2 * MIN_POOLED_LENGTH]);
+
+        assertEquals(3 * MIN_POOLED_LENGTH, pool.getPooledBytes());
+        assertEquals(2, pool.getDiscarded());
+    }
+
+    @Test
+    public void testDisabled() {
+        ByteArrayPool pool = new ByteArrayPool(0);
+        pool.release(new byte[MIN_POOLED_LENGTH]);
+
+        assertEquals(0, pool.getPooledBytes());
+        assertEquals(1, pool.getDiscarded());
+    }
+
+    @Test
+    public void testClear() {
+        pool.release(new byte[MIN_POOLED_LENGTH]);
+        pool.release(new byte[2 * MIN_POOLED_LENGTH]);
+        pool.clear();
+
+        assertEquals(0, pool.getPooledBytes());
+    }
+
+    @Test
+    public void testOutputBuffersRecycled() throws IOException {
+        AbstractSerializationService ss = (AbstractSerializationService) new DefaultSerializationServiceBuilder().build();
+        ByteArrayPool pool = ss.getByteArrayPool();
+        byte[] value = new byte[200_000];
+        value[value.length - 1] = 1;
+
+        Data data = ss.toData(value);
+        assertArrayEquals(value, (byte[]) ss.toObject(data));
+        long missesAfterFirst = pool.getMisses();
+        assertTrue(pool.getPooledBytes() > 0);
+
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(data, ss.toData(value));
+        }
+        assertEquals(missesAfterFirst, pool.getMisses());
+
+        BufferObjectDataOutput out = ss.createObjectDataOutput();
+        out.write(value);
+        out.close();
+        assertTrue(pool.getHits() > 0);
+    }
+}
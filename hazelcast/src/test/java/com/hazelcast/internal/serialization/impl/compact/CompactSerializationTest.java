@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.query.impl.CachedQueryEntry;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactSerializationTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder()
+            .addCompactSerializer(new AddressSerializer())
+            .addCompactSerializer(new EmployeeSerializer())
+            .build();
+
+    @Test
+    public void testRoundTrip() {
+        Employee employee = newEmployee();
+        Data data = ss.toData(employee);
+
+        assertTrue(data.isCompact());
+        assertEquals(employee, ss.toObject(data));
+    }
+
+    @Test
+    public void testRoundTrip_nullVariableFields() {
+        Employee employee = new Employee();
+        Data data = ss.toData(employee);
+
+        assertEquals(employee, ss.toObject(data));
+    }
+
+    @Test
+    public void testRoundTrip_insideOtherObjects() {
+        ArrayList<Object> list = new ArrayList<>(Arrays.asList(newEmployee(), "marker", new Address("London", 1), 42));
+
+        assertEquals(list, ss.toObject(ss.toData(list)));
+    }
+
+    @Test
+    public void testSchemaId_doesNotDependOnFieldOrder() {
+        Schema schema = new SchemaBuilder("type").addIntField("a").addStringField("b").addLongField("c").build();
+        Schema reordered = new SchemaBuilder("type").addLongField("c").addIntField("a").addStringField("b").build();
+        Schema renamed = new SchemaBuilder("other").addIntField("a").addStringField("b").addLongField("c").build();
+        Schema retyped = new SchemaBuilder("type").addLongField("a").addStringField("b").addLongField("c").build();
+
+        assertEquals(schema.getSchemaId(), reordered.getSchemaId());
+        assertEquals(schema, reordered);
+        assertFalse(schema.getSchemaId() == renamed.getSchemaId());
+        assertFalse(schema.getSchemaId() == retyped.getSchemaId());
+    }
+
+    @Test
+    public void testSchemaLayout() {
+        Schema schema = new SchemaBuilder("type")
+                .addBooleanField("bool").addIntField("int").addLongField("long").addShortField("short")
+                .addStringField("string").addCompactField("compact")
+                .build();
+
+        assertEquals(8 + 4 + 2 + 1, schema.getFixedSize());
+        assertEquals(2, schema.getVariableFieldCount());
+        assertEquals(0, schema.getField("long").getIndex());
+        assertEquals(8, schema.getField("int").getIndex());
+        assertEquals(12, schema.getField("short").getIndex());
+        assertEquals(14, schema.getField("bool").getIndex());
+        assertEquals(0, schema.getField("compact").getIndex());
+        assertEquals(1, schema.getField("string").getIndex());
+    }
+
+    @Test
+    public void testReader_readsFieldsWithoutDeserialization() throws IOException {
+        Data data = ss.toData(newEmployee());
+        DefaultCompactReader reader = (DefaultCompactReader) ss.createCompactReader(data);
+
+        assertEquals("John", reader.read("name"));
+        assertEquals(42, reader.read("age"));
+        assertArrayEquals(new long[]{1, 2, 3}, (long[]) reader.read("longs"));
+        assertNull(reader.read("unknown"));
+        assertEquals("Istanbul", reader.readNested("address").read("city"));
+        assertNull(reader.readNested("name"));
+    }
+
+    @Test
+    public void testQuery_onDataForm() {
+        Extractors extractors = Extractors.newBuilder(ss).build();
+        QueryableEntry entry = new CachedQueryEntry(ss, ss.toData(1), ss.toData(newEmployee()), extractors);
+
+        assertEquals("John", entry.getAttributeValue("name"));
+        assertEquals(34000, entry.getAttributeValue("address.zipCode"));
+        assertNull(entry.getAttributeValue("unknown"));
+        assertNull(entry.getAttributeValue("name.unknown"));
+        assertTrue(equal("address.city", "Istanbul").apply(entry));
+        assertTrue(greaterThan("salary", 1000.0).apply(entry));
+        assertFalse(equal("age", 43).apply(entry));
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testRead_unknownSchema() {
+        InternalSerializationService other = new DefaultSerializationServiceBuilder()
+                .addCompactSerializer(new AddressSerializer())
+                .addCompactSerializer(new EmployeeSerializer())
+                .build();
+        Data data = other.toData(newEmployee());
+
+        new DefaultSerializationServiceBuilder().addCompactSerializer(new AddressSerializer()).build().toObject(data);
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testWrite_fieldKindMismatch() {
+        CompactSerializer<Address> serializer = new AddressSerializer() {
+            @Override
+            public void write(CompactWriter writer, Address object) throws IOException {
+                writer.writeLong("zipCode", object.zipCode);
+            }
+        };
+        new DefaultSerializationServiceBuilder().addCompactSerializer(serializer).build().toData(new Address("a", 1));
+    }
+
+    private static Employee newEmployee() {
+        Employee employee = new Employee();
+        employee.active = true;
+        employee.grade = 3;
+        employee.initial = 'J';
+        employee.level = 7;
+        employee.age = 42;
+        employee.rating = 4.5f;
+        employee.id = Long.MAX_VALUE;
+        employee.salary = 1234.5;
+        employee.name = "John";
+        employee.bytes = new byte[]{1, 2};
+        employee.ints = new int[]{};
+        employee.longs = new long[]{1, 2, 3};
+        employee.doubles = new double[]{0.5};
+        employee.address = new Address("Istanbul", 34000);
+        return employee;
+    }
+
+    private static class Address {
+
+        private final String city;
+        private final int zipCode;
+
+        Address(String city, int zipCode) {
+            this.city = city;
+            this.zipCode = zipCode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Address address = (Address) o;
+            return zipCode == address.zipCode && Objects.equals(city, address.city);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(city, zipCode);
+        }
+    }
+
+    private static class AddressSerializer implements CompactSerializer<Address> {
+
+        private static final Schema SCHEMA = new SchemaBuilder("address")
+                .addStringField("city")
+                .addIntField("zipCode")
+                .build();
+
+        @Override
+        public Class<Address> getCompactClass() {
+            return Address.class;
+        }
+
+        @Override
+        public Schema getSchema() {
+            return SCHEMA;
+        }
+
+        @Override
+        public void write(CompactWriter writer, Address object) throws IOException {
+            writer.writeString("city", object.city);
+            writer.writeInt("zipCode", object.zipCode);
+        }
+
+        @Override
+        public Address read(CompactReader reader) throws IOException {
+            return new Address(reader.readString("city"), reader.readInt("zipCode"));
+        }
+    }
+
+    private static class Employee {
+
+        private boolean active;
+        private byte grade;
+        private char initial;
+        private short level;
+        private int age;
+        private float rating;
+        private long id;
+        private double salary;
+        private String name;
+        private byte[] bytes;
+        private int[] ints;
+        private long[] longs;
+        private double[] doubles;
+        private Address address;
+
+        @Override
+        @SuppressWarnings("checkstyle:cyclomaticcomplexity")
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Employee that = (Employee) o;
+            return active == that.active && grade == that.grade && initial == that.initial && level == that.level
+                    && age == that.age && rating == that.rating && id == that.id && salary == that.salary
+                    && Objects.equals(name, that.name) && Arrays.equals(bytes, that.bytes) && Arrays.equals(ints, that.ints)
+                    && Arrays.equals(longs, that.longs) && Arrays.equals(doubles, that.doubles)
+                    && Objects.equals(address, that.address);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, age, id);
+        }
+    }
+
+    private static class EmployeeSerializer implements CompactSerializer<Employee> {
+
+        private static final Schema SCHEMA = new SchemaBuilder("employee")
+                .addBooleanField("active")
+                .addByteField("grade")
+                .addCharField("initial")
+                .addShortField("level")
+                .addIntField("age")
+                .addFloatField("rating")
+                .addLongField("id")
+                .addDoubleField("salary")
+                .addStringField("name")
+                .addByteArrayField("bytes")
+                .addIntArrayField("ints")
+                .addLongArrayField("longs")
+                .addDoubleArrayField("doubles")
+                .addCompactField("address")
+                .build();
+
+        @Override
+        public Class<Employee> getCompactClass() {
+            return Employee.class;
+        }
+
+        @Override
+        public Schema getSchema() {
+            return SCHEMA;
+        }
+
+        @Override
+        public void write(CompactWriter writer, Employee object) throws IOException {
+            writer.writeBoolean("active", object.active);
+            writer.writeByte("grade", object.grade);
+            writer.writeChar("initial", object.initial);
+            writer.writeShort("level", object.level);
+            writer.writeInt("age", object.age);
+            writer.writeFloat("rating", object.rating);
+            writer.writeLong("id", object.id);
+            writer.writeDouble("salary", object.salary);
+            writer.writeString("name", object.name);
+            writer.writeByteArray("bytes", object.bytes);
+            writer.writeIntArray("ints", object.ints);
+            writer.writeLongArray("longs", object.longs);
+            writer.writeDoubleArray("doubles", object.doubles);
+            writer.writeCompact("address", object.address);
+        }
+
+        @Override
+        public Employee read(CompactReader reader) throws IOException {
+            Employee employee = new Employee();
+            employee.active = reader.readBoolean("active");
+            employee.grade = reader.readByte("grade");
+            employee.initial = reader.readChar("initial");
+            employee.level = reader.readShort("level");
+            employee.age = reader.readInt("age");
+            employee.rating = reader.readFloat("rating");
+            employee.id = reader.readLong("id");
+            employee.salary = reader.readDouble("salary");
+            employee.name = reader.readString("name");
+            employee.bytes = reader.readByteArray("bytes");
+            employee.ints = reader.readIntArray("ints");
+            employee.longs = reader.readLongArray("longs");
+            employee.doubles = reader.readDoubleArray("doubles");
+            employee.address = reader.readCompact("address");
+            return employee;
+        }
+    }
+}
@@ -185,11 +185,9 @@ public class MemberHandshakeHandlerTest {
         assertExpectedAddressesRegistered();
     }
 
-    private void assertExpectedAddressesRegistered()
-            throws IllegalAccessException {
+    private void assertExpectedAddressesRegistered() {
         // inspect connections in TcpIpEndpointManager
-        ConcurrentHashMap<Address, TcpServerConnection> connectionsMap
-                = getFieldValueReflectively(connectionManager, "mappedConnections");
+        ConcurrentHashMap<Address, TcpServerConnection> connectionsMap = connectionManager.getPlane(0).connectionMap;
         try {
             for (Address address : expectedAddresses) {
                 assertTrue(connectionsMap.containsKey(address));
@@ -31,6 +31,8 @@ import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Supplier;
@@ -38,6 +40,7 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +93,84 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenGathering_thenLargePacketsNotCopied() {
+        Packet small = new Packet(serializationService.toBytes("foobar"));
+        Packet large = new Packet(new byte[PacketEncoder.GATHERING_THRESHOLD]);
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(small);
+        src.queue.add(large);
+        src.queue.add(small);
+
+        encoder.dst(dst);
+        encoder.src(src);
+        encoder.setGatheringEnabled(true);
+
+        // the large packet data is wrapped in chunks of the dst buffer capacity,
+        // up to the capacity per write
+        assertEquals(DIRTY, encoder.onWrite());
+        ByteBuffer[] buffers = encoder.buffers();
+        assertEquals(2, encoder.bufferCount());
+        assertSame(large.toByteArray(), buffers[1].array());
+        assertEquals(1000, buffers[1].remaining());
+    }
+
+    @Test
+    public void whenGathering_thenPacketsWrittenInOrder() {
+        List<Packet> packets = new ArrayList<>();
+        PacketSupplier src = new PacketSupplier();
+        for (int i = 0; i < 100; i++) {
+            int size = i % 3 == 0 ? PacketEncoder.GATHERING_THRESHOLD + i * 100 : i + 8;
+            byte[] data = new byte[size];
+            for (int j = 0; j < size; j++) {
+                data[j] = (byte) (i + j);
+            }
+            Packet packet = new Packet(data, i);
+            packets.add(packet);
+            src.queue.add(packet);
+        }
+
+        encoder.dst(ByteBuffer.allocate(1000));
+        encoder.src(src);
+        encoder.setGatheringEnabled(true);
+
+        // simulates a socket accepting a limited number of bytes per write
+        ByteBuffer written = ByteBuffer.allocate(1 << 20);
+        HandlerStatus status;
+        do {
+            status = encoder.onWrite();
+            int writable = 777;
+            for (int i = 0; i < encoder.bufferCount() && writable > 0; i++) {
+                ByteBuffer buffer = encoder.buffers()[i];
+                int length = Math.min(buffer.remaining(), writable);
+                for (int j = 0; j < length; j++) {
+                    written.put(buffer.get());
+                }
+                writable -= length;
+            }
+        } while (status == DIRTY || hasRemaining(encoder));
+
+        written.flip();
+        PacketIOHelper reader = new PacketIOHelper();
+        for (Packet packet : packets) {
+            Packet read = reader.readFrom(written);
+            assertEquals(packet, read);
+            assertEquals(packet.getPartitionId(), read.getPartitionId());
+        }
+        assertEquals(0, written.remaining());
+    }
+
+    private static boolean hasRemaining(PacketEncoder encoder) {
+        for (int i = 0; i < encoder.bufferCount(); i++) {
+            if (encoder.buffers()[i].hasRemaining()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<Packet>();
 
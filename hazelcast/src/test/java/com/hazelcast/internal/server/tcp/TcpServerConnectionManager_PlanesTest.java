@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.cluster.Member;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.instance.EndpointQualifier;
+import com.hazelcast.internal.server.ServerConnection;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.hazelcast.spi.properties.ClusterProperty.CHANNEL_COUNT;
+import static com.hazelcast.test.Accessors.getAddress;
+import static com.hazelcast.test.Accessors.getNode;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class TcpServerConnectionManager_PlanesTest
+        extends HazelcastTestSupport {
+
+    private static final int PLANE_COUNT = 3;
+    private static final int ENTRY_COUNT = 1000;
+
+    @After
+    public void after() {
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testEveryPlaneConnects_andCarriesPartitionTraffic() {
+        HazelcastInstance hz1 = newInstance(PLANE_COUNT);
+        HazelcastInstance hz2 = newInstance(PLANE_COUNT);
+        assertClusterSizeEventually(2, hz1, hz2);
+
+        assertMapOperations(hz1, hz2);
+        assertTrueEventually(() -> {
+            assertPlanesConnected(hz1, getAddress(hz2), PLANE_COUNT);
+            assertPlanesConnected(hz2, getAddress(hz1), PLANE_COUNT);
+        });
+    }
+
+    @Test
+    public void testMemberRemoval_closesConnectionsOfEveryPlane() {
+        HazelcastInstance hz1 = newInstance(PLANE_COUNT);
+        HazelcastInstance hz2 = newInstance(PLANE_COUNT);
+        assertClusterSizeEventually(2, hz1, hz2);
+        assertMapOperations(hz1, hz2);
+        assertTrueEventually(() -> assertPlanesConnected(hz1, getAddress(hz2), PLANE_COUNT));
+
+        Collection<ServerConnection> connections = getConnectionManager(hz1).getConnections(getAddress(hz2));
+        Member member = getNode(hz1).getClusterService().getMember(getAddress(hz2));
+        getNode(hz1).getClusterService().suspectMember(member, "test", true);
+
+        assertTrueEventually(() -> {
+            for (ServerConnection connection : connections) {
+                assertFalse(connection + " is alive", connection.isAlive());
+            }
+        });
+    }
+
+    @Test
+    public void testMismatchedPlaneCounts_useLowerPlaneCount() {
+        HazelcastInstance hz1 = newInstance(PLANE_COUNT);
+        HazelcastInstance hz2 = newInstance(PLANE_COUNT - 1);
+        assertClusterSizeEventually(2, hz1, hz2);
+
+        assertMapOperations(hz1, hz2);
+        assertMapOperations(hz2, hz1);
+        assertEquals(PLANE_COUNT - 1, getConnectionManager(hz1).getPlaneCount(getAddress(hz2)));
+        assertEquals(PLANE_COUNT - 1, getConnectionManager(hz2).getPlaneCount(getAddress(hz1)));
+        assertTrueEventually(() -> {
+            assertPlanesConnected(hz1, getAddress(hz2), PLANE_COUNT - 1);
+            assertPlanesConnected(hz2, getAddress(hz1), PLANE_COUNT - 1);
+        });
+        assertNull(getConnectionManager(hz1).getPlane(PLANE_COUNT - 1).connectionMap.get(getAddress(hz2)));
+    }
+
+    @Test
+    public void testFirstPlaneReconnect_keepsRemotePlaneCount() {
+        HazelcastInstance hz1 = newInstance(PLANE_COUNT);
+        HazelcastInstance hz2 = newInstance(PLANE_COUNT);
+        assertClusterSizeEventually(2, hz1, hz2);
+        assertMapOperations(hz1, hz2);
+        assertTrueEventually(() -> assertPlanesConnected(hz1, getAddress(hz2), PLANE_COUNT));
+
+        TcpServerConnectionManager connectionManager = getConnectionManager(hz1);
+        TcpServerConnection connection = connectionManager.getPlane(0).connectionMap.get(getAddress(hz2));
+        connection.close("test", null);
+
+        // the partitions stay on their plane while the first plane reconnects
+        assertEquals(PLANE_COUNT, connectionManager.getPlaneCount(getAddress(hz2)));
+        assertMapOperations(hz1, hz2);
+        assertTrueEventually(() -> assertPlanesConnected(hz1, getAddress(hz2), PLANE_COUNT));
+    }
+
+    private static void assertMapOperations(HazelcastInstance hz1, HazelcastInstance hz2) {
+        IMap<Integer, Integer> map = hz1.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        IMap<Integer, Integer> map2 = hz2.getMap(map.getName());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) map2.get(i));
+        }
+    }
+
+    private static void assertPlanesConnected(HazelcastInstance hz, Address remoteAddress, int planeCount) {
+        TcpServerConnectionManager connectionManager = getConnectionManager(hz);
+
+        Set<ServerConnection> connections = new HashSet<>();
+        for (int i = 0; i < planeCount; i++) {
+            TcpServerConnection connection = connectionManager.getPlane(i).connectionMap.get(remoteAddress);
+            assertNotNull("plane " + i, connection);
+            assertEquals(i, connection.getPlaneIndex());
+            connections.add(connection);
+        }
+        assertEquals(planeCount, connections.size());
+        assertEquals(connections, new HashSet<>(connectionManager.getConnections(remoteAddress)));
+        assertEquals(connectionManager.get(remoteAddress), connectionManager.getPlane(0).connectionMap.get(remoteAddress));
+    }
+
+    private static TcpServerConnectionManager getConnectionManager(HazelcastInstance hz) {
+        return ((TcpServer) getNode(hz).getServer()).getConnectionManager(EndpointQualifier.MEMBER);
+    }
+
+    private HazelcastInstance newInstance(int planeCount) {
+        Config config = getConfig().setProperty(CHANNEL_COUNT.getName(), String.valueOf(planeCount));
+        return Hazelcast.newHazelcastInstance(config);
+    }
+
+    @Override
+    protected Config getConfig() {
+        Config config = smallInstanceConfig();
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        return config;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.json.internal;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.json.Json;
+import com.hazelcast.internal.json.JsonObject;
+import com.hazelcast.internal.json.JsonValue;
+import com.hazelcast.internal.json.NonTerminalJsonValue;
+import com.hazelcast.internal.json.PrettyPrint;
+import com.hazelcast.internal.json.WriterConfig;
+import com.hazelcast.internal.serialization.impl.NavigableJsonInputAdapter;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class JsonTapeTest extends AbstractJsonSchemaTest {
+
+    @Parameters(name = "InMemoryFormat: {0}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {InMemoryFormat.BINARY},
+                {InMemoryFormat.OBJECT}
+        });
+    }
+
+    @Parameter
+    public InMemoryFormat inMemoryFormat;
+
+    @Test
+    public void testAllValidPaths_MinimalPrint() throws IOException {
+        testTapePaths(WriterConfig.MINIMAL);
+    }
+
+    @Test
+    public void testAllValidPaths_PrettyPrint() throws IOException {
+        testTapePaths(PrettyPrint.PRETTY_PRINT);
+    }
+
+    @Test
+    public void testMissingPaths() throws IOException {
+        String json = Json.object()
+                .add("a", Json.array().add(1).add(Json.object().add("b", "x")))
+                .add("c", 5)
+                .toString();
+
+        assertNull(findValue(json, "b"));
+        assertNull(findValue(json, "a[2]"));
+        assertNull(findValue(json, "a[1].c"));
+        assertNull(findValue(json, "a.b"));
+        assertNull(findValue(json, "c[0]"));
+        assertNull(findValue(json, "c.d"));
+        assertEquals(Json.value("x"), findValue(json, "a[1].b"));
+        assertSame(NonTerminalJsonValue.INSTANCE, findValue(json, "a[1]"));
+    }
+
+    @Test
+    public void testCollidingNames() throws IOException {
+        // "Aa" and "BB" have the same hash code
+        String json = Json.object()
+                .add("BB", 1)
+                .add("Aa", 2)
+                .add("AaAa", Json.object().add("BBBB", 3).add("AaBB", 4))
+                .toString();
+
+        assertEquals(Json.value(1), findValue(json, "BB"));
+        assertEquals(Json.value(2), findValue(json, "Aa"));
+        assertEquals(Json.value(3), findValue(json, "AaAa.BBBB"));
+        assertEquals(Json.value(4), findValue(json, "AaAa.AaBB"));
+        assertNull(findValue(json, "AaAa.BBAa"));
+    }
+
+    @Test
+    public void testDuplicateNames_firstOneFound() throws IOException {
+        assertEquals(Json.value(1), findValue("{\"a\":1,\"b\":2,\"a\":3}", "a"));
+    }
+
+    @Test
+    public void testEmptyInput() throws IOException {
+        NavigableJsonInputAdapter input = toAdapter(new HazelcastJsonValue(""));
+        assertNull(JsonTape.create(createParserFromInput(input)));
+    }
+
+    @Test
+    public void testDeeplyNestedInput() throws IOException {
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            json.append('[');
+        }
+        for (int i = 0; i < 1000; i++) {
+            json.append(']');
+        }
+        NavigableJsonInputAdapter input = toAdapter(new HazelcastJsonValue(json.toString()));
+        assertNull(JsonTape.create(createParserFromInput(input)));
+    }
+
+    @Test(expected = IOException.class)
+    public void testInvalidInput() throws IOException {
+        NavigableJsonInputAdapter input = toAdapter(new HazelcastJsonValue("{\"a\": [1, 2"));
+        JsonTape.create(createParserFromInput(input));
+    }
+
+    @Override
+    protected InMemoryFormat getInMemoryFormay() {
+        return inMemoryFormat;
+    }
+
+    private void testTapePaths(WriterConfig config) throws IOException {
+        for (JsonValue value : TestJsonValues.LIST) {
+            String json = value.toString(config);
+            NavigableJsonInputAdapter input = toAdapter(new HazelcastJsonValue(json));
+            JsonTape tape = JsonTape.create(createParserFromInput(input));
+            assertNotNull(json, tape);
+            validate(json, tape, input, value, null);
+        }
+    }
+
+    private void validate(String json, JsonTape tape, NavigableJsonInputAdapter input,
+                          JsonValue expected, String path) throws IOException {
+        if (expected.isObject()) {
+            JsonObject object = expected.asObject();
+            for (String name : object.names()) {
+                validate(json, tape, input, object.get(name), path == null ? name : path + "." + name);
+            }
+        } else if (expected.isArray()) {
+            for (int i = 0; i < expected.asArray().size(); i++) {
+                String itemPath = "[" + i + "]";
+                validate(json, tape, input, expected.asArray().get(i), path == null ? itemPath : path + itemPath);
+            }
+        }
+        if (path != null) {
+            JsonValue found = tape.findValue(input, splitPath(path));
+            JsonValue expectedFound = expected.isObject() || expected.isArray() ? NonTerminalJsonValue.INSTANCE : expected;
+            assertEquals(String.format("Path ( %s ) failed on ( %s )", path, json), expectedFound, found);
+        }
+    }
+
+    private JsonValue findValue(String json, String path) throws IOException {
+        NavigableJsonInputAdapter input = toAdapter(new HazelcastJsonValue(json));
+        JsonTape tape = JsonTape.create(createParserFromInput(input));
+        return tape.findValue(input, splitPath(path));
+    }
+}
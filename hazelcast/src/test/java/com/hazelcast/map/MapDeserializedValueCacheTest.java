@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ReadOnly;
+import com.hazelcast.internal.monitor.impl.LocalMapStatsImpl;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapDeserializedValueCacheTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+
+    private IMap<Integer, Value> map;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_DESERIALIZED_VALUE_CACHE_SIZE.getName(), "1024");
+        config.getMapConfig("default").setInMemoryFormat(InMemoryFormat.BINARY);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, new Value(i));
+        }
+    }
+
+    @Test
+    public void testQuery_servedFromCache() {
+        assertEquals(ENTRY_COUNT / 2, map.values(Predicates.greaterEqual("number", ENTRY_COUNT / 2)).size());
+        assertEquals(ENTRY_COUNT / 2, map.values(Predicates.greaterEqual("number", ENTRY_COUNT / 2)).size());
+
+        LocalMapStatsImpl stats = (LocalMapStatsImpl) map.getLocalMapStats();
+        // the values colliding in the direct-mapped caches may be deserialized again
+        assertEquals(2 * ENTRY_COUNT, stats.getDeserializedValueCacheHits() + stats.getDeserializedValueCacheMisses());
+        assertTrue(stats.getDeserializedValueCacheHits() >= ENTRY_COUNT / 2);
+    }
+
+    @Test
+    public void testQuery_seesUpdates() {
+        map.values(Predicates.alwaysTrue());
+        map.put(0, new Value(ENTRY_COUNT));
+
+        assertTrue(map.keySet(Predicates.equal("number", 0)).isEmpty());
+        assertEquals(1, map.keySet(Predicates.equal("number", ENTRY_COUNT)).size());
+    }
+
+    @Test
+    public void testQuery_resultsAreNotTheCachedValues() {
+        map.values(Predicates.alwaysTrue());
+        for (Value value : map.values(Predicates.equal("number", 0))) {
+            value.number = ENTRY_COUNT;
+        }
+
+        assertEquals(1, map.keySet(Predicates.equal("number", 0)).size());
+        assertTrue(map.keySet(Predicates.equal("number", ENTRY_COUNT)).isEmpty());
+    }
+
+    @Test
+    public void testReadOnlyEntryProcessor_servedFromCache() {
+        assertEquals(1, (int) map.executeOnKey(1, new ReadNumber()));
+        assertEquals(1, (int) map.executeOnKey(1, new ReadNumber()));
+
+        Map<Integer, Integer> results = map.executeOnEntries(new ReadNumber());
+        assertEquals(ENTRY_COUNT, results.size());
+
+        LocalMapStatsImpl stats = (LocalMapStatsImpl) map.getLocalMapStats();
+        assertTrue(stats.getDeserializedValueCacheHits() > 0);
+    }
+
+    @Test
+    public void testReadOnlyEntryProcessor_seesUpdatesOfMutatingEntryProcessor() {
+        assertEquals(1, (int) map.executeOnKey(1, new ReadNumber()));
+        map.executeOnKey(1, new Increment());
+        assertEquals(2, (int) map.executeOnKey(1, new ReadNumber()));
+        assertEquals(2, map.get(1).number);
+    }
+
+    public static class Value implements Serializable {
+
+        public int number;
+
+        Value(int number) {
+            this.number = number;
+        }
+    }
+
+    private static class ReadNumber implements EntryProcessor<Integer, Value, Integer>, ReadOnly {
+
+        @Override
+        public Integer process(Map.Entry<Integer, Value> entry) {
+            return entry.getValue().number;
+        }
+
+        @Override
+        public EntryProcessor<Integer, Value, Integer> getBackupProcessor() {
+            return null;
+        }
+    }
+
+    private static class Increment implements EntryProcessor<Integer, Value, Object> {
+
+        @Override
+        public Object process(Map.Entry<Integer, Value> entry) {
+            Value value = entry.getValue();
+            // modifies the given instance, it must not be the cached one
+            value.number++;
+            entry.setValue(value);
+            return null;
+        }
+    }
+}
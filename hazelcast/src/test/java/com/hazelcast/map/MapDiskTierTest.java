@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapDiskTierTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int MAX_SIZE_PER_PARTITION = 10;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEvictedEntries_areReadBack() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap("test");
+        populate(map);
+
+        assertTrue(map.size() < ENTRY_COUNT);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value" + i, map.get(i));
+        }
+    }
+
+    @Test
+    public void testKeyBasedOperations_onSpilledEntries() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap("test");
+        populate(map);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertTrue(map.containsKey(i));
+            assertEquals("value" + i, map.put(i, "updated" + i));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("updated" + i, map.remove(i));
+            assertNull(map.get(i));
+        }
+    }
+
+    @Test
+    public void testClear_removesSpilledEntries() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap("test");
+        populate(map);
+
+        map.clear();
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertFalse(map.containsKey(i));
+        }
+    }
+
+    @Test
+    public void testEvict_dropsSpilledEntry() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap("test");
+        populate(map);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.evict(i);
+        }
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertNull(map.get(i));
+        }
+    }
+
+    @Test
+    public void testEvictAll_dropsEntries() {
+        IMap<Integer, String> map = createHazelcastInstance(getConfig()).getMap("test");
+        populate(map);
+        // bring part of the spilled entries back into memory
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            map.get(i);
+        }
+
+        map.evictAll();
+
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            assertNull(map.get(i));
+        }
+    }
+
+    @Test
+    public void testSpilledEntries_areMigrated() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance1.getMap("test");
+        populate(map);
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(instance1, instance2);
+        instance1.shutdown();
+
+        IMap<Integer, String> migratedMap = instance2.getMap("test");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value" + i, migratedMap.get(i));
+        }
+    }
+
+    @Override
+    protected Config getConfig() {
+        MapConfig mapConfig = new MapConfig("test")
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(EvictionPolicy.LRU)
+                        .setMaxSizePolicy(MaxSizePolicy.PER_PARTITION)
+                        .setSize(MAX_SIZE_PER_PARTITION));
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_TIERED_STORE_DIR.getName(), folder.getRoot().getAbsolutePath())
+                .addMapConfig(mapConfig);
+    }
+
+    private static void populate(IMap<Integer, String> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static com.hazelcast.internal.nio.IOUtil.toFileName;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapLocalPersistenceTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEntries_areReloadedAfterRestart() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory();
+        Address address = factory.nextAddress();
+        HazelcastInstance instance = factory.newHazelcastInstance(address, getConfig());
+        IMap<Integer, String> map = instance.getMap("test");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            map.remove(i);
+        }
+        map.put(1, "updated");
+        instance.shutdown();
+
+        IMap<Integer, String> restartedMap = factory.newHazelcastInstance(address, getConfig()).getMap("test");
+
+        assertEquals(ENTRY_COUNT / 2, restartedMap.size());
+        assertEquals("updated", restartedMap.get(1));
+        for (int i = 3; i < ENTRY_COUNT; i += 2) {
+            assertEquals("value" + i, restartedMap.get(i));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            assertNull(restartedMap.get(i));
+        }
+    }
+
+    @Test
+    public void testIndexes_areRebuiltAfterRestart() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory();
+        Address address = factory.nextAddress();
+        HazelcastInstance instance = factory.newHazelcastInstance(address, getConfig());
+        IMap<Integer, Integer> map = instance.getMap("test");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        instance.shutdown();
+
+        IMap<Integer, Integer> restartedMap = factory.newHazelcastInstance(address, getConfig()).getMap("test");
+
+        assertEquals(10, restartedMap.keySet(Predicates.lessThan("this", 10)).size());
+    }
+
+    @Test
+    public void testMapWithoutHotRestartConfig_isNotPersisted() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory();
+        Address address = factory.nextAddress();
+        HazelcastInstance instance = factory.newHazelcastInstance(address, getConfig());
+        instance.getMap("other").put(1, "value");
+        instance.shutdown();
+
+        IMap<Integer, String> restartedMap = factory.newHazelcastInstance(address, getConfig()).getMap("other");
+
+        assertEquals(0, restartedMap.size());
+    }
+
+    @Test
+    public void testDestroy_deletesPersistedEntries() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory();
+        Address address = factory.nextAddress();
+        HazelcastInstance instance = factory.newHazelcastInstance(address, getConfig());
+        IMap<Integer, String> map = instance.getMap("test");
+        map.put(1, "value");
+        map.destroy();
+        instance.shutdown();
+
+        IMap<Integer, String> restartedMap = factory.newHazelcastInstance(address, getConfig()).getMap("test");
+
+        assertEquals(0, restartedMap.size());
+        File memberDirectory = new File(folder.getRoot(), toFileName(address.getHost() + "-" + address.getPort()));
+        File[] partitionDirectories = new File(memberDirectory, "test").listFiles(File::isDirectory);
+        assertTrue(partitionDirectories == null || partitionDirectories.length == 0);
+    }
+
+    @Test
+    public void testMembers_persistToSeparateDirectories() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance[] instances = factory.newInstances(getConfig());
+        IMap<Integer, String> map = instances[0].getMap("test");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value" + i);
+        }
+
+        assertEquals(2, folder.getRoot().list().length);
+    }
+
+    @Test
+    public void testEntries_areReloadedAfterClusterRestart() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory();
+        Address[] addresses = {factory.nextAddress(), factory.nextAddress(), factory.nextAddress()};
+        HazelcastInstance[] instances = new HazelcastInstance[addresses.length];
+        for (int i = 0; i < addresses.length; i++) {
+            instances[i] = factory.newHazelcastInstance(addresses[i], getConfig());
+        }
+        assertClusterSizeEventually(addresses.length, instances);
+        waitAllForSafeState(instances);
+        IMap<Integer, Integer> map = instances[0].getMap("test");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        instances[0].getCluster().shutdown();
+
+        // the members rejoin in a different order, the first one becomes the master
+        for (int i = addresses.length - 1; i >= 0; i--) {
+            instances[i] = factory.newHazelcastInstance(addresses[i], getConfig());
+        }
+        assertClusterSizeEventually(addresses.length, instances);
+        waitAllForSafeState(instances);
+
+        IMap<Integer, Integer> restartedMap = instances[0].getMap("test");
+        assertEquals(ENTRY_COUNT, restartedMap.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) restartedMap.get(i));
+        }
+        assertEquals(10, restartedMap.keySet(Predicates.lessThan("this", 10)).size());
+    }
+
+    @Override
+    protected Config getConfig() {
+        MapConfig mapConfig = new MapConfig("test")
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "this"));
+        mapConfig.getHotRestartConfig().setEnabled(true);
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_PERSISTENCE_DIR.getName(), folder.getRoot().getAbsolutePath())
+                .addMapConfig(mapConfig);
+    }
+}
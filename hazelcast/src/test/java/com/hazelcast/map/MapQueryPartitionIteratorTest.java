@@ -33,10 +33,14 @@ import org.junit.runner.RunWith;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.hazelcast.query.Predicates.and;
 import static com.hazelcast.query.Predicates.greaterEqual;
@@ -191,6 +195,32 @@ public class MapQueryPartitionIteratorTest extends HazelcastTestSupport {
         assertFalse(result.isEmpty());
     }
 
+    @Test
+    public void test_AllPartitions_Are_Iterated() {
+        MapProxyImpl<Integer, Integer> map = (MapProxyImpl<Integer, Integer>) instance.<Integer, Integer>getMap(randomMapName());
+        int count = 1000;
+        for (int i = 0; i < count; ++i) {
+            map.put(i, i);
+        }
+
+        Iterator<Integer> iterator = map.iterator(7, new GetValueProjection<>(), greaterEqual("this", 100));
+        List<Integer> values = collectAll(iterator);
+        assertFalse(iterator.hasNext());
+
+        Collections.sort(values);
+        assertEquals(IntStream.range(100, count).boxed().collect(Collectors.toList()), values);
+    }
+
+    @Test
+    public void test_HasNext_Returns_False_When_AllPartitions_Are_Empty() {
+        assertFalse(proxy.iterator(10, new TestProjection(), Predicates.alwaysTrue()).hasNext());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_AllPartitions_PagingPredicate_Throws_Exception() {
+        proxy.iterator(10, new TestProjection(), Predicates.pagingPredicate(10));
+    }
+
     private void fillMap(IMap<String, String> map, int partitionId, int count, String value) {
         for (int i = 0; i < count; i++) {
             String key = generateKeyForPartition(instance, partitionId);
@@ -227,9 +257,9 @@ public class MapQueryPartitionIteratorTest extends HazelcastTestSupport {
         }
     }
 
-    private static class GetValueProjection<T> implements Projection<Entry<String, T>, T> {
+    private static class GetValueProjection<K, T> implements Projection<Entry<K, T>, T> {
         @Override
-        public T transform(Map.Entry<String, T> input) {
+        public T transform(Map.Entry<K, T> input) {
             return input.getValue();
         }
     }
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.impl.ReadBackupDataPolicy;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapReadBackupDataPolicyTest extends HazelcastTestSupport {
+
+    private static final int READ_COUNT = 100;
+
+    private HazelcastInstance[] instances;
+
+    @Before
+    public void setUp() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        instances = factory.newInstances(getConfig());
+        waitAllForSafeState(instances);
+    }
+
+    @Test
+    public void testRoundRobin_spreadsReadsOverReplicas() {
+        HazelcastInstance caller = instances[0];
+        String key = generateKeyNotOwnedBy(caller);
+        IMap<String, String> map = caller.getMap("test");
+        map.put(key, "value");
+
+        for (int i = 0; i < READ_COUNT; i++) {
+            assertEquals("value", map.get(key));
+        }
+
+        // only the reads served by the primary replica access the record
+        long hits = map.getEntryView(key).getHits();
+        assertTrue("hits: " + hits, hits > 0 && hits < READ_COUNT);
+    }
+
+    @Test
+    public void testRoundRobin_readsLatestValue() {
+        IMap<Integer, Integer> map = instances[0].getMap("test");
+        for (int i = 0; i < READ_COUNT; i++) {
+            map.put(1, i);
+            assertEquals(i, (int) map.get(1));
+        }
+    }
+
+    @Test
+    public void testRoundRobin_missOnBackupFallsBackToPrimary() {
+        IMap<Integer, Integer> map = instances[0].getMap("loaded");
+
+        for (int i = 0; i < READ_COUNT; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void testRoundRobin_backupMemberLeftFallsBackToPrimary() {
+        IMap<Integer, Integer> map = instances[0].getMap("test");
+        for (int i = 0; i < READ_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        instances[2].getLifecycleService().terminate();
+
+        for (int i = 0; i < READ_COUNT; i++) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Override
+    protected Config getConfig() {
+        MapConfig mapConfig = new MapConfig("test")
+                .setBackupCount(2)
+                .setReadBackupData(true);
+        MapConfig loadedMapConfig = new MapConfig("loaded")
+                .setBackupCount(2)
+                .setReadBackupData(true)
+                .setMapStoreConfig(new MapStoreConfig()
+                        .setEnabled(true)
+                        .setImplementation(new IdentityMapLoader()));
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_READ_BACKUP_DATA_POLICY.getName(), ReadBackupDataPolicy.ROUND_ROBIN.name())
+                .addMapConfig(mapConfig)
+                .addMapConfig(loadedMapConfig);
+    }
+
+    private static class IdentityMapLoader extends MapStoreAdapter<Integer, Integer> {
+
+        @Override
+        public Integer load(Integer key) {
+            return key;
+        }
+    }
+}
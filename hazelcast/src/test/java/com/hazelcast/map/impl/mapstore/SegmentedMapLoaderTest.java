@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.SegmentedMapLoader;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.config.MapStoreConfig.InitialLoadMode.EAGER;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_LOAD_ALL_KEYS_EXECUTOR;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SegmentedMapLoaderTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 10000;
+    private static final int NODE_COUNT = 3;
+    private static final int SEGMENTS_PER_MEMBER = 2;
+
+    private final String mapName = randomMapName();
+
+    @Test
+    public void testInitialLoad_loadsAllSegments() {
+        TestSegmentedMapLoader loader = new TestSegmentedMapLoader(ENTRY_COUNT);
+        HazelcastInstance[] instances = createInstances(loader);
+
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+
+        assertSizeEventually(ENTRY_COUNT, map);
+        assertEquals(0, loader.loadAllKeysInvocations.get());
+        assertEquals(NODE_COUNT * SEGMENTS_PER_MEMBER, loader.loadedSegments.size());
+        assertEquals(1, loader.segmentCounts.size());
+        assertTrue(loader.segmentCounts.contains(NODE_COUNT * SEGMENTS_PER_MEMBER));
+        for (int i = 0; i < ENTRY_COUNT; i += 100) {
+            assertEquals(i, (int) map.get(i));
+        }
+    }
+
+    @Test
+    public void testInitialLoad_updatesLoaderStats() {
+        TestSegmentedMapLoader loader = new TestSegmentedMapLoader(ENTRY_COUNT);
+        HazelcastInstance[] instances = createInstances(loader);
+
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        assertSizeEventually(ENTRY_COUNT, map);
+
+        assertTrueEventually(() -> {
+            long keysDispatched = 0;
+            long segmentsLoaded = 0;
+            long entriesLoaded = 0;
+            for (HazelcastInstance instance : instances) {
+                MapLoaderStats stats = getMapLoaderStats(instance);
+                keysDispatched += stats.getKeysDispatched();
+                segmentsLoaded += stats.getSegmentsLoaded();
+                entriesLoaded += stats.getEntriesLoaded();
+            }
+            assertEquals(ENTRY_COUNT, keysDispatched);
+            assertEquals(NODE_COUNT * SEGMENTS_PER_MEMBER, segmentsLoaded);
+            assertEquals(ENTRY_COUNT, entriesLoaded);
+        });
+    }
+
+    @Test
+    public void testInitialLoad_whenLoadAllKeysExecutorHasSingleThread() {
+        TestSegmentedMapLoader loader = new TestSegmentedMapLoader(ENTRY_COUNT);
+        Config config = getConfig();
+        config.getExecutorConfig(MAP_LOAD_ALL_KEYS_EXECUTOR).setPoolSize(1);
+        HazelcastInstance[] instances = createInstances(config, loader);
+
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+
+        assertSizeEventually(ENTRY_COUNT, map);
+    }
+
+    @Test
+    public void testLoadAll_reloadsSegments() {
+        TestSegmentedMapLoader loader = new TestSegmentedMapLoader(ENTRY_COUNT);
+        HazelcastInstance[] instances = createInstances(loader);
+
+        IMap<Integer, Integer> map = instances[0].getMap(mapName);
+        assertSizeEventually(ENTRY_COUNT, map);
+        map.evictAll();
+        map.loadAll(true);
+
+        assertSizeEventually(ENTRY_COUNT, map);
+        assertEquals(0, loader.loadAllKeysInvocations.get());
+    }
+
+    private HazelcastInstance[] createInstances(SegmentedMapLoader loader) {
+        return createInstances(getConfig(), loader);
+    }
+
+    private HazelcastInstance[] createInstances(Config config, SegmentedMapLoader loader) {
+        config.setProperty(ClusterProperty.MAP_LOAD_CHUNK_SIZE.getName(), "100")
+                .setProperty(ClusterProperty.MAP_LOAD_CHUNK_SIZE.getName(), "100")
+                .setProperty(ClusterProperty.MAP_LOAD_SEGMENTS_PER_MEMBER.getName(), String.valueOf(SEGMENTS_PER_MEMBER));
+        config.getMapConfig(mapName)
+                .setMapStoreConfig(new MapStoreConfig().setImplementation(loader).setInitialLoadMode(EAGER));
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(NODE_COUNT);
+        HazelcastInstance[] instances = factory.newInstances(config);
+        assertClusterSizeEventually(NODE_COUNT, instances);
+        waitAllForSafeState(instances);
+        return instances;
+    }
+
+    private MapLoaderStats getMapLoaderStats(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getMapContainer(mapName).getMapLoaderStats();
+    }
+
+    private static class TestSegmentedMapLoader implements SegmentedMapLoader<Integer, Integer> {
+
+        private final int size;
+        private final AtomicInteger loadAllKeysInvocations = new AtomicInteger();
+        private final Set<Integer> loadedSegments = ConcurrentHashMap.newKeySet();
+        private final Set<Integer> segmentCounts = ConcurrentHashMap.newKeySet();
+
+        TestSegmentedMapLoader(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public Integer load(Integer key) {
+            return key < size ? key : null;
+        }
+
+        @Override
+        public Map<Integer, Integer> loadAll(Collection<Integer> keys) {
+            Map<Integer, Integer> result = new HashMap<>();
+            for (Integer key : keys) {
+                result.put(key, key);
+            }
+            return result;
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys() {
+            loadAllKeysInvocations.incrementAndGet();
+            return loadAllKeys(0, 1);
+        }
+
+        @Override
+        public Iterable<Integer> loadAllKeys(int segment, int segmentCount) {
+            loadedSegments.add(segment);
+            segmentCounts.add(segmentCount);
+            List<Integer> keys = new ArrayList<>();
+            for (int i = segment; i < size; i += segmentCount) {
+                keys.add(i);
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.map.impl.mapstore.writebehind.WriteBatchSizer.MAX_GROWTH_FACTOR;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WriteBatchSizerTest {
+
+    private static final long TARGET_LATENCY_MILLIS = 100;
+    private static final long FAST = MILLISECONDS.toNanos(TARGET_LATENCY_MILLIS / 2);
+    private static final long SLOW = MILLISECONDS.toNanos(TARGET_LATENCY_MILLIS * 2);
+
+    @Test
+    public void testBatchSize_isFixed_whenNoTargetLatency() {
+        WriteBatchSizer sizer = new WriteBatchSizer(100, 0);
+
+        sizer.onBatchStored(100, FAST);
+        sizer.onBatchStored(100, SLOW);
+
+        assertFalse(sizer.isAdaptive());
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void testBatchSize_grows_whenFullBatchesAreFast() {
+        WriteBatchSizer sizer = new WriteBatchSizer(100, TARGET_LATENCY_MILLIS);
+
+        sizer.onBatchStored(100, FAST);
+
+        assertTrue(sizer.isAdaptive());
+        assertEquals(125, sizer.getBatchSize());
+    }
+
+    @Test
+    public void testBatchSize_doesNotGrow_whenPartialBatchesAreFast() {
+        WriteBatchSizer sizer = new WriteBatchSizer(100, TARGET_LATENCY_MILLIS);
+
+        sizer.onBatchStored(10, FAST);
+
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void testBatchSize_isHalved_whenBatchesAreSlow() {
+        WriteBatchSizer sizer = new WriteBatchSizer(100, TARGET_LATENCY_MILLIS);
+
+        sizer.onBatchStored(100, SLOW);
+        assertEquals(50, sizer.getBatchSize());
+
+        for (int i = 0; i < 10; i++) {
+            sizer.onBatchStored(1, SLOW);
+        }
+        assertEquals(1, sizer.getBatchSize());
+    }
+
+    @Test
+    public void testBatchSize_isBounded() {
+        WriteBatchSizer sizer = new WriteBatchSizer(100, TARGET_LATENCY_MILLIS);
+
+        for (int i = 0; i < 100; i++) {
+            sizer.onBatchStored(sizer.getBatchSize(), FAST);
+        }
+
+        assertEquals(100 * MAX_GROWTH_FACTOR, sizer.getBatchSize());
+    }
+}
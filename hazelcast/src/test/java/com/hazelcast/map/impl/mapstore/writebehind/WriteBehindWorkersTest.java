@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WriteBehindWorkersTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+    private static final int WRITE_BATCH_SIZE = 10;
+
+    private final String mapName = randomMapName();
+
+    @Test
+    public void testEntriesAreStored_withMultipleWorkers() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<>();
+        HazelcastInstance instance = createHazelcastInstance(newConfig(mapStore, "4", "0"));
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> {
+            for (int i = 0; i < ENTRY_COUNT; i++) {
+                assertEquals(Integer.valueOf(i), mapStore.store.get(i));
+            }
+        });
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, getWriteBehindStats(instance).getStoredEntryCount()));
+        assertEquals(WRITE_BATCH_SIZE, getWriteBehindStats(instance).getWriteBatchSize());
+    }
+
+    @Test
+    public void testWriteBatchSize_grows_whenStoreIsFast() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<>();
+        HazelcastInstance instance = createHazelcastInstance(newConfig(mapStore, "1", "60000"));
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, mapStore.store.size()));
+        assertTrue(getWriteBehindStats(instance).getWriteBatchSize() > WRITE_BATCH_SIZE);
+    }
+
+    @Test
+    public void testFlushLag_isReported_whenStoreFallsBehind() {
+        SlowMapStore mapStore = new SlowMapStore();
+        HazelcastInstance instance = createHazelcastInstance(newConfig(mapStore, "1", "0"));
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        map.put(0, 0);
+        assertTrueEventually(() -> assertTrue(mapStore.getStoreOpCount() > 0));
+        // these entries become due while the first store call is still running
+        for (int i = 1; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> assertTrue(getWriteBehindStats(instance).getFlushLag() > 0));
+        assertTrueEventually(() -> assertEquals(ENTRY_COUNT, mapStore.store.size()));
+        assertTrueEventually(() -> assertEquals(0, getWriteBehindStats(instance).getFlushLag()));
+    }
+
+    private Config newConfig(Object mapStore, String workerCount, String targetLatencyMillis) {
+        Config config = getConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "16")
+                .setProperty(ClusterProperty.MAP_WRITE_BEHIND_WORKER_COUNT.getName(), workerCount)
+                .setProperty(ClusterProperty.MAP_WRITE_BEHIND_TARGET_BATCH_LATENCY_MILLIS.getName(), targetLatencyMillis);
+        config.getMapConfig(mapName)
+                .setMapStoreConfig(new MapStoreConfig()
+                        .setImplementation(mapStore)
+                        .setWriteDelaySeconds(1)
+                        .setWriteBatchSize(WRITE_BATCH_SIZE));
+        return config;
+    }
+
+    private WriteBehindStats getWriteBehindStats(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        WriteBehindManager manager = (WriteBehindManager) mapServiceContext.getMapContainer(mapName)
+                .getMapStoreContext().getMapStoreManager();
+        return manager.getWriteBehindStats();
+    }
+
+    private static class SlowMapStore extends MapStoreWithCounter<Integer, Integer> {
+
+        @Override
+        public void store(Integer key, Integer value) {
+            super.store(key, value);
+            sleepSeconds(2);
+        }
+    }
+}
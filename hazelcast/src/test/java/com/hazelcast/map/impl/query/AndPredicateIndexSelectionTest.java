@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AndPredicateIndexSelectionTest extends HazelcastTestSupport {
+
+    private static final int COUNT = 1000;
+
+    private IMap<Integer, Value> map;
+    private String idIndex;
+    private String groupIndex;
+
+    @Before
+    public void before() {
+        map = createHazelcastInstance(smallInstanceConfig()).getMap("map");
+
+        IndexConfig idIndexConfig = IndexUtils.createTestIndexConfig(IndexType.SORTED, "id");
+        IndexConfig groupIndexConfig = IndexUtils.createTestIndexConfig(IndexType.SORTED, "group");
+        map.addIndex(idIndexConfig);
+        map.addIndex(groupIndexConfig);
+        idIndex = idIndexConfig.getName();
+        groupIndex = groupIndexConfig.getName();
+
+        for (int i = 0; i < COUNT; ++i) {
+            map.put(i, new Value(i, i % 10));
+        }
+    }
+
+    @Test
+    public void testOnlyMostSelectiveIndexIsQueried() {
+        check(Predicates.and(Predicates.equal("id", 5), Predicates.greaterEqual("group", 0)), 1);
+        assertQueryCounts(1, 0);
+
+        check(Predicates.and(Predicates.lessThan("group", 5), Predicates.between("id", 0, 99)), 50);
+        assertQueryCounts(2, 0);
+    }
+
+    @Test
+    public void testComparablySelectiveIndexesAreIntersected() {
+        check(Predicates.and(Predicates.between("id", 0, 199), Predicates.equal("group", 3)), 20);
+        assertQueryCounts(1, 1);
+    }
+
+    @Test
+    public void testSelectionFollowsUpdates() {
+        for (int i = 0; i < COUNT; ++i) {
+            map.put(i, new Value(i, i < 10 ? 1 : 0));
+        }
+
+        check(Predicates.and(Predicates.greaterEqual("id", 0), Predicates.equal("group", 1)), 10);
+        assertQueryCounts(0, 1);
+    }
+
+    private void check(Predicate<Integer, Value> predicate, int expectedSize) {
+        assertEquals(expectedSize, map.keySet(predicate).size());
+    }
+
+    private void assertQueryCounts(long idQueryCount, long groupQueryCount) {
+        assertEquals(idQueryCount, map.getLocalMapStats().getIndexStats().get(idIndex).getQueryCount());
+        assertEquals(groupQueryCount, map.getLocalMapStats().getIndexStats().get(groupIndex).getQueryCount());
+    }
+
+    public static class Value implements Serializable {
+
+        public final int id;
+        public final int group;
+
+        Value(int id, int group) {
+            this.id = id;
+            this.group = group;
+        }
+    }
+}
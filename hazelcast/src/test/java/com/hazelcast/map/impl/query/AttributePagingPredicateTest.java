@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelParametersRunnerFactory;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(HazelcastParallelParametersRunnerFactory.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AttributePagingPredicateTest extends HazelcastTestSupport {
+
+    private static final int COUNT = 500;
+    private static final int PAGE_SIZE = 7;
+
+    @Parameter(0)
+    public IndexType indexType;
+
+    @Parameter(1)
+    public boolean btree;
+
+    private IMap<Integer, Value> map;
+    private String ageIndex;
+
+    @Parameters(name = "indexType:{0}, btree:{1}")
+    public static Collection<Object[]> parameters() {
+        return asList(new Object[][]{
+                {null, false},
+                {IndexType.HASH, false},
+                {IndexType.SORTED, false},
+                {IndexType.SORTED, true},
+        });
+    }
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.INDEX_SORTED_BTREE_ENABLED.getName(), Boolean.toString(btree));
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        map = instance.getMap("map");
+
+        if (indexType != null) {
+            IndexConfig indexConfig = IndexUtils.createTestIndexConfig(indexType, "age");
+            map.addIndex(indexConfig);
+            ageIndex = indexConfig.getName();
+        }
+        map.addIndex(IndexType.HASH, "group");
+
+        for (int i = 0; i < COUNT; ++i) {
+            map.put(i, new Value(i % 13 == 0 ? null : i % 50, i % 10));
+        }
+    }
+
+    @Test
+    public void testPagesAreOrderedByAttribute() {
+        PagingPredicate<Integer, Value> predicate = Predicates.pagingPredicateByAttribute(Predicates.alwaysTrue(), "age",
+                PAGE_SIZE);
+
+        assertEquals(expectedKeys(key -> true), collectKeys(predicate));
+        if (indexType == IndexType.SORTED) {
+            assertTrue(getQueryCount() > 0);
+        }
+    }
+
+    @Test
+    public void testPagesAreFilteredByInnerPredicate() {
+        PagingPredicate<Integer, Value> predicate = Predicates.pagingPredicateByAttribute(
+                Predicates.lessThan("group", 3), "age", PAGE_SIZE);
+        assertEquals(expectedKeys(key -> key % 10 < 3), collectKeys(predicate));
+
+        predicate = Predicates.pagingPredicateByAttribute(Predicates.equal("group", 3), "age", PAGE_SIZE);
+        assertEquals(expectedKeys(key -> key % 10 == 3), collectKeys(predicate));
+    }
+
+    @Test
+    public void testPagesCanBeSkipped() {
+        PagingPredicate<Integer, Value> predicate = Predicates.pagingPredicateByAttribute(Predicates.alwaysTrue(), "age",
+                PAGE_SIZE);
+        List<Integer> expected = expectedKeys(key -> true);
+
+        predicate.setPage(40);
+        assertEquals(expected.subList(40 * PAGE_SIZE, 41 * PAGE_SIZE), new ArrayList<>(map.keySet(predicate)));
+        predicate.setPage(3);
+        assertEquals(expected.subList(3 * PAGE_SIZE, 4 * PAGE_SIZE), new ArrayList<>(map.keySet(predicate)));
+        predicate.setPage(68);
+        assertEquals(expected.subList(68 * PAGE_SIZE, 69 * PAGE_SIZE), new ArrayList<>(map.keySet(predicate)));
+        predicate.setPage(COUNT / PAGE_SIZE);
+        assertEquals(expected.subList(COUNT / PAGE_SIZE * PAGE_SIZE, COUNT), new ArrayList<>(map.keySet(predicate)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMultiValueAttributeIsRejected() {
+        Predicates.pagingPredicateByAttribute(Predicates.alwaysTrue(), "ages[any]", PAGE_SIZE);
+    }
+
+    private List<Integer> collectKeys(PagingPredicate<Integer, Value> predicate) {
+        List<Integer> keys = new ArrayList<>();
+        Collection<Integer> page = map.keySet(predicate);
+        while (!page.isEmpty()) {
+            assertTrue(page.size() <= PAGE_SIZE);
+            keys.addAll(page);
+            predicate.nextPage();
+            page = map.keySet(predicate);
+        }
+        return keys;
+    }
+
+    private long getQueryCount() {
+        return map.getLocalMapStats().getIndexStats().get(ageIndex).getQueryCount();
+    }
+
+    private static List<Integer> expectedKeys(IntPredicate filter) {
+        Comparator<Integer> byAge = Comparator.comparing(key -> key % 13 == 0 ? null : key % 50,
+                Comparator.nullsLast(Comparator.<Integer>naturalOrder()));
+        return IntStream.range(0, COUNT).filter(filter).boxed()
+                .sorted(byAge.thenComparing(Comparator.naturalOrder()))
+                .collect(Collectors.toList());
+    }
+
+    public static class Value implements Serializable {
+
+        public final Integer age;
+        public final int group;
+
+        Value(Integer age, int group) {
+            this.age = age;
+            this.group = group;
+        }
+    }
+}
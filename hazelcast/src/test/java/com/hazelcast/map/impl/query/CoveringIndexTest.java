@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.map.IMap;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.IndexUtils;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class})
+public class CoveringIndexTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 100;
+    private static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+    @Before
+    public void setUp() {
+        DESERIALIZATIONS.set(0);
+    }
+
+    @Test
+    public void testProjection_fromCoveringIndex() {
+        IMap<Integer, Order> map = createMap(true);
+
+        Collection<Integer> amounts = map.project(Projections.singleAttribute("amount"),
+                Predicates.equal("customerId", 7));
+
+        assertEquals(0, DESERIALIZATIONS.get());
+        assertEquals(new HashSet<>(asList(7, 17, 27, 37, 47, 57, 67, 77, 87, 97)), new HashSet<>(amounts));
+    }
+
+    @Test
+    public void testMultiAttributeProjection_fromCoveringIndex() {
+        IMap<Integer, Order> map = createMap(true);
+
+        Collection<Object[]> rows = map.project(Projections.multiAttribute("customerId", "status", "amount"),
+                Predicates.greaterEqual("amount", 90));
+
+        assertEquals(0, DESERIALIZATIONS.get());
+        assertEquals(10, rows.size());
+        for (Object[] row : rows) {
+            assertEquals((Integer) row[2] % 10, row[0]);
+            assertEquals("status" + (Integer) row[2] % 2, row[1]);
+        }
+    }
+
+    @Test
+    public void testAggregation_fromCoveringIndex() {
+        IMap<Integer, Order> map = createMap(true);
+
+        long sum = map.aggregate(Aggregators.integerSum("amount"), Predicates.equal("status", "status1"));
+
+        assertEquals(0, DESERIALIZATIONS.get());
+        assertEquals(2500, sum);
+    }
+
+    @Test
+    public void testProjection_ofNotIndexedAttribute_readsValue() {
+        IMap<Integer, Order> map = createMap(true);
+
+        Collection<String> notes = map.project(Projections.singleAttribute("note"), Predicates.equal("customerId", 7));
+
+        assertTrue(DESERIALIZATIONS.get() > 0);
+        assertEquals(10, notes.size());
+    }
+
+    @Test
+    public void testProjection_withoutCoveringIndex_readsValue() {
+        IMap<Integer, Order> map = createMap(false);
+
+        Collection<Integer> amounts = map.project(Projections.singleAttribute("amount"),
+                Predicates.equal("customerId", 7));
+
+        assertTrue(DESERIALIZATIONS.get() > 0);
+        assertEquals(10, amounts.size());
+    }
+
+    @Test
+    public void testProjection_fromIndexAddedToPopulatedMap() {
+        Config config = getConfig(true);
+        IMap<Integer, Order> map = createHazelcastInstance(config).getMap("orders");
+        populate(map);
+        map.addIndex(IndexType.HASH, "customerId");
+        map.addIndex(IndexType.SORTED, "amount");
+        DESERIALIZATIONS.set(0);
+
+        Collection<Integer> amounts = map.project(Projections.singleAttribute("amount"),
+                Predicates.greaterThan("amount", 94));
+
+        assertEquals(0, DESERIALIZATIONS.get());
+        assertEquals(new HashSet<>(asList(95, 96, 97, 98, 99)), new HashSet<>(amounts));
+    }
+
+    private IMap<Integer, Order> createMap(boolean covering) {
+        Config config = getConfig(covering);
+        config.getMapConfig("orders")
+                .addIndexConfig(IndexUtils.createTestIndexConfig(IndexType.HASH, "customerId"))
+                .addIndexConfig(IndexUtils.createTestIndexConfig(IndexType.SORTED, "amount"))
+                .addIndexConfig(IndexUtils.createTestIndexConfig(IndexType.SORTED, "status", "amount"));
+        IMap<Integer, Order> map = createHazelcastInstance(config).getMap("orders");
+        populate(map);
+        DESERIALIZATIONS.set(0);
+        return map;
+    }
+
+    private Config getConfig(boolean covering) {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.INDEX_COVERING_ENABLED.getName(), String.valueOf(covering));
+        config.addMapConfig(new MapConfig("orders").setCacheDeserializedValues(CacheDeserializedValues.NEVER));
+        return config;
+    }
+
+    private static void populate(IMap<Integer, Order> map) {
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Order(i % 10, "status" + i % 2, i));
+        }
+    }
+
+    public static class Order implements Serializable {
+
+        private final int customerId;
+        private final String status;
+        private final int amount;
+
+        Order(int customerId, String status, int amount) {
+            this.customerId = customerId;
+            this.status = status;
+            this.amount = amount;
+        }
+
+        public int getCustomerId() {
+            return customerId;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public String getNote() {
+            return "note" + amount;
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            DESERIALIZATIONS.incrementAndGet();
+        }
+    }
+}
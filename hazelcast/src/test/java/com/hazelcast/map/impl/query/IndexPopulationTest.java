@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexPopulationTest extends HazelcastTestSupport {
+
+    private static final int NODE_COUNT = 2;
+    private static final int PARTITION_COUNT = 3;
+    private static final int ENTRY_COUNT = 3000;
+    private static final int CHUNK_SIZE = 10;
+
+    private final String mapName = randomMapName();
+
+    private HazelcastInstance[] instances;
+    private IMap<Integer, Value> map;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), Integer.toString(PARTITION_COUNT))
+                .setProperty(ClusterProperty.INDEX_POPULATION_CHUNK_SIZE.getName(), Integer.toString(CHUNK_SIZE));
+        config.getMapConfig(mapName).setBackupCount(1);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(NODE_COUNT);
+        instances = factory.newInstances(config);
+        map = instances[0].getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            map.put(i, new Value(i % 100));
+        }
+    }
+
+    @Test
+    public void testIndexIsPopulatedInChunks() {
+        map.addIndex(IndexType.SORTED, "age");
+
+        assertIndexEventuallyUsed();
+        assertEquals(expectedKeys(3), map.keySet(Predicates.equal("age", 3)));
+        assertEquals(ENTRY_COUNT / 2, map.keySet(Predicates.lessThan("age", 50)).size());
+
+        assertTrueEventually(() -> {
+            long populatedPartitions = 0;
+            long populatedEntries = 0;
+            for (HazelcastInstance instance : instances) {
+                IndexPopulationStats stats = getIndexPopulationStats(instance);
+                assertEquals(0, stats.getPendingPartitions());
+                populatedPartitions += stats.getPopulatedPartitions();
+                populatedEntries += stats.getPopulatedEntries();
+            }
+            assertEquals(PARTITION_COUNT, populatedPartitions);
+            assertEquals(ENTRY_COUNT, populatedEntries);
+        });
+    }
+
+    @Test
+    public void testIndexIsConsistent_whenUpdatedDuringPopulation() {
+        map.addIndex(IndexType.HASH, "age");
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            map.put(i, new Value(1000));
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 4) {
+            map.remove(i);
+        }
+        map.put(ENTRY_COUNT, new Value(3));
+
+        assertIndexEventuallyUsed();
+        Set<Integer> expected = expectedKeys(3).stream().filter(key -> key % 2 != 0 && key % 4 != 1)
+                                               .collect(Collectors.toSet());
+        expected.add(ENTRY_COUNT);
+        assertEquals(expected, map.keySet(Predicates.equal("age", 3)));
+        assertEquals(ENTRY_COUNT / 2, map.keySet(Predicates.equal("age", 1000)).size());
+    }
+
+    @Test
+    public void testBitmapIndexIsPopulated() {
+        map.addIndex(IndexType.BITMAP, "age");
+
+        assertEquals(expectedKeys(3), map.keySet(Predicates.equal("age", 3)));
+        for (HazelcastInstance instance : instances) {
+            assertEquals(0, getIndexPopulationStats(instance).getPopulatedPartitions());
+        }
+    }
+
+    private void assertIndexEventuallyUsed() {
+        assertTrueEventually(() -> {
+            long indexedQueryCount = map.getLocalMapStats().getIndexedQueryCount();
+            map.keySet(Predicates.equal("age", 0));
+            assertTrue(map.getLocalMapStats().getIndexedQueryCount() > indexedQueryCount);
+        });
+    }
+
+    private IndexPopulationStats getIndexPopulationStats(HazelcastInstance instance) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getMapContainer(mapName).getIndexPopulationStats();
+    }
+
+    private static Set<Integer> expectedKeys(int age) {
+        return IntStream.range(0, ENTRY_COUNT).filter(key -> key % 100 == age).boxed()
+                        .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public static class Value implements Serializable {
+
+        public final int age;
+
+        Value(int age) {
+            this.age = age;
+        }
+    }
+}
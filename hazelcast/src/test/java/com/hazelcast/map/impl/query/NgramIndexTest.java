@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NgramIndexTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 500;
+    private static final String[] WORDS = {"alpha", "Bravo", "charlie", "DELTA", "echo", "foxtrot", "100%", "a_b"};
+
+    private final Map<Integer, Value> expected = new HashMap<>();
+
+    private IMap<Integer, Value> map;
+
+    @Before
+    public void before() {
+        map = createHazelcastInstance(smallInstanceConfig()).getMap(randomMapName());
+        map.addIndex(IndexType.NGRAM, "name");
+        for (int i = 0; i < ENTRY_COUNT; ++i) {
+            put(i, new Value(WORDS[i % WORDS.length] + "-" + WORDS[i * 7 % WORDS.length] + "-" + i));
+        }
+        put(ENTRY_COUNT, new Value(null));
+        put(ENTRY_COUNT + 1, new Value("al"));
+    }
+
+    @Test
+    public void testLike() {
+        assertLike("%alpha%");
+        assertLike("%ALPHA%");
+        assertLike("%lph%");
+        assertLike("alpha-%");
+        assertLike("%-echo-1_");
+        assertLike("%rav%-%cho%");
+        assertLike("%100\\%%");
+        assertLike("%a\\_b%");
+        assertLike("%al%");
+        assertLike("%zzz%");
+    }
+
+    @Test
+    public void testILike() {
+        assertILike("%alpha%");
+        assertILike("%DeLtA-%");
+        assertILike("%bravo%charlie%");
+        assertILike("%A_B%");
+    }
+
+    @Test
+    public void testRegex() {
+        assertRegex(".*alpha.*");
+        assertRegex("alpha-(echo|delta)-\\d+");
+        assertRegex("[a-z]+-foxtrot-4\\d");
+        assertRegex("(?i).*delta.*");
+        assertRegex("charlie|echo");
+        assertRegex(".*ch?o.*");
+        assertRegex("al");
+    }
+
+    @Test
+    public void testUpdatesAndRemovals() {
+        for (int i = 0; i < ENTRY_COUNT; i += 3) {
+            put(i, new Value("updated-" + i));
+        }
+        for (int i = 1; i < ENTRY_COUNT; i += 5) {
+            map.remove(i);
+            expected.remove(i);
+        }
+        put(ENTRY_COUNT, new Value("alpha"));
+        put(ENTRY_COUNT + 1, new Value(null));
+
+        assertLike("%alpha%");
+        assertLike("%updated-1%");
+        assertILike("%UPDATED%");
+        assertRegex(".*dated-\\d*7");
+    }
+
+    @Test
+    public void testIndexIsUsed() {
+        long indexedQueryCount = map.getLocalMapStats().getIndexedQueryCount();
+        map.keySet(Predicates.like("name", "%alpha%"));
+        assertTrue(map.getLocalMapStats().getIndexedQueryCount() > indexedQueryCount);
+    }
+
+    private void put(int key, Value value) {
+        map.put(key, value);
+        expected.put(key, value);
+    }
+
+    private void assertLike(String expression) {
+        Pattern pattern = Pattern.compile(likeToRegex(expression), Pattern.DOTALL);
+        assertQuery(Predicates.like("name", expression), pattern);
+    }
+
+    private void assertILike(String expression) {
+        Pattern pattern = Pattern.compile(likeToRegex(expression),
+                Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        assertQuery(Predicates.ilike("name", expression), pattern);
+    }
+
+    private void assertRegex(String regex) {
+        assertQuery(Predicates.regex("name", regex), Pattern.compile(regex));
+    }
+
+    private void assertQuery(Predicate<Integer, Value> predicate, Pattern pattern) {
+        Set<Integer> expectedKeys = expected.entrySet().stream()
+                .filter(entry -> entry.getValue().name != null && pattern.matcher(entry.getValue().name).matches())
+                .map(Map.Entry::getKey).collect(Collectors.toSet());
+        assertEquals(predicate.toString(), expectedKeys, map.keySet(predicate));
+    }
+
+    private static String likeToRegex(String expression) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < expression.length(); ++i) {
+            char c = expression.charAt(i);
+            if (c == '\\' && i + 1 < expression.length()) {
+                regex.append(Pattern.quote(String.valueOf(expression.charAt(++i))));
+            } else if (c == '%') {
+                regex.append(".*");
+            } else if (c == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    public static class Value implements Serializable {
+
+        public final String name;
+
+        Value(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DeserializedValueCacheTest {
+
+    private InternalSerializationService ss;
+    private DeserializedValueCache cache;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        cache = new DeserializedValueCache(ss, 100);
+    }
+
+    @Test
+    public void testCapacity_roundedUpToPowerOfTwo() {
+        assertEquals(128, cache.capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveCapacity() {
+        new DeserializedValueCache(ss, 0);
+    }
+
+    @Test
+    public void testSameDataInstance_hits() {
+        Data data = ss.toData(new ArrayList<>(asList(1, 2, 3)));
+
+        Object value = cache.toObject(data);
+        assertEquals(asList(1, 2, 3), value);
+        assertSame(value, cache.toObject(data));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testEqualDataInstance_misses() {
+        Data data = ss.toData(new ArrayList<>(asList(1, 2, 3)));
+        Data copy = ss.toData(new ArrayList<>(asList(1, 2, 3)));
+
+        Object value = cache.toObject(data);
+        assertNotSame(value, cache.toObject(copy));
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testClear() {
+        Data data = ss.toData(new ArrayList<>(asList(1)));
+        Object value = cache.toObject(data);
+
+        cache.clear();
+        assertNotSame(value, cache.toObject(data));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testInvalidate() {
+        Data data = ss.toData(new ArrayList<>(asList(1)));
+        Data other = ss.toData(new ArrayList<>(asList(1)));
+        Object value = cache.toObject(data);
+
+        cache.invalidate(other);
+        assertSame(value, cache.toObject(data));
+
+        cache.invalidate(data);
+        assertNotSame(value, cache.toObject(data));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testIsCacheable() {
+        assertTrue(DeserializedValueCache.isCacheable(ss.toData("value")));
+        assertFalse(DeserializedValueCache.isCacheable("value"));
+        assertFalse(DeserializedValueCache.isCacheable(null));
+        assertFalse(DeserializedValueCache.isCacheable(ss.toData(new HazelcastJsonValue("{\"a\":1}"))));
+    }
+}
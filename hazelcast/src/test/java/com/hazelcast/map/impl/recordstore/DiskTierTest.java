@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class DiskTierTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int MAX_MAPPED_SEGMENTS = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InternalSerializationService ss;
+    private DataRecordFactory recordFactory;
+    private File directory;
+    private DiskTier diskTier;
+
+    @Before
+    public void setUp() throws Exception {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new DataRecordFactory(new MapConfig(), ss);
+        directory = new File(folder.getRoot(), "tier");
+        diskTier = new DiskTier(directory, SEGMENT_SIZE, MAX_MAPPED_SEGMENTS, ss, Logger.getLogger(DiskTierTest.class));
+    }
+
+    @After
+    public void tearDown() {
+        diskTier.destroy();
+    }
+
+    @Test
+    public void testSpillAndTake() {
+        Data key = ss.toData("key");
+        Record record = newRecord("value");
+        record.setTtl(1000);
+        record.setHits(7);
+        record.setVersion(3);
+
+        assertTrue(diskTier.spill(key, record));
+        assertTrue(diskTier.contains(key));
+        assertEquals(1, diskTier.size());
+
+        Record taken = diskTier.take(key);
+        assertEquals("value", ss.toObject(taken.getValue()));
+        assertEquals(record.getTtl(), taken.getTtl());
+        assertEquals(record.getHits(), taken.getHits());
+        assertEquals(record.getVersion(), taken.getVersion());
+
+        assertFalse(diskTier.contains(key));
+        assertNull(diskTier.take(key));
+    }
+
+    @Test
+    public void testSpill_replacesPreviousRecord() {
+        Data key = ss.toData("key");
+        diskTier.spill(key, newRecord("value1"));
+        diskTier.spill(key, newRecord("value2"));
+
+        assertEquals(1, diskTier.size());
+        assertEquals("value2", ss.toObject(diskTier.take(key).getValue()));
+    }
+
+    @Test
+    public void testDiscard() {
+        Data key = ss.toData("key");
+        diskTier.spill(key, newRecord("value"));
+
+        diskTier.discard(key);
+
+        assertEquals(0, diskTier.size());
+        assertNull(diskTier.take(key));
+    }
+
+    @Test
+    public void testForEach() {
+        for (int i = 0; i < 100; i++) {
+            diskTier.spill(ss.toData(i), newRecord("value" + i));
+        }
+
+        Map<Object, Object> entries = new HashMap<>();
+        diskTier.forEach((key, record) -> entries.put(ss.toObject(key), ss.toObject(record.getValue())));
+
+        assertEquals(100, entries.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("value" + i, entries.get(i));
+        }
+        assertEquals(100, diskTier.size());
+    }
+
+    @Test
+    public void testSegmentsAreRolledAndReclaimed() {
+        int count = 500;
+        for (int i = 0; i < count; i++) {
+            diskTier.spill(ss.toData(i), newRecord("value" + i));
+        }
+        int segmentCount = diskTier.getSegmentCount();
+        assertTrue(segmentCount > 1);
+
+        // taking most of the entries makes sealed segments either empty or compactable
+        for (int i = 0; i < count; i++) {
+            if (i % 10 != 0) {
+                assertEquals("value" + i, ss.toObject(diskTier.take(ss.toData(i)).getValue()));
+            }
+        }
+
+        assertTrue(diskTier.getSegmentCount() < segmentCount);
+        assertEquals(count / 10, diskTier.size());
+        for (int i = 0; i < count; i += 10) {
+            assertEquals("value" + i, ss.toObject(diskTier.take(ss.toData(i)).getValue()));
+        }
+    }
+
+    @Test
+    public void testSealedSegmentsBeyondLimitAreUnmapped() {
+        int count = 500;
+        for (int i = 0; i < count; i++) {
+            diskTier.spill(ss.toData(i), newRecord("value" + i));
+        }
+        assertTrue(diskTier.getSegmentCount() > MAX_MAPPED_SEGMENTS + 1);
+        assertEquals(MAX_MAPPED_SEGMENTS, diskTier.getMappedSegmentCount());
+
+        // unmapped segments are mapped again when read
+        for (int i = 0; i < count; i++) {
+            assertEquals("value" + i, ss.toObject(diskTier.take(ss.toData(i)).getValue()));
+            assertTrue(diskTier.getMappedSegmentCount() <= MAX_MAPPED_SEGMENTS);
+        }
+    }
+
+    @Test
+    public void testSegmentDelete_unmapsAndDeletesFile() throws Exception {
+        SegmentMappings mappings = new SegmentMappings(MAX_MAPPED_SEGMENTS);
+        assertTrue(directory.mkdirs());
+        File file = new File(directory, "segment.log");
+        DiskTierSegment segment = new DiskTierSegment(0, file, SEGMENT_SIZE, mappings);
+        segment.append(ss.toData("key").toByteArray(), new byte[]{1});
+        segment.seal();
+
+        segment.delete();
+
+        assertFalse(segment.isMapped());
+        assertEquals(0, mappings.getMappedSegmentCount());
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testSpill_entryLargerThanSegment() {
+        Data key = ss.toData("key");
+        String value = new String(new char[4 * SEGMENT_SIZE]).replace('\0', 'x');
+
+        assertTrue(diskTier.spill(key, newRecord(value)));
+
+        assertEquals(value, ss.toObject(diskTier.take(key).getValue()));
+    }
+
+    @Test
+    public void testClear_deletesSegmentFiles() {
+        for (int i = 0; i < 100; i++) {
+            diskTier.spill(ss.toData(i), newRecord("value" + i));
+        }
+        assertTrue(directory.list().length > 0);
+
+        diskTier.clear();
+
+        assertEquals(0, diskTier.size());
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testDestroy_deletesDirectory() {
+        diskTier.spill(ss.toData("key"), newRecord("value"));
+
+        diskTier.destroy();
+
+        assertFalse(directory.exists());
+    }
+
+    private Record newRecord(Object value) {
+        return recordFactory.newRecord(value);
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PersistentLogTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int MAX_MAPPED_SEGMENTS = 2;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private InternalSerializationService ss;
+    private DataRecordFactory recordFactory;
+    private File directory;
+
+    @Before
+    public void setUp() {
+        ss = new DefaultSerializationServiceBuilder().build();
+        recordFactory = new DataRecordFactory(new MapConfig(), ss);
+        directory = new File(folder.getRoot(), "log");
+    }
+
+    @Test
+    public void testLoad_afterClose() {
+        PersistentLog log = newLog();
+        Record record = newRecord("value");
+        record.setTtl(1000);
+        record.setVersion(3);
+        log.write(ss.toData("key"), record);
+        log.close();
+
+        Map<Object, Record> loaded = load(newLog());
+
+        assertEquals(1, loaded.size());
+        Record loadedRecord = loaded.get("key");
+        assertEquals("value", ss.toObject(loadedRecord.getValue()));
+        assertEquals(record.getTtl(), loadedRecord.getTtl());
+        assertEquals(record.getVersion(), loadedRecord.getVersion());
+    }
+
+    @Test
+    public void testLoad_latestWriteWins() {
+        PersistentLog log = newLog();
+        for (int i = 0; i < 100; i++) {
+            log.write(ss.toData(i % 10), newRecord("value" + i));
+        }
+        log.close();
+
+        Map<Object, Record> loaded = load(newLog());
+
+        assertEquals(10, loaded.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("value" + (90 + i), ss.toObject(loaded.get(i).getValue()));
+        }
+    }
+
+    @Test
+    public void testLoad_removedKeysAreNotLoaded() {
+        PersistentLog log = newLog();
+        for (int i = 0; i < 100; i++) {
+            log.write(ss.toData(i), newRecord("value" + i));
+        }
+        for (int i = 0; i < 100; i += 2) {
+            log.remove(ss.toData(i));
+        }
+        assertEquals(50, log.size());
+        log.close();
+
+        Map<Object, Record> loaded = load(newLog());
+
+        assertEquals(50, loaded.size());
+        for (int i = 1; i < 100; i += 2) {
+            assertEquals("value" + i, ss.toObject(loaded.get(i).getValue()));
+        }
+    }
+
+    @Test
+    public void testCompaction_keepsLiveEntriesAndRemovals() {
+        PersistentLog log = newLog();
+        for (int round = 0; round < 20; round++) {
+            for (int i = round; i < 50; i++) {
+                log.write(ss.toData(i), newRecord("value" + round));
+            }
+            log.remove(ss.toData(round));
+        }
+        assertTrue(log.getSegmentCount() < 20);
+        log.close();
+
+        Map<Object, Record> loaded = load(newLog());
+
+        assertEquals(30, loaded.size());
+        for (int i = 20; i < 50; i++) {
+            assertEquals("value19", ss.toObject(loaded.get(i).getValue()));
+        }
+    }
+
+    @Test
+    public void testLoad_ignoresPartiallyWrittenEntry() throws Exception {
+        PersistentLog log = newLog();
+        log.write(ss.toData("key1"), newRecord("value1"));
+        log.write(ss.toData("key2"), newRecord("value2"));
+        log.close();
+
+        // the key size of an entry is written last, a torn append leaves it unset
+        File segmentFile = directory.listFiles()[0];
+        try (RandomAccessFile raf = new RandomAccessFile(segmentFile, "rw")) {
+            int firstEntrySize = DiskTierSegment.ENTRY_HEADER_SIZE + raf.readInt() + raf.readInt();
+            raf.seek(firstEntrySize);
+            raf.writeInt(0);
+        }
+
+        Map<Object, Record> loaded = load(newLog());
+
+        assertEquals(1, loaded.size());
+        assertEquals("value1", ss.toObject(loaded.get("key1").getValue()));
+    }
+
+    @Test
+    public void testWrite_duringLoadIsIgnored() {
+        PersistentLog log = newLog();
+        log.write(ss.toData("key"), newRecord("value"));
+        log.close();
+
+        PersistentLog reopened = newLog();
+        reopened.load((key, record) -> reopened.write(key, record));
+        int segmentCount = reopened.getSegmentCount();
+        reopened.close();
+
+        assertEquals(1, segmentCount);
+    }
+
+    @Test
+    public void testRemove_duringLoad() {
+        PersistentLog log = newLog();
+        log.write(ss.toData("key1"), newRecord("value1"));
+        log.write(ss.toData("key2"), newRecord("value2"));
+        log.close();
+
+        PersistentLog reopened = newLog();
+        reopened.load((key, record) -> reopened.remove(key));
+        assertEquals(0, reopened.size());
+        reopened.close();
+
+        assertEquals(0, load(newLog()).size());
+    }
+
+    @Test
+    public void testReset_keepsPreviousRecordsUntilCommit() {
+        PersistentLog log = newLog();
+        for (int i = 0; i < 100; i++) {
+            log.write(ss.toData(i), newRecord("value" + i));
+        }
+        log.reset();
+        for (int i = 100; i < 150; i++) {
+            log.write(ss.toData(i), newRecord("value" + i));
+        }
+        assertEquals(50, log.size());
+        log.close();
+
+        // a crash before the commit reloads the previous records as well
+        assertEquals(150, load(newLog()).size());
+    }
+
+    @Test
+    public void testCommit_deletesReplacedRecords() {
+        PersistentLog log = newLog();
+        for (int i = 0; i < 100; i++) {
+            log.write(ss.toData(i), newRecord("value" + i));
+        }
+        log.reset();
+        for (int i = 100; i < 150; i++) {
+            log.write(ss.toData(i), newRecord("value" + i));
+        }
+        log.commit();
+        log.close();
+
+        Map<Object, Record> loaded = load(newLog());
+
+        assertEquals(50, loaded.size());
+        for (int i = 100; i < 150; i++) {
+            assertEquals("value" + i, ss.toObject(loaded.get(i).getValue()));
+        }
+    }
+
+    @Test
+    public void testLoad_afterCommitAndClear() {
+        PersistentLog log = newLog();
+        for (int i = 0; i < 100; i++) {
+            log.write(ss.toData(i), newRecord("value" + i));
+        }
+        log.reset();
+        log.write(ss.toData("key"), newRecord("value"));
+        log.commit();
+        log.clear();
+        log.close();
+
+        PersistentLog restartedLog = newLog();
+        load(restartedLog);
+        restartedLog.write(ss.toData("key"), newRecord("updated"));
+        restartedLog.close();
+
+        Map<Object, Record> loaded = load(newLog());
+
+        assertEquals(1, loaded.size());
+        assertEquals("updated", ss.toObject(loaded.get("key").getValue()));
+    }
+
+    @Test
+    public void testClear_deletesSegmentFiles() {
+        PersistentLog log = newLog();
+        for (int i = 0; i < 100; i++) {
+            log.write(ss.toData(i), newRecord("value" + i));
+        }
+        assertTrue(directory.list().length > 0);
+
+        log.clear();
+
+        assertEquals(0, log.size());
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testDestroy_deletesDirectory() {
+        PersistentLog log = newLog();
+        log.write(ss.toData("key"), newRecord("value"));
+
+        log.destroy();
+
+        assertFalse(directory.exists());
+    }
+
+    private PersistentLog newLog() {
+        return new PersistentLog(directory, SEGMENT_SIZE, MAX_MAPPED_SEGMENTS, ss, Logger.getLogger(PersistentLogTest.class));
+    }
+
+    private Map<Object, Record> load(PersistentLog log) {
+        Map<Object, Record> loaded = new HashMap<>();
+        log.load((key, record) -> loaded.put(ss.toObject(key), record));
+        return loaded;
+    }
+
+    private Record newRecord(Object value) {
+        return recordFactory.newRecord(value);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+
+import static com.hazelcast.test.Accessors.getAllIndexes;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BTreeIndexStoreTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    private IMap<Integer, Person> map;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.INDEX_SORTED_BTREE_ENABLED.getName(), "true");
+        map = createHazelcastInstance(config).getMap(randomMapName());
+        map.addIndex(IndexType.SORTED, "age");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, new Person(i % 2 == 0 ? null : i % 100));
+        }
+    }
+
+    @Test
+    public void testIndexStoreIsUsed() {
+        for (Indexes indexes : getAllIndexes(map)) {
+            assertTrue(indexes.getIndexes()[0] instanceof BTreeIndexImpl);
+        }
+    }
+
+    @Test
+    public void testQueries() {
+        assertEquals(10, map.keySet(Predicates.equal("age", 33)).size());
+        assertEquals(10, map.keySet(Predicates.equal("age", 33L)).size());
+        assertEquals(ENTRY_COUNT / 2, map.keySet(Predicates.equal("age", null)).size());
+        assertEquals(20, map.keySet(Predicates.in("age", 33, 35, 36)).size());
+        assertEquals(170, map.keySet(Predicates.lessThan("age", 35)).size());
+        assertEquals(180, map.keySet(Predicates.lessEqual("age", 35)).size());
+        assertEquals(320, map.keySet(Predicates.greaterThan("age", 35)).size());
+        assertEquals(330, map.keySet(Predicates.greaterEqual("age", 35)).size());
+        assertEquals(50, map.keySet(Predicates.between("age", 31, 40)).size());
+    }
+
+    @Test
+    public void testQueries_afterUpdatesAndRemovals() {
+        for (int i = 1; i < ENTRY_COUNT; i += 2) {
+            if (i % 100 == 33) {
+                map.remove(i);
+            } else if (i % 100 == 35) {
+                map.put(i, new Person(33));
+            }
+        }
+
+        assertEquals(10, map.keySet(Predicates.equal("age", 33)).size());
+        assertEquals(0, map.keySet(Predicates.equal("age", 35)).size());
+        assertEquals(170, map.keySet(Predicates.lessEqual("age", 35)).size());
+    }
+
+    public static class Person implements Serializable {
+
+        private final Integer age;
+
+        public Person(Integer age) {
+            this.age = age;
+        }
+
+        public Integer getAge() {
+            return age;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.IndexBTree.NODE_CAPACITY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class IndexBTreeTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+    private final IndexBTree tree = new IndexBTree();
+
+    @Test
+    public void testPutAndRemove() {
+        QueryableEntry entry = newEntry(1, 10);
+
+        assertNull(tree.put(10, entry));
+        assertEquals(1, tree.size());
+        assertEquals(keys(1), collect(10, true, 10, true));
+
+        QueryableEntry replacement = newEntry(1, 10);
+        assertSame(entry, tree.put(10, replacement));
+        assertEquals(1, tree.size());
+
+        assertNull(tree.remove(11, entry.getKeyData()));
+        assertSame(replacement, tree.remove(10, entry.getKeyData()));
+        assertEquals(0, tree.size());
+        assertEquals(keys(), collect(null, false, null, false));
+    }
+
+    @Test
+    public void testTreeGrowsAndShrinks() {
+        int count = NODE_CAPACITY * NODE_CAPACITY * 2;
+        for (int i = 0; i < count; i++) {
+            tree.put(i, newEntry(i, i));
+        }
+        assertEquals(count, tree.size());
+        assertTrue(tree.height() > 2);
+        assertEquals(count, collect(null, false, null, false).size());
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, tree.remove(i, ss.toData(i)).getKey());
+        }
+        assertEquals(0, tree.size());
+        assertEquals(1, tree.height());
+        assertEquals(keys(), collect(null, false, null, false));
+    }
+
+    @Test
+    public void testBoundaryValues() {
+        assertNull(tree.firstValue());
+        assertNull(tree.lastValue());
+
+        int count = NODE_CAPACITY * NODE_CAPACITY;
+        for (int i = 0; i < count; i++) {
+            tree.put(i, newEntry(i, i));
+        }
+        assertEquals(0, tree.firstValue());
+        assertEquals(count - 1, tree.lastValue());
+
+        for (int i = 0; i < count / 2; i++) {
+            tree.remove(i, ss.toData(i));
+            tree.remove(count - 1 - i, ss.toData(count - 1 - i));
+        }
+        assertNull(tree.firstValue());
+        assertNull(tree.lastValue());
+    }
+
+    @Test
+    public void testRangesOverDuplicateValues() {
+        for (int i = 0; i < 1000; i++) {
+            tree.put(i % 10, newEntry(i, i % 10));
+        }
+
+        assertEquals(100, collect(3, true, 3, true).size());
+        assertEquals(300, collect(3, true, 5, true).size());
+        assertEquals(100, collect(3, false, 5, false).size());
+        assertEquals(300, collect(null, false, 3, false).size());
+        assertEquals(600, collect(3, false, null, false).size());
+        assertEquals(0, collect(10, true, null, false).size());
+    }
+
+    @Test
+    public void testForEachValue_countsDuplicateValues() {
+        for (int i = 0; i < NODE_CAPACITY * 10; i++) {
+            tree.put(i % 10, newEntry(i, i % 10));
+        }
+        tree.remove(3, ss.toData(3));
+
+        Map<Comparable, Integer> counts = new HashMap<>();
+        tree.forEachValue(counts::put);
+
+        assertEquals(10, counts.size());
+        assertEquals(NODE_CAPACITY - 1, (int) counts.get(3));
+        assertEquals(NODE_CAPACITY, (int) counts.get(4));
+    }
+
+    @Test
+    public void testRandomOperations_matchReference() {
+        Random random = new Random(42);
+        Map<Integer, Integer> reference = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            int key = random.nextInt(5000);
+            Integer value = reference.get(key);
+            if (value != null && random.nextBoolean()) {
+                assertEquals(key, tree.remove(value, ss.toData(key)).getKey());
+                reference.remove(key);
+            } else if (value != null) {
+                assertEquals(key, tree.put(value, newEntry(key, value)).getKey());
+            } else {
+                value = random.nextInt(500);
+                assertNull(tree.put(value, newEntry(key, value)));
+                reference.put(key, value);
+            }
+
+            if (i % 1000 == 0) {
+                assertEquals(reference.size(), tree.size());
+                int from = random.nextInt(500);
+                int to = from + random.nextInt(100);
+                boolean fromInclusive = random.nextBoolean();
+                boolean toInclusive = random.nextBoolean();
+                assertEquals(expected(reference, from, fromInclusive, to, toInclusive),
+                        collect(from, fromInclusive, to, toInclusive));
+            }
+        }
+        assertEquals(reference.keySet(), toKeys(collect(null, false, null, false)));
+    }
+
+    private QueryableEntry newEntry(int key, int value) {
+        return new QueryEntry(ss, ss.toData(key), value, extractors);
+    }
+
+    private Set<Data> collect(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        Map<Data, QueryableEntry> results = new HashMap<>();
+        tree.collect(from, fromInclusive, to, toInclusive, results);
+        return results.keySet();
+    }
+
+    private Set<Data> keys(int... keys) {
+        Set<Data> result = new HashSet<>();
+        for (int key : keys) {
+            result.add(ss.toData(key));
+        }
+        return result;
+    }
+
+    private Set<Object> toKeys(Set<Data> keys) {
+        Set<Object> result = new HashSet<>();
+        for (Data key : keys) {
+            result.add(ss.toObject(key));
+        }
+        return result;
+    }
+
+    private Set<Data> expected(Map<Integer, Integer> reference, int from, boolean fromInclusive,
+                               int to, boolean toInclusive) {
+        Set<Data> result = new HashSet<>();
+        for (Map.Entry<Integer, Integer> entry : reference.entrySet()) {
+            int value = entry.getValue();
+            if ((value > from || fromInclusive && value == from) && (value < to || toInclusive && value == to)) {
+                result.add(ss.toData(entry.getKey()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.query.impl.NgramIndexStore.likeSubstrings;
+import static com.hazelcast.query.impl.NgramIndexStore.regexSubstrings;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NgramIndexStoreTest {
+
+    @Test
+    public void testLikeSubstrings() {
+        assertEquals(singletonList("foo"), likeSubstrings("foo"));
+        assertEquals(singletonList("foo"), likeSubstrings("%foo%"));
+        assertEquals(asList("foo", "bar"), likeSubstrings("%foo_bar%"));
+        assertEquals(singletonList("bar"), likeSubstrings("fo%bar"));
+        assertEquals(emptyList(), likeSubstrings("%%"));
+        assertEquals(emptyList(), likeSubstrings("a_b_c"));
+    }
+
+    @Test
+    public void testLikeSubstrings_escaped() {
+        assertEquals(singletonList("100%off"), likeSubstrings("%100\\%off%"));
+        assertEquals(singletonList("a_b"), likeSubstrings("a\\_b"));
+        assertEquals(singletonList("a\\b"), likeSubstrings("a\\b"));
+    }
+
+    @Test
+    public void testRegexSubstrings() {
+        assertEquals(singletonList("foo"), regexSubstrings("foo"));
+        assertEquals(singletonList("foo"), regexSubstrings("^foo$"));
+        assertEquals(asList("foo", "bar"), regexSubstrings(".*foo.+bar.*"));
+        assertEquals(asList("abc", "def"), regexSubstrings("abc\\d+def"));
+        assertEquals(singletonList("a.b"), regexSubstrings("a\\.b"));
+    }
+
+    @Test
+    public void testRegexSubstrings_quantified() {
+        assertEquals(singletonList("fooba"), regexSubstrings("foobar?"));
+        assertEquals(singletonList("fooba"), regexSubstrings("foobar*"));
+        assertEquals(asList("foobar", "baz"), regexSubstrings("foobar+baz"));
+        assertEquals(asList("abc", "def"), regexSubstrings("abcx{2,3}def"));
+        assertEquals(singletonList("abc"), regexSubstrings("abc[def]+"));
+    }
+
+    @Test
+    public void testRegexSubstrings_groups() {
+        assertEquals(asList("abc", "xyz"), regexSubstrings("abc(def|ghi)xyz"));
+        assertEquals(asList("abc", "xyz"), regexSubstrings("abc[^]a-z]xyz"));
+        assertEquals(asList("abc", "xyz"), regexSubstrings("abc[a[b-c]]xyz"));
+    }
+
+    @Test
+    public void testRegexSubstrings_notInspected() {
+        assertEquals(emptyList(), regexSubstrings("foo|bar"));
+        assertEquals(emptyList(), regexSubstrings("(?i)foobar"));
+        assertEquals(emptyList(), regexSubstrings("(foo)bar\\1"));
+        assertEquals(emptyList(), regexSubstrings("foo\\Qbar\\E"));
+        assertEquals(emptyList(), regexSubstrings("foo\\x41bar"));
+        assertEquals(emptyList(), regexSubstrings("foo\\"));
+        assertEquals(emptyList(), regexSubstrings("foo[bar"));
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2008-2020, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.hazelcast.query.impl.ValueHistogram.REBUILD_RATIO;
+import static com.hazelcast.query.impl.ValueHistogram.SAMPLE_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ValueHistogramTest {
+
+    private final ValueHistogram histogram = new ValueHistogram();
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, histogram.getValueCount());
+        assertEquals(0, histogram.estimateCount(null, false, null, false));
+    }
+
+    @Test
+    public void testExactEstimates_whileSampleIsNotFull() {
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            histogram.onInsert(i % 8);
+        }
+
+        assertEquals(SAMPLE_SIZE, histogram.getValueCount());
+        assertEquals(SAMPLE_SIZE / 8, histogram.estimateCount(3, true, 3, true));
+        assertEquals(SAMPLE_SIZE / 2, histogram.estimateCount(null, false, 4, false));
+        assertEquals(SAMPLE_SIZE / 4, histogram.estimateCount(5, false, null, false));
+        assertEquals(0, histogram.estimateCount(8, true, null, false));
+    }
+
+    @Test
+    public void testEstimates_scaleWithValueCount() {
+        int count = SAMPLE_SIZE * 100;
+        for (int i = 0; i < count; i++) {
+            histogram.onInsert(i);
+        }
+
+        long estimate = histogram.estimateCount(0, true, count / 10, false);
+        assertTrue("estimate: " + estimate, estimate > count / 20 && estimate < count / 5);
+        assertEquals(count, histogram.estimateCount(null, false, null, false));
+    }
+
+    @Test
+    public void testRemovals_decreaseEstimates() {
+        for (int i = 0; i < 100; i++) {
+            histogram.onInsert(i % 2);
+        }
+        for (int i = 0; i < 50; i++) {
+            histogram.onRemove();
+        }
+
+        assertEquals(50, histogram.getValueCount());
+        assertEquals(25, histogram.estimateCount(1, true, 1, true));
+    }
+
+    @Test
+    public void testRebuild_forgetsRemovedValues() {
+        Map<Comparable, Integer> stored = new HashMap<>();
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            insert(stored, i % 2);
+        }
+        rebuild(stored);
+        for (int i = 0; i < SAMPLE_SIZE / 2; i++) {
+            remove(stored, 0);
+        }
+        // exceeds the replacement ratio
+        insert(stored, 1);
+
+        assertEquals(0, histogram.estimateCount(0, true, 0, true));
+        assertEquals(SAMPLE_SIZE / 2 + 1, histogram.estimateCount(1, true, 1, true));
+    }
+
+    @Test
+    public void testRebuild_isTriggeredByReplacementRatio() {
+        Map<Comparable, Integer> stored = new HashMap<>();
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            insert(stored, i);
+        }
+
+        int removals = 0;
+        while (!histogram.onRemove()) {
+            removals++;
+        }
+        assertTrue("removals: " + removals, removals <= SAMPLE_SIZE * REBUILD_RATIO);
+    }
+
+    @Test
+    public void testDistinctValueCount() {
+        Map<Comparable, Integer> stored = new HashMap<>();
+        for (int i = 0; i < SAMPLE_SIZE * 10; i++) {
+            insert(stored, i % 100);
+        }
+        rebuild(stored);
+
+        assertEquals(100, histogram.getDistinctValueCount());
+    }
+
+    @Test
+    public void testEstimate_ofValueMissingFromSample_usesAverageFrequency() {
+        Map<Comparable, Integer> stored = new HashMap<>();
+        for (int i = 0; i < SAMPLE_SIZE * 10; i++) {
+            insert(stored, i);
+        }
+        rebuild(stored);
+
+        assertEquals(1, histogram.estimateCount(-1));
+    }
+
+    @Test
+    public void testEstimate_ofValueMissingFromCompleteSample_isZero() {
+        Map<Comparable, Integer> stored = new HashMap<>();
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            insert(stored, i % 8);
+        }
+
+        assertEquals(0, histogram.estimateCount(-1));
+        assertEquals(SAMPLE_SIZE / 8, histogram.estimateCount(3));
+    }
+
+    @Test
+    public void testClear() {
+        histogram.onInsert(1);
+        histogram.clear();
+
+        assertEquals(0, histogram.getValueCount());
+        histogram.onInsert(2);
+        assertEquals(0, histogram.estimateCount(1, true, 1, true));
+        assertEquals(1, histogram.estimateCount(2, true, 2, true));
+    }
+
+    private void insert(Map<Comparable, Integer> stored, Comparable value) {
+        stored.merge(value, 1, Integer::sum);
+        if (histogram.onInsert(value)) {
+            rebuild(stored);
+        }
+    }
+
+    private void remove(Map<Comparable, Integer> stored, Comparable value) {
+        stored.computeIfPresent(value, (v, count) -> count == 1 ? null : count - 1);
+        if (histogram.onRemove()) {
+            rebuild(stored);
+        }
+    }
+
+    private void rebuild(Map<Comparable, Integer> stored) {
+        histogram.rebuild(consumer -> stored.forEach(consumer::accept));
+    }
+}
@@ -33,6 +33,7 @@ import java.util.Random;
 public class SparseBitSetAddBenchmark {
 
     private static final long MEMBER_MASK = 0x000000FFFFFFFFFFL;
+    private static final long CLUSTER_SIZE = 100;
 
     private final SparseBitSet bitSet = new SparseBitSet();
     private final Roaring64NavigableMap roaringBitmap = new Roaring64NavigableMap();
@@ -52,6 +53,18 @@ public class SparseBitSetAddBenchmark {
         index += 1;
     }
 
+    @Benchmark
+    public void clusteredAdd() {
+        bitSet.add(index);
+        index += clusteredStep();
+    }
+
+    @Benchmark
+    public void clusteredAdd_Roaring() {
+        roaringBitmap.addLong(index);
+        index += clusteredStep();
+    }
+
     @Benchmark
     public void randomAdd() {
         bitSet.add(random.nextLong() & MEMBER_MASK);
@@ -62,6 +75,15 @@ public class SparseBitSetAddBenchmark {
         roaringBitmap.addLong(random.nextLong() & MEMBER_MASK);
     }
 
+    /**
+     * Produces runs of {@link #CLUSTER_SIZE} consecutive members separated by
+     * gaps of the same size, like ids of entries having a low-cardinality
+     * attribute value which were inserted in batches.
+     */
+    private long clusteredStep() {
+        return index % CLUSTER_SIZE == CLUSTER_SIZE - 1 ? CLUSTER_SIZE + 1 : 1;
+    }
+
     public static void main(String[] args) throws RunnerException {
         // @formatter:off
         Options opt = new OptionsBuilder()
@@ -29,6 +29,7 @@ import java.util.TreeSet;
 
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE;
 import static com.hazelcast.query.impl.bitmap.SparseBitSet.ARRAY_STORAGE_32_MAX_SIZE;
+import static com.hazelcast.query.impl.bitmap.SparseBitSet.RUN_STORAGE_16_MAX_RUNS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -264,6 +265,68 @@ public class SparseBitSetTest {
         }
     }
 
+    @Test
+    public void testRunStorage16Switching() {
+        long prefix = ((long) Short.MAX_VALUE * 2 + 1);
+
+        // fill the entire 16-bit storage, members end up in a single run
+        for (long i = 0; i <= prefix; ++i) {
+            set(prefix + i);
+            verifyEvery(i, 1024);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // split the run until the storage is converted to a bit set
+        for (long i = 1; i < 2 * RUN_STORAGE_16_MAX_RUNS + 10; i += 2) {
+            clear(prefix + i);
+            verifyEvery(i, 64);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        // join the runs back until the bit set is converted to runs
+        for (long i = 1; i < 2 * RUN_STORAGE_16_MAX_RUNS + 10; i += 2) {
+            set(prefix + i);
+            verifyEvery(i, 64);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = prefix; i >= 0; --i) {
+            clear(prefix + i);
+            verifyEvery(i, 1024);
+        }
+        verify();
+    }
+
+    @Test
+    public void testRunStorage16ConversionToArray() {
+        for (long i = 0; i < ARRAY_STORAGE_16_MAX_SIZE + 1000; ++i) {
+            set(i);
+        }
+        verify();
+        for (long i = ARRAY_STORAGE_16_MAX_SIZE; i < ARRAY_STORAGE_16_MAX_SIZE + 1000; ++i) {
+            clear(i);
+        }
+        verify();
+
+        // split the run until the storage is converted to an array
+        for (long i = 1; i < 2 * RUN_STORAGE_16_MAX_RUNS + 10; i += 2) {
+            clear(i);
+            verifyEvery(i, 16);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+
+        for (long i = 1; i < 2 * RUN_STORAGE_16_MAX_RUNS + 10; i += 2) {
+            set(i);
+            verifyEvery(i, 16);
+        }
+        verify();
+        verifyAdvanceAtLeastTo();
+    }
+
     @Test
     public void testIteratorAdvanceAtLeastTo() {
         // try empty set
@@ -395,6 +458,12 @@ public class SparseBitSetTest {
         }
     }
 
+    private void verifyEvery(long i, int period) {
+        if (i % period == 0) {
+            verify();
+        }
+    }
+
     private void verify() {
         AscendingLongIterator iterator = actual.iterator();
         verify(iterator, expected);
@@ -19,6 +19,7 @@ package com.hazelcast.test.compatibility;
 import com.hazelcast.core.ManagedContext;
 import com.hazelcast.partition.PartitioningStrategy;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.CompactReader;
 import com.hazelcast.internal.serialization.impl.portable.PortableContext;
 import com.hazelcast.internal.nio.BufferObjectDataInput;
 import com.hazelcast.internal.nio.BufferObjectDataOutput;
@@ -169,6 +170,12 @@ public class SamplingSerializationService implements InternalSerializationServic
         return delegate.createPortableReader(data);
     }
 
+    @Override
+    public CompactReader createCompactReader(Data data)
+            throws IOException {
+        return delegate.createCompactReader(data);
+    }
+
     @Override
     public PortableContext getPortableContext() {
         return delegate.getPortableContext();